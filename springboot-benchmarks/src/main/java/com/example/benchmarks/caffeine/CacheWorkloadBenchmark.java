@@ -0,0 +1,106 @@
+package com.example.benchmarks.caffeine;
+
+import com.example.springintegratecaffeine.benchmark.BenchmarkTarget;
+import com.example.springintegratecaffeine.benchmark.BenchmarkWorkload;
+import com.example.springintegratecaffeine.benchmark.KeyDistribution;
+import com.example.springintegratecaffeine.config.CacheConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存混合负载基准测试
+ * 与 REST 接口 /api/cache/performance/benchmark 共用 caffeine 模块的 BenchmarkWorkload 和 BenchmarkTarget，
+ * 在相同的读写比例和键分布下比较 basicCache、accessCache、weightCache 与 Spring CacheManager 路径；
+ * SampleTime 模式输出延迟分位数，线程数可用 -t 覆盖
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CacheWorkloadBenchmark {
+
+    @Param({"basicCache", "accessCache", "weightCache", "cacheManager"})
+    private String target;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    private KeyDistribution distribution;
+
+    @Param({"100", "80", "50"})
+    private int readPercent;
+
+    @Param({"10000"})
+    private int keySpace;
+
+    private BenchmarkTarget cache;
+
+    private BenchmarkWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CacheConfig config = new CacheConfig();
+        switch (target) {
+            case "basicCache":
+                cache = BenchmarkTarget.of(target, config.basicCache());
+                break;
+            case "accessCache":
+                cache = BenchmarkTarget.of(target, config.accessCache());
+                break;
+            case "weightCache":
+                cache = BenchmarkTarget.of(target, config.weightCache(
+                        config.objectSizeWeigher(config.objectSizeEstimator(), 0), DataSize.ofKilobytes(64)));
+                break;
+            case "cacheManager":
+                cache = BenchmarkTarget.of(target, config.cacheManager(), "benchmark");
+                break;
+            default:
+                throw new IllegalArgumentException("未知的被测缓存: " + target);
+        }
+        workload = BenchmarkWorkload.generate(keySpace, distribution, readPercent, 42);
+        for (int i = 0; i < workload.keySpace(); i++) {
+            cache.put(workload.key(i), workload.value(i));
+        }
+    }
+
+    /**
+     * 每个线程独立的操作序列游标，按线程下标错开起点
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position;
+
+        @Setup(Level.Trial)
+        public void setUp(CacheWorkloadBenchmark benchmark, ThreadParams threadParams) {
+            position = benchmark.workload.startPosition(threadParams.getThreadIndex());
+        }
+    }
+
+    @Benchmark
+    public Object operation(Cursor cursor) {
+        int position = cursor.position++;
+        int keyIndex = workload.keyIndexAt(position);
+        String key = workload.key(keyIndex);
+        if (workload.isWriteAt(position)) {
+            cache.put(key, workload.value(keyIndex));
+            return key;
+        }
+        return cache.get(key);
+    }
+}
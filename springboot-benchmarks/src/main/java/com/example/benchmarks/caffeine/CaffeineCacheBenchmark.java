@@ -0,0 +1,104 @@
+package com.example.benchmarks.caffeine;
+
+import com.example.springintegratecaffeine.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine缓存并发读写基准测试
+ * 使用 caffeine 模块 CacheConfig 中的 accessCache 配置（maximumSize 200、expireAfterAccess、recordStats），
+ * keySpace 小于容量时全部命中，大于容量时持续淘汰；读写组模拟 6 读 2 写的竞争
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaffeineCacheBenchmark {
+
+    private static final int MASK = (1 << 16) - 1;
+
+    @Param({"100", "10000"})
+    private int keySpace;
+
+    private Cache<String, Object> cache;
+
+    /**
+     * 预先生成的访问序列，避免在测量中生成键
+     */
+    private String[] accessKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new CacheConfig().accessCache();
+        String[] keys = new String[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            keys[i] = "user:" + i;
+            cache.put(keys[i], i);
+        }
+        // 偏斜分布：低编号的键被访问得更频繁，接近真实热点
+        SplittableRandom random = new SplittableRandom(42);
+        accessKeys = new String[MASK + 1];
+        for (int i = 0; i < accessKeys.length; i++) {
+            double skewed = Math.pow(random.nextDouble(), 3);
+            accessKeys[i] = keys[(int) (skewed * keySpace)];
+        }
+    }
+
+    /**
+     * 每个线程独立的访问游标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = (int) Thread.currentThread().getId() * 7919;
+
+        int next() {
+            return index++ & MASK;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object read(Cursor cursor) {
+        return cache.getIfPresent(accessKeys[cursor.next()]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(6)
+    public Object readWrite_get(Cursor cursor) {
+        return cache.getIfPresent(accessKeys[cursor.next()]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public void readWrite_put(Cursor cursor) {
+        String key = accessKeys[cursor.next()];
+        cache.put(key, key);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object computeIfAbsent(Cursor cursor) {
+        return cache.get(accessKeys[cursor.next()], key -> key);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.benchmarks.jpa;
+
+import com.example.jpa.dto.DepartmentDTO;
+import com.example.jpa.dto.Mapper;
+import com.example.jpa.dto.ProjectDTO;
+import com.example.jpa.dto.UserDTO;
+import com.example.jpa.entity.Department;
+import com.example.jpa.entity.Project;
+import com.example.jpa.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA模块 Mapper 实体到DTO转换基准测试
+ * 实体为内存中构造的普通对象，不涉及持久化上下文，只测量转换本身
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    /**
+     * 每个用户参与的项目数
+     */
+    @Param({"2", "20"})
+    private int projectsPerUser;
+
+    /**
+     * 部门下的用户数
+     */
+    @Param({"10", "1000"})
+    private int usersPerDepartment;
+
+    private User user;
+    private Department department;
+    private Project project;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        department = new Department();
+        department.setId(1L);
+        department.setName("技术部");
+        department.setDescription("负责技术研发");
+        department.setCreateTime(now);
+        department.setUpdateTime(now);
+
+        List<Project> projects = new ArrayList<>(projectsPerUser);
+        for (int i = 0; i < projectsPerUser; i++) {
+            Project p = new Project();
+            p.setId((long) i + 1);
+            p.setName("项目" + (i + 1));
+            p.setDescription("这是第" + (i + 1) + "个项目的描述");
+            p.setStartDate(LocalDate.of(2024, 1, 1));
+            p.setEndDate(LocalDate.of(2024, 12, 31));
+            p.setCreateTime(now);
+            p.setUpdateTime(now);
+            projects.add(p);
+        }
+        project = projects.get(0);
+
+        List<User> users = new ArrayList<>(usersPerDepartment);
+        for (int i = 0; i < usersPerDepartment; i++) {
+            User u = new User();
+            u.setId((long) i + 1);
+            u.setUsername("user" + (i + 1));
+            u.setEmail("user" + (i + 1) + "@company.com");
+            u.setAge(20 + i % 40);
+            u.setCreateTime(now);
+            u.setUpdateTime(now);
+            u.setDepartment(department);
+            u.setProjects(projects);
+            users.add(u);
+        }
+        department.setUsers(users);
+        project.setUsers(users);
+        user = users.get(0);
+    }
+
+    @Benchmark
+    public UserDTO toUserDTO() {
+        return Mapper.toUserDTO(user);
+    }
+
+    @Benchmark
+    public DepartmentDTO toDepartmentDTO() {
+        return Mapper.toDepartmentDTO(department);
+    }
+
+    @Benchmark
+    public ProjectDTO toProjectDTO() {
+        return Mapper.toProjectDTO(project);
+    }
+}
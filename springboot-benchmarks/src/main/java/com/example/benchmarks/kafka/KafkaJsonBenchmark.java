@@ -0,0 +1,129 @@
+package com.example.benchmarks.kafka;
+
+import com.example.springbootintegratekafka.model.OrderMessage;
+import com.example.springbootintegratekafka.model.UserMessage;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka JSON消息序列化基准测试
+ * 序列化器与反序列化器按 kafka 模块 KafkaConfig 的方式配置：值使用 spring-kafka JsonSerializer，
+ * 消费端不使用类型头、默认类型为Object（反序列化为Map）；另测按具体类型反序列化作为对照
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaJsonBenchmark {
+
+    private static final String TOPIC = "benchmark-topic";
+
+    /**
+     * 订单商品项数量
+     */
+    @Param({"3", "50"})
+    private int orderItems;
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<Object> configuredDeserializer;
+    private JsonDeserializer<UserMessage> userDeserializer;
+    private JsonDeserializer<OrderMessage> orderDeserializer;
+
+    private UserMessage userMessage;
+    private OrderMessage orderMessage;
+    private byte[] userBytes;
+    private byte[] orderBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.example.springbootintegratekafka.model");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, Object.class);
+        configuredDeserializer = new JsonDeserializer<>();
+        configuredDeserializer.configure(props, false);
+
+        userDeserializer = new JsonDeserializer<>(UserMessage.class, false);
+        orderDeserializer = new JsonDeserializer<>(OrderMessage.class, false);
+
+        userMessage = UserMessage.create(10001L, "user10001", "UPDATE", "用户资料更新：修改了手机号与邮箱");
+        userMessage.setDepartmentId(12L);
+        userMessage.setMetadata("{\"ip\":\"10.0.0.1\",\"client\":\"web\"}");
+
+        orderMessage = OrderMessage.create("ORD-20240101-000001", 10001L, "CREATED", new BigDecimal("1999.00"), "ORDER_CREATED");
+        List<OrderMessage.OrderItem> items = new ArrayList<>(orderItems);
+        for (int i = 0; i < orderItems; i++) {
+            items.add(new OrderMessage.OrderItem("P" + i, "商品" + i, i % 5 + 1, new BigDecimal("99.90")));
+        }
+        orderMessage.setItems(items);
+        orderMessage.setOrderTime(LocalDateTime.of(2024, 1, 1, 12, 0));
+        orderMessage.setTimestamp(LocalDateTime.of(2024, 1, 1, 12, 0, 1));
+
+        userBytes = serializer.serialize(TOPIC, userMessage);
+        orderBytes = serializer.serialize(TOPIC, orderMessage);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializer.close();
+        configuredDeserializer.close();
+        userDeserializer.close();
+        orderDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeUserMessage() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), userMessage);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderMessage() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), orderMessage);
+    }
+
+    @Benchmark
+    public Object deserializeUserMessageAsConfigured() {
+        return configuredDeserializer.deserialize(TOPIC, userBytes);
+    }
+
+    @Benchmark
+    public Object deserializeOrderMessageAsConfigured() {
+        return configuredDeserializer.deserialize(TOPIC, orderBytes);
+    }
+
+    @Benchmark
+    public UserMessage deserializeUserMessageTyped() {
+        return userDeserializer.deserialize(TOPIC, userBytes);
+    }
+
+    @Benchmark
+    public OrderMessage deserializeOrderMessageTyped() {
+        return orderDeserializer.deserialize(TOPIC, orderBytes);
+    }
+}
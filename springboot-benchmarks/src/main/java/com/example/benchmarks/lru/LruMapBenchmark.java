@@ -0,0 +1,75 @@
+package com.example.benchmarks.lru;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LRULinkedHashMap 与其它有界Map实现的单线程对比
+ * 访问序列中约一半的键超出容量，读未命中时写入，持续触发淘汰
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class LruMapBenchmark {
+
+    static final int CAPACITY = 1024;
+    static final int MASK = (1 << 16) - 1;
+
+    @Param({"LRU_LINKED_HASH_MAP", "SYNCHRONIZED_LRU_LINKED_HASH_MAP", "CAFFEINE", "CONCURRENT_HASH_MAP"})
+    private MapImplementation implementation;
+
+    private Map<Integer, Integer> map;
+    private Integer[] keys;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = implementation.create(CAPACITY);
+        keys = accessSequence(42);
+    }
+
+    @Benchmark
+    public Integer getOrPut() {
+        return getOrPut(map, keys[index++ & MASK]);
+    }
+
+    static Integer getOrPut(Map<Integer, Integer> map, Integer key) {
+        Integer value = map.get(key);
+        if (value == null) {
+            map.put(key, key);
+            return key;
+        }
+        return value;
+    }
+
+    /**
+     * 键取值范围为容量的2倍，预先装箱避免测量装箱开销
+     */
+    static Integer[] accessSequence(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Integer[] keys = new Integer[MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(CAPACITY * 2);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.benchmarks.lru;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界Map多线程竞争对比
+ * 非线程安全的 LRULinkedHashMap 不参与，同步包装后所有读写串行化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LruMapContentionBenchmark {
+
+    @Param({"SYNCHRONIZED_LRU_LINKED_HASH_MAP", "CAFFEINE", "CONCURRENT_HASH_MAP"})
+    private MapImplementation implementation;
+
+    private Map<Integer, Integer> map;
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = implementation.create(LruMapBenchmark.CAPACITY);
+        keys = LruMapBenchmark.accessSequence(42);
+    }
+
+    /**
+     * 每个线程独立的访问游标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = (int) Thread.currentThread().getId() * 7919;
+
+        int next() {
+            return index++ & LruMapBenchmark.MASK;
+        }
+    }
+
+    @Benchmark
+    public Integer getOrPut(Cursor cursor) {
+        return LruMapBenchmark.getOrPut(map, keys[cursor.next()]);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.benchmarks.lru;
+
+import com.example.springbootbasefunctions.LRU.LRULinkedHashMap;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 参与对比的有界Map实现
+ */
+public enum MapImplementation {
+
+    /**
+     * LRULinkedHashMap，非线程安全，仅用于单线程对比
+     */
+    LRU_LINKED_HASH_MAP {
+        @Override
+        public Map<Integer, Integer> create(int capacity) {
+            return new LRULinkedHashMap<>(capacity);
+        }
+    },
+
+    /**
+     * Collections.synchronizedMap 包装的 LRULinkedHashMap，访问顺序的维护使读操作也需要加锁
+     */
+    SYNCHRONIZED_LRU_LINKED_HASH_MAP {
+        @Override
+        public Map<Integer, Integer> create(int capacity) {
+            return Collections.synchronizedMap(new LRULinkedHashMap<>(capacity));
+        }
+    },
+
+    /**
+     * Caffeine有界缓存（W-TinyLFU），读操作无锁
+     */
+    CAFFEINE {
+        @Override
+        public Map<Integer, Integer> create(int capacity) {
+            return Caffeine.newBuilder().maximumSize(capacity).<Integer, Integer>build().asMap();
+        }
+    },
+
+    /**
+     * 无界ConcurrentHashMap，作为不做淘汰时的上限参照
+     */
+    CONCURRENT_HASH_MAP {
+        @Override
+        public Map<Integer, Integer> create(int capacity) {
+            return new ConcurrentHashMap<>(capacity * 2);
+        }
+    };
+
+    public abstract Map<Integer, Integer> create(int capacity);
+}
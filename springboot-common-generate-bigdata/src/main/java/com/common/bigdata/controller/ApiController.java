@@ -1,14 +1,40 @@
 package com.common.bigdata.controller;
 
+import com.common.bigdata.export.DatasetExporter;
+import com.common.bigdata.export.DatasetStreamWriter;
+import com.common.bigdata.export.ExportFormat;
+import com.common.bigdata.export.ExportOptions;
+import com.common.bigdata.export.ExportResult;
+import com.common.bigdata.export.StreamFormat;
+import com.common.bigdata.export.StreamingGenerationListener;
 import com.common.bigdata.generator.BigDataGenerator;
+import com.common.bigdata.generator.GenerationCancelledException;
+import com.common.bigdata.generator.GenerationCheckpoint;
+import com.common.bigdata.generator.GenerationOptions;
 import com.common.bigdata.generator.GenerationResult;
+import com.common.bigdata.generator.GenerationSummary;
+import com.common.bigdata.generator.ParallelGenerationEngine;
+import com.common.bigdata.generator.WriteMode;
+import com.common.bigdata.generator.WriteModeBenchmark;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import com.common.bigdata.generator.sink.SinkType;
+import com.common.bigdata.job.GenerationJobService;
+import com.common.bigdata.job.JobProgress;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * REST API控制器
@@ -21,33 +47,66 @@ import java.util.Map;
 public class ApiController {
     
     private final BigDataGenerator bigDataGenerator;
+    private final WriteModeBenchmark writeModeBenchmark;
+    private final DatasetExporter datasetExporter;
+    private final GenerationJobService generationJobService;
+    private final DatasetStreamWriter datasetStreamWriter;
+    
+    /**
+     * 导出文件根目录
+     */
+    @Value("${bigdata.export.base-dir:export}")
+    private String exportBaseDir;
+    
+    /**
+     * 分块模式允许的最大用户数量
+     */
+    private static final int MAX_CHUNKED_USER_COUNT = 50_000_000;
     
     /**
      * 生成数据API
+     * async为true时提交异步生成任务并立即返回任务ID，进度通过 /api/jobs/{jobId} 查询
      */
     @PostMapping("/generate")
-    public ResponseEntity<Map<String, Object>> generateData(@RequestParam("userCount") int userCount) {
+    public ResponseEntity<Map<String, Object>> generateData(@RequestParam("userCount") int userCount,
+                                                            @RequestParam(value = "async", defaultValue = "false") boolean async,
+                                                            DistributionProfile distribution) {
         try {
             if (userCount <= 0 || userCount > 100000) {
                 return ResponseEntity.badRequest()
                     .body(Map.of("success", false, "message", "用户数量必须在1-100000之间"));
             }
+            distribution.validate();
+            if (async) {
+                return jobAccepted(generationJobService.submit(GenerationOptions.builder()
+                    .userCount(userCount)
+                    .distribution(distribution)
+                    .build()));
+            }
             
-            GenerationResult result = bigDataGenerator.generateData(userCount);
+            GenerationSummary result = bigDataGenerator.generateData(userCount, false, distribution);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "数据生成成功");
             response.put("statistics", result.getStatistics());
+            response.put("generationTime", result.getGenerationTime());
+            response.put("clearTime", result.getClearTime());
+            response.put("clearMode", result.getClearMode());
+            response.put("phaseTimes", result.getPhaseTimes());
+            response.put("rowsPerSecond", result.getRowsPerSecond());
             response.put("data", Map.of(
-                "userCount", result.getUsers().size(),
-                "projectCount", result.getProjects().size(),
-                "departmentCount", result.getDepartments().size(),
-                "roleCount", result.getRoles().size()
+                "userCount", result.getUserCount(),
+                "projectCount", result.getProjectCount(),
+                "departmentCount", result.getDepartmentCount(),
+                "roleCount", result.getRoleCount()
             ));
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
         } catch (Exception e) {
             log.error("API数据生成失败", e);
             return ResponseEntity.internalServerError()
@@ -55,13 +114,169 @@ public class ApiController {
         }
     }
     
+    /**
+     * 分块流式生成数据API
+     * 每块独立提交，内存占用与总量无关，适合百万级以上数据量；
+     * parallelism大于1时多线程并行生成，指定seed时生成结果可复现；async为true时提交异步生成任务
+     */
+    @PostMapping("/generate/chunked")
+    public ResponseEntity<Map<String, Object>> generateDataInChunks(
+            @RequestParam("userCount") int userCount,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "incremental", defaultValue = "false") boolean incremental,
+            @RequestParam(value = "parallelism", defaultValue = "1") int parallelism,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "writeMode", defaultValue = "JPA") WriteMode writeMode,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
+            @RequestParam(value = "sampleSize", defaultValue = "0") int sampleSize,
+            @RequestParam(value = "sinks", required = false) Set<SinkType> sinks,
+            DistributionProfile distribution) {
+        try {
+            if (userCount <= 0 || userCount > MAX_CHUNKED_USER_COUNT) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "用户数量必须在1-" + MAX_CHUNKED_USER_COUNT + "之间"));
+            }
+            int size = chunkSize != null ? chunkSize : BigDataGenerator.DEFAULT_CHUNK_SIZE;
+            if (size <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "分块大小必须大于0"));
+            }
+            
+            distribution.validate();
+            
+            GenerationOptions options = GenerationOptions.builder()
+                .userCount(userCount)
+                .incremental(incremental)
+                .chunkSize(size)
+                .parallelism(parallelism)
+                .seed(seed)
+                .writeMode(writeMode)
+                .distribution(distribution)
+                .sampleSize(sampleSize)
+                .sinks(sinks != null ? sinks : Set.of())
+                .build();
+            if (async) {
+                return jobAccepted(generationJobService.submit(options));
+            }
+            
+            GenerationSummary result = bigDataGenerator.generateData(options);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "分块数据生成成功");
+            response.put("statistics", result.getStatistics());
+            response.put("generationTime", result.getGenerationTime());
+            response.put("clearTime", result.getClearTime());
+            response.put("clearMode", result.getClearMode());
+            response.put("phaseTimes", result.getPhaseTimes());
+            response.put("rowsPerSecond", result.getRowsPerSecond());
+            response.put("sampleUsers", result.getSampleUsers());
+            response.put("chunkSize", result.getChunkSize());
+            response.put("parallelism", result.getParallelism());
+            response.put("seed", result.getSeed());
+            response.put("writeMode", result.getWriteMode());
+            response.put("sinks", result.getSinks());
+            response.put("chunks", result.getChunkStatistics());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("分块数据生成失败", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "message", "分块数据生成失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 数据集文件导出API
+     * 不写入数据库，直接分块生成CSV / NDJSON / LOAD DATA文件，可选gzip压缩与按大小切分
+     */
+    @PostMapping("/export")
+    public ResponseEntity<Map<String, Object>> exportData(
+            @RequestParam("userCount") int userCount,
+            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(value = "maxFileMb", defaultValue = "0") int maxFileMb,
+            DistributionProfile distribution) {
+        try {
+            if (userCount <= 0 || userCount > MAX_CHUNKED_USER_COUNT) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "用户数量必须在1-" + MAX_CHUNKED_USER_COUNT + "之间"));
+            }
+            int size = chunkSize != null ? chunkSize : BigDataGenerator.DEFAULT_CHUNK_SIZE;
+            if (size <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "分块大小必须大于0"));
+            }
+            distribution.validate();
+            
+            String directoryName = "export-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS"));
+            ExportResult result = datasetExporter.export(ExportOptions.builder()
+                .userCount(userCount)
+                .chunkSize(size)
+                .seed(seed)
+                .format(format)
+                .gzip(gzip)
+                .maxFileBytes(maxFileMb * 1024L * 1024L)
+                .outputDirectory(Paths.get(exportBaseDir, directoryName))
+                .distribution(distribution)
+                .build());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "数据集导出成功");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("数据集导出失败", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "message", "数据集导出失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 写入方式性能对比API
+     * 依次运行saveAll、JPA分块、JDBC批量三种写入方式（覆盖模式，会清空现有数据）
+     */
+    @PostMapping("/benchmark/write-modes")
+    public ResponseEntity<Map<String, Object>> benchmarkWriteModes(
+            @RequestParam("userCount") int userCount,
+            @RequestParam(value = "chunkSize", defaultValue = "5000") int chunkSize) {
+        try {
+            if (userCount <= 0 || userCount > 100000 || chunkSize <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "用户数量必须在1-100000之间且分块大小大于0"));
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("userCount", userCount);
+            response.put("results", writeModeBenchmark.compare(userCount, chunkSize));
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            log.error("写入方式性能对比失败", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "message", "写入方式性能对比失败: " + e.getMessage()));
+        }
+    }
+    
     /**
      * 获取完整数据（JSON格式）
      */
     @PostMapping("/generate/full")
     public ResponseEntity<Map<String, Object>> generateFullData(@RequestParam("userCount") int userCount) {
         try {
-            GenerationResult result = bigDataGenerator.generateData(userCount);
+            GenerationResult result = bigDataGenerator.generateFullData(userCount);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -85,7 +300,7 @@ public class ApiController {
     @PostMapping("/generate/users")
     public ResponseEntity<Map<String, Object>> generateUsers(@RequestParam("userCount") int userCount) {
         try {
-            GenerationResult result = bigDataGenerator.generateData(userCount);
+            GenerationResult result = bigDataGenerator.generateFullData(userCount);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -101,6 +316,39 @@ public class ApiController {
         }
     }
     
+    /**
+     * 流式生成完整数据API
+     * 分块生成后按分页以扁平投影流式返回部门、角色、项目与用户（附带角色ID与项目ID），
+     * 响应内存只与分块大小有关；format为NDJSON时每行为 {"type": 表名, "data": 行}
+     */
+    @PostMapping("/generate/full/stream")
+    public ResponseEntity<StreamingResponseBody> streamFullData(
+            @RequestParam("userCount") int userCount,
+            @RequestParam(value = "format", defaultValue = "NDJSON") StreamFormat format,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "parallelism", defaultValue = "1") int parallelism,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "writeMode", defaultValue = "JPA") WriteMode writeMode,
+            DistributionProfile distribution) {
+        return streamGenerated(userCount, format, chunkSize, parallelism, seed, writeMode, distribution, true);
+    }
+    
+    /**
+     * 流式生成用户数据API
+     * 分块生成后按分页以扁平投影流式返回用户，format为NDJSON时每行一个用户
+     */
+    @PostMapping("/generate/users/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsers(
+            @RequestParam("userCount") int userCount,
+            @RequestParam(value = "format", defaultValue = "NDJSON") StreamFormat format,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "parallelism", defaultValue = "1") int parallelism,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "writeMode", defaultValue = "JPA") WriteMode writeMode,
+            DistributionProfile distribution) {
+        return streamGenerated(userCount, format, chunkSize, parallelism, seed, writeMode, distribution, false);
+    }
+    
     /**
      * 健康检查
      */
@@ -112,4 +360,72 @@ public class ApiController {
             "timestamp", System.currentTimeMillis()
         ));
     }
+    
+    /**
+     * 异步任务已受理响应
+     */
+    private ResponseEntity<Map<String, Object>> jobAccepted(JobProgress progress) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "生成任务已提交");
+        response.put("jobId", progress.getJobId());
+        response.put("job", progress);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    /**
+     * 分块生成数据并流式写出结果
+     * 每个分块提交后即写出新提交的行（见 StreamingGenerationListener），首字节不必等待生成结束；
+     * 参数错误时在写出前返回400；响应开始写出后出错只能中断连接
+     */
+    private ResponseEntity<StreamingResponseBody> streamGenerated(int userCount, StreamFormat format, Integer chunkSize,
+                                                                  int parallelism, Long seed, WriteMode writeMode,
+                                                                  DistributionProfile distribution, boolean fullDataset) {
+        int size = chunkSize != null ? chunkSize : BigDataGenerator.DEFAULT_CHUNK_SIZE;
+        if (userCount <= 0 || userCount > MAX_CHUNKED_USER_COUNT || size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            distribution.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        GenerationOptions options = GenerationOptions.builder()
+            .userCount(userCount)
+            .chunkSize(size)
+            .parallelism(parallelism)
+            .seed(seed)
+            .writeMode(writeMode)
+            .distribution(distribution)
+            .build();
+        
+        StreamingResponseBody body = out -> {
+            DatasetStreamWriter.Session session = datasetStreamWriter.open(out, format, size);
+            GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+            StreamingGenerationListener listener = new StreamingGenerationListener(session, checkpoint, fullDataset,
+                userCount, size, ParallelGenerationEngine.resolveParallelism(parallelism));
+            GenerationSummary result;
+            try {
+                result = bigDataGenerator.generateData(options, listener, checkpoint);
+            } catch (GenerationCancelledException e) {
+                // 只有写出失败会取消生成
+                listener.rethrowFailure();
+                throw e;
+            }
+            listener.writeRemaining();
+            long rows = session.getRows();
+            result.setBytesWritten(session.getBytesWritten());
+            session.writeField("count", rows);
+            session.writeField("statistics", result.getStatistics());
+            session.writeField("generationTime", result.getGenerationTime());
+            session.writeField("phaseTimes", result.getPhaseTimes());
+            session.writeField("bytesWritten", result.getBytesWritten());
+            session.writeField("seed", result.getSeed());
+            session.finish();
+            log.info("流式返回完成，共 {} 行", rows);
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .body(body);
+    }
 }
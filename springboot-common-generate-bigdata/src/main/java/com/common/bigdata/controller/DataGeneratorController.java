@@ -1,7 +1,12 @@
 package com.common.bigdata.controller;
 
 import com.common.bigdata.generator.BigDataGenerator;
-import com.common.bigdata.generator.GenerationResult;
+import com.common.bigdata.generator.GenerationOptions;
+import com.common.bigdata.generator.GenerationSummary;
+import com.common.bigdata.generator.distribution.DistributionPreset;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import com.common.bigdata.job.GenerationJobService;
+import com.common.bigdata.job.JobProgress;
 import com.common.bigdata.repository.DepartmentRepository;
 import com.common.bigdata.repository.ProjectRepository;
 import com.common.bigdata.repository.RoleRepository;
@@ -26,6 +31,7 @@ public class DataGeneratorController {
     private final DepartmentRepository departmentRepository;
     private final ProjectRepository projectRepository;
     private final RoleRepository roleRepository;
+    private final GenerationJobService generationJobService;
     
     /**
      * 首页 - 数据生成器界面
@@ -42,23 +48,38 @@ public class DataGeneratorController {
         model.addAttribute("departmentCount", departmentCount);
         model.addAttribute("projectCount", projectCount);
         model.addAttribute("roleCount", roleCount);
+        model.addAttribute("distributionPresets", DistributionPreset.values());
         
         return "index";
     }
     
     /**
      * 生成数据
+     * 勾选后台生成时提交异步任务并返回首页显示任务ID
      */
     @PostMapping("/generate")
     public String generateData(@RequestParam("userCount") int userCount, 
                               @RequestParam(value = "generationMode", defaultValue = "overwrite") String generationMode,
+                              @RequestParam(value = "async", defaultValue = "false") boolean async,
+                              @RequestParam(value = "distributionPreset", defaultValue = "UNIFORM") DistributionPreset distributionPreset,
                               Model model) {
         try {
             boolean incremental = "incremental".equals(generationMode);
-            log.info("开始生成数据，用户数量: {}，模式: {}", userCount, incremental ? "增量" : "覆盖");
+            DistributionProfile distribution = distributionPreset.getProfile();
+            if (async) {
+                JobProgress progress = generationJobService.submit(GenerationOptions.builder()
+                        .userCount(userCount)
+                        .incremental(incremental)
+                        .distribution(distribution)
+                        .build());
+                model.addAttribute("jobId", progress.getJobId());
+                return index(model);
+            }
+            log.info("开始生成数据，用户数量: {}，模式: {}，分布: {}", userCount, incremental ? "增量" : "覆盖",
+                    distributionPreset.getDescription());
             
             long startTime = System.currentTimeMillis();
-            GenerationResult result = bigDataGenerator.generateData(userCount, incremental);
+            GenerationSummary result = bigDataGenerator.generateData(userCount, incremental, distribution);
             long endTime = System.currentTimeMillis();
             
             model.addAttribute("result", result);
@@ -74,6 +95,7 @@ public class DataGeneratorController {
             model.addAttribute("error", "数据生成失败: " + e.getMessage());
             model.addAttribute("userCount", userCount);
             model.addAttribute("generationMode", generationMode);
+            model.addAttribute("distributionPresets", DistributionPreset.values());
             return "index";
         }
     }
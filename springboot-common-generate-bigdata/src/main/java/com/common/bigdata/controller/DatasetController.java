@@ -0,0 +1,148 @@
+package com.common.bigdata.controller;
+
+import com.common.bigdata.dataset.DatasetManifest;
+import com.common.bigdata.dataset.DatasetManifests;
+import com.common.bigdata.dataset.DatasetSpec;
+import com.common.bigdata.generator.BigDataGenerator;
+import com.common.bigdata.generator.GenerationSummary;
+import com.common.bigdata.generator.WriteMode;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可复现数据集API控制器
+ * 规格通过 name、version、seed、userCount、chunkSize 参数指定，数据分布参数见 {@link DistributionProfile}；
+ * 清单记录各表行数与校验和，用于确认两次生成或两个节点上的数据集相同
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/datasets")
+@RequiredArgsConstructor
+public class DatasetController {
+    
+    private final BigDataGenerator bigDataGenerator;
+    private final DatasetManifests datasetManifests;
+    
+    /**
+     * 按规格生成的最大用户数量
+     */
+    private static final int MAX_DATASET_USER_COUNT = 50_000_000;
+    
+    /**
+     * 按规格在内存中重新生成并计算清单，不访问数据库
+     */
+    @PostMapping("/manifest")
+    public ResponseEntity<Map<String, Object>> manifest(
+            DatasetSpec spec,
+            DistributionProfile distribution,
+            @RequestParam(value = "parallelism", defaultValue = "0") int parallelism) {
+        try {
+            validate(spec, distribution);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("manifest", datasetManifests.generate(spec, parallelism));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("数据集清单计算失败", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "message", "数据集清单计算失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 按规格覆盖生成数据集，回读数据库计算清单；verify为true时与内存重新生成的清单比较
+     * JPA写入时用户ID按提交顺序由数据库分配，并行度大于1时不可复现，因此只允许JDBC批量写入或并行度1
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<Map<String, Object>> generate(
+            DatasetSpec spec,
+            DistributionProfile distribution,
+            @RequestParam(value = "parallelism", defaultValue = "1") int parallelism,
+            @RequestParam(value = "writeMode", defaultValue = "JDBC_BATCH") WriteMode writeMode,
+            @RequestParam(value = "verify", defaultValue = "true") boolean verify) {
+        try {
+            validate(spec, distribution);
+            if (writeMode == WriteMode.JPA && parallelism != 1) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "JPA写入并行生成时用户ID不可复现，请使用JDBC_BATCH或并行度1"));
+            }
+            
+            GenerationSummary summary = bigDataGenerator.generateData(spec.toGenerationOptions(parallelism, writeMode));
+            DatasetManifest manifest = datasetManifests.scanDatabase(spec);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "数据集生成成功");
+            response.put("statistics", summary.getStatistics());
+            response.put("generationTime", summary.getGenerationTime());
+            response.put("phaseTimes", summary.getPhaseTimes());
+            response.put("manifest", manifest);
+            if (verify) {
+                putVerification(response, datasetManifests.generate(spec, parallelism), manifest);
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("数据集生成失败", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "message", "数据集生成失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 校验数据库中的数据与规格是否一致
+     */
+    @PostMapping("/verify")
+    public ResponseEntity<Map<String, Object>> verify(
+            DatasetSpec spec,
+            DistributionProfile distribution,
+            @RequestParam(value = "parallelism", defaultValue = "0") int parallelism) {
+        try {
+            validate(spec, distribution);
+            DatasetManifest manifest = datasetManifests.scanDatabase(spec);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("manifest", manifest);
+            putVerification(response, datasetManifests.generate(spec, parallelism), manifest);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("数据集校验失败", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("success", false, "message", "数据集校验失败: " + e.getMessage()));
+        }
+    }
+    
+    private static void validate(DatasetSpec spec, DistributionProfile distribution) {
+        spec.setDistribution(distribution);
+        spec.validate();
+        if (spec.getUserCount() > MAX_DATASET_USER_COUNT) {
+            throw new IllegalArgumentException("用户数量必须在1-" + MAX_DATASET_USER_COUNT + "之间");
+        }
+    }
+    
+    private static void putVerification(Map<String, Object> response, DatasetManifest expected, DatasetManifest actual) {
+        List<String> differences = expected.differences(actual);
+        response.put("expectedManifest", expected);
+        response.put("identical", differences.isEmpty());
+        response.put("differences", differences);
+    }
+}
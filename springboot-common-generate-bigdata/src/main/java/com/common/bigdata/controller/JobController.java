@@ -0,0 +1,153 @@
+package com.common.bigdata.controller;
+
+import com.common.bigdata.generator.BigDataGenerator;
+import com.common.bigdata.generator.GenerationOptions;
+import com.common.bigdata.generator.WriteMode;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import com.common.bigdata.generator.sink.SinkType;
+import com.common.bigdata.job.GenerationJobService;
+import com.common.bigdata.job.JobProgress;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 异步生成任务API控制器
+ * 提交任务后立即返回任务ID，通过轮询或SSE获取进度，支持取消与断点续跑
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+    
+    private final GenerationJobService generationJobService;
+    
+    /**
+     * 异步任务允许的最大用户数量
+     */
+    private static final int MAX_JOB_USER_COUNT = 50_000_000;
+    
+    /**
+     * 提交生成任务
+     * 数据分布通过 department、project、role、age 等参数指定，见 {@link DistributionProfile}
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> submit(
+            @RequestParam("userCount") int userCount,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "incremental", defaultValue = "false") boolean incremental,
+            @RequestParam(value = "parallelism", defaultValue = "1") int parallelism,
+            @RequestParam(value = "seed", required = false) Long seed,
+            @RequestParam(value = "writeMode", defaultValue = "JPA") WriteMode writeMode,
+            @RequestParam(value = "sinks", required = false) Set<SinkType> sinks,
+            DistributionProfile distribution) {
+        if (userCount <= 0 || userCount > MAX_JOB_USER_COUNT) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "用户数量必须在1-" + MAX_JOB_USER_COUNT + "之间"));
+        }
+        int size = chunkSize != null ? chunkSize : BigDataGenerator.DEFAULT_CHUNK_SIZE;
+        if (size <= 0) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "分块大小必须大于0"));
+        }
+        JobProgress progress;
+        try {
+            distribution.validate();
+            progress = generationJobService.submit(GenerationOptions.builder()
+                .userCount(userCount)
+                .incremental(incremental)
+                .chunkSize(size)
+                .parallelism(parallelism)
+                .seed(seed)
+                .writeMode(writeMode)
+                .sinks(sinks != null ? sinks : Set.of())
+                .distribution(distribution)
+                .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", e.getMessage()));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "生成任务已提交");
+        response.put("jobId", progress.getJobId());
+        response.put("job", progress);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    /**
+     * 查询全部任务
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list() {
+        return ResponseEntity.ok(Map.of("success", true, "jobs", generationJobService.list()));
+    }
+    
+    /**
+     * 查询任务进度
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable("jobId") String jobId) {
+        JobProgress progress = generationJobService.get(jobId);
+        if (progress == null) {
+            return notFound(jobId);
+        }
+        return ResponseEntity.ok(Map.of("success", true, "job", progress));
+    }
+    
+    /**
+     * 以SSE推送任务进度，任务结束后自动关闭
+     */
+    @GetMapping(value = "/{jobId}/events", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> events(@PathVariable("jobId") String jobId,
+                                             @RequestParam(value = "intervalMillis", defaultValue = "1000") long intervalMillis) {
+        SseEmitter emitter = generationJobService.streamProgress(jobId, Math.max(100, intervalMillis));
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * 取消任务，已提交的分块保留
+     */
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable("jobId") String jobId) {
+        if (generationJobService.get(jobId) == null) {
+            return notFound(jobId);
+        }
+        if (!generationJobService.cancel(jobId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("success", false, "message", "任务已结束，无法取消"));
+        }
+        return ResponseEntity.ok(Map.of("success", true, "message", "已请求取消任务",
+            "job", generationJobService.get(jobId)));
+    }
+    
+    /**
+     * 从最后提交的分块继续执行已取消或失败的任务
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<Map<String, Object>> resume(@PathVariable("jobId") String jobId) {
+        if (generationJobService.get(jobId) == null) {
+            return notFound(jobId);
+        }
+        if (!generationJobService.resume(jobId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("success", false, "message", "只有已取消或失败的任务可以续跑"));
+        }
+        return ResponseEntity.ok(Map.of("success", true, "message", "任务已重新提交",
+            "job", generationJobService.get(jobId)));
+    }
+    
+    private ResponseEntity<Map<String, Object>> notFound(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(Map.of("success", false, "message", "任务不存在: " + jobId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.common.bigdata.dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 数据集清单
+ * 记录规格、生成算法版本与各表的行数和校验和。校验和只覆盖数据内容，
+ * 不包含记录写入时间的审计字段（create_time、update_time）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetManifest {
+    
+    private DatasetSpec spec;
+    
+    private String generatorVersion;
+    
+    /**
+     * 清单来源：generated 为按规格在内存中重新生成，database 为从数据库回读
+     */
+    private String source;
+    
+    private LocalDateTime createdAt;
+    
+    /**
+     * 各表清单，按外键依赖顺序排列
+     */
+    private Map<String, TableManifest> tables;
+    
+    /**
+     * 与另一份清单比较
+     * @return 差异描述，为空表示两份清单对应的数据集相同
+     */
+    public List<String> differences(DatasetManifest other) {
+        List<String> differences = new ArrayList<>();
+        if (!Objects.equals(generatorVersion, other.generatorVersion)) {
+            differences.add("生成算法版本不同: " + generatorVersion + " / " + other.generatorVersion);
+        }
+        tables.forEach((table, manifest) -> {
+            TableManifest otherManifest = other.tables.get(table);
+            if (otherManifest == null) {
+                differences.add(table + ": 缺少该表");
+                return;
+            }
+            if (manifest.getRowCount() != otherManifest.getRowCount()) {
+                differences.add(table + ": 行数 " + manifest.getRowCount() + " / " + otherManifest.getRowCount());
+            }
+            if (!manifest.getChecksum().equals(otherManifest.getChecksum())) {
+                differences.add(table + ": 校验和不同，首个不同分块 " + firstDifferentChunk(manifest, otherManifest));
+            }
+        });
+        return differences;
+    }
+    
+    private static int firstDifferentChunk(TableManifest left, TableManifest right) {
+        List<String> leftChunks = left.getChunkChecksums();
+        List<String> rightChunks = right.getChunkChecksums();
+        int common = Math.min(leftChunks.size(), rightChunks.size());
+        for (int i = 0; i < common; i++) {
+            if (!leftChunks.get(i).equals(rightChunks.get(i))) {
+                return i;
+            }
+        }
+        return common;
+    }
+}
@@ -0,0 +1,290 @@
+package com.common.bigdata.dataset;
+
+import com.common.bigdata.constant.PresetData;
+import com.common.bigdata.entity.core.Department;
+import com.common.bigdata.entity.core.Project;
+import com.common.bigdata.entity.core.Role;
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.EntityFactory;
+import com.common.bigdata.generator.IdIndex;
+import com.common.bigdata.generator.LongPairBuffer;
+import com.common.bigdata.generator.ParallelGenerationEngine;
+import com.common.bigdata.generator.ReferenceIds;
+import com.common.bigdata.generator.UserChunk;
+import com.common.bigdata.generator.UserChunkRows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+/**
+ * 数据集清单计算
+ * <ul>
+ *     <li>{@link #generate}：按规格在内存中并行重新生成全部分块并计算校验和，不访问数据库，任意节点结果相同</li>
+ *     <li>{@link #scanDatabase}：按主键顺序流式回读数据库中的数据并计算校验和</li>
+ * </ul>
+ * 两者的分块边界都按ID计算（第 k 块为ID (k*chunkSize, (k+1)*chunkSize]），ID从1开始连续分配时可逐块比较。
+ * 随机源的拆分方式与 BigDataGenerator 分块生成、DatasetExporter 导出一致
+ */
+@Slf4j
+@Component
+public class DatasetManifests {
+    
+    private static final String SOURCE_GENERATED = "generated";
+    private static final String SOURCE_DATABASE = "database";
+    
+    private final EntityFactory entityFactory;
+    
+    /**
+     * 流式回读使用的 JdbcTemplate，MySQL驱动在 fetchSize 为 Integer.MIN_VALUE 时逐行读取结果集
+     */
+    private final JdbcTemplate streamingJdbcTemplate;
+    
+    public DatasetManifests(EntityFactory entityFactory, DataSource dataSource) {
+        this.entityFactory = entityFactory;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+    
+    /**
+     * 按规格在内存中重新生成数据集并计算清单
+     * @param parallelism 并行度，内存中按分块顺序分配ID，清单与之无关；
+     *                    与写入数据库的结果一致的前提是库中数据以 JDBC 批量写入或并行度 1 生成
+     */
+    public DatasetManifest generate(DatasetSpec spec, int parallelism) {
+        spec.validate();
+        int chunkSize = spec.getChunkSize();
+        int projectCount = spec.getProjectCount();
+        int userCount = spec.getUserCount();
+        long startTime = System.currentTimeMillis();
+        
+        // 随机源在调用线程上按分块顺序拆分，与执行顺序无关
+        SplittableRandom rootRandom = new SplittableRandom(spec.getSeed());
+        SplittableRandom projectRandom = rootRandom.split();
+        SplittableRandom userRandom = rootRandom.split();
+        ReferenceIds references = new ReferenceIds(
+                LongStream.rangeClosed(1, PresetData.DEPARTMENTS.size()).toArray(),
+                LongStream.rangeClosed(1, PresetData.ROLES.size()).toArray(),
+                IdIndex.range(1, projectCount),
+                spec.getDistribution());
+        
+        ExecutorService executor = Executors.newFixedThreadPool(ParallelGenerationEngine.resolveParallelism(parallelism));
+        try {
+            List<Future<TableDigest>> projectChunks = new ArrayList<>();
+            for (int offset = 0; offset < projectCount; offset += chunkSize) {
+                int first = offset + 1;
+                int size = Math.min(chunkSize, projectCount - offset);
+                SplittableRandom chunkRandom = projectRandom.split();
+                projectChunks.add(executor.submit(() -> projectChunk(first, size, chunkRandom)));
+            }
+            List<Future<TableDigest[]>> userChunks = new ArrayList<>();
+            int chunkIndex = 0;
+            for (int offset = 0; offset < userCount; offset += chunkSize) {
+                UserChunk chunk = new UserChunk(chunkIndex++, offset + 1, offset, offset + 1L, Math.min(chunkSize, userCount - offset));
+                SplittableRandom chunkRandom = userRandom.split();
+                userChunks.add(executor.submit(() -> userChunk(chunk, references, chunkRandom)));
+            }
+            
+            Map<String, TableManifest> tables = new LinkedHashMap<>();
+            tables.put("departments", TableManifest.of(List.of(departments())));
+            tables.put("roles", TableManifest.of(List.of(roles())));
+            List<TableDigest> projects = new ArrayList<>(projectChunks.size());
+            for (Future<TableDigest> future : projectChunks) {
+                projects.add(future.get());
+            }
+            tables.put("projects", TableManifest.of(projects));
+            List<TableDigest> users = new ArrayList<>(userChunks.size());
+            List<TableDigest> userRoles = new ArrayList<>(userChunks.size());
+            List<TableDigest> userProjects = new ArrayList<>(userChunks.size());
+            for (Future<TableDigest[]> future : userChunks) {
+                TableDigest[] digests = future.get();
+                users.add(digests[0]);
+                userRoles.add(digests[1]);
+                userProjects.add(digests[2]);
+            }
+            tables.put("users", TableManifest.of(users));
+            tables.put("user_roles", TableManifest.of(userRoles));
+            tables.put("user_projects", TableManifest.of(userProjects));
+            log.info("数据集 {}:{} 清单计算完成，用户 {}，耗时: {} ms", spec.getName(), spec.getVersion(), userCount,
+                    System.currentTimeMillis() - startTime);
+            return manifest(spec, SOURCE_GENERATED, tables);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("数据集清单计算失败: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("数据集清单计算被中断", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 从数据库回读数据并计算清单，分块边界按规格中的分块大小计算
+     */
+    public DatasetManifest scanDatabase(DatasetSpec spec) {
+        spec.validate();
+        int chunkSize = spec.getChunkSize();
+        long startTime = System.currentTimeMillis();
+        
+        Map<String, TableManifest> tables = new LinkedHashMap<>();
+        ChunkedDigests departments = new ChunkedDigests(Integer.MAX_VALUE);
+        streamingJdbcTemplate.query("SELECT id, name, description FROM departments ORDER BY id", rs -> {
+            departments.row(1).add(rs.getLong(1)).add(rs.getString(2)).add(rs.getString(3)).endRow();
+        });
+        tables.put("departments", departments.toManifest());
+        
+        ChunkedDigests roles = new ChunkedDigests(Integer.MAX_VALUE);
+        streamingJdbcTemplate.query("SELECT id, role_name, description, status FROM roles ORDER BY id", rs -> {
+            roles.row(1).add(rs.getLong(1)).add(rs.getString(2)).add(rs.getString(3)).add(rs.getString(4)).endRow();
+        });
+        tables.put("roles", roles.toManifest());
+        
+        ChunkedDigests projects = new ChunkedDigests(chunkSize);
+        streamingJdbcTemplate.query("SELECT id, name, description, start_date, end_date, status FROM projects ORDER BY id", rs -> {
+            projects.row(rs.getLong(1)).add(rs.getLong(1)).add(rs.getString(2)).add(rs.getString(3))
+                    .add(rs.getObject(4, LocalDate.class)).add(rs.getObject(5, LocalDate.class)).add(rs.getString(6)).endRow();
+        });
+        tables.put("projects", projects.toManifest());
+        
+        ChunkedDigests users = new ChunkedDigests(chunkSize);
+        streamingJdbcTemplate.query("SELECT id, username, email, age, real_name, gender, phone, department_id FROM users ORDER BY id", rs -> {
+            users.row(rs.getLong(1)).add(rs.getLong(1)).add(rs.getString(2)).add(rs.getString(3)).add(rs.getInt(4))
+                    .add(rs.getString(5)).add(rs.getString(6)).add(rs.getString(7)).add(rs.getLong(8)).endRow();
+        });
+        tables.put("users", users.toManifest());
+        
+        tables.put("user_roles", scanPairs("SELECT user_id, role_id FROM user_roles ORDER BY user_id, role_id", chunkSize));
+        tables.put("user_projects", scanPairs("SELECT user_id, project_id FROM user_projects ORDER BY user_id, project_id", chunkSize));
+        log.info("数据库清单计算完成，耗时: {} ms", System.currentTimeMillis() - startTime);
+        return manifest(spec, SOURCE_DATABASE, tables);
+    }
+    
+    private TableManifest scanPairs(String sql, int chunkSize) {
+        ChunkedDigests pairs = new ChunkedDigests(chunkSize);
+        streamingJdbcTemplate.query(sql, rs -> {
+            pairs.row(rs.getLong(1)).add(rs.getLong(1)).add(rs.getLong(2)).endRow();
+        });
+        return pairs.toManifest();
+    }
+    
+    private static DatasetManifest manifest(DatasetSpec spec, String source, Map<String, TableManifest> tables) {
+        return DatasetManifest.builder()
+                .spec(spec)
+                .generatorVersion(DatasetSpec.GENERATOR_VERSION)
+                .source(source)
+                .createdAt(LocalDateTime.now())
+                .tables(tables)
+                .build();
+    }
+    
+    private static TableDigest departments() {
+        TableDigest digest = new TableDigest();
+        for (int i = 0; i < PresetData.DEPARTMENTS.size(); i++) {
+            Department department = PresetData.DEPARTMENTS.get(i);
+            digest.add(i + 1L).add(department.getName()).add(department.getDescription()).endRow();
+        }
+        return digest;
+    }
+    
+    private static TableDigest roles() {
+        TableDigest digest = new TableDigest();
+        for (int i = 0; i < PresetData.ROLES.size(); i++) {
+            Role role = new Role(PresetData.ROLES.get(i).getRoleName(), PresetData.ROLES.get(i).getDescription());
+            digest.add(i + 1L).add(role.getRoleName()).add(role.getDescription()).add(role.getStatus().name()).endRow();
+        }
+        return digest;
+    }
+    
+    private TableDigest projectChunk(int firstNumber, int size, SplittableRandom random) {
+        TableDigest digest = new TableDigest();
+        for (int i = 0; i < size; i++) {
+            Project project = entityFactory.buildProject(firstNumber + i, random);
+            digest.add(firstNumber + i).add(project.getName()).add(project.getDescription())
+                    .add(project.getStartDate()).add(project.getEndDate()).add(project.getStatus().name()).endRow();
+        }
+        return digest;
+    }
+    
+    /**
+     * @return users、user_roles、user_projects 三张表本块的摘要
+     */
+    private TableDigest[] userChunk(UserChunk chunk, ReferenceIds references, SplittableRandom random) {
+        UserChunkRows rows = UserChunkRows.generate(chunk, references, random, entityFactory);
+        TableDigest users = new TableDigest();
+        List<User> chunkUsers = rows.getUsers();
+        for (int i = 0; i < chunkUsers.size(); i++) {
+            User user = chunkUsers.get(i);
+            users.add(user.getId()).add(user.getUsername()).add(user.getEmail()).add(user.getAge())
+                    .add(user.getRealName()).add(user.getGender()).add(user.getPhone()).add(rows.getDepartmentIds()[i]).endRow();
+        }
+        return new TableDigest[]{users, pairs(rows.getUserRoles()), pairs(rows.getUserProjects())};
+    }
+    
+    /**
+     * 关联行按用户分组生成，组内按关联ID排序，与数据库 ORDER BY user_id, 关联ID 的顺序一致
+     */
+    private static TableDigest pairs(LongPairBuffer pairs) {
+        TableDigest digest = new TableDigest();
+        long[] group = new long[8];
+        int start = 0;
+        while (start < pairs.size()) {
+            long userId = pairs.left(start);
+            int end = start;
+            while (end < pairs.size() && pairs.left(end) == userId) {
+                if (end - start == group.length) {
+                    group = Arrays.copyOf(group, group.length * 2);
+                }
+                group[end - start] = pairs.right(end);
+                end++;
+            }
+            Arrays.sort(group, 0, end - start);
+            for (int i = 0; i < end - start; i++) {
+                digest.add(userId).add(group[i]).endRow();
+            }
+            start = end;
+        }
+        return digest;
+    }
+    
+    /**
+     * 按ID划分分块的摘要累加器，缺失的分块以空摘要占位
+     */
+    private static final class ChunkedDigests {
+        
+        private final int chunkSize;
+        private final List<TableDigest> chunks = new ArrayList<>();
+        
+        ChunkedDigests(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+        
+        /**
+         * 返回ID所在分块的摘要
+         */
+        TableDigest row(long id) {
+            int index = (int) ((id - 1) / chunkSize);
+            while (chunks.size() <= index) {
+                chunks.add(new TableDigest());
+            }
+            return chunks.get(index);
+        }
+        
+        TableManifest toManifest() {
+            return TableManifest.of(chunks);
+        }
+    }
+}
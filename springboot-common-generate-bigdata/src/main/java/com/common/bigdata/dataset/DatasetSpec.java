@@ -0,0 +1,107 @@
+package com.common.bigdata.dataset;
+
+import com.common.bigdata.generator.BigDataGenerator;
+import com.common.bigdata.generator.GenerationOptions;
+import com.common.bigdata.generator.WriteMode;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 数据集规格
+ * 种子、数量、分块大小与数据分布完全确定一个数据集：覆盖模式下从空库按规格生成，
+ * 或在任意节点上按规格在内存中重新生成，得到的各表内容与校验和都相同，无需在节点间传输数据文件。
+ * 分块大小决定每块随机源的拆分方式，属于规格的一部分。写入数据库时，只有 JDBC 批量写入（预留ID区间）或并行度为 1 时
+ * 数据内容与并行度无关；JPA 写入且并行度大于 1 时各分块的自增ID交错，用户ID与关联行会随执行顺序变化
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetSpec {
+    
+    /**
+     * 生成算法版本，字段取值、随机数抽取顺序或关联分配规则变化时递增，不同版本的清单不可比较
+     */
+    public static final String GENERATOR_VERSION = "1";
+    
+    /**
+     * 数据集名称
+     */
+    @Builder.Default
+    private String name = "dataset";
+    
+    /**
+     * 数据集版本，由使用方维护
+     */
+    @Builder.Default
+    private String version = "1";
+    
+    /**
+     * 随机种子
+     */
+    private Long seed;
+    
+    /**
+     * 用户数量，项目数量为用户数量的1/4
+     */
+    private int userCount;
+    
+    /**
+     * 分块大小
+     */
+    @Builder.Default
+    private int chunkSize = BigDataGenerator.DEFAULT_CHUNK_SIZE;
+    
+    /**
+     * 部门、项目、角色分配与年龄的分布
+     */
+    @Builder.Default
+    private DistributionProfile distribution = DistributionProfile.uniform();
+    
+    /**
+     * 项目数量
+     */
+    public int getProjectCount() {
+        return userCount / 4;
+    }
+    
+    /**
+     * 校验规格
+     * @throws IllegalArgumentException 规格不完整或取值非法时抛出
+     */
+    public void validate() {
+        if (seed == null) {
+            throw new IllegalArgumentException("数据集规格必须指定seed");
+        }
+        if (userCount <= 0) {
+            throw new IllegalArgumentException("用户数量必须大于0");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块大小必须大于0");
+        }
+        if (distribution == null) {
+            distribution = DistributionProfile.uniform();
+        }
+        distribution.validate();
+    }
+    
+    /**
+     * 按规格生成的参数：覆盖模式、固定种子
+     * @param parallelism 并行度，写入方式为 JPA 时大于 1 会使自增ID随执行顺序变化
+     * @param writeMode 写入方式，{@link WriteMode#JDBC_BATCH} 预留ID区间，结果与并行度无关
+     */
+    public GenerationOptions toGenerationOptions(int parallelism, WriteMode writeMode) {
+        return GenerationOptions.builder()
+                .userCount(userCount)
+                .incremental(false)
+                .chunkSize(chunkSize)
+                .parallelism(parallelism)
+                .seed(seed)
+                .writeMode(writeMode)
+                .distribution(distribution)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.common.bigdata.dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单表清单：行数、表校验和与各分块校验和
+ * 表校验和由各分块校验和按分块顺序滚动计算，分块可由不同节点并行生成后合并
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableManifest {
+    
+    private long rowCount;
+    
+    private String checksum;
+    
+    /**
+     * 各分块校验和，按分块顺序排列；部门与角色只有一块
+     */
+    private List<String> chunkChecksums;
+    
+    /**
+     * 由各分块摘要合并得到表清单
+     */
+    static TableManifest of(List<TableDigest> chunks) {
+        TableDigest table = new TableDigest();
+        List<String> chunkChecksums = new ArrayList<>(chunks.size());
+        long rowCount = 0;
+        for (TableDigest chunk : chunks) {
+            table.add(chunk.getValue()).add(chunk.getRowCount()).endRow();
+            chunkChecksums.add(TableDigest.hex(chunk.getValue()));
+            rowCount += chunk.getRowCount();
+        }
+        return new TableManifest(rowCount, TableDigest.hex(table.getValue()), chunkChecksums);
+    }
+}
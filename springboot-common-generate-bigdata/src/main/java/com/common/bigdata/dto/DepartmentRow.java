@@ -0,0 +1,19 @@
+package com.common.bigdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 部门扁平投影
+ */
+@Getter
+@AllArgsConstructor
+public class DepartmentRow {
+    
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime createTime;
+}
@@ -0,0 +1,15 @@
+package com.common.bigdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 多对多关联投影（用户ID - 关联实体ID）
+ */
+@Getter
+@AllArgsConstructor
+public class LinkRow {
+    
+    private final Long userId;
+    private final Long targetId;
+}
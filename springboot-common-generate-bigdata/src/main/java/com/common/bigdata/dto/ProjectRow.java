@@ -0,0 +1,25 @@
+package com.common.bigdata.dto;
+
+import com.common.bigdata.entity.core.Project;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 项目扁平投影
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectRow {
+    
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Project.ProjectStatus status;
+    private final LocalDateTime createTime;
+    private final LocalDateTime updateTime;
+}
@@ -0,0 +1,21 @@
+package com.common.bigdata.dto;
+
+import com.common.bigdata.entity.core.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 角色扁平投影
+ */
+@Getter
+@AllArgsConstructor
+public class RoleRow {
+    
+    private final Long id;
+    private final String roleName;
+    private final String description;
+    private final Role.RoleStatus status;
+    private final LocalDateTime createTime;
+}
@@ -0,0 +1,42 @@
+package com.common.bigdata.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户扁平投影
+ * 通过JPQL构造器表达式直接查询，不加载实体与懒加载集合；角色与项目只输出ID
+ */
+@Getter
+public class UserRow {
+    
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final Integer age;
+    private final String realName;
+    private final String gender;
+    private final String phone;
+    private final Long departmentId;
+    private final LocalDateTime createTime;
+    private final LocalDateTime updateTime;
+    private final List<Long> roleIds = new ArrayList<>(4);
+    private final List<Long> projectIds = new ArrayList<>(8);
+    
+    public UserRow(Long id, String username, String email, Integer age, String realName, String gender,
+                   String phone, Long departmentId, LocalDateTime createTime, LocalDateTime updateTime) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.age = age;
+        this.realName = realName;
+        this.gender = gender;
+        this.phone = phone;
+        this.departmentId = departmentId;
+        this.createTime = createTime;
+        this.updateTime = updateTime;
+    }
+}
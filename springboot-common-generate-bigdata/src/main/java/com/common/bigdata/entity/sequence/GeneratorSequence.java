@@ -0,0 +1,36 @@
+package com.common.bigdata.entity.sequence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * 生成器序列实体类
+ * 持久化的高水位线，记录各表下一个可分配的ID与业务编号；
+ * 表结构由JPA维护，读写由 {@link com.common.bigdata.generator.IdBlockAllocator} 通过JDBC行锁完成
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "generator_sequences")
+public class GeneratorSequence {
+    
+    /**
+     * 序列名称，格式为 表名.id 或 表名.number
+     */
+    @Id
+    @Column(length = 64)
+    private String name;
+    
+    /**
+     * 下一个可分配的值
+     */
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
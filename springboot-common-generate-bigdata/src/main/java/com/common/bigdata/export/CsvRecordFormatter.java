@@ -0,0 +1,59 @@
+package com.common.bigdata.export;
+
+/**
+ * CSV格式化器（RFC 4180）
+ * 包含逗号、引号或换行的字段使用双引号包裹，null 输出为空字段
+ */
+public class CsvRecordFormatter implements RecordFormatter {
+    
+    @Override
+    public void appendHeader(String[] columns, StringBuilder out) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(columns[i]);
+        }
+        out.append('\n');
+    }
+    
+    @Override
+    public void appendRecord(String[] columns, Object[] values, StringBuilder out) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String) {
+                appendQuoted((String) value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+    
+    private static void appendQuoted(String value, StringBuilder out) {
+        boolean needsQuote = false;
+        for (int i = 0; i < value.length() && !needsQuote; i++) {
+            char c = value.charAt(i);
+            needsQuote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,245 @@
+package com.common.bigdata.export;
+
+import com.common.bigdata.constant.PresetData;
+import com.common.bigdata.entity.base.BaseAuditEntity;
+import com.common.bigdata.entity.core.Department;
+import com.common.bigdata.entity.core.Project;
+import com.common.bigdata.entity.core.Role;
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.EntityFactory;
+import com.common.bigdata.generator.IdIndex;
+import com.common.bigdata.generator.LongPairBuffer;
+import com.common.bigdata.generator.ReferenceIds;
+import com.common.bigdata.generator.UserChunk;
+import com.common.bigdata.generator.UserChunkRows;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+/**
+ * 数据集文件导出器
+ * 不访问数据库，按分块生成部门、角色、项目、用户及关联表数据并直接写入文件，内存中最多保留一块数据。
+ * ID从1开始由客户端分配；随机源的拆分方式与 BigDataGenerator 分块生成一致，
+ * 相同种子与分块大小下导出的数据与覆盖模式写入数据库的数据相同
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatasetExporter {
+    
+    private static final String[] AUDIT_COLUMNS = {"create_time", "update_time", "created_by", "updated_by", "version"};
+    
+    static final String[] DEPARTMENT_COLUMNS = withAudit("id", "name", "description");
+    static final String[] ROLE_COLUMNS = withAudit("id", "role_name", "description", "status");
+    static final String[] PROJECT_COLUMNS = withAudit("id", "name", "description", "start_date", "end_date", "status");
+    static final String[] USER_COLUMNS = withAudit("id", "username", "email", "age", "real_name", "gender", "phone", "department_id");
+    static final String[] USER_ROLE_COLUMNS = {"user_id", "role_id"};
+    static final String[] USER_PROJECT_COLUMNS = {"user_id", "project_id"};
+    
+    private final EntityFactory entityFactory;
+    
+    /**
+     * 导出数据集
+     * @param options 导出参数
+     * @return 导出结果
+     */
+    public ExportResult export(ExportOptions options) throws IOException {
+        int userCount = options.getUserCount();
+        int chunkSize = options.getChunkSize();
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块大小必须大于0");
+        }
+        long seed = options.getSeed() != null ? options.getSeed() : ThreadLocalRandom.current().nextLong();
+        Path directory = options.getOutputDirectory();
+        Files.createDirectories(directory);
+        log.info("开始导出数据集，用户数量: {}，格式: {}，gzip: {}，目录: {}", userCount, options.getFormat(), options.isGzip(), directory);
+        
+        long startTime = System.currentTimeMillis();
+        SplittableRandom rootRandom = new SplittableRandom(seed);
+        SplittableRandom projectRandom = rootRandom.split();
+        SplittableRandom userRandom = rootRandom.split();
+        
+        List<TableFileWriter> writers = new ArrayList<>();
+        TableFileWriter departments = open(writers, options, "departments", DEPARTMENT_COLUMNS);
+        TableFileWriter roles = open(writers, options, "roles", ROLE_COLUMNS);
+        TableFileWriter projects = open(writers, options, "projects", PROJECT_COLUMNS);
+        TableFileWriter users = open(writers, options, "users", USER_COLUMNS);
+        TableFileWriter userRoles = open(writers, options, "user_roles", USER_ROLE_COLUMNS);
+        TableFileWriter userProjects = open(writers, options, "user_projects", USER_PROJECT_COLUMNS);
+        
+        Throwable failure = null;
+        try {
+            // 1. 部门与角色
+            for (int i = 0; i < PresetData.DEPARTMENTS.size(); i++) {
+                Department preset = PresetData.DEPARTMENTS.get(i);
+                Department department = new Department(preset.getName(), preset.getDescription());
+                entityFactory.setAuditFields(department, "system");
+                departments.append(withAudit(department, i + 1L, department.getName(), department.getDescription()));
+            }
+            for (int i = 0; i < PresetData.ROLES.size(); i++) {
+                Role preset = PresetData.ROLES.get(i);
+                Role role = new Role(preset.getRoleName(), preset.getDescription());
+                entityFactory.setAuditFields(role, "system");
+                roles.append(withAudit(role, i + 1L, role.getRoleName(), role.getDescription(), role.getStatus().name()));
+            }
+            
+            // 2. 分块导出项目
+            int projectCount = userCount / 4;
+            for (int offset = 0; offset < projectCount; offset += chunkSize) {
+                int size = Math.min(chunkSize, projectCount - offset);
+                SplittableRandom chunkRandom = projectRandom.split();
+                for (int i = 0; i < size; i++) {
+                    Project project = entityFactory.buildProject(offset + i + 1, chunkRandom);
+                    projects.append(withAudit(project, offset + i + 1L, project.getName(), project.getDescription(),
+                            project.getStartDate(), project.getEndDate(), project.getStatus().name()));
+                }
+            }
+            
+            // 3. 分块导出用户及关联表
+            ReferenceIds references = new ReferenceIds(
+                    LongStream.rangeClosed(1, PresetData.DEPARTMENTS.size()).toArray(),
+                    LongStream.rangeClosed(1, PresetData.ROLES.size()).toArray(),
+                    IdIndex.range(1, projectCount),
+                    options.getDistribution());
+            int chunkIndex = 0;
+            for (int offset = 0; offset < userCount; offset += chunkSize) {
+                int size = Math.min(chunkSize, userCount - offset);
+                UserChunk chunk = new UserChunk(chunkIndex++, offset + 1, offset, offset + 1L, size);
+                UserChunkRows rows = UserChunkRows.generate(chunk, references, userRandom.split(), entityFactory);
+                for (int i = 0; i < size; i++) {
+                    User user = rows.getUsers().get(i);
+                    users.append(withAudit(user, user.getId(), user.getUsername(), user.getEmail(), user.getAge(),
+                            user.getRealName(), user.getGender(), user.getPhone(), rows.getDepartmentIds()[i]));
+                }
+                appendPairs(userRoles, rows.getUserRoles());
+                appendPairs(userProjects, rows.getUserProjects());
+            }
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            closeAll(writers, failure);
+        }
+        
+        if (options.getFormat() == ExportFormat.LOAD_DATA) {
+            writeLoadDataScript(directory, writers, options.isGzip());
+        }
+        
+        Map<String, Long> rowCounts = new LinkedHashMap<>();
+        List<String> files = new ArrayList<>();
+        long bytesWritten = 0;
+        for (TableFileWriter writer : writers) {
+            rowCounts.put(writer.getTable(), writer.getRowCount());
+            writer.getFiles().forEach(file -> files.add(file.getFileName().toString()));
+            bytesWritten += writer.getTotalBytes();
+        }
+        long exportTime = System.currentTimeMillis() - startTime;
+        log.info("数据集导出完成，文件 {} 个，{} 字节，耗时: {} ms", files.size(), bytesWritten, exportTime);
+        
+        return ExportResult.builder()
+                .outputDirectory(directory.toAbsolutePath().toString())
+                .format(options.getFormat())
+                .gzip(options.isGzip())
+                .seed(seed)
+                .rowCounts(rowCounts)
+                .files(files)
+                .bytesWritten(bytesWritten)
+                .exportTime(exportTime)
+                .build();
+    }
+    
+    private static TableFileWriter open(List<TableFileWriter> writers, ExportOptions options, String table, String[] columns) {
+        TableFileWriter writer = new TableFileWriter(options.getOutputDirectory(), table, columns,
+                options.getFormat(), options.isGzip(), options.getMaxFileBytes());
+        writers.add(writer);
+        return writer;
+    }
+
+    /**
+     * 逐个关闭写出器，某个关闭失败不影响其余文件的关闭
+     * 导出本身已失败时关闭异常附加到原异常上，否则抛出第一个关闭异常，其余的作为其 suppressed
+     */
+    private static void closeAll(List<TableFileWriter> writers, Throwable failure) throws IOException {
+        Exception closeFailure = null;
+        for (TableFileWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException | RuntimeException e) {
+                if (failure != null) {
+                    failure.addSuppressed(e);
+                } else if (closeFailure == null) {
+                    closeFailure = e;
+                } else {
+                    closeFailure.addSuppressed(e);
+                }
+            }
+        }
+        if (closeFailure instanceof IOException) {
+            throw (IOException) closeFailure;
+        }
+        if (closeFailure != null) {
+            throw (RuntimeException) closeFailure;
+        }
+    }
+
+    private static void appendPairs(TableFileWriter writer, LongPairBuffer pairs) throws IOException {
+        for (int i = 0; i < pairs.size(); i++) {
+            writer.append(pairs.left(i), pairs.right(i));
+        }
+    }
+    
+    /**
+     * 生成 LOAD DATA 导入脚本，按外键依赖顺序导入
+     */
+    private static void writeLoadDataScript(Path directory, List<TableFileWriter> writers, boolean gzip) throws IOException {
+        StringBuilder script = new StringBuilder();
+        script.append("-- LOAD DATA 导入脚本，需在导出目录下执行并开启 local_infile\n");
+        if (gzip) {
+            script.append("-- 文件已gzip压缩，导入前请先执行: gunzip *.gz\n");
+        }
+        script.append("SET FOREIGN_KEY_CHECKS = 0;\n");
+        for (TableFileWriter writer : writers) {
+            for (Path file : writer.getFiles()) {
+                String fileName = file.getFileName().toString();
+                if (gzip) {
+                    fileName = fileName.substring(0, fileName.length() - ".gz".length());
+                }
+                script.append("LOAD DATA LOCAL INFILE '").append(fileName).append("' INTO TABLE ")
+                        .append(writer.getTable()).append(" CHARACTER SET utf8mb4 (")
+                        .append(String.join(", ", writer.getColumns())).append(");\n");
+            }
+        }
+        script.append("SET FOREIGN_KEY_CHECKS = 1;\n");
+        Files.write(directory.resolve("load-data.sql"), script.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] withAudit(String... columns) {
+        String[] result = new String[columns.length + AUDIT_COLUMNS.length];
+        System.arraycopy(columns, 0, result, 0, columns.length);
+        System.arraycopy(AUDIT_COLUMNS, 0, result, columns.length, AUDIT_COLUMNS.length);
+        return result;
+    }
+    
+    private static Object[] withAudit(BaseAuditEntity entity, Object... values) {
+        Object[] result = new Object[values.length + AUDIT_COLUMNS.length];
+        System.arraycopy(values, 0, result, 0, values.length);
+        result[values.length] = entity.getCreateTime();
+        result[values.length + 1] = entity.getUpdateTime();
+        result[values.length + 2] = entity.getCreatedBy();
+        result[values.length + 3] = entity.getUpdatedBy();
+        result[values.length + 4] = entity.getVersion();
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+package com.common.bigdata.export;
+
+import com.common.bigdata.dto.ProjectRow;
+import com.common.bigdata.dto.UserRow;
+import com.common.bigdata.repository.DepartmentRepository;
+import com.common.bigdata.repository.ProjectRepository;
+import com.common.bigdata.repository.RoleRepository;
+import com.common.bigdata.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 数据集流式写出器
+ * 按ID游标分页查询扁平投影并逐页写入输出流，每页写完立即flush，内存占用只与分页大小有关。
+ * 不加载实体，避免序列化懒加载集合触发的N+1查询
+ */
+@Component
+@RequiredArgsConstructor
+public class DatasetStreamWriter {
+    
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ProjectRepository projectRepository;
+    private final RoleRepository roleRepository;
+    
+    /**
+     * 打开流式写出会话，立即flush：JSON格式写出开头部分，NDJSON格式提交响应头，客户端不必等到第一行数据
+     * @param out 输出流，由调用方关闭
+     * @param format 输出格式
+     * @param pageSize 分页大小
+     */
+    public Session open(OutputStream out, StreamFormat format, int pageSize) throws IOException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("分页大小必须大于0");
+        }
+        CountingOutputStream counting = new CountingOutputStream(out);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(counting);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString(""));
+        Session session = new Session(generator, counting, format, pageSize);
+        if (format == StreamFormat.JSON) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+        }
+        generator.flush();
+        counting.flush();
+        return session;
+    }
+    
+    /**
+     * 流式写出会话
+     * JSON格式下每个表对应顶层对象中的一个数组字段，NDJSON格式下每行为 {"type": 表名, "data": 行}，
+     * 只写出用户时NDJSON每行直接为用户行。
+     * 每个表按ID游标增量写出，可在生成过程中多次调用以写出新提交的行；切换到下一个表时结束上一个表的数组。
+     * 方法可由不同线程调用，会话内部串行化
+     */
+    public class Session implements IncrementalRowWriter {
+        
+        private final JsonGenerator generator;
+        private final CountingOutputStream out;
+        private final StreamFormat format;
+        private final int pageSize;
+        private boolean typed;
+        private String openArray;
+        private long projectsAfterId;
+        private long usersAfterId;
+        private long rows;
+        
+        private Session(JsonGenerator generator, CountingOutputStream out, StreamFormat format, int pageSize) {
+            this.generator = generator;
+            this.out = out;
+            this.format = format;
+            this.pageSize = pageSize;
+        }
+        
+        /**
+         * 已写出到输出流的字节数
+         */
+        public synchronized long getBytesWritten() throws IOException {
+            generator.flush();
+            return out.count;
+        }
+        
+        /**
+         * 已写出的行数
+         */
+        public synchronized long getRows() {
+            return rows;
+        }
+        
+        /**
+         * 写出部门、角色、项目与用户
+         * @return 写出的行数
+         */
+        public synchronized long writeFullDataset() throws IOException {
+            writeReferenceData();
+            writeProjects();
+            writeUsers(Long.MAX_VALUE);
+            return rows;
+        }
+        
+        /**
+         * 写出部门与角色，之后的行按 {"type": 表名, "data": 行} 写出
+         */
+        @Override
+        public synchronized void writeReferenceData() throws IOException {
+            typed = true;
+            writeRows("departments", departmentRepository.findAllRows());
+            writeRows("roles", roleRepository.findAllRows());
+        }
+        
+        /**
+         * 写出上次调用之后新增的项目
+         */
+        @Override
+        public synchronized void writeProjects() throws IOException {
+            typed = true;
+            switchArray("projects");
+            Pageable page = PageRequest.of(0, pageSize);
+            List<ProjectRow> projects;
+            while (!(projects = projectRepository.findRowsAfter(projectsAfterId, page)).isEmpty()) {
+                for (ProjectRow project : projects) {
+                    writeRow("projects", project);
+                }
+                projectsAfterId = projects.get(projects.size() - 1).getId();
+                rows += projects.size();
+                generator.flush();
+            }
+        }
+        
+        /**
+         * 写出用户，每行附带角色ID与项目ID
+         * @return 写出的行数
+         */
+        public synchronized long writeUsers() throws IOException {
+            writeUsers(Long.MAX_VALUE);
+            return rows;
+        }
+        
+        /**
+         * 写出上次调用之后新增、ID不超过 maxId 的用户
+         * 超过 maxId 的用户可能属于尚未全部提交的ID区间，留到之后的调用中写出，避免游标越过未提交的行
+         */
+        @Override
+        public synchronized void writeUsers(long maxId) throws IOException {
+            switchArray("users");
+            Pageable page = PageRequest.of(0, pageSize);
+            List<UserRow> users;
+            while (!(users = userRepository.findRowsWithLinksAfter(usersAfterId, page)).isEmpty()) {
+                for (UserRow user : users) {
+                    if (user.getId() > maxId) {
+                        generator.flush();
+                        return;
+                    }
+                    writeRow("users", user);
+                    usersAfterId = user.getId();
+                    rows++;
+                }
+                generator.flush();
+            }
+        }
+        
+        /**
+         * 写出附加字段，仅JSON格式生效
+         */
+        public synchronized void writeField(String name, Object value) throws IOException {
+            switchArray(null);
+            if (format == StreamFormat.JSON) {
+                generator.writeObjectField(name, value);
+            }
+        }
+        
+        /**
+         * 结束写出并flush
+         */
+        public synchronized void finish() throws IOException {
+            switchArray(null);
+            if (format == StreamFormat.JSON) {
+                generator.writeEndObject();
+            }
+            generator.flush();
+            generator.close();
+        }
+        
+        private void writeRows(String type, List<?> list) throws IOException {
+            switchArray(type);
+            for (Object row : list) {
+                writeRow(type, row);
+            }
+            rows += list.size();
+            generator.flush();
+        }
+        
+        /**
+         * 结束当前表的数组并开始下一个表，type 为空时只结束当前数组
+         */
+        private void switchArray(String type) throws IOException {
+            if (type != null && type.equals(openArray)) {
+                return;
+            }
+            if (openArray != null && format == StreamFormat.JSON) {
+                generator.writeEndArray();
+            }
+            openArray = type;
+            if (type != null && format == StreamFormat.JSON) {
+                generator.writeArrayFieldStart(type);
+            }
+        }
+        
+        private void writeRow(String type, Object row) throws IOException {
+            if (format == StreamFormat.JSON) {
+                generator.writeObject(row);
+                return;
+            }
+            if (typed) {
+                generator.writeStartObject();
+                generator.writeStringField("type", type);
+                generator.writeObjectField("data", row);
+                generator.writeEndObject();
+            } else {
+                generator.writeObject(row);
+            }
+            generator.writeRaw('\n');
+        }
+    }
+    
+    /**
+     * 统计写出字节数的输出流
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        
+        private long count;
+        
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
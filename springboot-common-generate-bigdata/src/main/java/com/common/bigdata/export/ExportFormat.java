@@ -0,0 +1,46 @@
+package com.common.bigdata.export;
+
+/**
+ * 导出文件格式
+ */
+public enum ExportFormat {
+    
+    CSV("csv", "CSV文件"),
+    
+    NDJSON("ndjson", "NDJSON文件"),
+    
+    /**
+     * 制表符分隔，可直接用于 MySQL LOAD DATA INFILE
+     */
+    LOAD_DATA("tsv", "LOAD DATA文件");
+    
+    private final String extension;
+    private final String description;
+    
+    ExportFormat(String extension, String description) {
+        this.extension = extension;
+        this.description = description;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * 创建对应格式的记录格式化器
+     */
+    public RecordFormatter newFormatter() {
+        switch (this) {
+            case NDJSON:
+                return new NdjsonRecordFormatter();
+            case LOAD_DATA:
+                return new LoadDataRecordFormatter();
+            default:
+                return new CsvRecordFormatter();
+        }
+    }
+}
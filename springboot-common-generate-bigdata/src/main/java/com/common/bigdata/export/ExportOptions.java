@@ -0,0 +1,59 @@
+package com.common.bigdata.export;
+
+import com.common.bigdata.generator.BigDataGenerator;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * 文件导出参数
+ */
+@Data
+@Builder
+public class ExportOptions {
+    
+    /**
+     * 用户数量，项目数量为用户数量的1/4
+     */
+    private int userCount;
+    
+    /**
+     * 分块大小，内存中最多保留一块数据
+     */
+    @Builder.Default
+    private int chunkSize = BigDataGenerator.DEFAULT_CHUNK_SIZE;
+    
+    /**
+     * 随机种子，为空时随机选取；与数据库生成使用相同种子时数据内容一致
+     */
+    private Long seed;
+    
+    /**
+     * 文件格式
+     */
+    @Builder.Default
+    private ExportFormat format = ExportFormat.CSV;
+    
+    /**
+     * 是否gzip压缩
+     */
+    private boolean gzip;
+    
+    /**
+     * 单文件最大字节数（未压缩），小于等于0表示不切分
+     */
+    private long maxFileBytes;
+    
+    /**
+     * 输出目录
+     */
+    private Path outputDirectory;
+    
+    /**
+     * 部门、项目、角色分配与年龄的分布，默认全部均匀
+     */
+    @Builder.Default
+    private DistributionProfile distribution = DistributionProfile.uniform();
+}
@@ -0,0 +1,55 @@
+package com.common.bigdata.export;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文件导出结果
+ */
+@Data
+@Builder
+public class ExportResult {
+    
+    /**
+     * 输出目录
+     */
+    private String outputDirectory;
+    
+    /**
+     * 文件格式
+     */
+    private ExportFormat format;
+    
+    /**
+     * 是否gzip压缩
+     */
+    private boolean gzip;
+    
+    /**
+     * 随机种子
+     */
+    private Long seed;
+    
+    /**
+     * 各表导出行数
+     */
+    private Map<String, Long> rowCounts;
+    
+    /**
+     * 导出的文件名
+     */
+    private List<String> files;
+    
+    /**
+     * 写入的未压缩字节数
+     */
+    private long bytesWritten;
+    
+    /**
+     * 导出耗时（毫秒）
+     */
+    private long exportTime;
+}
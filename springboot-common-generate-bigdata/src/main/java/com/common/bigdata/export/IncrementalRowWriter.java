@@ -0,0 +1,25 @@
+package com.common.bigdata.export;
+
+import java.io.IOException;
+
+/**
+ * 生成过程中按ID游标增量写出新提交行的目标
+ * 由 {@link DatasetStreamWriter.Session} 实现，{@link StreamingGenerationListener} 只依赖该接口
+ */
+public interface IncrementalRowWriter {
+    
+    /**
+     * 写出部门与角色
+     */
+    void writeReferenceData() throws IOException;
+    
+    /**
+     * 写出上次调用之后新增的项目
+     */
+    void writeProjects() throws IOException;
+    
+    /**
+     * 写出上次调用之后新增、ID不超过 maxId 的用户，超过 maxId 的用户留到之后的调用中写出
+     */
+    void writeUsers(long maxId) throws IOException;
+}
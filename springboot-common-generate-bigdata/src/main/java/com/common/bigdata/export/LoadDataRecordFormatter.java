@@ -0,0 +1,64 @@
+package com.common.bigdata.export;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * LOAD DATA格式化器
+ * 与 MySQL LOAD DATA INFILE 的默认选项兼容：字段以制表符分隔、行以换行结尾、
+ * 反斜杠转义特殊字符、null 输出为 \N，日期时间输出为 yyyy-MM-dd HH:mm:ss
+ */
+public class LoadDataRecordFormatter implements RecordFormatter {
+    
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    @Override
+    public void appendHeader(String[] columns, StringBuilder out) {
+        // LOAD DATA 文件无文件头，列顺序写在导入脚本中
+    }
+    
+    @Override
+    public void appendRecord(String[] columns, Object[] values, StringBuilder out) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append('\t');
+            }
+            Object value = values[i];
+            if (value == null) {
+                out.append("\\N");
+            } else if (value instanceof LocalDateTime) {
+                DATE_TIME_FORMATTER.formatTo((LocalDateTime) value, out);
+            } else if (value instanceof String) {
+                appendEscaped((String) value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+    
+    private static void appendEscaped(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\0':
+                    out.append("\\0");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.common.bigdata.export;
+
+/**
+ * NDJSON格式化器
+ * 每行一个JSON对象，日期与时间输出为ISO-8601字符串
+ */
+public class NdjsonRecordFormatter implements RecordFormatter {
+    
+    @Override
+    public void appendHeader(String[] columns, StringBuilder out) {
+        // NDJSON 无文件头
+    }
+    
+    @Override
+    public void appendRecord(String[] columns, Object[] values, StringBuilder out) {
+        out.append('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append('"').append(columns[i]).append("\":");
+            Object value = values[i];
+            if (value == null) {
+                out.append("null");
+            } else if (value instanceof Number) {
+                out.append(value);
+            } else {
+                appendString(value.toString(), out);
+            }
+        }
+        out.append("}\n");
+    }
+    
+    private static void appendString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,20 @@
+package com.common.bigdata.export;
+
+/**
+ * 记录格式化器
+ * 将一行数据追加到字符缓冲区，每条记录以换行结尾
+ */
+public interface RecordFormatter {
+    
+    /**
+     * 追加文件头，无文件头的格式不追加任何内容
+     */
+    void appendHeader(String[] columns, StringBuilder out);
+    
+    /**
+     * 追加一条记录
+     * @param columns 列名
+     * @param values 列值，支持 String、Number、LocalDate、LocalDateTime 与 null
+     */
+    void appendRecord(String[] columns, Object[] values, StringBuilder out);
+}
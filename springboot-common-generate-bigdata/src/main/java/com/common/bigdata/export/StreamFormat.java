@@ -0,0 +1,21 @@
+package com.common.bigdata.export;
+
+import lombok.Getter;
+
+/**
+ * HTTP流式响应格式枚举
+ */
+@Getter
+public enum StreamFormat {
+    
+    NDJSON("application/x-ndjson", "每行一个JSON对象"),
+    JSON("application/json", "分块写出的JSON数组");
+    
+    private final String contentType;
+    private final String description;
+    
+    StreamFormat(String contentType, String description) {
+        this.contentType = contentType;
+        this.description = description;
+    }
+}
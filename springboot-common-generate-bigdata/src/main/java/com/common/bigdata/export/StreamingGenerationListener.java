@@ -0,0 +1,135 @@
+package com.common.bigdata.export;
+
+import com.common.bigdata.generator.ChunkStatistics;
+import com.common.bigdata.generator.GenerationCheckpoint;
+import com.common.bigdata.generator.GenerationListener;
+import com.common.bigdata.generator.GenerationPhase;
+
+import java.io.IOException;
+
+/**
+ * 边生成边写出的监听器
+ * 部门与角色在进入项目阶段时写出，项目与用户在每个分块提交后写出新提交的行，客户端无需等待生成结束。
+ * <p>
+ * 并行生成时分块可能乱序提交，用户只写到连续已提交分块的最大ID为止，游标不会越过尚未提交的行：
+ * 预留了ID区间时（JDBC批量写入）按区间计算；自增ID且只有一个工作线程时分块按顺序提交，可直接写出；
+ * 自增ID并行写入时各分块的ID交错，用户留到生成结束后写出。
+ * 写出失败（客户端断开）后请求取消生成，失败由 {@link #rethrowFailure()} 抛出
+ */
+public class StreamingGenerationListener implements GenerationListener {
+
+    private final IncrementalRowWriter session;
+    private final GenerationCheckpoint checkpoint;
+    private final boolean fullDataset;
+    private final int userCount;
+    private final int chunkSize;
+    private final boolean sequentialIds;
+    private int contiguousUserChunks;
+    private boolean referenceDataWritten;
+    private boolean usersStarted;
+    private volatile IOException failure;
+
+    /**
+     * @param session 写出目标，通常为 {@link DatasetStreamWriter.Session}
+     * @param checkpoint 传给生成器的检查点
+     * @param fullDataset 是否写出部门、角色与项目
+     * @param workers 生成工作线程数
+     */
+    public StreamingGenerationListener(IncrementalRowWriter session, GenerationCheckpoint checkpoint,
+                                       boolean fullDataset, int userCount, int chunkSize, int workers) {
+        this.session = session;
+        this.checkpoint = checkpoint;
+        this.fullDataset = fullDataset;
+        this.userCount = userCount;
+        this.chunkSize = chunkSize;
+        this.sequentialIds = workers == 1;
+    }
+
+    @Override
+    public void onPhase(GenerationPhase phase) {
+        if (fullDataset && phase == GenerationPhase.PROJECTS) {
+            synchronized (this) {
+                write(WriteStep.REFERENCE_DATA, 0);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onChunkCommitted(ChunkStatistics chunk) {
+        if ("projects".equals(chunk.getPhase())) {
+            // 项目分块顺序写入，已提交的项目ID都小于未提交的
+            if (fullDataset) {
+                write(WriteStep.PROJECTS, 0);
+            }
+            return;
+        }
+        long firstUserId = checkpoint.getFirstUserId();
+        if (firstUserId >= 0) {
+            while (checkpoint.isUserChunkCommitted(contiguousUserChunks)) {
+                contiguousUserChunks++;
+            }
+            long committedRows = Math.min((long) contiguousUserChunks * chunkSize, userCount);
+            if (committedRows > 0) {
+                write(WriteStep.USERS, firstUserId + committedRows - 1);
+            }
+        } else if (sequentialIds) {
+            write(WriteStep.USERS, Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return failure != null;
+    }
+
+    /**
+     * 生成结束后写出尚未写出的行
+     */
+    public synchronized void writeRemaining() throws IOException {
+        rethrowFailure();
+        if (fullDataset && !referenceDataWritten) {
+            session.writeReferenceData();
+            referenceDataWritten = true;
+        }
+        if (fullDataset && !usersStarted) {
+            session.writeProjects();
+        }
+        session.writeUsers(Long.MAX_VALUE);
+        usersStarted = true;
+    }
+
+    /**
+     * 生成过程中写出失败时抛出该异常
+     */
+    public void rethrowFailure() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void write(WriteStep step, long maxUserId) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            switch (step) {
+                case REFERENCE_DATA:
+                    session.writeReferenceData();
+                    referenceDataWritten = true;
+                    break;
+                case PROJECTS:
+                    session.writeProjects();
+                    break;
+                default:
+                    session.writeUsers(maxUserId);
+                    usersStarted = true;
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private enum WriteStep {
+        REFERENCE_DATA, PROJECTS, USERS
+    }
+}
@@ -0,0 +1,171 @@
+package com.common.bigdata.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 单表文件写入器
+ * 记录先格式化到字符缓冲区，累积到一定长度后经UTF-8编码写入固定大小的ByteBuffer，再写入FileChannel；
+ * 开启gzip时通过GZIPOutputStream写入同一通道。
+ * 设置了单文件大小上限时，文件在达到上限后的下一次缓冲区写出时滚动到新文件，
+ * 大小按未压缩字节数计算，文件只在记录边界切分，每个文件都带有文件头
+ */
+public class TableFileWriter implements Closeable {
+    
+    private static final int FLUSH_THRESHOLD_CHARS = 64 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 256 * 1024;
+    
+    private final Path directory;
+    private final String table;
+    private final String[] columns;
+    private final RecordFormatter formatter;
+    private final String extension;
+    private final boolean gzip;
+    private final long maxFileBytes;
+    
+    private final StringBuilder pending = new StringBuilder(FLUSH_THRESHOLD_CHARS + 1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+    private final List<Path> files = new ArrayList<>();
+    
+    private FileChannel channel;
+    private OutputStream gzipOutput;
+    private long bytesInFile;
+    private long totalBytes;
+    private long rowCount;
+    
+    public TableFileWriter(Path directory, String table, String[] columns, ExportFormat format, boolean gzip, long maxFileBytes) {
+        this.directory = directory;
+        this.table = table;
+        this.columns = columns;
+        this.formatter = format.newFormatter();
+        this.extension = format.getExtension();
+        this.gzip = gzip;
+        this.maxFileBytes = maxFileBytes;
+    }
+    
+    /**
+     * 追加一条记录
+     */
+    public void append(Object... values) throws IOException {
+        if (channel == null) {
+            openNextFile();
+        }
+        formatter.appendRecord(columns, values, pending);
+        rowCount++;
+        if (pending.length() >= FLUSH_THRESHOLD_CHARS) {
+            drain();
+        }
+    }
+    
+    public String getTable() {
+        return table;
+    }
+    
+    public String[] getColumns() {
+        return columns;
+    }
+    
+    public List<Path> getFiles() {
+        return files;
+    }
+    
+    public long getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * 已写入的未压缩字节数
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            drain();
+        }
+        if (channel != null) {
+            closeFile();
+        }
+    }
+    
+    /**
+     * 将字符缓冲区编码写出，达到单文件上限时关闭当前文件
+     */
+    private void drain() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(pending);
+        encoder.reset();
+        CoderResult result;
+        while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+            writeBuffer();
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            writeBuffer();
+        }
+        writeBuffer();
+        pending.setLength(0);
+        
+        if (maxFileBytes > 0 && bytesInFile >= maxFileBytes) {
+            closeFile();
+        }
+    }
+    
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        if (gzipOutput != null) {
+            gzipOutput.write(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes);
+        } else {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        bytesInFile += bytes;
+        totalBytes += bytes;
+        buffer.clear();
+    }
+    
+    private void openNextFile() throws IOException {
+        String fileName = String.format("%s-%05d.%s%s", table, files.size() + 1, extension, gzip ? ".gz" : "");
+        Path path = directory.resolve(fileName);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (gzip) {
+            gzipOutput = new GZIPOutputStream(Channels.newOutputStream(channel), BYTE_BUFFER_SIZE);
+        }
+        files.add(path);
+        bytesInFile = 0;
+        formatter.appendHeader(columns, pending);
+    }
+    
+    private void closeFile() throws IOException {
+        try {
+            if (gzipOutput != null) {
+                gzipOutput.close();
+            }
+        } finally {
+            gzipOutput = null;
+            if (channel.isOpen()) {
+                channel.close();
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.common.bigdata.generator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 多对多关联写入器
+ * 关联行以 {@link LongPairBuffer} 中的 (user_id, role_id / project_id) 原始long对传入，
+ * 通过单条预编译语句批量插入，不经过实体集合与Hibernate的集合持久化（每行一条INSERT）。
+ * 在调用方事务中执行，JPA事务下与 EntityManager 共用同一连接，调用前实体行必须已写入数据库
+ */
+@Component
+@RequiredArgsConstructor
+public class AssociationWriter {
+    
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    
+    private static final String INSERT_USER_PROJECT = "INSERT INTO user_projects (user_id, project_id) VALUES (?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final GenerationMetrics generationMetrics;
+    
+    /**
+     * 批量写入 user_roles
+     * @param writer 指标的 writer 标签
+     * @return 耗时（纳秒）
+     */
+    public long writeUserRoles(LongPairBuffer userRoles, String writer) {
+        return write(INSERT_USER_ROLE, userRoles, writer, "insert_user_roles");
+    }
+    
+    /**
+     * 批量写入 user_projects
+     * @param writer 指标的 writer 标签
+     * @return 耗时（纳秒）
+     */
+    public long writeUserProjects(LongPairBuffer userProjects, String writer) {
+        return write(INSERT_USER_PROJECT, userProjects, writer, "insert_user_projects");
+    }
+    
+    private long write(String sql, LongPairBuffer pairs, String writer, String step) {
+        if (pairs.size() == 0) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, pairs.left(i));
+                ps.setLong(2, pairs.right(i));
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return pairs.size();
+            }
+        });
+        long nanos = System.nanoTime() - start;
+        generationMetrics.recordStep(writer, step, nanos);
+        return nanos;
+    }
+}
@@ -2,16 +2,24 @@ package com.common.bigdata.generator;
 
 import com.common.bigdata.constant.PresetData;
 import com.common.bigdata.entity.core.*;
+import com.common.bigdata.generator.distribution.AssignmentSampler;
+import com.common.bigdata.generator.distribution.DistinctInts;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import com.common.bigdata.generator.sink.SinkFanoutWriter;
+import com.common.bigdata.generator.sink.SinkRegistry;
+import com.common.bigdata.generator.sink.SinkType;
 import com.common.bigdata.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
 
 /**
  * 大数据生成器核心类
@@ -26,16 +34,38 @@ public class BigDataGenerator {
     private final DepartmentRepository departmentRepository;
     private final ProjectRepository projectRepository;
     private final RoleRepository roleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityFactory entityFactory;
+    private final JpaChunkWriter jpaChunkWriter;
+    private final JdbcBatchChunkWriter jdbcBatchChunkWriter;
+    private final IdBlockAllocator idBlockAllocator;
+    private final DatasetCleaner datasetCleaner;
+    private final ParallelGenerationEngine parallelGenerationEngine;
+    private final SinkRegistry sinkRegistry;
+    private final GenerationMetrics generationMetrics;
+    private final AssociationWriter associationWriter;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     private static final Random RANDOM = new Random();
     
+    /**
+     * 默认分块大小
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 5000;
+    
+    /**
+     * 界面与非分块生成返回的示例用户数量
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 10;
+    
     /**
      * 生成完整的企业数据（覆盖模式）
      * @param userCount 用户数量
-     * @return 生成结果
+     * @return 生成摘要
      */
-    @Transactional
-    public GenerationResult generateData(int userCount) {
+    public GenerationSummary generateData(int userCount) {
         return generateData(userCount, false);
     }
     
@@ -43,59 +73,390 @@ public class BigDataGenerator {
      * 生成企业数据
      * @param userCount 用户数量
      * @param incremental 是否增量生成（true=增量，false=覆盖）
-     * @return 生成结果
+     * @return 生成摘要
+     */
+    public GenerationSummary generateData(int userCount, boolean incremental) {
+        return generateData(userCount, incremental, DistributionProfile.uniform());
+    }
+    
+    /**
+     * 按指定数据分布生成企业数据
+     * 以默认分块大小分块写入，每块提交后即释放，峰值内存只与分块大小有关；
+     * 返回摘要与前 {@value #DEFAULT_SAMPLE_SIZE} 个示例用户
+     * @param userCount 用户数量
+     * @param incremental 是否增量生成（true=增量，false=覆盖）
+     * @param distribution 部门、项目、角色分配与年龄的分布
+     * @return 生成摘要
+     */
+    public GenerationSummary generateData(int userCount, boolean incremental, DistributionProfile distribution) {
+        return generateData(GenerationOptions.builder()
+                .userCount(userCount)
+                .incremental(incremental)
+                .distribution(distribution)
+                .sampleSize(DEFAULT_SAMPLE_SIZE)
+                .build());
+    }
+    
+    /**
+     * 生成完整的企业数据（覆盖模式），返回全部实体列表
+     * 一次性 saveAll，结果持有整个数据集，只用于需要实体本身的调用方
+     * @param userCount 用户数量
+     * @return 包含实体列表的完整生成结果
      */
     @Transactional
-    public GenerationResult generateData(int userCount, boolean incremental) {
+    public GenerationResult generateFullData(int userCount) {
+        return generateAndSaveAll(userCount, false, DistributionProfile.uniform());
+    }
+    
+    /**
+     * 一次性生成并通过 saveAll 保存全部数据
+     */
+    private GenerationResult generateAndSaveAll(int userCount, boolean incremental, DistributionProfile distribution) {
         log.info("开始生成数据，用户数量: {}，模式: {}", userCount, incremental ? "增量" : "覆盖");
         
         long startTime = System.currentTimeMillis();
+        PhaseTimer timer = new PhaseTimer();
         
         // 根据模式决定是否清空数据
+        ClearMode clearMode = null;
         if (!incremental) {
-            clearExistingData();
+            timer.enter(GenerationPhase.CLEARING);
+            clearMode = clearExistingData(Collections.emptySet());
         }
         
         // 1. 生成并保存部门数据
+        timer.enter(GenerationPhase.REFERENCE_DATA);
         List<Department> departments = generateAndSaveDepartments();
         
         // 2. 生成并保存角色数据
         List<Role> roles = generateAndSaveRoles();
         
         // 3. 生成并保存项目数据
+        timer.enter(GenerationPhase.PROJECTS);
         int projectCount = incremental ? userCount / 8 : userCount / 4; // 增量模式项目数量减半
         List<Project> projects = generateAndSaveProjects(projectCount, incremental);
         
         // 4. 生成并保存用户数据
-        List<User> users = generateAndSaveUsers(userCount, departments, roles, projects, incremental);
+        timer.enter(GenerationPhase.USERS);
+        long usersAfterId = userRepository.findMaxId();
+        List<User> users = generateAndSaveUsers(userCount, departments, roles, projects, incremental, distribution);
+        timer.stop();
+        generationMetrics.recordPhases(GenerationMetrics.WRITER_SAVE_ALL, timer.toMap());
+        generationMetrics.recordRows("projects", projects.size());
+        generationMetrics.recordRows("users", users.size());
         
         long endTime = System.currentTimeMillis();
         log.info("数据生成完成，耗时: {} ms", endTime - startTime);
         
+        GenerationSummary.GenerationSummaryBuilder summary = GenerationSummary.builder()
+                .departmentCount(departments.size())
+                .roleCount(roles.size())
+                .projectCount(projects.size())
+                .userCount(users.size())
+                .generationTime(endTime - startTime)
+                .clearTime(timer.elapsed(GenerationPhase.CLEARING))
+                .clearMode(clearMode)
+                .phaseTimes(timer.toMap());
+        attachSamples(summary, DEFAULT_SAMPLE_SIZE, usersAfterId);
+        
         return GenerationResult.builder()
                 .users(users)
                 .departments(departments)
                 .projects(projects)
                 .roles(roles)
-                .generationTime(endTime - startTime)
+                .summary(summary.build())
                 .build();
     }
     
+    /**
+     * 分块流式生成企业数据
+     * 项目与用户按固定大小分块生成，每块独立事务提交，提交前flush并clear持久化上下文，
+     * 内存占用只与分块大小相关，与总数据量无关
+     * @param userCount 用户数量
+     * @param incremental 是否增量生成（true=增量，false=覆盖）
+     * @param chunkSize 分块大小
+     * @return 生成摘要
+     */
+    public GenerationSummary generateDataInChunks(int userCount, boolean incremental, int chunkSize) {
+        return generateDataInParallel(userCount, incremental, chunkSize, 1, RANDOM.nextLong());
+    }
+    
+    /**
+     * 并行分块生成企业数据
+     * 用户按分块大小切分为分区，由多个工作线程并行生成并各自提交；
+     * 相同种子与分块大小下生成的数据与并行度无关
+     * @param userCount 用户数量
+     * @param incremental 是否增量生成（true=增量，false=覆盖）
+     * @param chunkSize 分块大小
+     * @param parallelism 并行度，小于等于0时使用CPU核数
+     * @param seed 随机种子
+     * @return 生成摘要
+     */
+    public GenerationSummary generateDataInParallel(int userCount, boolean incremental, int chunkSize, int parallelism, long seed) {
+        return generateData(GenerationOptions.builder()
+                .userCount(userCount)
+                .incremental(incremental)
+                .chunkSize(chunkSize)
+                .parallelism(parallelism)
+                .seed(seed)
+                .build());
+    }
+    
+    /**
+     * 按生成参数分块生成企业数据
+     * @param options 生成参数
+     * @return 生成摘要
+     */
+    public GenerationSummary generateData(GenerationOptions options) {
+        return generateData(options, GenerationListener.NONE, new GenerationCheckpoint());
+    }
+    
+    /**
+     * 按生成参数分块生成企业数据，支持进度回调、取消与断点续跑
+     * 检查点已开始时跳过清空与初始化，沿用检查点中的种子、起始编号与预留ID，只生成未提交的分块
+     * @param options 生成参数
+     * @param listener 生成监听器
+     * @param checkpoint 生成检查点，新生成时传入空检查点
+     * @return 本次运行的生成摘要，options.sampleSize 大于0时附带示例用户
+     * @throws GenerationCancelledException 监听器请求取消时抛出，已提交的分块记录在检查点中
+     * @see SinkRegistry 选择了写入目标时，用户扇出写入各目标，所有目标都确认后分块才记为已提交
+     */
+    public GenerationSummary generateData(GenerationOptions options, GenerationListener listener, GenerationCheckpoint checkpoint) {
+        generationMetrics.generationStarted();
+        try {
+            if (options.getSinks().isEmpty()) {
+                return generateData(options, listener, checkpoint, chunkWriterFor(options.getWriteMode()),
+                        GenerationMetrics.writerTag(options.getWriteMode()));
+            }
+            // 清空数据之前校验，覆盖模式选择了无法清空的目标时不改动任何数据
+            validateSinks(options);
+            try (SinkFanoutWriter fanoutWriter = sinkRegistry.open(EnumSet.copyOf(options.getSinks()),
+                    ParallelGenerationEngine.resolveParallelism(options.getParallelism()))) {
+                return generateData(options, listener, checkpoint, fanoutWriter, GenerationMetrics.WRITER_SINKS);
+            }
+        } finally {
+            generationMetrics.generationFinished();
+        }
+    }
+    
+    /**
+     * 校验生成参数中的写入目标，未选择目标时不校验
+     * @throws IllegalArgumentException 目标不可用，或覆盖模式选择了无法清空的目标（Kafka）时抛出
+     */
+    public void validateSinks(GenerationOptions options) {
+        if (!options.getSinks().isEmpty()) {
+            sinkRegistry.validate(options.getSinks(), !options.isIncremental());
+        }
+    }
+    
+    /**
+     * 使用指定的分块写入器分块生成企业数据
+     * @param writer 指标的 writer 标签
+     */
+    private GenerationSummary generateData(GenerationOptions options, GenerationListener listener, GenerationCheckpoint checkpoint,
+                                           ChunkWriter chunkWriter, String writer) {
+        listener = generationMetrics.instrument(listener, writer);
+        int userCount = options.getUserCount();
+        boolean incremental = options.isIncremental();
+        int chunkSize = options.getChunkSize();
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块大小必须大于0");
+        }
+        int workers = ParallelGenerationEngine.resolveParallelism(options.getParallelism());
+        boolean resuming = checkpoint.isStarted();
+        long seed = resuming ? checkpoint.getSeed()
+                : options.getSeed() != null ? options.getSeed() : RANDOM.nextLong();
+        log.info("{}分块生成数据，用户数量: {}，分块大小: {}，并行度: {}，种子: {}，写入方式: {}，模式: {}",
+                resuming ? "继续" : "开始", userCount, chunkSize, workers, seed,
+                options.getSinks().isEmpty() ? options.getWriteMode().getDescription() : "写入 " + options.getSinks(),
+                incremental ? "增量" : "覆盖");
+        
+        long startTime = System.currentTimeMillis();
+        List<ChunkStatistics> chunkStatistics = new ArrayList<>();
+        SplittableRandom rootRandom = new SplittableRandom(seed);
+        SplittableRandom projectRandom = rootRandom.split();
+        SplittableRandom userRandom = rootRandom.split();
+        int projectCount = incremental ? userCount / 8 : userCount / 4;
+        PhaseTimer timer = new PhaseTimer();
+        
+        ClearMode clearMode = null;
+        if (!resuming && !incremental) {
+            enterPhase(GenerationPhase.CLEARING, listener, timer);
+            clearMode = transactionTemplate.execute(status -> clearExistingData(options.getSinks()));
+        }
+        
+        // 1. 部门与角色数据量固定，单个事务完成；已存在时直接返回现有数据
+        enterPhase(GenerationPhase.REFERENCE_DATA, listener, timer);
+        List<Department> departments = generationMetrics.recordStep(writer, "departments",
+                () -> transactionTemplate.execute(status -> generateAndSaveDepartments()));
+        List<Role> roles = generationMetrics.recordStep(writer, "roles",
+                () -> transactionTemplate.execute(status -> generateAndSaveRoles()));
+        if (!resuming) {
+            checkpoint.start(seed, allocateNumbers("projects", projectCount));
+        }
+        
+        // 2. 分块生成项目，顺序写入以保证项目ID与编号顺序一致
+        enterPhase(GenerationPhase.PROJECTS, listener, timer);
+        IdIndex projectIds = generateProjectsInChunks(projectCount, chunkSize, projectRandom, chunkWriter,
+                checkpoint, listener, chunkStatistics);
+        
+        // 3. 并行分块生成用户，关联关系只持有ID引用
+        enterPhase(GenerationPhase.USERS, listener, timer);
+        if (!checkpoint.isUsersPrepared()) {
+            long usersAfterId = userRepository.findMaxId();
+            checkpoint.prepareUsers(allocateNumbers("users", userCount), chunkWriter.reserveUserIds(userCount), usersAfterId);
+        }
+        ReferenceIds references = new ReferenceIds(
+                departments.stream().mapToLong(Department::getId).toArray(),
+                roles.stream().mapToLong(Role::getId).toArray(),
+                projectIds,
+                options.getDistribution());
+        chunkStatistics.addAll(parallelGenerationEngine.generateUsers(
+                userCount, chunkSize, workers, userRandom, references, chunkWriter, checkpoint, listener));
+        timer.stop();
+        generationMetrics.recordPhases(writer, timer.toMap());
+        
+        long endTime = System.currentTimeMillis();
+        log.info("分块数据生成完成，本次提交 {} 块，耗时: {} ms", chunkStatistics.size(), endTime - startTime);
+        
+        GenerationSummary.GenerationSummaryBuilder summary = GenerationSummary.builder()
+                .departmentCount(departments.size())
+                .roleCount(roles.size())
+                .projectCount(projectCount)
+                .userCount(userCount)
+                .generationTime(endTime - startTime)
+                .clearTime(timer.elapsed(GenerationPhase.CLEARING))
+                .clearMode(clearMode)
+                .phaseTimes(timer.toMap())
+                .chunkSize(chunkSize)
+                .parallelism(workers)
+                .seed(seed)
+                .writeMode(options.getSinks().isEmpty() ? options.getWriteMode() : WriteMode.JDBC_BATCH)
+                .sinks(options.getSinks().isEmpty() ? null : options.getSinks())
+                .chunkStatistics(chunkStatistics);
+        // 未写入MySQL时 users 表中没有本次生成的用户，不附带示例与部门统计
+        boolean usersInMysql = options.getSinks().isEmpty() || options.getSinks().contains(SinkType.MYSQL);
+        attachSamples(summary, usersInMysql ? options.getSampleSize() : 0, checkpoint.getUsersAfterId());
+        listener.onPhase(GenerationPhase.COMPLETED);
+        return summary.build();
+    }
+    
+    /**
+     * 进入生成阶段，通知监听器并开始计时
+     */
+    private static void enterPhase(GenerationPhase phase, GenerationListener listener, PhaseTimer timer) {
+        listener.onPhase(phase);
+        timer.enter(phase);
+    }
+    
+    /**
+     * 附加部门、角色与示例数据
+     * 部门与角色数量固定，始终附带；sampleSize 大于0时统计各部门用户数，并查询本次生成的前 sampleSize 个用户
+     * @param sampleSize 示例用户数，用户没有写入MySQL时应传0
+     * @param usersAfterId 用户阶段开始前的最大用户ID
+     */
+    private void attachSamples(GenerationSummary.GenerationSummaryBuilder summary, int sampleSize, long usersAfterId) {
+        summary.departments(departmentRepository.findAllRows())
+                .roles(roleRepository.findAllRows());
+        if (sampleSize <= 0) {
+            return;
+        }
+        Map<Long, Long> departmentUserCounts = new HashMap<>();
+        for (Object[] row : userRepository.countGroupByDepartment()) {
+            departmentUserCounts.put((Long) row[0], (Long) row[1]);
+        }
+        summary.departmentUserCounts(departmentUserCounts)
+                .sampleUsers(userRepository.findRowsWithLinksAfter(usersAfterId, PageRequest.of(0, sampleSize)));
+    }
+    
+    /**
+     * 根据写入方式选择分块写入器
+     */
+    private ChunkWriter chunkWriterFor(WriteMode writeMode) {
+        return writeMode == WriteMode.JDBC_BATCH ? jdbcBatchChunkWriter : jpaChunkWriter;
+    }
+    
+    /**
+     * 分块生成项目，返回本次生成的项目ID索引
+     * 跳过检查点中已提交的分块；项目ID在单连接顺序插入时是连续的，连续时只记录首个ID，否则回查实际ID
+     */
+    private IdIndex generateProjectsInChunks(int count, int chunkSize, SplittableRandom random, ChunkWriter chunkWriter,
+                                             GenerationCheckpoint checkpoint, GenerationListener listener,
+                                             List<ChunkStatistics> chunkStatistics) {
+        if (checkpoint.getProjectIds() != null) {
+            return checkpoint.getProjectIds();
+        }
+        
+        int startIndex = checkpoint.getFirstProjectNumber();
+        int chunkIndex = 0;
+        for (int offset = 0; offset < count; offset += chunkSize) {
+            int size = Math.min(chunkSize, count - offset);
+            int firstNumber = startIndex + offset;
+            // 已提交的分块同样需要 split，保证后续分块的随机源不变
+            SplittableRandom chunkRandom = random.split();
+            if (chunkIndex < checkpoint.getCommittedProjectChunks()) {
+                chunkIndex++;
+                continue;
+            }
+            if (listener.isCancelled()) {
+                throw new GenerationCancelledException("项目生成已取消，已提交分块: " + checkpoint.getCommittedProjectChunks());
+            }
+            long chunkStart = System.currentTimeMillis();
+            
+            checkpoint.projectChunkCommitted(chunkWriter.writeProjectChunk(firstNumber, size, chunkRandom));
+            ChunkStatistics chunk = ChunkStatistics.completed("projects", chunkIndex++, firstNumber, size, chunkStart);
+            chunkStatistics.add(chunk);
+            listener.onChunkCommitted(chunk);
+        }
+        
+        IdIndex projectIds = resolveProjectIds(count, checkpoint.getFirstProjectId(), checkpoint.getLastProjectId());
+        checkpoint.setProjectIds(projectIds);
+        return projectIds;
+    }
+    
+    /**
+     * 根据首尾ID构建项目ID索引
+     */
+    private IdIndex resolveProjectIds(int count, long firstId, long lastId) {
+        if (count == 0) {
+            return IdIndex.empty();
+        }
+        if (lastId - firstId + 1 == count) {
+            return IdIndex.range(firstId, count);
+        }
+        log.warn("项目ID不连续（{} - {}，共 {} 个），回查实际ID", firstId, lastId, count);
+        return IdIndex.of(projectRepository.findIdsBetween(firstId, lastId).stream().mapToLong(Long::longValue).toArray());
+    }
+    
+    /**
+     * 分配一段业务编号，返回第一个编号
+     * 编号由持久化的高水位线分配，增量生成与并发任务的编号区间互不重叠；覆盖模式清空数据后从1开始
+     */
+    private int allocateNumbers(String table, int count) {
+        int first = Math.toIntExact(idBlockAllocator.allocateNumbers(table, count));
+        log.info("表 {} 分配编号 {} - {}", table, first, first + count - 1);
+        return first;
+    }
+    
     /**
      * 清空现有数据
+     * 用户ID随后从1重新分配，所选的其他写入目标同样清空；其他目标清空失败时中止生成，避免旧数据与新ID重叠
+     * @param sinks 写入目标，MySQL各表始终清空
+     * @return 清空方式，MySQL清空失败时为空
      */
-    private void clearExistingData() {
+    private ClearMode clearExistingData(Set<SinkType> sinks) {
         log.info("清空现有数据...");
+        ClearMode clearMode;
         try {
-            // 按照外键依赖关系的逆序删除
-            userRepository.deleteAll();
-            projectRepository.deleteAll();
-            roleRepository.deleteAll();
-            departmentRepository.deleteAll();
-            log.info("数据清空完成");
+            clearMode = datasetCleaner.clear();
+            idBlockAllocator.reset();
+            log.info("数据清空完成，方式: {}", clearMode.getDescription());
         } catch (Exception e) {
             log.warn("清空数据时出现异常，继续执行: {}", e.getMessage());
+            clearMode = null;
         }
+        sinkRegistry.clear(sinks);
+        return clearMode;
     }
     
     /**
@@ -116,7 +477,7 @@ public class BigDataGenerator {
             Department dept = new Department();
             dept.setName(preset.getName());
             dept.setDescription(preset.getDescription());
-            setAuditFields(dept, "system");
+            entityFactory.setAuditFields(dept, "system");
             departments.add(dept);
         }
         
@@ -145,7 +506,7 @@ public class BigDataGenerator {
             role.setRoleName(preset.getRoleName());
             role.setDescription(preset.getDescription());
             role.setStatus(Role.RoleStatus.ACTIVE);
-            setAuditFields(role, "system");
+            entityFactory.setAuditFields(role, "system");
             roles.add(role);
         }
         
@@ -169,25 +530,10 @@ public class BigDataGenerator {
         log.info("生成项目数据，数量: {}，增量模式: {}", count, incremental);
         List<Project> projects = new ArrayList<>();
         
-        // 获取起始编号
-        int startIndex = 1;
-        if (incremental) {
-            // 增量模式：从现有项目数量+1开始
-            long existingCount = projectRepository.count();
-            startIndex = (int) existingCount + 1;
-            log.info("增量模式：现有项目 {} 个，从编号 {} 开始生成", existingCount, startIndex);
-        }
+        int startIndex = allocateNumbers("projects", count);
         
         for (int i = 0; i < count; i++) {
-            Project project = new Project();
-            int projectNumber = startIndex + i;
-            project.setName("项目" + projectNumber);
-            project.setDescription("这是第" + projectNumber + "个项目的描述");
-            project.setStartDate(generateRandomDate(2023, 2024));
-            project.setEndDate(generateRandomDate(2024, 2025));
-            project.setStatus(Project.ProjectStatus.values()[RANDOM.nextInt(Project.ProjectStatus.values().length)]);
-            setAuditFields(project, "system");
-            projects.add(project);
+            projects.add(entityFactory.buildProject(startIndex + i, RANDOM));
         }
         
         // 批量保存到数据库
@@ -200,117 +546,72 @@ public class BigDataGenerator {
      * 生成并保存用户数据
      */
     private List<User> generateAndSaveUsers(int count, List<Department> departments, List<Role> roles, List<Project> projects) {
-        return generateAndSaveUsers(count, departments, roles, projects, false);
+        return generateAndSaveUsers(count, departments, roles, projects, false, DistributionProfile.uniform());
     }
     
     /**
      * 生成并保存用户数据
      */
-    private List<User> generateAndSaveUsers(int count, List<Department> departments, List<Role> roles, List<Project> projects, boolean incremental) {
+    private List<User> generateAndSaveUsers(int count, List<Department> departments, List<Role> roles, List<Project> projects,
+                                            boolean incremental, DistributionProfile distribution) {
         log.info("生成用户数据，数量: {}，增量模式: {}", count, incremental);
-        List<User> users = new ArrayList<>();
+        List<User> users = new ArrayList<>(count);
         
-        // 获取起始编号
-        int startIndex = 1;
-        if (incremental) {
-            // 增量模式：从现有用户数量+1开始
-            long existingCount = userRepository.count();
-            startIndex = (int) existingCount + 1;
-            log.info("增量模式：现有用户 {} 个，从编号 {} 开始生成", existingCount, startIndex);
-        }
+        int startIndex = allocateNumbers("users", count);
         
+        // 关联先以 (用户下标, 角色/项目下标) 记录，保存用户得到ID后再换成ID对批量写入
+        AssignmentSampler assignments = new AssignmentSampler(departments.size(), roles.size(), projects.size(), distribution);
+        LongPairBuffer roleIndexes = new LongPairBuffer(count * 2);
+        LongPairBuffer projectIndexes = new LongPairBuffer(count * 3);
+        DistinctInts picked = new DistinctInts(8);
         for (int i = 0; i < count; i++) {
-            User user = new User();
-            int userNumber = startIndex + i;
-            user.setUsername("user" + userNumber);
-            user.setRealName(generateChineseName());
-            user.setEmail("user" + userNumber + "@company.com");
-            user.setAge(ThreadLocalRandom.current().nextInt(22, 60));
-            user.setGender(RANDOM.nextBoolean() ? "男" : "女");
-            user.setPhone(generatePhoneNumber());
+            User user = entityFactory.buildUser(startIndex + i, RANDOM, assignments);
             
             // 分配部门
-            Department department = departments.get(i % departments.size());
-            user.setDepartment(department);
+            user.setDepartment(departments.get(assignments.department(i, RANDOM)));
             
             // 分配角色
-            List<Role> userRoles = new ArrayList<>();
-            int roleCount = RANDOM.nextInt(3) + 1; // 1-3个角色
-            for (int j = 0; j < roleCount; j++) {
-                Role role = roles.get(RANDOM.nextInt(roles.size()));
-                if (!userRoles.contains(role)) {
-                    userRoles.add(role);
-                }
+            assignments.roles(RANDOM, picked);
+            for (int j = 0; j < picked.size(); j++) {
+                roleIndexes.add(i, picked.get(j));
             }
-            user.setRoles(userRoles);
             
             // 分配项目
-            List<Project> userProjects = new ArrayList<>();
-            int projectCount = RANDOM.nextInt(6); // 0-5个项目
-            for (int j = 0; j < projectCount; j++) {
-                Project project = projects.get(RANDOM.nextInt(projects.size()));
-                if (!userProjects.contains(project)) {
-                    userProjects.add(project);
-                }
+            assignments.projects(RANDOM, picked);
+            for (int j = 0; j < picked.size(); j++) {
+                projectIndexes.add(i, picked.get(j));
             }
-            user.setProjects(userProjects);
             
-            setAuditFields(user, "system");
             users.add(user);
         }
         
-        // 批量保存到数据库
+        // 批量保存用户，关联表不经过实体集合，由关联写入器批量插入
         users = userRepository.saveAll(users);
-        log.info("保存了 {} 个用户", users.size());
-        return users;
-    }
-    
-    /**
-     * 设置审计字段
-     */
-    private void setAuditFields(com.common.bigdata.entity.base.BaseAuditEntity entity, String operator) {
-        LocalDateTime now = LocalDateTime.now();
-        entity.setCreateTime(now);
-        entity.setUpdateTime(now);
-        entity.setCreatedBy(operator);
-        entity.setUpdatedBy(operator);
-        entity.setVersion(1L);
-    }
-    
-    /**
-     * 生成随机日期
-     */
-    private LocalDate generateRandomDate(int startYear, int endYear) {
-        int year = ThreadLocalRandom.current().nextInt(startYear, endYear + 1);
-        int month = ThreadLocalRandom.current().nextInt(1, 13);
-        int day = ThreadLocalRandom.current().nextInt(1, 29);
-        return LocalDate.of(year, month, day);
-    }
-    
-    /**
-     * 生成中文姓名
-     */
-    private String generateChineseName() {
-        String[] surnames = {"张", "李", "王", "刘", "陈", "杨", "赵", "黄", "周", "吴", "徐", "孙", "胡", "朱", "高", "林", "何", "郭", "马", "罗"};
-        String[] names = {"伟", "芳", "娜", "敏", "静", "丽", "强", "磊", "军", "洋", "勇", "艳", "杰", "娟", "涛", "明", "超", "秀英", "华", "玲"};
+        userRepository.flush();
+        associationWriter.writeUserRoles(toIdPairs(roleIndexes, users, roles, Role::getId), GenerationMetrics.WRITER_SAVE_ALL);
+        associationWriter.writeUserProjects(toIdPairs(projectIndexes, users, projects, Project::getId), GenerationMetrics.WRITER_SAVE_ALL);
+        log.info("保存了 {} 个用户，{} 条角色关联，{} 条项目关联", users.size(), roleIndexes.size(), projectIndexes.size());
         
-        String surname = surnames[RANDOM.nextInt(surnames.length)];
-        String name = names[RANDOM.nextInt(names.length)];
-        return surname + name;
+        // 返回的实体仍附带角色与项目：先从持久化上下文分离，避免提交时集合持久化再次写入关联行
+        entityManager.clear();
+        for (int i = 0; i < roleIndexes.size(); i++) {
+            users.get((int) roleIndexes.left(i)).getRoles().add(roles.get((int) roleIndexes.right(i)));
+        }
+        for (int i = 0; i < projectIndexes.size(); i++) {
+            users.get((int) projectIndexes.left(i)).getProjects().add(projects.get((int) projectIndexes.right(i)));
+        }
+        return users;
     }
     
     /**
-     * 生成手机号
+     * 将 (用户下标, 关联实体下标) 转换为 (用户ID, 关联实体ID)
      */
-    private String generatePhoneNumber() {
-        String[] prefixes = {"130", "131", "132", "133", "134", "135", "136", "137", "138", "139", 
-                            "150", "151", "152", "153", "155", "156", "157", "158", "159",
-                            "180", "181", "182", "183", "184", "185", "186", "187", "188", "189"};
-        String prefix = prefixes[RANDOM.nextInt(prefixes.length)];
-        StringBuilder phone = new StringBuilder(prefix);
-        for (int i = 0; i < 8; i++) {
-            phone.append(RANDOM.nextInt(10));
+    private static <T> LongPairBuffer toIdPairs(LongPairBuffer indexes, List<User> users, List<T> targets,
+                                               ToLongFunction<T> targetId) {
+        LongPairBuffer pairs = new LongPairBuffer(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            pairs.add(users.get((int) indexes.left(i)).getId(), targetId.applyAsLong(targets.get((int) indexes.right(i))));
         }
-        return phone.toString();
+        return pairs;
     }
 }
@@ -0,0 +1,58 @@
+package com.common.bigdata.generator;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 分块生成统计类
+ * 记录单个数据块的生成与持久化情况
+ */
+@Data
+@Builder
+public class ChunkStatistics {
+
+    /**
+     * 所属阶段（projects / users）
+     */
+    private String phase;
+
+    /**
+     * 块序号，从0开始
+     */
+    private int chunkIndex;
+
+    /**
+     * 块内第一条数据的业务编号
+     */
+    private long firstNumber;
+
+    /**
+     * 块内数据条数
+     */
+    private int rowCount;
+
+    /**
+     * 块耗时（毫秒），包含生成、flush与提交
+     */
+    private long elapsedMillis;
+
+    /**
+     * 根据块开始时间生成统计信息
+     */
+    public static ChunkStatistics completed(String phase, int chunkIndex, long firstNumber, int rowCount, long startMillis) {
+        return ChunkStatistics.builder()
+                .phase(phase)
+                .chunkIndex(chunkIndex)
+                .firstNumber(firstNumber)
+                .rowCount(rowCount)
+                .elapsedMillis(System.currentTimeMillis() - startMillis)
+                .build();
+    }
+    
+    /**
+     * 每秒处理行数
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rowCount * 1000.0 / elapsedMillis : rowCount;
+    }
+}
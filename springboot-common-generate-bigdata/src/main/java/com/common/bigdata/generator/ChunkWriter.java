@@ -0,0 +1,38 @@
+package com.common.bigdata.generator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+
+/**
+ * 分块写入器
+ * 每次调用在独立事务中写入一块数据，实现需保证线程安全以支持并行生成
+ */
+public interface ChunkWriter {
+    
+    /**
+     * 预留用户ID区间
+     * @param count 用户数量
+     * @return 第一个ID；由数据库生成ID的实现返回 -1
+     */
+    long reserveUserIds(int count);
+    
+    /**
+     * 写入一块项目
+     * @return 本块项目的最小ID与最大ID
+     */
+    long[] writeProjectChunk(int firstNumber, int size, RandomGenerator random);
+    
+    /**
+     * 写入一块用户及其角色、项目关联
+     */
+    void writeUserChunk(UserChunk chunk, ReferenceIds references, RandomGenerator random);
+    
+    /**
+     * 异步写入一块用户，生成行数据后即可返回，由写入器在后台完成持久化
+     * 返回的 future 在整块数据写入完成后才完成，并行引擎据此标记分块已提交；默认实现同步写入
+     */
+    default CompletableFuture<Void> writeUserChunkAsync(UserChunk chunk, ReferenceIds references, RandomGenerator random) {
+        writeUserChunk(chunk, references, random);
+        return CompletableFuture.completedFuture(null);
+    }
+}
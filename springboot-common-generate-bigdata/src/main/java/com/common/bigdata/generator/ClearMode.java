@@ -0,0 +1,27 @@
+package com.common.bigdata.generator;
+
+/**
+ * 覆盖模式清空数据的方式
+ */
+public enum ClearMode {
+    
+    /**
+     * 关闭外键检查后 TRUNCATE 关联表与实体表，同时重置自增ID
+     */
+    TRUNCATE("TRUNCATE清空"),
+    
+    /**
+     * 按外键依赖逆序执行集合式 DELETE，用于没有 TRUNCATE（DROP）权限的账号
+     */
+    DELETE("DELETE清空");
+    
+    private final String description;
+    
+    ClearMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,84 @@
+package com.common.bigdata.generator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * 数据集清空器
+ * 覆盖模式下整表清空，不经过 Spring Data 的 deleteAll（逐个加载实体并按级联逐行删除）。
+ * 优先关闭外键检查后 TRUNCATE，同时重置自增ID；TRUNCATE 失败（如缺少DROP权限）时退回按外键依赖逆序的集合式 DELETE。
+ * TRUNCATE 与重置自增ID属于DDL，会隐式提交当前事务，清空结果不随后续失败回滚
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatasetCleaner {
+    
+    /**
+     * 先关联表，再按外键依赖逆序的实体表
+     */
+    private static final String[] TABLES = {"user_roles", "user_projects", "users", "projects", "roles", "departments"};
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 清空全部生成数据
+     * @return 实际使用的清空方式
+     */
+    public ClearMode clear() {
+        try {
+            truncate();
+            return ClearMode.TRUNCATE;
+        } catch (DataAccessException e) {
+            log.warn("TRUNCATE清空失败，改用DELETE: {}", e.getMessage());
+            delete();
+            return ClearMode.DELETE;
+        }
+    }
+    
+    /**
+     * 外键检查是会话级变量，关闭、TRUNCATE与恢复必须在同一连接上执行
+     */
+    private void truncate() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                try {
+                    for (String table : TABLES) {
+                        statement.execute("TRUNCATE TABLE " + table);
+                    }
+                } finally {
+                    statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+                }
+            }
+            return null;
+        });
+    }
+    
+    private void delete() {
+        for (String table : TABLES) {
+            int rows = jdbcTemplate.update("DELETE FROM " + table);
+            log.info("表 {} 删除 {} 行", table, rows);
+        }
+        for (String table : TABLES) {
+            resetAutoIncrement(table);
+        }
+    }
+    
+    /**
+     * 重置自增ID需要ALTER权限，失败时保留原自增值，不影响数据正确性
+     */
+    private void resetAutoIncrement(String table) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE " + table + " AUTO_INCREMENT = 1");
+        } catch (DataAccessException e) {
+            log.debug("表 {} 重置自增ID失败: {}", table, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.entity.base.BaseAuditEntity;
+import com.common.bigdata.entity.core.Project;
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.distribution.AssignmentSampler;
+import com.common.bigdata.generator.value.UserValueGenerators;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * 实体构建工厂
+ * 随机源由调用方传入，同一随机源按相同顺序调用时生成相同的数据；
+ * 用户字段值由 {@link UserValueGenerators} 生成，容器中存在该类型的Bean时使用该Bean替换默认实现
+ */
+@Component
+public class EntityFactory {
+    
+    private static final Project.ProjectStatus[] PROJECT_STATUSES = Project.ProjectStatus.values();
+    
+    private final UserValueGenerators userValueGenerators;
+    
+    @Autowired
+    public EntityFactory(ObjectProvider<UserValueGenerators> userValueGenerators) {
+        this(userValueGenerators.getIfAvailable(UserValueGenerators::defaults));
+    }
+    
+    public EntityFactory(UserValueGenerators userValueGenerators) {
+        this.userValueGenerators = userValueGenerators;
+    }
+    
+    /**
+     * 构建单个项目（不含关联关系）
+     */
+    public Project buildProject(int projectNumber, RandomGenerator random) {
+        Project project = new Project();
+        project.setName("项目" + projectNumber);
+        project.setDescription("这是第" + projectNumber + "个项目的描述");
+        project.setStartDate(generateRandomDate(random, 2023, 2024));
+        project.setEndDate(generateRandomDate(random, 2024, 2025));
+        project.setStatus(PROJECT_STATUSES[random.nextInt(PROJECT_STATUSES.length)]);
+        setAuditFields(project, "system");
+        return project;
+    }
+    
+    /**
+     * 构建单个用户（不含部门、角色、项目关联），年龄均匀分布
+     */
+    public User buildUser(int userNumber, RandomGenerator random) {
+        return buildUser(userNumber, random, null);
+    }
+    
+    /**
+     * 构建单个用户（不含部门、角色、项目关联）
+     * @param assignments 年龄按其分布配置抽取，为空时均匀分布
+     */
+    public User buildUser(int userNumber, RandomGenerator random, AssignmentSampler assignments) {
+        User user = new User();
+        user.setUsername(userValueGenerators.getUsername().next(userNumber, random));
+        user.setRealName(userValueGenerators.getRealName().next(userNumber, random));
+        user.setEmail(userValueGenerators.getEmail().next(userNumber, random));
+        user.setAge(assignments != null ? assignments.age(random)
+                : random.nextInt(AssignmentSampler.MIN_AGE, AssignmentSampler.MAX_AGE));
+        user.setGender(random.nextBoolean() ? "男" : "女");
+        user.setPhone(userValueGenerators.getPhone().next(userNumber, random));
+        setAuditFields(user, "system");
+        return user;
+    }
+    
+    /**
+     * 设置审计字段
+     */
+    public void setAuditFields(BaseAuditEntity entity, String operator) {
+        LocalDateTime now = LocalDateTime.now();
+        entity.setCreateTime(now);
+        entity.setUpdateTime(now);
+        entity.setCreatedBy(operator);
+        entity.setUpdatedBy(operator);
+        entity.setVersion(1L);
+    }
+    
+    /**
+     * 生成随机日期
+     */
+    private LocalDate generateRandomDate(RandomGenerator random, int startYear, int endYear) {
+        int year = random.nextInt(startYear, endYear + 1);
+        int month = random.nextInt(1, 13);
+        int day = random.nextInt(1, 29);
+        return LocalDate.of(year, month, day);
+    }
+}
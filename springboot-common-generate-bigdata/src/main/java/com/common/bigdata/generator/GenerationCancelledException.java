@@ -0,0 +1,12 @@
+package com.common.bigdata.generator;
+
+/**
+ * 数据生成被取消
+ * 已提交的分块保留在数据库中，可通过 {@link GenerationCheckpoint} 继续生成
+ */
+public class GenerationCancelledException extends RuntimeException {
+    
+    public GenerationCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,126 @@
+package com.common.bigdata.generator;
+
+import java.util.BitSet;
+
+/**
+ * 分块生成检查点
+ * 记录一次生成已提交的分块与续跑所需的状态（种子、起始编号、项目ID区间、预留的用户ID）。
+ * 使用同一检查点再次调用生成会跳过已提交的分块，从中断处继续，生成的数据与未中断时相同
+ */
+public class GenerationCheckpoint {
+    
+    private boolean started;
+    private long seed;
+    
+    private int firstProjectNumber;
+    private int committedProjectChunks;
+    private long firstProjectId = -1;
+    private long lastProjectId = -1;
+    private IdIndex projectIds;
+    
+    private boolean usersPrepared;
+    private int firstUserNumber;
+    private long firstUserId = -1;
+    private long usersAfterId;
+    private final BitSet committedUserChunks = new BitSet();
+    
+    /**
+     * 是否已完成清空与部门、角色初始化
+     */
+    public synchronized boolean isStarted() {
+        return started;
+    }
+    
+    /**
+     * 记录生成开始
+     */
+    public synchronized void start(long seed, int firstProjectNumber) {
+        this.started = true;
+        this.seed = seed;
+        this.firstProjectNumber = firstProjectNumber;
+    }
+    
+    public synchronized long getSeed() {
+        return seed;
+    }
+    
+    public synchronized int getFirstProjectNumber() {
+        return firstProjectNumber;
+    }
+    
+    public synchronized int getCommittedProjectChunks() {
+        return committedProjectChunks;
+    }
+    
+    /**
+     * 记录一块项目已提交，项目分块顺序提交
+     */
+    public synchronized void projectChunkCommitted(long[] idBounds) {
+        if (firstProjectId < 0) {
+            firstProjectId = idBounds[0];
+        }
+        lastProjectId = idBounds[1];
+        committedProjectChunks++;
+    }
+    
+    public synchronized long getFirstProjectId() {
+        return firstProjectId;
+    }
+    
+    public synchronized long getLastProjectId() {
+        return lastProjectId;
+    }
+    
+    /**
+     * 项目阶段完成后的项目ID索引，未完成时为空
+     */
+    public synchronized IdIndex getProjectIds() {
+        return projectIds;
+    }
+    
+    public synchronized void setProjectIds(IdIndex projectIds) {
+        this.projectIds = projectIds;
+    }
+    
+    /**
+     * 用户起始编号与ID是否已确定
+     */
+    public synchronized boolean isUsersPrepared() {
+        return usersPrepared;
+    }
+    
+    /**
+     * 记录用户起始编号与预留的第一个用户ID
+     * @param usersAfterId 用户阶段开始前的最大用户ID，本次生成的用户ID均大于该值
+     */
+    public synchronized void prepareUsers(int firstUserNumber, long firstUserId, long usersAfterId) {
+        this.usersPrepared = true;
+        this.firstUserNumber = firstUserNumber;
+        this.firstUserId = firstUserId;
+        this.usersAfterId = usersAfterId;
+    }
+    
+    public synchronized int getFirstUserNumber() {
+        return firstUserNumber;
+    }
+    
+    public synchronized long getFirstUserId() {
+        return firstUserId;
+    }
+    
+    public synchronized long getUsersAfterId() {
+        return usersAfterId;
+    }
+    
+    public synchronized void userChunkCommitted(int chunkIndex) {
+        committedUserChunks.set(chunkIndex);
+    }
+    
+    public synchronized boolean isUserChunkCommitted(int chunkIndex) {
+        return committedUserChunks.get(chunkIndex);
+    }
+    
+    public synchronized int getCommittedUserChunks() {
+        return committedUserChunks.cardinality();
+    }
+}
@@ -0,0 +1,34 @@
+package com.common.bigdata.generator;
+
+/**
+ * 数据生成监听器
+ * 分块生成过程中回调阶段切换与分块提交，并在每个分块开始前检查是否已取消。
+ * onChunkCommitted 可能由多个工作线程并发调用
+ */
+public interface GenerationListener {
+    
+    /**
+     * 不做任何处理的监听器
+     */
+    GenerationListener NONE = new GenerationListener() {
+    };
+    
+    /**
+     * 进入新阶段
+     */
+    default void onPhase(GenerationPhase phase) {
+    }
+    
+    /**
+     * 分块已提交
+     */
+    default void onChunkCommitted(ChunkStatistics chunk) {
+    }
+    
+    /**
+     * 是否已请求取消，已开始的分块会继续完成提交
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.common.bigdata.generator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 数据生成指标
+ * 通过 actuator 的 /actuator/metrics 与 /actuator/prometheus 暴露，writer 标签区分写入方式，便于对比：
+ * <ul>
+ *     <li>bigdata.generation.phase：各阶段耗时（phase）</li>
+ *     <li>bigdata.generation.chunk：分块耗时直方图，含生成、写入与提交（table）</li>
+ *     <li>bigdata.generation.step：分块内各步骤耗时直方图（step），如生成行数据、Hibernate flush、各表批量插入、提交</li>
+ *     <li>bigdata.generation.sink：多目标写入时各目标的写入耗时与生成线程等待该目标的阻塞耗时（sink、stage）</li>
+ *     <li>bigdata.generation.rows：已提交行数（table）</li>
+ *     <li>bigdata.generation.rows.per.second：最近提交分块的每秒行数（table）</li>
+ *     <li>bigdata.generation.active：正在运行的生成数量</li>
+ * </ul>
+ */
+@Component
+public class GenerationMetrics {
+    
+    /**
+     * 非分块生成（saveAll）的 writer 标签
+     */
+    public static final String WRITER_SAVE_ALL = "save_all";
+    
+    /**
+     * 多目标扇出写入的 writer 标签，各目标的耗时见 bigdata.generation.sink
+     */
+    public static final String WRITER_SINKS = "sinks";
+    
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeGenerations = new AtomicInteger();
+    private final Map<String, ChunkRate> chunkRates = new ConcurrentHashMap<>();
+    
+    public GenerationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("bigdata.generation.active", activeGenerations, AtomicInteger::get)
+                .description("正在运行的数据生成数量")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 写入方式对应的 writer 标签
+     */
+    public static String writerTag(WriteMode writeMode) {
+        return writeMode.name().toLowerCase();
+    }
+    
+    /**
+     * 标记一次生成开始，需与 {@link #generationFinished()} 成对调用
+     */
+    public void generationStarted() {
+        activeGenerations.incrementAndGet();
+    }
+    
+    public void generationFinished() {
+        activeGenerations.decrementAndGet();
+    }
+    
+    /**
+     * 记录一次生成的各阶段耗时
+     */
+    public void recordPhases(String writer, Map<GenerationPhase, Long> phaseTimes) {
+        phaseTimes.forEach((phase, millis) -> Timer.builder("bigdata.generation.phase")
+                .description("数据生成各阶段耗时")
+                .tag("phase", phase.name().toLowerCase())
+                .tag("writer", writer)
+                .register(meterRegistry)
+                .record(millis, TimeUnit.MILLISECONDS));
+    }
+    
+    /**
+     * 记录已提交的分块：耗时、行数与每秒行数
+     */
+    public void recordChunk(String writer, ChunkStatistics chunk) {
+        String table = chunk.getPhase();
+        Timer.builder("bigdata.generation.chunk")
+                .description("分块生成耗时，含生成、写入与提交")
+                .tag("table", table)
+                .tag("writer", writer)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(chunk.getElapsedMillis(), TimeUnit.MILLISECONDS);
+        recordRows(table, chunk.getRowCount());
+        chunkRates.computeIfAbsent(table, this::registerChunkRate).rowsPerSecond = chunk.getRowsPerSecond();
+    }
+    
+    /**
+     * 累加已提交行数
+     */
+    public void recordRows(String table, long rows) {
+        Counter.builder("bigdata.generation.rows")
+                .description("已提交的数据行数")
+                .tag("table", table)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+    
+    /**
+     * 记录分块内一个步骤的耗时
+     */
+    public void recordStep(String writer, String step, long nanos) {
+        stepTimer(writer, step).record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 执行并记录分块内一个步骤的耗时
+     */
+    public <T> T recordStep(String writer, String step, Supplier<T> action) {
+        return stepTimer(writer, step).record(action);
+    }
+    
+    /**
+     * 执行并记录分块内一个步骤的耗时
+     */
+    public void recordStep(String writer, String step, Runnable action) {
+        stepTimer(writer, step).record(action);
+    }
+    
+    /**
+     * 记录多目标写入中一个目标的耗时
+     * @param stage write 为写入耗时，blocked 为生成线程等待该目标空闲的耗时
+     */
+    public void recordSink(String sink, String stage, long nanos) {
+        Timer.builder("bigdata.generation.sink")
+                .description("多目标写入各目标的耗时")
+                .tag("sink", sink)
+                .tag("stage", stage)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 包装监听器，在分块提交时记录分块指标
+     */
+    public GenerationListener instrument(GenerationListener listener, String writer) {
+        return new GenerationListener() {
+            @Override
+            public void onPhase(GenerationPhase phase) {
+                listener.onPhase(phase);
+            }
+            
+            @Override
+            public void onChunkCommitted(ChunkStatistics chunk) {
+                recordChunk(writer, chunk);
+                listener.onChunkCommitted(chunk);
+            }
+            
+            @Override
+            public boolean isCancelled() {
+                return listener.isCancelled();
+            }
+        };
+    }
+    
+    private Timer stepTimer(String writer, String step) {
+        return Timer.builder("bigdata.generation.step")
+                .description("分块内各步骤耗时")
+                .tag("step", step)
+                .tag("writer", writer)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private ChunkRate registerChunkRate(String table) {
+        ChunkRate rate = new ChunkRate();
+        Gauge.builder("bigdata.generation.rows.per.second", rate, r -> r.rowsPerSecond)
+                .description("最近提交分块的每秒行数")
+                .tag("table", table)
+                .register(meterRegistry);
+        return rate;
+    }
+    
+    /**
+     * 最近提交分块的吞吐量，由工作线程写入、指标采集线程读取
+     */
+    private static final class ChunkRate {
+        private volatile double rowsPerSecond;
+    }
+}
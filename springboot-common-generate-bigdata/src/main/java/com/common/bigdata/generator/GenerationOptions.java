@@ -0,0 +1,67 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import com.common.bigdata.generator.sink.SinkType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 分块生成参数
+ */
+@Data
+@Builder
+public class GenerationOptions {
+    
+    /**
+     * 用户数量
+     */
+    private int userCount;
+    
+    /**
+     * 是否增量生成（true=增量，false=覆盖）
+     */
+    private boolean incremental;
+    
+    /**
+     * 分块大小
+     */
+    @Builder.Default
+    private int chunkSize = BigDataGenerator.DEFAULT_CHUNK_SIZE;
+    
+    /**
+     * 并行度，小于等于0时使用CPU核数
+     */
+    @Builder.Default
+    private int parallelism = 1;
+    
+    /**
+     * 随机种子，为空时随机选取
+     */
+    private Long seed;
+    
+    /**
+     * 写入方式
+     */
+    @Builder.Default
+    private WriteMode writeMode = WriteMode.JPA;
+    
+    /**
+     * 用户写入目标，非空时忽略 writeMode：项目由JDBC批量写入MySQL，用户并发扇出写入所选目标
+     */
+    @Builder.Default
+    private Set<SinkType> sinks = EnumSet.noneOf(SinkType.class);
+    
+    /**
+     * 部门、项目、角色分配与年龄的分布，默认全部均匀
+     */
+    @Builder.Default
+    private DistributionProfile distribution = DistributionProfile.uniform();
+    
+    /**
+     * 结果中附带的示例用户数量，0表示不查询示例
+     */
+    private int sampleSize;
+}
@@ -0,0 +1,27 @@
+package com.common.bigdata.generator;
+
+/**
+ * 数据生成阶段
+ */
+public enum GenerationPhase {
+    
+    CLEARING("清空数据"),
+    
+    REFERENCE_DATA("生成部门与角色"),
+    
+    PROJECTS("生成项目"),
+    
+    USERS("生成用户"),
+    
+    COMPLETED("已完成");
+    
+    private final String description;
+    
+    GenerationPhase(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
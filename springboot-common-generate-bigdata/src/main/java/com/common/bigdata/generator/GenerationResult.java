@@ -7,8 +7,8 @@ import lombok.Data;
 import java.util.List;
 
 /**
- * 数据生成结果类
- * 包含生成的所有实体数据
+ * 完整数据生成结果类
+ * 包含生成的所有实体数据，仅在显式请求完整数据时返回；默认结果见 {@link GenerationSummary}
  */
 @Data
 @Builder
@@ -35,18 +35,14 @@ public class GenerationResult {
     private List<Project> projects;
     
     /**
-     * 生成耗时（毫秒）
+     * 生成摘要（数量与耗时）
      */
-    private Long generationTime;
+    private GenerationSummary summary;
     
     /**
      * 获取统计信息
      */
     public String getStatistics() {
-        return String.format("部门: %d个, 角色: %d个, 用户: %d个, 项目: %d个", 
-                departments != null ? departments.size() : 0,
-                roles != null ? roles.size() : 0,
-                users != null ? users.size() : 0,
-                projects != null ? projects.size() : 0);
+        return summary.getStatistics();
     }
 }
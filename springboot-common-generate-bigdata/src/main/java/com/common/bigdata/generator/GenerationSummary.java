@@ -0,0 +1,141 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.dto.DepartmentRow;
+import com.common.bigdata.dto.RoleRow;
+import com.common.bigdata.dto.UserRow;
+import com.common.bigdata.generator.sink.SinkType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 数据生成摘要
+ * 生成器默认返回的结果类型，只保存数量、耗时与少量示例行，不持有生成的实体对象，
+ * 调用方长期持有时内存占用与数据量无关；需要完整实体列表时使用 {@link BigDataGenerator#generateFullData(int)}
+ */
+@Data
+@Builder
+public class GenerationSummary {
+    
+    private long departmentCount;
+    
+    private long roleCount;
+    
+    /**
+     * 本次生成的项目数量
+     */
+    private long projectCount;
+    
+    /**
+     * 本次生成的用户数量
+     */
+    private long userCount;
+    
+    /**
+     * 生成耗时（毫秒），覆盖模式下包含清空耗时
+     */
+    private Long generationTime;
+    
+    /**
+     * 清空现有数据的耗时（毫秒），增量模式与续跑时为空
+     */
+    private Long clearTime;
+    
+    /**
+     * 清空方式，增量模式、续跑或清空失败时为空
+     */
+    private ClearMode clearMode;
+    
+    /**
+     * 各阶段耗时（毫秒），按阶段顺序排列；续跑时只包含本次运行的阶段
+     */
+    private Map<GenerationPhase, Long> phaseTimes;
+    
+    /**
+     * 写出的字节数，仅在写出到响应流时统计，写入数据库时为空
+     */
+    private Long bytesWritten;
+    
+    /**
+     * 分块大小，非分块模式为空
+     */
+    private Integer chunkSize;
+    
+    /**
+     * 并行度，非分块模式为空
+     */
+    private Integer parallelism;
+    
+    /**
+     * 随机种子，相同种子、分块大小与数量下生成的数据相同；非分块模式为空
+     */
+    private Long seed;
+    
+    /**
+     * 写入方式，非分块模式为空
+     */
+    private WriteMode writeMode;
+    
+    /**
+     * 用户写入目标，未选择目标（按写入方式写入MySQL）时为空
+     */
+    private Set<SinkType> sinks;
+    
+    /**
+     * 各数据块的统计信息，非分块模式为空
+     */
+    private List<ChunkStatistics> chunkStatistics;
+    
+    /**
+     * 部门，数量固定，始终包含
+     */
+    private List<DepartmentRow> departments;
+    
+    /**
+     * 角色，数量固定，始终包含
+     */
+    private List<RoleRow> roles;
+    
+    /**
+     * 各部门用户数量（部门ID -> 数量），请求示例且用户写入了MySQL时统计
+     */
+    private Map<Long, Long> departmentUserCounts;
+    
+    /**
+     * 本次生成的前若干个用户，附带角色ID与项目ID，未请求示例或写入目标不含MySQL时为空
+     */
+    private List<UserRow> sampleUsers;
+    
+    /**
+     * 每秒生成的实体行数（部门、角色、项目、用户）
+     */
+    public double getRowsPerSecond() {
+        long rows = departmentCount + roleCount + projectCount + userCount;
+        return generationTime != null && generationTime > 0 ? rows * 1000.0 / generationTime : rows;
+    }
+    
+    /**
+     * 获取统计信息
+     */
+    public String getStatistics() {
+        return String.format("部门: %d个, 角色: %d个, 用户: %d个, 项目: %d个",
+                departmentCount, roleCount, userCount, projectCount);
+    }
+    
+    /**
+     * 根据部门ID获取部门名称，供结果页展示示例用户
+     */
+    public String departmentName(Long departmentId) {
+        if (departments != null) {
+            for (DepartmentRow department : departments) {
+                if (department.getId().equals(departmentId)) {
+                    return department.getName();
+                }
+            }
+        }
+        return null;
+    }
+}
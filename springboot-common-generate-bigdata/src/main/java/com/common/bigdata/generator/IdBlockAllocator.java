@@ -0,0 +1,90 @@
+package com.common.bigdata.generator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 持久化ID与编号块分配器
+ * 高水位线保存在 generator_sequences 表中，每次分配在事务内锁定序列行（SELECT ... FOR UPDATE）后整块推进，
+ * 多个任务、多个进程并发增量生成时分配的区间互不重叠，且不需要 count() 全表计数。
+ * <ul>
+ *     <li>ID序列（表名.id）：分配起点不小于表中当前最大ID + 1，JPA自增写入的行不会与之冲突</li>
+ *     <li>编号序列（表名.number）：用户名、邮箱、项目名中的编号；首次使用时以表中最大ID初始化，
+ *     历史数据的编号均不大于其ID，因此不会与已有的用户名、邮箱重复</li>
+ * </ul>
+ * 每次分配在独立的新事务（REQUIRES_NEW）中立即提交，即使调用方处于长事务中，序列行的锁也只持有一次分配的时间，
+ * 并发的增量生成不会被串行化；调用方回滚时已分配的区间不退回，已分配但未使用的区间直接跳过，编号允许出现空洞。
+ * 初始化序列时的最大ID用非加锁的一致性读取得，不会等待调用方事务中未提交的删除或插入。
+ * 预留后尚未写入的ID区间不会阻止同时进行的JPA自增写入占用，JDBC批量写入与JPA写入不应同时写同一张表
+ */
+@Slf4j
+@Component
+public class IdBlockAllocator {
+    
+    private static final String ID_SUFFIX = ".id";
+    private static final String NUMBER_SUFFIX = ".number";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * 分配一段连续ID
+     * @param table 表名
+     * @param count ID数量
+     * @return 第一个ID
+     */
+    public long allocateIds(String table, int count) {
+        return allocate(table, table + ID_SUFFIX, count, true);
+    }
+    
+    /**
+     * 分配一段连续的业务编号
+     * @param table 表名
+     * @param count 编号数量
+     * @return 第一个编号
+     */
+    public long allocateNumbers(String table, int count) {
+        return allocate(table, table + NUMBER_SUFFIX, count, false);
+    }
+    
+    /**
+     * 删除全部序列，覆盖模式清空数据后调用，之后的分配重新从1开始
+     */
+    public void reset() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM generator_sequences"));
+    }
+    
+    private long allocate(String table, String sequence, int count, boolean aboveMaxId) {
+        if (count < 0) {
+            throw new IllegalArgumentException("分配数量不能为负数: " + count);
+        }
+        Long first = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("INSERT IGNORE INTO generator_sequences (name, next_value) VALUES (?, ?)",
+                    sequence, maxId(table) + 1);
+            long next = jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM generator_sequences WHERE name = ? FOR UPDATE", Long.class, sequence);
+            if (aboveMaxId) {
+                next = Math.max(next, maxId(table) + 1);
+            }
+            jdbcTemplate.update("UPDATE generator_sequences SET next_value = ? WHERE name = ?", next + count, sequence);
+            return next;
+        });
+        log.debug("序列 {} 分配 {} 个，起始值: {}", sequence, count, first);
+        return first;
+    }
+    
+    private long maxId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+}
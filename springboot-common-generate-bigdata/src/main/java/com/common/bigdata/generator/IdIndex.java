@@ -0,0 +1,59 @@
+package com.common.bigdata.generator;
+
+/**
+ * 实体ID索引
+ * 按生成顺序的序号查找实体ID，ID连续时只保存首个ID，不连续时保存完整ID数组
+ */
+public final class IdIndex {
+    
+    private static final IdIndex EMPTY = new IdIndex(0, null, 0);
+    
+    private final long firstId;
+    private final long[] ids;
+    private final int size;
+    
+    private IdIndex(long firstId, long[] ids, int size) {
+        this.firstId = firstId;
+        this.ids = ids;
+        this.size = size;
+    }
+    
+    /**
+     * 连续ID区间
+     */
+    public static IdIndex range(long firstId, int size) {
+        return size == 0 ? EMPTY : new IdIndex(firstId, null, size);
+    }
+    
+    /**
+     * 任意ID数组，按序号顺序排列
+     */
+    public static IdIndex of(long[] ids) {
+        return ids.length == 0 ? EMPTY : new IdIndex(ids[0], ids, ids.length);
+    }
+    
+    /**
+     * 空索引
+     */
+    public static IdIndex empty() {
+        return EMPTY;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * 根据序号获取ID
+     */
+    public long idAt(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("序号越界: " + ordinal + ", 大小: " + size);
+        }
+        return ids != null ? ids[ordinal] : firstId + ordinal;
+    }
+}
@@ -0,0 +1,159 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.entity.base.BaseAuditEntity;
+import com.common.bigdata.entity.core.Project;
+import com.common.bigdata.entity.core.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * JDBC批量分块写入器
+ * 绕过Hibernate的IDENTITY主键策略：ID由 {@link IdBlockAllocator} 预分配，
+ * 用户、项目通过 addBatch/executeBatch 写入，两张关联表由 {@link AssociationWriter} 批量写入。
+ * 连接参数 rewriteBatchedStatements=true 时，MySQL驱动会把批量语句改写为多行VALUES插入。
+ * 行数据生成、各表批量插入与提交分别记录为 {@link GenerationMetrics} 的步骤耗时
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcBatchChunkWriter implements ChunkWriter {
+    
+    private static final String INSERT_PROJECT = "INSERT INTO projects (id, name, description, start_date, end_date, status, "
+            + "create_time, update_time, created_by, updated_by, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_USER = "INSERT INTO users (id, username, email, age, real_name, gender, phone, department_id, "
+            + "create_time, update_time, created_by, updated_by, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String WRITER = GenerationMetrics.writerTag(WriteMode.JDBC_BATCH);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityFactory entityFactory;
+    private final IdBlockAllocator idBlockAllocator;
+    private final AssociationWriter associationWriter;
+    private final GenerationMetrics generationMetrics;
+    
+    @Override
+    public long reserveUserIds(int count) {
+        return idBlockAllocator.allocateIds("users", count);
+    }
+    
+    @Override
+    public long[] writeProjectChunk(int firstNumber, int size, RandomGenerator random) {
+        long firstId = idBlockAllocator.allocateIds("projects", size);
+        List<Project> projects = generationMetrics.recordStep(WRITER, "values", () -> {
+            List<Project> built = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Project project = entityFactory.buildProject(firstNumber + i, random);
+                project.setId(firstId + i);
+                built.add(project);
+            }
+            return built;
+        });
+        
+        inTransaction(() -> batchInsert("insert_projects", INSERT_PROJECT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Project project = projects.get(i);
+                ps.setLong(1, project.getId());
+                ps.setString(2, project.getName());
+                ps.setString(3, project.getDescription());
+                ps.setDate(4, Date.valueOf(project.getStartDate()));
+                ps.setDate(5, Date.valueOf(project.getEndDate()));
+                ps.setString(6, project.getStatus().name());
+                setAuditValues(ps, 7, project);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return projects.size();
+            }
+        }));
+        return new long[]{firstId, firstId + size - 1};
+    }
+    
+    @Override
+    public void writeUserChunk(UserChunk chunk, ReferenceIds references, RandomGenerator random) {
+        writeUserRows(generationMetrics.recordStep(WRITER, "values",
+                () -> UserChunkRows.generate(chunk, references, random, entityFactory)));
+    }
+    
+    /**
+     * 在单个事务中批量写入已生成的用户行及其角色、项目关联
+     * @param rows 用户行数据，用户ID必须已预分配
+     */
+    public void writeUserRows(UserChunkRows rows) {
+        List<User> users = rows.getUsers();
+        long[] departmentIds = rows.getDepartmentIds();
+        
+        inTransaction(() -> {
+            long userNanos = batchInsert("insert_users", INSERT_USER, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    User user = users.get(i);
+                    ps.setLong(1, user.getId());
+                    ps.setString(2, user.getUsername());
+                    ps.setString(3, user.getEmail());
+                    ps.setInt(4, user.getAge());
+                    ps.setString(5, user.getRealName());
+                    ps.setString(6, user.getGender());
+                    ps.setString(7, user.getPhone());
+                    ps.setLong(8, departmentIds[i]);
+                    setAuditValues(ps, 9, user);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return users.size();
+                }
+            });
+            return userNanos
+                    + associationWriter.writeUserRoles(rows.getUserRoles(), WRITER)
+                    + associationWriter.writeUserProjects(rows.getUserProjects(), WRITER);
+        });
+    }
+    
+    /**
+     * 在事务中执行批量插入，事务总耗时减去语句耗时（获取连接、开启与提交事务）记为提交耗时
+     * @param statements 执行批量插入并返回语句耗时（纳秒）
+     */
+    private void inTransaction(LongSupplier statements) {
+        long start = System.nanoTime();
+        long statementNanos = transactionTemplate.execute(status -> statements.getAsLong());
+        generationMetrics.recordStep(WRITER, "commit", System.nanoTime() - start - statementNanos);
+    }
+    
+    /**
+     * 执行一条批量插入并记录耗时
+     * @return 耗时（纳秒）
+     */
+    private long batchInsert(String step, String sql, BatchPreparedStatementSetter setter) {
+        long start = System.nanoTime();
+        jdbcTemplate.batchUpdate(sql, setter);
+        long nanos = System.nanoTime() - start;
+        generationMetrics.recordStep(WRITER, step, nanos);
+        return nanos;
+    }
+    
+    /**
+     * 设置审计字段参数
+     */
+    private static void setAuditValues(PreparedStatement ps, int startIndex, BaseAuditEntity entity) throws SQLException {
+        ps.setTimestamp(startIndex, Timestamp.valueOf(entity.getCreateTime()));
+        ps.setTimestamp(startIndex + 1, Timestamp.valueOf(entity.getUpdateTime()));
+        ps.setString(startIndex + 2, entity.getCreatedBy());
+        ps.setString(startIndex + 3, entity.getUpdatedBy());
+        ps.setLong(startIndex + 4, entity.getVersion());
+    }
+}
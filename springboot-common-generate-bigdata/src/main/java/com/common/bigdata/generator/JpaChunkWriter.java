@@ -0,0 +1,125 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.entity.core.Department;
+import com.common.bigdata.entity.core.Project;
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.distribution.AssignmentSampler;
+import com.common.bigdata.generator.distribution.DistinctInts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.random.RandomGenerator;
+
+/**
+ * JPA分块写入器
+ * 每次调用在独立事务中写入一块数据，提交前flush并clear持久化上下文。
+ * 线程安全：每个线程的事务绑定各自的EntityManager与数据库连接。
+ * 主键为IDENTITY时 persist 即执行实体INSERT并得到ID；用户的角色、项目关联不放入实体集合，
+ * 以ID对收集后在同一事务中由 {@link AssociationWriter} 批量插入。persist、flush、关联写入与提交分别记录步骤耗时
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaChunkWriter implements ChunkWriter {
+    
+    private static final String WRITER = GenerationMetrics.writerTag(WriteMode.JPA);
+    
+    private final TransactionTemplate transactionTemplate;
+    private final EntityFactory entityFactory;
+    private final GenerationMetrics generationMetrics;
+    private final AssociationWriter associationWriter;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * ID由数据库自增生成，无需预留
+     */
+    @Override
+    public long reserveUserIds(int count) {
+        return -1;
+    }
+    
+    @Override
+    public long[] writeProjectChunk(int firstNumber, int size, RandomGenerator random) {
+        long[] idRange = new long[]{Long.MAX_VALUE, Long.MIN_VALUE};
+        inTransaction("persist_projects", () -> {
+            for (int i = 0; i < size; i++) {
+                Project project = entityFactory.buildProject(firstNumber + i, random);
+                entityManager.persist(project);
+                idRange[0] = Math.min(idRange[0], project.getId());
+                idRange[1] = Math.max(idRange[1], project.getId());
+            }
+        });
+        return idRange;
+    }
+    
+    @Override
+    public void writeUserChunk(UserChunk chunk, ReferenceIds references, RandomGenerator random) {
+        long[] departmentIds = references.getDepartmentIds();
+        long[] roleIds = references.getRoleIds();
+        IdIndex projectIds = references.getProjectIds();
+        AssignmentSampler assignments = references.getAssignments();
+        int firstNumber = chunk.getFirstNumber();
+        int firstOrdinal = chunk.getFirstOrdinal();
+        int size = chunk.getSize();
+        
+        LongPairBuffer userRoles = new LongPairBuffer(size * 2);
+        LongPairBuffer userProjects = new LongPairBuffer(size * 3);
+        inTransaction("persist_users", () -> {
+            DistinctInts picked = new DistinctInts(8);
+            for (int i = 0; i < size; i++) {
+                User user = entityFactory.buildUser(firstNumber + i, random, assignments);
+                user.setDepartment(entityManager.getReference(Department.class,
+                        departmentIds[assignments.department(firstOrdinal + i, random)]));
+                entityManager.persist(user);
+                long userId = user.getId();
+                
+                assignments.roles(random, picked);
+                for (int j = 0; j < picked.size(); j++) {
+                    userRoles.add(userId, roleIds[picked.get(j)]);
+                }
+                
+                assignments.projects(random, picked);
+                for (int j = 0; j < picked.size(); j++) {
+                    userProjects.add(userId, projectIds.idAt(picked.get(j)));
+                }
+            }
+        }, () -> {
+            associationWriter.writeUserRoles(userRoles, WRITER);
+            associationWriter.writeUserProjects(userProjects, WRITER);
+        });
+    }
+    
+    /**
+     * 在独立事务中执行持久化，随后flush并clear持久化上下文
+     */
+    private void inTransaction(String persistStep, Runnable persist) {
+        inTransaction(persistStep, persist, () -> {
+        });
+    }
+    
+    /**
+     * 在独立事务中执行持久化，随后flush并clear持久化上下文，再执行flush后的JDBC写入
+     * 分别记录 persist、flush 与提交（事务总耗时减去事务内耗时，含获取连接与开启事务）的耗时
+     * @param afterFlush 实体已写入数据库后在同一事务中执行，自行记录耗时
+     */
+    private void inTransaction(String persistStep, Runnable persist, Runnable afterFlush) {
+        long start = System.nanoTime();
+        long workNanos = transactionTemplate.execute(status -> {
+            long persistStart = System.nanoTime();
+            persist.run();
+            long flushStart = System.nanoTime();
+            entityManager.flush();
+            entityManager.clear();
+            long flushEnd = System.nanoTime();
+            generationMetrics.recordStep(WRITER, persistStep, flushStart - persistStart);
+            generationMetrics.recordStep(WRITER, "flush", flushEnd - flushStart);
+            afterFlush.run();
+            return System.nanoTime() - persistStart;
+        });
+        generationMetrics.recordStep(WRITER, "commit", System.nanoTime() - start - workNanos);
+    }
+}
@@ -0,0 +1,42 @@
+package com.common.bigdata.generator;
+
+import java.util.Arrays;
+
+/**
+ * 基本类型long对缓冲区
+ * 以交错数组保存关联表行（左ID、右ID），避免装箱与实体对象
+ */
+public final class LongPairBuffer {
+    
+    private long[] data;
+    private int size;
+    
+    public LongPairBuffer(int initialPairs) {
+        data = new long[Math.max(initialPairs, 4) * 2];
+    }
+    
+    public void add(long left, long right) {
+        if ((size + 1) * 2 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[size * 2] = left;
+        data[size * 2 + 1] = right;
+        size++;
+    }
+    
+    public long left(int index) {
+        return data[index * 2];
+    }
+    
+    public long right(int index) {
+        return data[index * 2 + 1];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        size = 0;
+    }
+}
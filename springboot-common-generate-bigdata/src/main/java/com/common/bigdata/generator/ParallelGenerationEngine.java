@@ -0,0 +1,132 @@
+package com.common.bigdata.generator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并行数据生成引擎
+ * 将用户编号区间按分块大小切分为分区，由固定大小的工作线程池并行生成，
+ * 每个分区使用独立的事务与数据库连接提交。
+ * <p>
+ * 随机源在调度线程上按分区顺序从根随机源 split 得到，与线程数和执行顺序无关，
+ * 因此相同种子与分块大小下，无论并行度如何，生成的数据都相同。
+ */
+@Slf4j
+@Component
+public class ParallelGenerationEngine {
+    
+    /**
+     * 最大并行度，需小于数据库连接池大小
+     */
+    public static final int MAX_PARALLELISM = 16;
+    
+    /**
+     * 并行生成用户
+     * 用户起始编号与预留ID取自检查点，检查点中已提交的分区会被跳过；
+     * 监听器请求取消后不再开始新的分区，已开始的分区完成提交后抛出 {@link GenerationCancelledException}
+     * @param count 用户数量
+     * @param chunkSize 分区大小
+     * @param parallelism 工作线程数
+     * @param random 根随机源，每个分区从中 split 出独立随机源
+     * @param references 关联数据ID
+     * @param chunkWriter 分块写入器
+     * @param checkpoint 生成检查点
+     * @param listener 生成监听器
+     * @return 本次提交的分区统计信息，按分区顺序排列
+     */
+    public List<ChunkStatistics> generateUsers(int count, int chunkSize, int parallelism, SplittableRandom random,
+                                               ReferenceIds references, ChunkWriter chunkWriter,
+                                               GenerationCheckpoint checkpoint, GenerationListener listener) {
+        int workers = resolveParallelism(parallelism);
+        int firstNumber = checkpoint.getFirstUserNumber();
+        long firstId = checkpoint.getFirstUserId();
+        log.info("并行生成用户，数量: {}，分区大小: {}，并行度: {}，已提交分区: {}",
+                count, chunkSize, workers, checkpoint.getCommittedUserChunks());
+        
+        ExecutorService executor = newWorkerPool(workers);
+        AtomicLong completedRows = new AtomicLong();
+        List<CompletableFuture<ChunkStatistics>> futures = new ArrayList<>();
+        try {
+            int chunkIndex = 0;
+            for (int offset = 0; offset < count && !listener.isCancelled(); offset += chunkSize) {
+                int size = Math.min(chunkSize, count - offset);
+                int index = chunkIndex++;
+                int number = firstNumber + offset;
+                // 已提交的分区同样需要 split，保证后续分区的随机源不变
+                SplittableRandom chunkRandom = random.split();
+                if (checkpoint.isUserChunkCommitted(index)) {
+                    continue;
+                }
+                UserChunk userChunk = new UserChunk(index, number, offset, firstId < 0 ? -1 : firstId + offset, size);
+                // 异步写入器在工作线程生成行数据后即返回，分区在写入完成的回调中才标记为已提交
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    if (listener.isCancelled()) {
+                        return CompletableFuture.<ChunkStatistics>completedFuture(null);
+                    }
+                    long chunkStart = System.currentTimeMillis();
+                    return chunkWriter.writeUserChunkAsync(userChunk, references, chunkRandom).thenApply(written -> {
+                        checkpoint.userChunkCommitted(index);
+                        ChunkStatistics chunk = ChunkStatistics.completed("users", index, number, size, chunkStart);
+                        listener.onChunkCommitted(chunk);
+                        log.info("用户分区 {} 已提交：{} 条，本次累计 {}，{} 行/秒", index, size,
+                                completedRows.addAndGet(size), String.format("%.0f", chunk.getRowsPerSecond()));
+                        return chunk;
+                    });
+                }, executor).thenCompose(pending -> pending));
+            }
+            
+            List<ChunkStatistics> statistics = new ArrayList<>(futures.size());
+            for (CompletableFuture<ChunkStatistics> future : futures) {
+                ChunkStatistics chunk = future.get();
+                if (chunk != null) {
+                    statistics.add(chunk);
+                }
+            }
+            if (listener.isCancelled()) {
+                throw new GenerationCancelledException("用户生成已取消，已提交分区: " + checkpoint.getCommittedUserChunks());
+            }
+            return statistics;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("用户分区生成失败: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("用户并行生成被中断", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 校正并行度到 [1, MAX_PARALLELISM]
+     */
+    public static int resolveParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        return Math.min(parallelism, MAX_PARALLELISM);
+    }
+    
+    private ExecutorService newWorkerPool(int workers) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bigdata-worker-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
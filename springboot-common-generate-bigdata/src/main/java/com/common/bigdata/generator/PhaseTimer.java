@@ -0,0 +1,48 @@
+package com.common.bigdata.generator;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阶段计时器
+ * 进入新阶段时结束上一阶段的计时，只在生成线程内使用
+ */
+final class PhaseTimer {
+    
+    private final Map<GenerationPhase, Long> elapsedMillis = new EnumMap<>(GenerationPhase.class);
+    private GenerationPhase current;
+    private long startNanos;
+    
+    /**
+     * 进入阶段
+     */
+    void enter(GenerationPhase phase) {
+        stop();
+        current = phase;
+        startNanos = System.nanoTime();
+    }
+    
+    /**
+     * 结束当前阶段
+     */
+    void stop() {
+        if (current != null) {
+            elapsedMillis.merge(current, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), Long::sum);
+            current = null;
+        }
+    }
+    
+    /**
+     * 阶段耗时，未进入的阶段为空
+     */
+    Long elapsed(GenerationPhase phase) {
+        return elapsedMillis.get(phase);
+    }
+    
+    Map<GenerationPhase, Long> toMap() {
+        stop();
+        return Collections.unmodifiableMap(new EnumMap<>(elapsedMillis));
+    }
+}
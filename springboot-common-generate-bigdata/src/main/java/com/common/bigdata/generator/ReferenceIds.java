@@ -0,0 +1,48 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.generator.distribution.AssignmentSampler;
+import com.common.bigdata.generator.distribution.DistributionProfile;
+import lombok.Getter;
+
+/**
+ * 用户关联数据的ID引用
+ * 分块生成用户时只持有部门、角色、项目的ID，不持有实体对象；
+ * 关联按 {@link AssignmentSampler} 抽取数组下标，再由下标取ID
+ */
+@Getter
+public class ReferenceIds {
+    
+    /**
+     * 部门ID
+     */
+    private final long[] departmentIds;
+    
+    /**
+     * 角色ID
+     */
+    private final long[] roleIds;
+    
+    /**
+     * 项目ID索引
+     */
+    private final IdIndex projectIds;
+    
+    /**
+     * 关联抽样器，抽样表只读，各分区线程共享
+     */
+    private final AssignmentSampler assignments;
+    
+    /**
+     * 全部均匀分布
+     */
+    public ReferenceIds(long[] departmentIds, long[] roleIds, IdIndex projectIds) {
+        this(departmentIds, roleIds, projectIds, DistributionProfile.uniform());
+    }
+    
+    public ReferenceIds(long[] departmentIds, long[] roleIds, IdIndex projectIds, DistributionProfile profile) {
+        this.departmentIds = departmentIds;
+        this.roleIds = roleIds;
+        this.projectIds = projectIds;
+        this.assignments = new AssignmentSampler(departmentIds.length, roleIds.length, projectIds.size(), profile);
+    }
+}
@@ -0,0 +1,37 @@
+package com.common.bigdata.generator;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 用户分块描述
+ */
+@Getter
+@AllArgsConstructor
+public class UserChunk {
+    
+    /**
+     * 块序号，从0开始
+     */
+    private final int chunkIndex;
+    
+    /**
+     * 块内第一个用户的编号
+     */
+    private final int firstNumber;
+    
+    /**
+     * 块内第一个用户在本次生成中的序号，用于轮询分配部门
+     */
+    private final int firstOrdinal;
+    
+    /**
+     * 块内第一个用户的预留ID，由数据库生成ID时为 -1
+     */
+    private final long firstId;
+    
+    /**
+     * 块内用户数量
+     */
+    private final int size;
+}
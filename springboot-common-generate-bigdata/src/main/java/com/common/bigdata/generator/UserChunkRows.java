@@ -0,0 +1,77 @@
+package com.common.bigdata.generator;
+
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.distribution.AssignmentSampler;
+import com.common.bigdata.generator.distribution.DistinctInts;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * 一块用户的行数据
+ * 用户实体不含关联对象，部门、角色、项目关联均以ID保存，供JDBC批量写入与文件导出使用
+ */
+@Getter
+public class UserChunkRows {
+    
+    private final List<User> users;
+    
+    /**
+     * 每个用户所属部门ID，与 users 下标对应
+     */
+    private final long[] departmentIds;
+    
+    /**
+     * user_roles 关联行
+     */
+    private final LongPairBuffer userRoles;
+    
+    /**
+     * user_projects 关联行
+     */
+    private final LongPairBuffer userProjects;
+    
+    private UserChunkRows(int size) {
+        this.users = new ArrayList<>(size);
+        this.departmentIds = new long[size];
+        this.userRoles = new LongPairBuffer(size * 2);
+        this.userProjects = new LongPairBuffer(size * 3);
+    }
+    
+    /**
+     * 生成一块用户行数据
+     * 随机数的抽取顺序与JPA写入器一致，相同种子下各写入方式生成的数据相同
+     * @param chunk 分块描述，firstId 必须为预留的用户ID
+     */
+    public static UserChunkRows generate(UserChunk chunk, ReferenceIds references, RandomGenerator random,
+                                         EntityFactory entityFactory) {
+        long[] departmentIds = references.getDepartmentIds();
+        long[] roleIds = references.getRoleIds();
+        IdIndex projectIds = references.getProjectIds();
+        AssignmentSampler assignments = references.getAssignments();
+        int size = chunk.getSize();
+        
+        UserChunkRows rows = new UserChunkRows(size);
+        DistinctInts picked = new DistinctInts(8);
+        for (int i = 0; i < size; i++) {
+            long userId = chunk.getFirstId() + i;
+            User user = entityFactory.buildUser(chunk.getFirstNumber() + i, random, assignments);
+            user.setId(userId);
+            rows.users.add(user);
+            rows.departmentIds[i] = departmentIds[assignments.department(chunk.getFirstOrdinal() + i, random)];
+            
+            assignments.roles(random, picked);
+            for (int j = 0; j < picked.size(); j++) {
+                rows.userRoles.add(userId, roleIds[picked.get(j)]);
+            }
+            
+            assignments.projects(random, picked);
+            for (int j = 0; j < picked.size(); j++) {
+                rows.userProjects.add(userId, projectIds.idAt(picked.get(j)));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,27 @@
+package com.common.bigdata.generator;
+
+/**
+ * 数据写入方式
+ */
+public enum WriteMode {
+    
+    /**
+     * JPA逐条持久化，ID由数据库自增生成
+     */
+    JPA("JPA持久化"),
+    
+    /**
+     * JDBC批量插入，ID由客户端预分配
+     */
+    JDBC_BATCH("JDBC批量插入");
+    
+    private final String description;
+    
+    WriteMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
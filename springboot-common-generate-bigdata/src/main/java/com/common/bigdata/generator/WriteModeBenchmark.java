@@ -0,0 +1,61 @@
+package com.common.bigdata.generator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写入方式性能对比
+ * 依次以覆盖模式运行 saveAll、JPA分块与JDBC批量三种写入路径，比较每秒写入的用户数。
+ * 分块路径使用相同种子，生成的数据内容一致
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WriteModeBenchmark {
+    
+    private static final long BENCHMARK_SEED = 20240101L;
+    
+    private final BigDataGenerator bigDataGenerator;
+    
+    /**
+     * 运行写入方式对比测试
+     * @param userCount 每种方式写入的用户数量
+     * @param chunkSize 分块大小
+     * @return 各写入方式的耗时与吞吐量
+     */
+    public Map<String, Object> compare(int userCount, int chunkSize) {
+        log.info("开始写入方式性能对比，用户数量: {}，分块大小: {}", userCount, chunkSize);
+        Map<String, Object> results = new LinkedHashMap<>();
+        
+        long start = System.nanoTime();
+        bigDataGenerator.generateFullData(userCount);
+        results.put("saveAll", toResult(userCount, System.nanoTime() - start));
+        
+        for (WriteMode writeMode : WriteMode.values()) {
+            start = System.nanoTime();
+            bigDataGenerator.generateData(GenerationOptions.builder()
+                    .userCount(userCount)
+                    .chunkSize(chunkSize)
+                    .seed(BENCHMARK_SEED)
+                    .writeMode(writeMode)
+                    .build());
+            results.put(writeMode.name(), toResult(userCount, System.nanoTime() - start));
+        }
+        
+        log.info("写入方式性能对比完成: {}", results);
+        return results;
+    }
+    
+    private Map<String, Object> toResult(int userCount, long elapsedNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("time", elapsedMillis + "ms");
+        result.put("usersPerSecond", userCount * 1000L / elapsedMillis);
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.common.bigdata.generator.distribution;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * 别名法（Vose Alias Method）离散抽样器
+ * O(n) 建表，每次抽样 O(1)：一次 nextInt 选桶、一次 nextDouble 决定取桶本身还是其别名。
+ * 元素数超过 {@link #MAX_BUCKETS} 时按连续区间分桶，桶权重为区间内权重之和，桶内再均匀抽取，
+ * 表大小与内存占用因此有上限（约12MB），各桶总概率精确，仅桶内为近似
+ */
+public final class AliasSampler implements DiscreteSampler {
+    
+    static final int MAX_BUCKETS = 1 << 20;
+    
+    private final int size;
+    private final int bucketWidth;
+    private final double[] probability;
+    private final int[] alias;
+    
+    private AliasSampler(int size, int bucketWidth, double[] probability, int[] alias) {
+        this.size = size;
+        this.bucketWidth = bucketWidth;
+        this.probability = probability;
+        this.alias = alias;
+    }
+    
+    /**
+     * 根据权重函数建表
+     * @param size 元素个数
+     * @param weight 序号到非负权重的函数，无需归一化
+     */
+    public static AliasSampler of(int size, IntToDoubleFunction weight) {
+        int bucketWidth = (int) ((size + (long) MAX_BUCKETS - 1) / MAX_BUCKETS);
+        int buckets = (int) ((size + (long) bucketWidth - 1) / bucketWidth);
+        
+        double[] scaled = new double[buckets];
+        double total = 0;
+        for (int b = 0; b < buckets; b++) {
+            int from = b * bucketWidth;
+            int width = Math.min(bucketWidth, size - from);
+            double w = 0;
+            for (int i = from; i < from + width; i++) {
+                double value = weight.applyAsDouble(i);
+                if (value < 0 || Double.isNaN(value)) {
+                    throw new IllegalArgumentException("权重必须为非负数: " + value);
+                }
+                w += value;
+            }
+            scaled[b] = w;
+            total += w;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("权重之和必须大于0");
+        }
+        
+        int[] alias = new int[buckets];
+        int[] small = new int[buckets];
+        int[] large = new int[buckets];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int b = 0; b < buckets; b++) {
+            scaled[b] = scaled[b] * buckets / total;
+            if (scaled[b] < 1.0) {
+                small[smallSize++] = b;
+            } else {
+                large[largeSize++] = b;
+            }
+        }
+        // scaled 数组原地转为各桶取自身的概率
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // 剩余的桶只因浮点误差偏离1
+        while (largeSize > 0) {
+            scaled[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            scaled[small[--smallSize]] = 1.0;
+        }
+        return new AliasSampler(size, bucketWidth, scaled, alias);
+    }
+    
+    @Override
+    public int sample(RandomGenerator random) {
+        int bucket = random.nextInt(probability.length);
+        if (random.nextDouble() >= probability[bucket]) {
+            bucket = alias[bucket];
+        }
+        if (bucketWidth == 1) {
+            return bucket;
+        }
+        int from = bucket * bucketWidth;
+        return from + random.nextInt(Math.min(bucketWidth, size - from));
+    }
+}
@@ -0,0 +1,84 @@
+package com.common.bigdata.generator.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 用户关联抽样器
+ * 按分布配置为用户抽取部门、角色、项目的序号（对应参考数据数组下标）与年龄。
+ * 抽样表在构造时建好且只读，可被所有分区线程共享。
+ * 全部均匀分布时随机数的消耗与未引入分布配置前一致，相同种子生成的数据不变
+ */
+public final class AssignmentSampler {
+    
+    /**
+     * 年龄范围 [MIN_AGE, MAX_AGE)
+     */
+    public static final int MIN_AGE = 22;
+    public static final int MAX_AGE = 60;
+    
+    /**
+     * 每个用户的角色数 1-3，项目数 0-5
+     */
+    private static final int MAX_ROLES = 3;
+    private static final int MAX_PROJECTS = 5;
+    
+    private final int departmentCount;
+    private final DiscreteSampler departmentSampler;
+    private final DiscreteSampler roleSampler;
+    private final DiscreteSampler projectSampler;
+    private final DiscreteSampler ageSampler;
+    
+    public AssignmentSampler(int departmentCount, int roleCount, int projectCount, DistributionProfile profile) {
+        profile.validate();
+        this.departmentCount = departmentCount;
+        // 均匀分布的部门按用户序号轮询，不抽样
+        this.departmentSampler = profile.getDepartment() == Distribution.UNIFORM || departmentCount == 0
+                ? null : profile.getDepartment().sampler(departmentCount, profile);
+        this.roleSampler = roleCount > 0 ? profile.getRole().sampler(roleCount, profile) : null;
+        this.projectSampler = projectCount > 0 ? profile.getProject().sampler(projectCount, profile) : null;
+        this.ageSampler = profile.getAge().sampler(MAX_AGE - MIN_AGE, profile);
+    }
+    
+    /**
+     * 部门序号
+     * @param userOrdinal 用户在本次生成中的序号（从0开始）
+     */
+    public int department(long userOrdinal, RandomGenerator random) {
+        if (departmentSampler == null) {
+            return (int) (userOrdinal % departmentCount);
+        }
+        return departmentSampler.sample(random);
+    }
+    
+    /**
+     * 抽取1-3个不重复的角色序号，结果写入 out（先清空）
+     */
+    public void roles(RandomGenerator random, DistinctInts out) {
+        out.clear();
+        int picks = random.nextInt(MAX_ROLES) + 1;
+        for (int i = 0; i < picks; i++) {
+            out.add(roleSampler.sample(random));
+        }
+    }
+    
+    /**
+     * 抽取0-5个不重复的项目序号，没有项目时不消耗随机数，结果写入 out（先清空）
+     */
+    public void projects(RandomGenerator random, DistinctInts out) {
+        out.clear();
+        if (projectSampler == null) {
+            return;
+        }
+        int picks = random.nextInt(MAX_PROJECTS + 1);
+        for (int i = 0; i < picks; i++) {
+            out.add(projectSampler.sample(random));
+        }
+    }
+    
+    /**
+     * 年龄
+     */
+    public int age(RandomGenerator random) {
+        return MIN_AGE + ageSampler.sample(random);
+    }
+}
@@ -0,0 +1,23 @@
+package com.common.bigdata.generator.distribution;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 离散抽样器，在 [0, size) 上按给定分布抽取序号
+ * 实现需线程安全（只读），随机源由调用方传入
+ */
+@FunctionalInterface
+public interface DiscreteSampler {
+    
+    /**
+     * 抽取一个序号
+     */
+    int sample(RandomGenerator random);
+    
+    /**
+     * 均匀抽样器，每次抽样只消耗一次 nextInt(size)
+     */
+    static DiscreteSampler uniform(int size) {
+        return random -> random.nextInt(size);
+    }
+}
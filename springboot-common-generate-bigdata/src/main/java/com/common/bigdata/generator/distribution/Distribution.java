@@ -0,0 +1,86 @@
+package com.common.bigdata.generator.distribution;
+
+import lombok.Getter;
+
+/**
+ * 数据分布枚举
+ * 按序号给出抽样权重，序号越小越靠前（ZIPF、HOTSPOT 的热点集中在低序号）
+ */
+@Getter
+public enum Distribution {
+    
+    /**
+     * 均匀分布；部门分配时按用户序号轮询，不消耗随机数
+     */
+    UNIFORM("均匀分布") {
+        @Override
+        double weight(int index, int size, DistributionProfile profile) {
+            return 1.0;
+        }
+    },
+    
+    /**
+     * Zipf幂律分布，第k个元素的权重为 1 / k^s
+     */
+    ZIPF("Zipf幂律分布") {
+        @Override
+        double weight(int index, int size, DistributionProfile profile) {
+            return 1.0 / Math.pow(index + 1, profile.getZipfExponent());
+        }
+    },
+    
+    /**
+     * 正态分布，均值位于中间序号，标准差为 size * normalSigma
+     */
+    NORMAL("正态分布") {
+        @Override
+        double weight(int index, int size, DistributionProfile profile) {
+            double mean = (size - 1) / 2.0;
+            double sigma = Math.max(size * profile.getNormalSigma(), 1e-9);
+            double z = (index - mean) / sigma;
+            return Math.exp(-0.5 * z * z);
+        }
+    },
+    
+    /**
+     * 热点分布，前 hotspotFraction 比例的元素占 hotspotWeight 比例的访问
+     */
+    HOTSPOT("热点分布") {
+        @Override
+        double weight(int index, int size, DistributionProfile profile) {
+            int hot = hotCount(size, profile.getHotspotFraction());
+            if (hot >= size) {
+                return 1.0;
+            }
+            return index < hot ? profile.getHotspotWeight() / hot : (1 - profile.getHotspotWeight()) / (size - hot);
+        }
+        
+        private int hotCount(int size, double fraction) {
+            return Math.max(1, (int) Math.round(size * fraction));
+        }
+    };
+    
+    private final String description;
+    
+    Distribution(String description) {
+        this.description = description;
+    }
+    
+    /**
+     * 序号 index 的相对权重，无需归一化
+     */
+    abstract double weight(int index, int size, DistributionProfile profile);
+    
+    /**
+     * 构建在 [0, size) 上按本分布抽样的抽样器
+     */
+    public DiscreteSampler sampler(int size, DistributionProfile profile) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("抽样范围必须大于0");
+        }
+        if (this == UNIFORM) {
+            return DiscreteSampler.uniform(size);
+        }
+        return AliasSampler.of(size, index -> weight(index, size, profile));
+    }
+}
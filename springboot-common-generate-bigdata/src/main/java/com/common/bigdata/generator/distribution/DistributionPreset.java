@@ -0,0 +1,47 @@
+package com.common.bigdata.generator.distribution;
+
+import lombok.Getter;
+
+/**
+ * 预置的数据分布方案，供界面选择
+ */
+@Getter
+public enum DistributionPreset {
+    
+    UNIFORM("均匀分布", DistributionProfile.uniform()),
+    
+    /**
+     * 接近生产数据：部门与项目规模呈幂律、少数角色覆盖多数用户、年龄近似正态
+     */
+    SKEWED("真实偏斜", DistributionProfile.builder()
+            .department(Distribution.ZIPF)
+            .project(Distribution.ZIPF)
+            .role(Distribution.HOTSPOT)
+            .age(Distribution.NORMAL)
+            .build()),
+    
+    /**
+     * 20%的部门、项目、角色承担80%的关联，用于暴露热点分区与热点键问题
+     */
+    HOTSPOT("热点集中", DistributionProfile.builder()
+            .department(Distribution.HOTSPOT)
+            .project(Distribution.HOTSPOT)
+            .role(Distribution.HOTSPOT)
+            .age(Distribution.NORMAL)
+            .build());
+    
+    private final String description;
+    private final DistributionProfile profile;
+    
+    DistributionPreset(String description, DistributionProfile profile) {
+        this.description = description;
+        this.profile = profile;
+    }
+    
+    /**
+     * 返回方案的副本，避免调用方修改共享实例
+     */
+    public DistributionProfile getProfile() {
+        return profile.toBuilder().build();
+    }
+}
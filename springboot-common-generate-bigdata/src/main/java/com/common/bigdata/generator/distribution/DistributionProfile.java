@@ -0,0 +1,84 @@
+package com.common.bigdata.generator.distribution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 数据分布配置
+ * 分别指定部门、项目、角色分配与年龄的分布，默认全部均匀，与未引入分布配置前生成的数据相同。
+ * 作为请求参数绑定时参数名与字段名一致（department、project、role、age、zipfExponent 等）
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistributionProfile {
+    
+    @Builder.Default
+    private Distribution department = Distribution.UNIFORM;
+    
+    @Builder.Default
+    private Distribution project = Distribution.UNIFORM;
+    
+    @Builder.Default
+    private Distribution role = Distribution.UNIFORM;
+    
+    @Builder.Default
+    private Distribution age = Distribution.UNIFORM;
+    
+    /**
+     * Zipf指数 s，越大越偏斜
+     */
+    @Builder.Default
+    private double zipfExponent = 1.0;
+    
+    /**
+     * 热点元素占比
+     */
+    @Builder.Default
+    private double hotspotFraction = 0.2;
+    
+    /**
+     * 热点元素的访问占比
+     */
+    @Builder.Default
+    private double hotspotWeight = 0.8;
+    
+    /**
+     * 正态分布标准差与元素个数之比
+     */
+    @Builder.Default
+    private double normalSigma = 1.0 / 6;
+    
+    /**
+     * 全部均匀分布
+     */
+    public static DistributionProfile uniform() {
+        return builder().build();
+    }
+    
+    /**
+     * 参数校验
+     */
+    public void validate() {
+        if (zipfExponent <= 0) {
+            throw new IllegalArgumentException("Zipf指数必须大于0");
+        }
+        if (hotspotFraction <= 0 || hotspotFraction > 1 || hotspotWeight < 0 || hotspotWeight > 1) {
+            throw new IllegalArgumentException("热点占比与热点访问占比必须在0-1之间");
+        }
+        if (normalSigma <= 0) {
+            throw new IllegalArgumentException("正态分布标准差比例必须大于0");
+        }
+    }
+    
+    /**
+     * 是否全部为均匀分布
+     */
+    public boolean isUniform() {
+        return department == Distribution.UNIFORM && project == Distribution.UNIFORM
+                && role == Distribution.UNIFORM && age == Distribution.UNIFORM;
+    }
+}
@@ -0,0 +1,35 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.generator.UserChunkRows;
+
+/**
+ * 用户数据写入目标
+ * 同一块行数据会被并发写入多个目标，实现不得修改行数据，且需保证线程安全。
+ * 分块可能因续跑被重复写入，实现应保证重复写入同一用户ID是幂等的或可被下游识别
+ */
+public interface GenerationSink {
+    
+    /**
+     * 写入目标类型
+     */
+    SinkType getType();
+    
+    /**
+     * 写入一块用户行数据，返回时数据必须已被目标确认
+     * @param rows 用户行数据，用户ID已预分配
+     */
+    void write(UserChunkRows rows);
+    
+    /**
+     * 覆盖模式生成前清空目标中已有的用户数据，覆盖模式的用户ID从1重新分配
+     * @throws UnsupportedOperationException 目标无法清空已写入的数据时抛出，该目标只能用于增量生成
+     */
+    void clear();
+    
+    /**
+     * 是否支持 {@link #clear()}，不支持时覆盖模式拒绝选择该目标
+     */
+    default boolean supportsClear() {
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.generator.JdbcBatchChunkWriter;
+import com.common.bigdata.generator.UserChunkRows;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * MySQL写入目标，复用JDBC批量写入器在单个事务中写入用户及关联表
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcUserSink implements GenerationSink {
+    
+    private final JdbcBatchChunkWriter jdbcBatchChunkWriter;
+    
+    @Override
+    public SinkType getType() {
+        return SinkType.MYSQL;
+    }
+    
+    @Override
+    public void write(UserChunkRows rows) {
+        jdbcBatchChunkWriter.writeUserRows(rows);
+    }
+    
+    /**
+     * MySQL各表由 DatasetCleaner 与其他表一起清空，这里无需处理
+     */
+    @Override
+    public void clear() {
+    }
+}
@@ -0,0 +1,94 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.UserChunkRows;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kafka写入目标
+ * 每个用户发送一条 CREATE 事件，消息格式与 springboot-integrate-kafka 模块的 UserMessage 一致，键为用户ID，
+ * 同一用户的事件落在同一分区。一块消息全部异步发送后统一等待确认，由生产者的 batch-size / linger.ms 合并发送。
+ * 重复写入会产生重复事件（至少一次），消费方按 userId 去重。
+ * 主题只能追加，无法撤回已发送的事件，因此不能用于覆盖模式
+ */
+@Component
+public class KafkaUserSink implements GenerationSink {
+    
+    private static final String SOURCE = "springboot-common-generate-bigdata";
+    
+    /**
+     * 与 UserMessage.timestamp 的 @JsonFormat 一致
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    
+    public KafkaUserSink(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper,
+                         @Value("${bigdata.sink.kafka.topic:user-events}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+    }
+    
+    @Override
+    public SinkType getType() {
+        return SinkType.KAFKA;
+    }
+    
+    @Override
+    public void write(UserChunkRows rows) {
+        List<User> users = rows.getUsers();
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            String key = String.valueOf(user.getId());
+            sends[i] = kafkaTemplate.send(topic, key, toMessage(user, rows.getDepartmentIds()[i])).completable();
+        }
+        CompletableFuture.allOf(sends).join();
+    }
+    
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Kafka主题无法清空已发送的事件，只能用于增量生成");
+    }
+    
+    @Override
+    public boolean supportsClear() {
+        return false;
+    }
+    
+    /**
+     * 转换为 UserMessage 格式的JSON
+     */
+    private String toMessage(User user, long departmentId) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("messageId", UUID.randomUUID().toString());
+        message.put("userId", user.getId());
+        message.put("username", user.getUsername());
+        message.put("operation", "CREATE");
+        message.put("content", user.getRealName() + " <" + user.getEmail() + ">");
+        message.put("departmentId", departmentId);
+        message.put("timestamp", LocalDateTime.now().format(TIMESTAMP_FORMAT));
+        message.put("source", SOURCE);
+        message.put("version", "1.0");
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("用户事件序列化失败: " + user.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.entity.core.User;
+import com.common.bigdata.generator.LongPairBuffer;
+import com.common.bigdata.generator.UserChunkRows;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * MongoDB写入目标
+ * 每块用户以一次无序批量操作写入，文档 _id 为用户ID的字符串形式，按 _id upsert，续跑重复写入时不会产生重复文档；
+ * 覆盖模式生成前清空集合，上一次生成中ID超出本次范围的文档不会残留。
+ * 姓名、性别、年龄使用 springboot-integrate-mongodb 模块 users 集合的字段名，便于直接对其做聚合压测
+ */
+@Slf4j
+@Component
+public class MongoUserSink implements GenerationSink {
+    
+    private static final FindAndReplaceOptions UPSERT = FindAndReplaceOptions.options().upsert();
+    
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+    
+    public MongoUserSink(MongoTemplate mongoTemplate,
+                         @Value("${bigdata.sink.mongodb.collection:users}") String collection) {
+        this.mongoTemplate = mongoTemplate;
+        this.collection = collection;
+    }
+    
+    @Override
+    public SinkType getType() {
+        return SinkType.MONGODB;
+    }
+    
+    @Override
+    public void write(UserChunkRows rows) {
+        List<User> users = rows.getUsers();
+        LongPairBuffer userRoles = rows.getUserRoles();
+        LongPairBuffer userProjects = rows.getUserProjects();
+        int roleCursor = 0;
+        int projectCursor = 0;
+        
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            long userId = user.getId();
+            // 关联行按用户顺序生成，用游标顺序取出当前用户的角色与项目
+            List<Long> roleIds = new ArrayList<>(3);
+            while (roleCursor < userRoles.size() && userRoles.left(roleCursor) == userId) {
+                roleIds.add(userRoles.right(roleCursor++));
+            }
+            List<Long> projectIds = new ArrayList<>(6);
+            while (projectCursor < userProjects.size() && userProjects.left(projectCursor) == userId) {
+                projectIds.add(userProjects.right(projectCursor++));
+            }
+            
+            String id = String.valueOf(userId);
+            Document document = new Document("_id", id)
+                    .append("username", user.getUsername())
+                    .append("email", user.getEmail())
+                    .append("name", user.getRealName())
+                    .append("sex", user.getGender())
+                    .append("age", user.getAge())
+                    .append("phone", user.getPhone())
+                    .append("departmentId", rows.getDepartmentIds()[i])
+                    .append("roleIds", roleIds)
+                    .append("projectIds", projectIds)
+                    .append("createTime", Date.from(user.getCreateTime().atZone(ZoneId.systemDefault()).toInstant()));
+            operations.replaceOne(Query.query(Criteria.where("_id").is(id)), document, UPSERT);
+        }
+        operations.execute();
+    }
+    
+    /**
+     * 删除集合中的全部文档（deleteMany({})），保留集合上的索引
+     */
+    @Override
+    public void clear() {
+        long deleted = mongoTemplate.remove(new Query(), collection).getDeletedCount();
+        log.info("MongoDB集合 {} 已清空，删除 {} 个文档", collection, deleted);
+    }
+}
@@ -0,0 +1,74 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.generator.ChunkWriter;
+import com.common.bigdata.generator.EntityFactory;
+import com.common.bigdata.generator.JdbcBatchChunkWriter;
+import com.common.bigdata.generator.ReferenceIds;
+import com.common.bigdata.generator.UserChunk;
+import com.common.bigdata.generator.UserChunkRows;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+
+/**
+ * 多目标扇出写入器
+ * 工作线程生成一块用户行数据后，提交给每个写入目标的通道即返回，继续生成下一块；
+ * 各目标并发写入同一份行数据，全部确认后该块才视为已提交，检查点只记录所有目标都写完的分块。
+ * <p>
+ * 项目与用户ID预留仍由JDBC批量写入器完成，各目标中的用户ID与项目ID一致；
+ * 写入器按次生成创建，生成结束后需关闭以释放写入线程
+ */
+@Slf4j
+public class SinkFanoutWriter implements ChunkWriter, AutoCloseable {
+    
+    private final JdbcBatchChunkWriter jdbcBatchChunkWriter;
+    private final EntityFactory entityFactory;
+    private final List<SinkLane> lanes;
+    
+    SinkFanoutWriter(JdbcBatchChunkWriter jdbcBatchChunkWriter, EntityFactory entityFactory, List<SinkLane> lanes) {
+        this.jdbcBatchChunkWriter = jdbcBatchChunkWriter;
+        this.entityFactory = entityFactory;
+        this.lanes = lanes;
+    }
+    
+    @Override
+    public long reserveUserIds(int count) {
+        return jdbcBatchChunkWriter.reserveUserIds(count);
+    }
+    
+    @Override
+    public long[] writeProjectChunk(int firstNumber, int size, RandomGenerator random) {
+        return jdbcBatchChunkWriter.writeProjectChunk(firstNumber, size, random);
+    }
+    
+    @Override
+    public void writeUserChunk(UserChunk chunk, ReferenceIds references, RandomGenerator random) {
+        writeUserChunkAsync(chunk, references, random).join();
+    }
+    
+    @Override
+    public CompletableFuture<Void> writeUserChunkAsync(UserChunk chunk, ReferenceIds references, RandomGenerator random) {
+        UserChunkRows rows = UserChunkRows.generate(chunk, references, random, entityFactory);
+        CompletableFuture<?>[] writes = new CompletableFuture<?>[lanes.size()];
+        try {
+            for (int i = 0; i < lanes.size(); i++) {
+                writes[i] = lanes.get(i).submit(rows);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待写入目标空闲时被中断", e);
+        }
+        return CompletableFuture.allOf(writes);
+    }
+    
+    @Override
+    public void close() {
+        for (SinkLane lane : lanes) {
+            lane.close();
+            log.info("写入目标 {}：写入 {} 行，写入耗时 {} ms，生成线程阻塞 {} ms", lane.getType().getDescription(),
+                    lane.getWrittenRows(), lane.getWriteMillis(), lane.getBlockedMillis());
+        }
+    }
+}
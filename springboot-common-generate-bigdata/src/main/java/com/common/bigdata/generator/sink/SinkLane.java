@@ -0,0 +1,96 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.generator.GenerationMetrics;
+import com.common.bigdata.generator.UserChunkRows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个写入目标的写入通道
+ * 通道持有独立的写入线程与有界的待写分块数，分块数达到上限时提交线程阻塞，
+ * 慢目标只会限制生成速度，不会让其待写数据无限堆积在内存中
+ */
+class SinkLane implements AutoCloseable {
+    
+    private final GenerationSink sink;
+    private final GenerationMetrics generationMetrics;
+    private final String sinkTag;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    
+    /**
+     * @param threads 写入线程数
+     * @param capacity 已提交但未写完的最大分块数（含正在写入的分块）
+     */
+    SinkLane(GenerationSink sink, GenerationMetrics generationMetrics, int threads, int capacity) {
+        this.sink = sink;
+        this.generationMetrics = generationMetrics;
+        this.sinkTag = sink.getType().name().toLowerCase();
+        this.permits = new Semaphore(capacity);
+        String prefix = "bigdata-sink-" + sinkTag + "-";
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 提交一块行数据，通道已满时阻塞到有分块写完
+     * @return 本目标写入完成时完成的 future
+     */
+    CompletableFuture<Void> submit(UserChunkRows rows) throws InterruptedException {
+        long waitStart = System.nanoTime();
+        permits.acquire();
+        long waitNanos = System.nanoTime() - waitStart;
+        blockedNanos.addAndGet(waitNanos);
+        generationMetrics.recordSink(sinkTag, "blocked", waitNanos);
+        try {
+            return CompletableFuture.runAsync(() -> {
+                long writeStart = System.nanoTime();
+                sink.write(rows);
+                long nanos = System.nanoTime() - writeStart;
+                writeNanos.addAndGet(nanos);
+                generationMetrics.recordSink(sinkTag, "write", nanos);
+                writtenRows.addAndGet(rows.getUsers().size());
+            }, executor).whenComplete((result, error) -> permits.release());
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    SinkType getType() {
+        return sink.getType();
+    }
+    
+    long getWrittenRows() {
+        return writtenRows.get();
+    }
+    
+    long getWriteMillis() {
+        return writeNanos.get() / 1_000_000;
+    }
+    
+    /**
+     * 生成线程因本通道已满而阻塞的累计时间，数值最大的目标即为瓶颈
+     */
+    long getBlockedMillis() {
+        return blockedNanos.get() / 1_000_000;
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
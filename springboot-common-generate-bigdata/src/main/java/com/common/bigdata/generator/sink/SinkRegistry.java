@@ -0,0 +1,86 @@
+package com.common.bigdata.generator.sink;
+
+import com.common.bigdata.generator.EntityFactory;
+import com.common.bigdata.generator.GenerationMetrics;
+import com.common.bigdata.generator.JdbcBatchChunkWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 写入目标注册表，按生成参数中选择的目标创建扇出写入器
+ */
+@Component
+public class SinkRegistry {
+    
+    private final Map<SinkType, GenerationSink> sinks = new EnumMap<>(SinkType.class);
+    private final JdbcBatchChunkWriter jdbcBatchChunkWriter;
+    private final EntityFactory entityFactory;
+    private final GenerationMetrics generationMetrics;
+    private final int queueCapacity;
+    
+    public SinkRegistry(List<GenerationSink> sinks, JdbcBatchChunkWriter jdbcBatchChunkWriter, EntityFactory entityFactory,
+                        GenerationMetrics generationMetrics, @Value("${bigdata.sink.queue-capacity:4}") int queueCapacity) {
+        sinks.forEach(sink -> this.sinks.put(sink.getType(), sink));
+        this.jdbcBatchChunkWriter = jdbcBatchChunkWriter;
+        this.entityFactory = entityFactory;
+        this.generationMetrics = generationMetrics;
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+    
+    /**
+     * 创建扇出写入器，调用方负责关闭
+     * 每个目标的写入线程数等于生成并行度，待写分块数上限为并行度加队列容量
+     * @param types 写入目标，不能为空
+     * @param parallelism 生成并行度
+     */
+    public SinkFanoutWriter open(Set<SinkType> types, int parallelism) {
+        // 先校验全部目标再创建通道，某个目标不可用时不会留下已启动写入线程的通道
+        validate(types, false);
+        List<SinkLane> lanes = new ArrayList<>(types.size());
+        for (SinkType type : types) {
+            lanes.add(new SinkLane(sinks.get(type), generationMetrics, parallelism, parallelism + queueCapacity));
+        }
+        return new SinkFanoutWriter(jdbcBatchChunkWriter, entityFactory, lanes);
+    }
+    
+    /**
+     * 校验写入目标，在清空数据、创建通道之前调用
+     * @param types 写入目标，不能为空
+     * @param overwrite 是否覆盖模式，覆盖模式要求所有目标都能清空
+     * @throws IllegalArgumentException 目标为空、不可用或不支持覆盖模式时抛出
+     */
+    public void validate(Set<SinkType> types, boolean overwrite) {
+        if (types == null || types.isEmpty()) {
+            throw new IllegalArgumentException("至少需要选择一个写入目标");
+        }
+        for (SinkType type : types) {
+            GenerationSink sink = sinks.get(type);
+            if (sink == null) {
+                throw new IllegalArgumentException("写入目标不可用: " + type);
+            }
+            if (overwrite && !sink.supportsClear()) {
+                throw new IllegalArgumentException("写入目标 " + type + " 不支持覆盖模式，请使用增量生成");
+            }
+        }
+    }
+    
+    /**
+     * 覆盖模式生成前清空所选目标中的已有数据
+     * @param types 写入目标，为空时不处理
+     */
+    public void clear(Set<SinkType> types) {
+        for (SinkType type : types) {
+            GenerationSink sink = sinks.get(type);
+            if (sink == null) {
+                throw new IllegalArgumentException("写入目标不可用: " + type);
+            }
+            sink.clear();
+        }
+    }
+}
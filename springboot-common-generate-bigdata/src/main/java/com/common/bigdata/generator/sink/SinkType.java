@@ -0,0 +1,32 @@
+package com.common.bigdata.generator.sink;
+
+/**
+ * 用户数据写入目标
+ */
+public enum SinkType {
+    
+    /**
+     * MySQL users 表及角色、项目关联表，JDBC批量插入
+     */
+    MYSQL("MySQL"),
+    
+    /**
+     * MongoDB users 集合，按 _id 批量 upsert
+     */
+    MONGODB("MongoDB"),
+    
+    /**
+     * Kafka user-events 主题，以用户ID为键
+     */
+    KAFKA("Kafka");
+    
+    private final String description;
+    
+    SinkType(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,39 @@
+package com.common.bigdata.generator.value;
+
+/**
+ * 字符缓冲区工具
+ * 每个线程复用一块缓冲区拼接字段值，只在最后创建一次字符串
+ */
+final class CharBuffers {
+    
+    private static final int CAPACITY = 32;
+    
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[CAPACITY]);
+    
+    private CharBuffers() {
+    }
+    
+    /**
+     * 获取当前线程的缓冲区，长度不足时扩容
+     */
+    static char[] get(int minCapacity) {
+        char[] buffer = BUFFER.get();
+        if (buffer.length < minCapacity) {
+            buffer = new char[Math.max(minCapacity, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+    
+    /**
+     * 将整数以固定位数写入缓冲区，不足位数左侧补0，返回写入后的位置
+     */
+    static int putFixedDecimal(char[] buffer, int position, int value, int digits) {
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
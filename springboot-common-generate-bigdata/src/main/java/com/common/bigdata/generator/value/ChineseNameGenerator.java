@@ -0,0 +1,36 @@
+package com.common.bigdata.generator.value;
+
+import com.common.bigdata.constant.PresetData;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 中文姓名生成器
+ * 预先计算姓氏与名字的全部组合，生成时只取一次随机数并返回表中的字符串，不产生新对象
+ */
+public class ChineseNameGenerator implements ValueGenerator {
+    
+    private final String[] names;
+    
+    public ChineseNameGenerator() {
+        this(PresetData.SURNAMES, PresetData.GIVEN_NAMES);
+    }
+    
+    public ChineseNameGenerator(String[] surnames, String[] givenNames) {
+        if (surnames.length == 0 || givenNames.length == 0) {
+            throw new IllegalArgumentException("姓氏与名字列表不能为空");
+        }
+        this.names = new String[surnames.length * givenNames.length];
+        int index = 0;
+        for (String surname : surnames) {
+            for (String givenName : givenNames) {
+                names[index++] = (surname + givenName).intern();
+            }
+        }
+    }
+    
+    @Override
+    public String next(long number, RandomGenerator random) {
+        return names[random.nextInt(names.length)];
+    }
+}
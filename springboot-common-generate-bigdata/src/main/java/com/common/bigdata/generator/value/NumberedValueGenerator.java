@@ -0,0 +1,23 @@
+package com.common.bigdata.generator.value;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 编号拼接生成器，生成 前缀 + 编号 + 后缀 形式的值，如 user123、user123@company.com
+ * 结果长度可预知，直接使用字符串拼接（JDK 9+ 的拼接会按最终长度一次分配）；不消耗随机数
+ */
+public class NumberedValueGenerator implements ValueGenerator {
+    
+    private final String prefix;
+    private final String suffix;
+    
+    public NumberedValueGenerator(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+    
+    @Override
+    public String next(long number, RandomGenerator random) {
+        return prefix + number + suffix;
+    }
+}
@@ -0,0 +1,44 @@
+package com.common.bigdata.generator.value;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 手机号生成器
+ * 号段前缀预先转为字符数组，后8位一次取随机数后写入线程内复用的缓冲区
+ */
+public class PhoneNumberGenerator implements ValueGenerator {
+    
+    private static final String[] DEFAULT_PREFIXES = {
+        "130", "131", "132", "133", "134", "135", "136", "137", "138", "139",
+        "150", "151", "152", "153", "155", "156", "157", "158", "159",
+        "180", "181", "182", "183", "184", "185", "186", "187", "188", "189"
+    };
+    
+    private static final int SUBSCRIBER_DIGITS = 8;
+    private static final int SUBSCRIBER_BOUND = 100_000_000;
+    
+    private final char[][] prefixes;
+    
+    public PhoneNumberGenerator() {
+        this(DEFAULT_PREFIXES);
+    }
+    
+    public PhoneNumberGenerator(String[] prefixes) {
+        if (prefixes.length == 0) {
+            throw new IllegalArgumentException("号段前缀不能为空");
+        }
+        this.prefixes = new char[prefixes.length][];
+        for (int i = 0; i < prefixes.length; i++) {
+            this.prefixes[i] = prefixes[i].toCharArray();
+        }
+    }
+    
+    @Override
+    public String next(long number, RandomGenerator random) {
+        char[] prefix = prefixes[random.nextInt(prefixes.length)];
+        char[] buffer = CharBuffers.get(prefix.length + SUBSCRIBER_DIGITS);
+        System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+        int end = CharBuffers.putFixedDecimal(buffer, prefix.length, random.nextInt(SUBSCRIBER_BOUND), SUBSCRIBER_DIGITS);
+        return new String(buffer, 0, end);
+    }
+}
@@ -0,0 +1,37 @@
+package com.common.bigdata.generator.value;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 用户字段值生成器集合
+ * 每个字段可单独替换，未指定的字段使用默认实现：
+ * <pre>
+ * UserValueGenerators.builder()
+ *         .email(new NumberedValueGenerator("user", "@example.org"))
+ *         .build();
+ * </pre>
+ */
+@Getter
+@Builder
+public class UserValueGenerators {
+    
+    @Builder.Default
+    private final ValueGenerator username = new NumberedValueGenerator("user", "");
+    
+    @Builder.Default
+    private final ValueGenerator email = new NumberedValueGenerator("user", "@company.com");
+    
+    @Builder.Default
+    private final ValueGenerator realName = new ChineseNameGenerator();
+    
+    @Builder.Default
+    private final ValueGenerator phone = new PhoneNumberGenerator();
+    
+    /**
+     * 默认字段值生成器
+     */
+    public static UserValueGenerators defaults() {
+        return builder().build();
+    }
+}
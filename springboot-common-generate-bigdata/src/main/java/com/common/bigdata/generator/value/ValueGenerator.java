@@ -0,0 +1,19 @@
+package com.common.bigdata.generator.value;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 字段值生成器
+ * 实现需线程安全，并保证同一随机源按相同顺序调用时生成相同的值；
+ * 热路径上除返回的字符串外不应产生临时对象
+ */
+@FunctionalInterface
+public interface ValueGenerator {
+    
+    /**
+     * 生成字段值
+     * @param number 实体业务编号，不依赖编号的生成器可忽略
+     * @param random 随机源
+     */
+    String next(long number, RandomGenerator random);
+}
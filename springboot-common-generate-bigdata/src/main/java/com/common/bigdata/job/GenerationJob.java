@@ -0,0 +1,160 @@
+package com.common.bigdata.job;
+
+import com.common.bigdata.generator.ChunkStatistics;
+import com.common.bigdata.generator.GenerationCheckpoint;
+import com.common.bigdata.generator.GenerationListener;
+import com.common.bigdata.generator.GenerationOptions;
+import com.common.bigdata.generator.GenerationPhase;
+import com.common.bigdata.generator.GenerationSummary;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步生成任务
+ * 作为生成监听器累计已提交行数、记录当前阶段并响应取消；检查点跨多次运行保留，用于断点续跑
+ */
+public class GenerationJob implements GenerationListener {
+    
+    @Getter
+    private final String id;
+    @Getter
+    private final GenerationOptions options;
+    @Getter
+    private final GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+    
+    private final long totalRows;
+    private final AtomicLong rowsGenerated = new AtomicLong();
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile GenerationPhase phase;
+    private volatile boolean cancelRequested;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long runStartNanos;
+    private volatile long runEndNanos;
+    private volatile long rowsAtRunStart;
+    private volatile String error;
+    private volatile GenerationSummary result;
+    
+    public GenerationJob(String id, GenerationOptions options) {
+        this.id = id;
+        this.options = options;
+        int userCount = options.getUserCount();
+        this.totalRows = (long) userCount + (options.isIncremental() ? userCount / 8 : userCount / 4);
+    }
+    
+    public JobStatus getStatus() {
+        return status;
+    }
+    
+    @Override
+    public void onPhase(GenerationPhase phase) {
+        this.phase = phase;
+    }
+    
+    @Override
+    public void onChunkCommitted(ChunkStatistics chunk) {
+        rowsGenerated.addAndGet(chunk.getRowCount());
+    }
+    
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+    
+    /**
+     * 重新进入排队状态，用于续跑
+     */
+    synchronized void queued() {
+        status = JobStatus.QUEUED;
+        cancelRequested = false;
+        error = null;
+        finishedAt = null;
+    }
+    
+    /**
+     * 开始运行；排队期间已被取消时返回false
+     */
+    synchronized boolean running() {
+        if (status != JobStatus.QUEUED) {
+            return false;
+        }
+        status = JobStatus.RUNNING;
+        startedAt = LocalDateTime.now();
+        runStartNanos = System.nanoTime();
+        rowsAtRunStart = rowsGenerated.get();
+        return true;
+    }
+    
+    synchronized void completed(GenerationSummary result) {
+        this.result = result;
+        finish(JobStatus.COMPLETED);
+    }
+    
+    synchronized void failed(Throwable e) {
+        this.error = e.getMessage();
+        finish(JobStatus.FAILED);
+    }
+    
+    synchronized void cancelled() {
+        finish(JobStatus.CANCELLED);
+    }
+    
+    /**
+     * 请求取消：排队中的任务直接取消，运行中的任务在当前分块提交后停止
+     * @return 任务是否可取消
+     */
+    synchronized boolean requestCancel() {
+        if (status.isTerminal()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (status == JobStatus.QUEUED) {
+            finish(JobStatus.CANCELLED);
+        }
+        return true;
+    }
+    
+    private void finish(JobStatus status) {
+        if (this.status == JobStatus.RUNNING) {
+            runEndNanos = System.nanoTime();
+        }
+        this.status = status;
+        this.finishedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * 生成当前进度快照
+     */
+    public synchronized JobProgress snapshot() {
+        long rows = rowsGenerated.get();
+        double rowsPerSecond = 0;
+        Long etaSeconds = null;
+        if (startedAt != null) {
+            long elapsedNanos = (status == JobStatus.RUNNING ? System.nanoTime() : runEndNanos) - runStartNanos;
+            long runRows = rows - rowsAtRunStart;
+            if (elapsedNanos > 0 && runRows > 0) {
+                rowsPerSecond = runRows * 1_000_000_000.0 / elapsedNanos;
+                etaSeconds = status == JobStatus.RUNNING ? (long) Math.ceil((totalRows - rows) / rowsPerSecond) : 0L;
+            }
+        }
+        return JobProgress.builder()
+                .jobId(id)
+                .status(status)
+                .phase(phase)
+                .totalRows(totalRows)
+                .rowsGenerated(rows)
+                .percent(totalRows > 0 ? Math.min(100.0, rows * 100.0 / totalRows) : 100.0)
+                .rowsPerSecond(rowsPerSecond)
+                .etaSeconds(etaSeconds)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .statistics(result != null ? result.getStatistics() : null)
+                .build();
+    }
+}
@@ -0,0 +1,245 @@
+package com.common.bigdata.job;
+
+import com.common.bigdata.generator.BigDataGenerator;
+import com.common.bigdata.generator.GenerationCancelledException;
+import com.common.bigdata.generator.GenerationOptions;
+import com.common.bigdata.generator.GenerationSummary;
+import com.common.bigdata.generator.ParallelGenerationEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 异步生成任务服务
+ * 任务在独立的有界线程池中执行，超出并发上限的任务排队等待，避免生成任务占满数据库连接与CPU；
+ * 每个任务的并行度按连接池大小平分给并发任务后截断，所有并发任务同时运行也不会耗尽连接池
+ */
+@Slf4j
+@Service
+public class GenerationJobService {
+    
+    private final BigDataGenerator bigDataGenerator;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService progressScheduler;
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    
+    /**
+     * 每个任务除工作线程外占用的连接：调度线程的事务与独立事务中的编号分配
+     */
+    private static final int COORDINATOR_CONNECTIONS = 2;
+    
+    /**
+     * 保留的任务数量，超出时按提交顺序移除最早结束（完成、取消或失败）的任务
+     */
+    private final int retainedJobs;
+    
+    /**
+     * 单个任务的最大并行度
+     */
+    private final int maxJobParallelism;
+    
+    /**
+     * @param connectionPoolSize 数据库连接池大小
+     * @param reservedConnections 留给同步请求的连接数，其余连接平分给并发任务
+     */
+    public GenerationJobService(BigDataGenerator bigDataGenerator,
+                                @Value("${bigdata.job.max-concurrent:2}") int maxConcurrent,
+                                @Value("${bigdata.job.retained:100}") int retainedJobs,
+                                @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                @Value("${bigdata.job.reserved-connections:2}") int reservedConnections) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("最大并发任务数必须大于0");
+        }
+        this.bigDataGenerator = bigDataGenerator;
+        this.retainedJobs = retainedJobs;
+        int connectionsPerJob = (connectionPoolSize - reservedConnections) / maxConcurrent;
+        this.maxJobParallelism = Math.max(1, connectionsPerJob - COORDINATOR_CONNECTIONS);
+        log.info("异步生成任务并发上限: {}，单个任务最大并行度: {}（连接池 {}，保留 {}）",
+                maxConcurrent, maxJobParallelism, connectionPoolSize, reservedConnections);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "bigdata-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.progressScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bigdata-job-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 提交生成任务
+     * @return 任务进度快照，包含任务ID
+     * @throws IllegalArgumentException 写入目标不可用或不支持覆盖模式时抛出，任务不会创建
+     */
+    public JobProgress submit(GenerationOptions options) {
+        bigDataGenerator.validateSinks(options);
+        // 工作线程（或选择 MySQL 目标时的写入线程）每个占用一个连接
+        int parallelism = ParallelGenerationEngine.resolveParallelism(options.getParallelism());
+        if (parallelism > maxJobParallelism) {
+            log.info("任务并行度 {} 超过连接池允许的 {}，按 {} 执行", parallelism, maxJobParallelism, maxJobParallelism);
+            options.setParallelism(maxJobParallelism);
+        }
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), options);
+        jobs.put(job.getId(), job);
+        evictFinishedJobs();
+        log.info("提交生成任务 {}，用户数量: {}，当前排队: {}", job.getId(), options.getUserCount(), executor.getQueue().size());
+        executor.execute(() -> run(job));
+        return job.snapshot();
+    }
+    
+    /**
+     * 查询任务进度，任务不存在时返回空
+     */
+    public JobProgress get(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+    
+    /**
+     * 查询全部任务进度，按提交时间倒序
+     */
+    public List<JobProgress> list() {
+        return jobs.values().stream()
+                .map(GenerationJob::snapshot)
+                .sorted(Comparator.comparing(JobProgress::getSubmittedAt).reversed())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 取消任务，运行中的任务在当前分块提交后停止
+     * @return 任务是否存在且可取消
+     */
+    public boolean cancel(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null || !job.requestCancel()) {
+            return false;
+        }
+        log.info("请求取消生成任务 {}", jobId);
+        return true;
+    }
+    
+    /**
+     * 从最后提交的分块继续执行已取消或失败的任务
+     * @return 任务是否存在且可续跑
+     */
+    public boolean resume(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        synchronized (job) {
+            JobStatus status = job.getStatus();
+            if (status != JobStatus.CANCELLED && status != JobStatus.FAILED) {
+                return false;
+            }
+            job.queued();
+        }
+        log.info("续跑生成任务 {}，已提交项目分块: {}，已提交用户分块: {}", jobId,
+                job.getCheckpoint().getCommittedProjectChunks(), job.getCheckpoint().getCommittedUserChunks());
+        executor.execute(() -> run(job));
+        return true;
+    }
+    
+    /**
+     * 以SSE推送任务进度，任务结束后推送最后一次进度并关闭连接
+     * @return 任务不存在时返回空
+     */
+    public SseEmitter streamProgress(String jobId, long intervalMillis) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+        future[0] = progressScheduler.scheduleAtFixedRate(() -> {
+            JobProgress progress = job.snapshot();
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(progress));
+                if (progress.getStatus().isTerminal()) {
+                    emitter.complete();
+                    future[0].cancel(false);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+                future[0].cancel(false);
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(() -> future[0].cancel(false));
+        emitter.onTimeout(() -> future[0].cancel(false));
+        return emitter;
+    }
+    
+    private void run(GenerationJob job) {
+        if (!job.running()) {
+            return;
+        }
+        try {
+            GenerationSummary result = bigDataGenerator.generateData(job.getOptions(), job, job.getCheckpoint());
+            job.completed(result);
+            log.info("生成任务 {} 完成", job.getId());
+        } catch (GenerationCancelledException e) {
+            job.cancelled();
+            log.info("生成任务 {} 已取消: {}", job.getId(), e.getMessage());
+        } catch (Exception e) {
+            job.failed(e);
+            log.error("生成任务 {} 失败", job.getId(), e);
+        }
+    }
+    
+    private void evictFinishedJobs() {
+        if (jobs.size() <= retainedJobs) {
+            return;
+        }
+        List<GenerationJob> finished = new ArrayList<>();
+        for (GenerationJob job : jobs.values()) {
+            if (job.getStatus().isTerminal()) {
+                finished.add(job);
+            }
+        }
+        finished.sort(Comparator.comparing(job -> job.snapshot().getSubmittedAt()));
+        for (int i = 0; i < finished.size() && jobs.size() > retainedJobs; i++) {
+            GenerationJob job = finished.get(i);
+            // 期间被续跑的任务不再移除
+            if (job.getStatus().isTerminal()) {
+                jobs.remove(job.getId(), job);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(GenerationJob::requestCancel);
+        progressScheduler.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.common.bigdata.job;
+
+import com.common.bigdata.generator.GenerationPhase;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 生成任务进度快照
+ * 用于轮询与SSE推送，不持有任务内部状态的引用
+ */
+@Data
+@Builder
+public class JobProgress {
+    
+    private String jobId;
+    private JobStatus status;
+    private GenerationPhase phase;
+    
+    /**
+     * 需要生成的项目与用户总行数
+     */
+    private long totalRows;
+    
+    /**
+     * 已提交的项目与用户行数，包含之前运行中已提交的部分
+     */
+    private long rowsGenerated;
+    
+    /**
+     * 完成百分比（0-100）
+     */
+    private double percent;
+    
+    /**
+     * 本次运行的平均每秒行数
+     */
+    private double rowsPerSecond;
+    
+    /**
+     * 预计剩余秒数，无法估算时为空
+     */
+    private Long etaSeconds;
+    
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    /**
+     * 完成后的统计信息
+     */
+    private String statistics;
+}
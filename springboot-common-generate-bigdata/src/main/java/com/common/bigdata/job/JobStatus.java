@@ -0,0 +1,24 @@
+package com.common.bigdata.job;
+
+import lombok.Getter;
+
+/**
+ * 生成任务状态枚举
+ */
+@Getter
+public enum JobStatus {
+    
+    QUEUED("排队中", false),
+    RUNNING("运行中", false),
+    COMPLETED("已完成", true),
+    FAILED("失败", true),
+    CANCELLED("已取消", true);
+    
+    private final String description;
+    private final boolean terminal;
+    
+    JobStatus(String description, boolean terminal) {
+        this.description = description;
+        this.terminal = terminal;
+    }
+}
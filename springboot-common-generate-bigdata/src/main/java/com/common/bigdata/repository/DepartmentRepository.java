@@ -1,5 +1,6 @@
 package com.common.bigdata.repository;
 
+import com.common.bigdata.dto.DepartmentRow;
 import com.common.bigdata.entity.core.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -35,4 +36,11 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      */
     @Query("SELECT d FROM Department d LEFT JOIN d.users u GROUP BY d ORDER BY COUNT(u) DESC")
     List<Department> findDepartmentsOrderByUserCount();
+    
+    /**
+     * 查询全部部门扁平投影
+     */
+    @Query("SELECT new com.common.bigdata.dto.DepartmentRow(d.id, d.name, d.description, d.createTime) "
+            + "FROM Department d ORDER BY d.id")
+    List<DepartmentRow> findAllRows();
 }
@@ -1,6 +1,8 @@
 package com.common.bigdata.repository;
 
+import com.common.bigdata.dto.ProjectRow;
 import com.common.bigdata.entity.core.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -48,4 +50,17 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      */
     @Query("SELECT p FROM Project p LEFT JOIN p.users u GROUP BY p ORDER BY COUNT(u) DESC")
     List<Project> findProjectsOrderByUserCount();
+    
+    /**
+     * 查询ID区间内的项目ID
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.id BETWEEN :fromId AND :toId ORDER BY p.id")
+    List<Long> findIdsBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    /**
+     * 按ID游标分页查询项目扁平投影
+     */
+    @Query("SELECT new com.common.bigdata.dto.ProjectRow(p.id, p.name, p.description, p.startDate, p.endDate, "
+            + "p.status, p.createTime, p.updateTime) FROM Project p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProjectRow> findRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package com.common.bigdata.repository;
 
+import com.common.bigdata.dto.RoleRow;
 import com.common.bigdata.entity.core.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -42,4 +43,11 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      */
     @Query("SELECT r FROM Role r LEFT JOIN r.users u GROUP BY r ORDER BY COUNT(u) DESC")
     List<Role> findRolesOrderByUserCount();
+    
+    /**
+     * 查询全部角色扁平投影
+     */
+    @Query("SELECT new com.common.bigdata.dto.RoleRow(r.id, r.roleName, r.description, r.status, r.createTime) "
+            + "FROM Role r ORDER BY r.id")
+    List<RoleRow> findAllRows();
 }
@@ -1,12 +1,17 @@
 package com.common.bigdata.repository;
 
+import com.common.bigdata.dto.LinkRow;
+import com.common.bigdata.dto.UserRow;
 import com.common.bigdata.entity.core.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -51,4 +56,68 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u LEFT JOIN u.projects p GROUP BY u ORDER BY COUNT(p) DESC")
     List<User> findUsersOrderByProjectCount();
+    
+    /**
+     * 按ID游标分页查询用户扁平投影
+     */
+    @Query("SELECT new com.common.bigdata.dto.UserRow(u.id, u.username, u.email, u.age, u.realName, u.gender, "
+            + "u.phone, u.department.id, u.createTime, u.updateTime) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserRow> findRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * 查询ID区间内用户的角色关联
+     */
+    @Query("SELECT new com.common.bigdata.dto.LinkRow(u.id, r.id) FROM User u JOIN u.roles r "
+            + "WHERE u.id BETWEEN :fromId AND :toId")
+    List<LinkRow> findRoleLinksBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    /**
+     * 查询ID区间内用户的项目关联
+     */
+    @Query("SELECT new com.common.bigdata.dto.LinkRow(u.id, p.id) FROM User u JOIN u.projects p "
+            + "WHERE u.id BETWEEN :fromId AND :toId")
+    List<LinkRow> findProjectLinksBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    /**
+     * 按ID游标分页查询用户扁平投影，并回填角色ID与项目ID
+     * 每页只额外执行两次关联查询
+     */
+    default List<UserRow> findRowsWithLinksAfter(Long afterId, Pageable pageable) {
+        List<UserRow> users = findRowsAfter(afterId, pageable);
+        if (users.isEmpty()) {
+            return users;
+        }
+        long fromId = users.get(0).getId();
+        long toId = users.get(users.size() - 1).getId();
+        Map<Long, UserRow> byId = new HashMap<>(users.size() * 2);
+        for (UserRow user : users) {
+            byId.put(user.getId(), user);
+        }
+        // 两次查询之间可能有其他事务在区间内插入用户，不在本页中的用户跳过
+        for (LinkRow link : findRoleLinksBetween(fromId, toId)) {
+            UserRow user = byId.get(link.getUserId());
+            if (user != null) {
+                user.getRoleIds().add(link.getTargetId());
+            }
+        }
+        for (LinkRow link : findProjectLinksBetween(fromId, toId)) {
+            UserRow user = byId.get(link.getUserId());
+            if (user != null) {
+                user.getProjectIds().add(link.getTargetId());
+            }
+        }
+        return users;
+    }
+    
+    /**
+     * 当前最大用户ID，没有用户时为0
+     */
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+    
+    /**
+     * 按部门统计用户数量，每行为 [部门ID, 用户数量]
+     */
+    @Query("SELECT u.department.id, COUNT(u) FROM User u GROUP BY u.department.id")
+    List<Object[]> countGroupByDepartment();
 }
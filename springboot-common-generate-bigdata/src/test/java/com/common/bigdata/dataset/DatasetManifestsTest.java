@@ -0,0 +1,52 @@
+package com.common.bigdata.dataset;
+
+import com.common.bigdata.generator.EntityFactory;
+import com.common.bigdata.generator.value.UserValueGenerators;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据集清单测试
+ * 按规格在内存中生成时，校验和只由规格决定，与并行度无关
+ */
+class DatasetManifestsTest {
+
+    /**
+     * 只在内存中生成，数据源不会建立连接
+     */
+    private final DatasetManifests manifests = new DatasetManifests(
+            new EntityFactory(UserValueGenerators.defaults()), new DriverManagerDataSource());
+
+    @Test
+    void checksumsDoNotDependOnParallelism() {
+        // 用户数不是分块大小的整数倍，最后一块不满
+        DatasetSpec spec = DatasetSpec.builder().seed(42L).userCount(2_500).chunkSize(300).build();
+
+        DatasetManifest sequential = manifests.generate(spec, 1);
+        DatasetManifest parallel = manifests.generate(spec, 4);
+
+        assertTrue(sequential.differences(parallel).isEmpty(), () -> sequential.differences(parallel).toString());
+        sequential.getTables().forEach((table, manifest) -> {
+            TableManifest other = parallel.getTables().get(table);
+            assertEquals(manifest.getRowCount(), other.getRowCount(), table);
+            assertEquals(manifest.getChecksum(), other.getChecksum(), table);
+            assertEquals(manifest.getChunkChecksums(), other.getChunkChecksums(), table);
+        });
+        assertEquals(2_500, sequential.getTables().get("users").getRowCount());
+        assertEquals(9, sequential.getTables().get("users").getChunkChecksums().size());
+    }
+
+    @Test
+    void differentSeedsGiveDifferentUsers() {
+        DatasetSpec spec = DatasetSpec.builder().seed(42L).userCount(1_000).chunkSize(250).build();
+
+        DatasetManifest first = manifests.generate(spec, 2);
+        DatasetManifest second = manifests.generate(spec.toBuilder().seed(43L).build(), 2);
+
+        assertNotEquals(first.getTables().get("users").getChecksum(), second.getTables().get("users").getChecksum());
+        // 部门与角色是预置数据，与种子无关
+        assertEquals(first.getTables().get("departments").getChecksum(), second.getTables().get("departments").getChecksum());
+    }
+}
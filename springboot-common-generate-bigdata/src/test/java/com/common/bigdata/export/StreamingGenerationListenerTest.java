@@ -0,0 +1,181 @@
+package com.common.bigdata.export;
+
+import com.common.bigdata.generator.ChunkStatistics;
+import com.common.bigdata.generator.GenerationCheckpoint;
+import com.common.bigdata.generator.GenerationPhase;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 边生成边写出的监听器测试
+ * 覆盖分块乱序提交时游标不越过未提交的行、自增ID并行写入时用户留到生成结束后写出，以及多次写出之间不重复、不遗漏
+ */
+class StreamingGenerationListenerTest {
+
+    @Test
+    void reservedIdsAreWrittenOnlyUpToContiguousCommittedChunks() throws IOException {
+        // 10 个用户、每块 3 个：ID 区间 101..103、104..106、107..109、110
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+        checkpoint.prepareUsers(1, 101, 100);
+        FakeRowWriter writer = new FakeRowWriter(100);
+        StreamingGenerationListener listener = new StreamingGenerationListener(writer, checkpoint, false, 10, 3, 4);
+
+        commit(listener, checkpoint, writer, 2, ids(107, 109));
+        assertTrue(writer.userBounds.isEmpty());
+
+        commit(listener, checkpoint, writer, 0, ids(101, 103));
+        assertEquals(ids(101, 103), writer.users);
+
+        // 第 1 块未提交，已提交的 107..110 不能写出，否则游标越过 104..106
+        commit(listener, checkpoint, writer, 3, ids(110, 110));
+        assertEquals(ids(101, 103), writer.users);
+
+        commit(listener, checkpoint, writer, 1, ids(104, 106));
+        assertEquals(ids(101, 110), writer.users);
+        assertEquals(Arrays.asList(103L, 103L, 110L), writer.userBounds);
+
+        listener.writeRemaining();
+        assertEquals(ids(101, 110), writer.users);
+    }
+
+    @Test
+    void identityIdsWithParallelWorkersAreDeferredUntilGenerationEnds() throws IOException {
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+        checkpoint.prepareUsers(1, -1, 100);
+        FakeRowWriter writer = new FakeRowWriter(100);
+        StreamingGenerationListener listener = new StreamingGenerationListener(writer, checkpoint, false, 6, 2, 2);
+
+        // 两个工作线程交错取得自增ID，第 1 块先提交
+        commit(listener, checkpoint, writer, 1, Arrays.asList(102L, 104L));
+        commit(listener, checkpoint, writer, 0, Arrays.asList(101L, 103L));
+        commit(listener, checkpoint, writer, 2, Arrays.asList(105L, 106L));
+        assertTrue(writer.userBounds.isEmpty());
+
+        listener.writeRemaining();
+        assertEquals(ids(101, 106), writer.users);
+        assertEquals(Collections.singletonList(Long.MAX_VALUE), writer.userBounds);
+    }
+
+    @Test
+    void identityIdsWithSingleWorkerAreWrittenAfterEachChunk() throws IOException {
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+        checkpoint.prepareUsers(1, -1, 100);
+        FakeRowWriter writer = new FakeRowWriter(100);
+        StreamingGenerationListener listener = new StreamingGenerationListener(writer, checkpoint, false, 5, 2, 1);
+
+        commit(listener, checkpoint, writer, 0, ids(101, 102));
+        assertEquals(ids(101, 102), writer.users);
+        commit(listener, checkpoint, writer, 1, ids(103, 104));
+        assertEquals(ids(101, 104), writer.users);
+        commit(listener, checkpoint, writer, 2, ids(105, 105));
+
+        listener.writeRemaining();
+        assertEquals(ids(101, 105), writer.users);
+    }
+
+    @Test
+    void fullDatasetWritesReferenceDataOnceBeforeProjectsAndUsers() throws IOException {
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+        FakeRowWriter writer = new FakeRowWriter(0);
+        StreamingGenerationListener listener = new StreamingGenerationListener(writer, checkpoint, true, 4, 2, 2);
+
+        listener.onPhase(GenerationPhase.PROJECTS);
+        listener.onChunkCommitted(ChunkStatistics.completed("projects", 0, 1, 10, 0));
+        listener.onChunkCommitted(ChunkStatistics.completed("projects", 1, 11, 10, 0));
+        listener.onPhase(GenerationPhase.USERS);
+        checkpoint.prepareUsers(1, 1, 0);
+        commit(listener, checkpoint, writer, 0, ids(1, 2));
+        commit(listener, checkpoint, writer, 1, ids(3, 4));
+        listener.writeRemaining();
+
+        assertEquals(Arrays.asList("reference", "projects", "projects", "users", "users", "users"), writer.calls);
+        assertEquals(ids(1, 4), writer.users);
+    }
+
+    @Test
+    void writeFailureCancelsGenerationAndStopsFurtherWrites() {
+        GenerationCheckpoint checkpoint = new GenerationCheckpoint();
+        checkpoint.prepareUsers(1, 1, 0);
+        FakeRowWriter writer = new FakeRowWriter(0);
+        StreamingGenerationListener listener = new StreamingGenerationListener(writer, checkpoint, false, 4, 2, 2);
+
+        writer.failure = new IOException("客户端已断开");
+        commit(listener, checkpoint, writer, 0, ids(1, 2));
+        assertTrue(listener.isCancelled());
+
+        writer.failure = null;
+        commit(listener, checkpoint, writer, 1, ids(3, 4));
+        assertEquals(Collections.singletonList(2L), writer.userBounds);
+        IOException thrown = assertThrows(IOException.class, listener::writeRemaining);
+        assertEquals("客户端已断开", thrown.getMessage());
+        assertTrue(writer.users.isEmpty());
+    }
+
+    /**
+     * 模拟生成器提交一个用户分块：先写入行并记录检查点，再通知监听器
+     */
+    private static void commit(StreamingGenerationListener listener, GenerationCheckpoint checkpoint,
+                               FakeRowWriter writer, int chunkIndex, List<Long> userIds) {
+        writer.database.addAll(userIds);
+        checkpoint.userChunkCommitted(chunkIndex);
+        listener.onChunkCommitted(ChunkStatistics.completed("users", chunkIndex, chunkIndex + 1L, userIds.size(), 0));
+    }
+
+    private static List<Long> ids(long first, long last) {
+        return LongStream.rangeClosed(first, last).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * 与 {@link DatasetStreamWriter.Session} 一样按ID游标增量写出：每次从游标之后按ID顺序读取已提交的用户，
+     * 写到 maxId 为止并推进游标
+     */
+    private static final class FakeRowWriter implements IncrementalRowWriter {
+
+        private final TreeSet<Long> database = new TreeSet<>();
+        private final List<String> calls = new ArrayList<>();
+        private final List<Long> userBounds = new ArrayList<>();
+        private final List<Long> users = new ArrayList<>();
+        private long usersAfterId;
+        private IOException failure;
+
+        private FakeRowWriter(long usersAfterId) {
+            this.usersAfterId = usersAfterId;
+        }
+
+        @Override
+        public void writeReferenceData() {
+            calls.add("reference");
+        }
+
+        @Override
+        public void writeProjects() {
+            calls.add("projects");
+        }
+
+        @Override
+        public void writeUsers(long maxId) throws IOException {
+            calls.add("users");
+            userBounds.add(maxId);
+            if (failure != null) {
+                throw failure;
+            }
+            for (Long id : database.tailSet(usersAfterId, false)) {
+                if (id > maxId) {
+                    break;
+                }
+                users.add(id);
+                usersAfterId = id;
+            }
+        }
+    }
+}
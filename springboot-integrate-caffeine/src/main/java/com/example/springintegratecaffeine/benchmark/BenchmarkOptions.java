@@ -0,0 +1,52 @@
+package com.example.springintegratecaffeine.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 基准测试参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkOptions {
+
+    /**
+     * 并发线程数
+     */
+    @Builder.Default
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 读操作占比（0-100），其余为写
+     */
+    @Builder.Default
+    private int readPercent = 80;
+
+    /**
+     * 键空间大小
+     */
+    @Builder.Default
+    private int keySpace = 10_000;
+
+    @Builder.Default
+    private KeyDistribution distribution = KeyDistribution.ZIPFIAN;
+
+    /**
+     * 预热时长（秒），预热期间的结果丢弃
+     */
+    @Builder.Default
+    private int warmupSeconds = 2;
+
+    /**
+     * 测量时长（秒）
+     */
+    @Builder.Default
+    private int measurementSeconds = 5;
+
+    @Builder.Default
+    private long seed = 42;
+}
@@ -0,0 +1,53 @@
+package com.example.springintegratecaffeine.benchmark;
+
+import lombok.Data;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单个被测缓存的基准测试结果，延迟单位为纳秒
+ */
+@Data
+public class BenchmarkResult {
+
+    private String target;
+
+    private int threads;
+
+    private int readPercent;
+
+    private KeyDistribution distribution;
+
+    private int keySpace;
+
+    private long operations;
+
+    private long opsPerSecond;
+
+    /**
+     * 读操作命中率
+     */
+    private double readHitRate;
+
+    private Map<String, Object> readLatency;
+
+    private Map<String, Object> writeLatency;
+
+    /**
+     * 延迟分位数摘要
+     */
+    static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", Math.round(histogram.getMean()));
+        summary.put("p50", histogram.getValueAtPercentile(50));
+        summary.put("p90", histogram.getValueAtPercentile(90));
+        summary.put("p99", histogram.getValueAtPercentile(99));
+        summary.put("p99.9", histogram.getValueAtPercentile(99.9));
+        summary.put("p99.99", histogram.getValueAtPercentile(99.99));
+        summary.put("max", histogram.getMaxValue());
+        return summary;
+    }
+}
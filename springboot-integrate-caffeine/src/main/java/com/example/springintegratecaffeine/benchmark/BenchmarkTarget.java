@@ -0,0 +1,77 @@
+package com.example.springintegratecaffeine.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * 被测缓存
+ * 统一 Caffeine 原生缓存与 Spring CacheManager 两种访问路径，供 REST 基准测试和 JMH 共用
+ */
+public interface BenchmarkTarget {
+
+    String getName();
+
+    /**
+     * 读取，未命中返回 null
+     */
+    Object get(String key);
+
+    void put(String key, Object value);
+
+    void clear();
+
+    /**
+     * Caffeine 原生缓存
+     */
+    static BenchmarkTarget of(String name, Cache<String, Object> cache) {
+        return new BenchmarkTarget() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Object get(String key) {
+                return cache.getIfPresent(key);
+            }
+
+            @Override
+            public void put(String key, Object value) {
+                cache.put(key, value);
+            }
+
+            @Override
+            public void clear() {
+                cache.invalidateAll();
+            }
+        };
+    }
+
+    /**
+     * Spring CacheManager 路径：与 @Cacheable 拦截器一样，每次操作先按名称取缓存再读写
+     */
+    static BenchmarkTarget of(String name, CacheManager cacheManager, String cacheName) {
+        return new BenchmarkTarget() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Object get(String key) {
+                org.springframework.cache.Cache.ValueWrapper wrapper = cacheManager.getCache(cacheName).get(key);
+                return wrapper == null ? null : wrapper.get();
+            }
+
+            @Override
+            public void put(String key, Object value) {
+                cacheManager.getCache(cacheName).put(key, value);
+            }
+
+            @Override
+            public void clear() {
+                cacheManager.getCache(cacheName).clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.springintegratecaffeine.benchmark;
+
+import com.example.springintegratecaffeine.entity.UserInfo;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 预先生成的基准测试负载
+ * 键、值和操作序列（键下标 + 读/写）在测量前全部生成，测量循环内只做数组下标访问；
+ * 序列长度为 2 的幂，各线程从不同偏移开始循环读取
+ */
+public final class BenchmarkWorkload {
+
+    /**
+     * 操作序列长度
+     */
+    private static final int SEQUENCE_LENGTH = 1 << 20;
+
+    private static final int MASK = SEQUENCE_LENGTH - 1;
+
+    /**
+     * 值池大小：值对象在键之间复用，避免大键空间时预生成过多对象
+     */
+    private static final int VALUE_POOL_SIZE = 1024;
+
+    private static final double ZIPF_THETA = 0.99;
+
+    private final String[] keys;
+
+    private final UserInfo[] values;
+
+    private final int[] keyIndexes;
+
+    private final boolean[] writes;
+
+    private final KeyDistribution distribution;
+
+    private final int readPercent;
+
+    private BenchmarkWorkload(String[] keys, UserInfo[] values, int[] keyIndexes, boolean[] writes,
+                              KeyDistribution distribution, int readPercent) {
+        this.keys = keys;
+        this.values = values;
+        this.keyIndexes = keyIndexes;
+        this.writes = writes;
+        this.distribution = distribution;
+        this.readPercent = readPercent;
+    }
+
+    /**
+     * @param keySpace     键的个数
+     * @param distribution 键分布
+     * @param readPercent  读操作占比（0-100）
+     * @param seed         随机种子，相同参数生成相同序列
+     */
+    public static BenchmarkWorkload generate(int keySpace, KeyDistribution distribution, int readPercent, long seed) {
+        if (keySpace <= 0) {
+            throw new IllegalArgumentException("键空间必须大于 0");
+        }
+        if (readPercent < 0 || readPercent > 100) {
+            throw new IllegalArgumentException("读操作占比必须在 0-100 之间");
+        }
+        String[] keys = new String[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            keys[i] = "user:" + i;
+        }
+        UserInfo[] values = new UserInfo[Math.min(keySpace, VALUE_POOL_SIZE)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sampleUser(i);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] keyIndexes = distribution == KeyDistribution.ZIPFIAN
+                ? zipfianSequence(keySpace, random)
+                : uniformSequence(keySpace, random);
+        boolean[] writes = new boolean[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            writes[i] = random.nextInt(100) >= readPercent;
+        }
+        return new BenchmarkWorkload(keys, values, keyIndexes, writes, distribution, readPercent);
+    }
+
+    public int keySpace() {
+        return keys.length;
+    }
+
+    public String key(int keyIndex) {
+        return keys[keyIndex];
+    }
+
+    public UserInfo value(int keyIndex) {
+        return values[keyIndex % values.length];
+    }
+
+    /**
+     * 第 position 个操作的键下标，position 超出序列长度时循环
+     */
+    public int keyIndexAt(int position) {
+        return keyIndexes[position & MASK];
+    }
+
+    public boolean isWriteAt(int position) {
+        return writes[position & MASK];
+    }
+
+    /**
+     * 线程的起始偏移，使各线程错开访问顺序
+     */
+    public int startPosition(int threadIndex) {
+        return (int) ((threadIndex * 0x9E3779B1L) & MASK);
+    }
+
+    public KeyDistribution getDistribution() {
+        return distribution;
+    }
+
+    public int getReadPercent() {
+        return readPercent;
+    }
+
+    private static int[] uniformSequence(int keySpace, SplittableRandom random) {
+        int[] sequence = new int[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            sequence[i] = random.nextInt(keySpace);
+        }
+        return sequence;
+    }
+
+    /**
+     * YCSB 的 Zipf 生成算法：下标 0 最热，访问频率随下标按幂律递减
+     */
+    private static int[] zipfianSequence(int keySpace, SplittableRandom random) {
+        double zetaN = zeta(keySpace, ZIPF_THETA);
+        double zeta2 = zeta(2, ZIPF_THETA);
+        double alpha = 1.0 / (1.0 - ZIPF_THETA);
+        double eta = (1 - Math.pow(2.0 / keySpace, 1 - ZIPF_THETA)) / (1 - zeta2 / zetaN);
+        double secondThreshold = 1 + Math.pow(0.5, ZIPF_THETA);
+
+        int[] sequence = new int[SEQUENCE_LENGTH];
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            double u = random.nextDouble();
+            double uz = u * zetaN;
+            int index;
+            if (uz < 1.0) {
+                index = 0;
+            } else if (uz < secondThreshold) {
+                index = 1;
+            } else {
+                index = (int) (keySpace * Math.pow(eta * u - eta + 1, alpha));
+            }
+            sequence[i] = Math.min(index, keySpace - 1);
+        }
+        return sequence;
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+    private static UserInfo sampleUser(int id) {
+        return UserInfo.builder()
+                .id(id)
+                .name("BenchUser" + id)
+                .sex(id % 2 == 0 ? "女" : "男")
+                .age(20 + id % 50)
+                .email("bench" + id + "@example.com")
+                .phone("138" + String.format("%08d", id))
+                .department("部门" + (id % 5))
+                .position("职位" + (id % 3))
+                .salary(5000.0 + id * 10)
+                .hireDate(LocalDateTime.now().minusDays(id % 365))
+                .lastLoginTime(LocalDateTime.now().minusHours(id % 24))
+                .status(UserInfo.UserStatus.ACTIVE)
+                .tags(Arrays.asList("tag" + (id % 3), "benchmark"))
+                .permissions(Arrays.asList("read", "write"))
+                .build();
+    }
+}
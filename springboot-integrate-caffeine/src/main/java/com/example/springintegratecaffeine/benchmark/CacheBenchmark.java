@@ -0,0 +1,156 @@
+package com.example.springintegratecaffeine.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多线程缓存基准测试
+ * 流程：清空并按键空间预填充 → 预热（结果丢弃）→ 测量；被测缓存应是专用实例，测试会清空并改写其中的数据；每个操作单独计时，读写延迟分别记入线程私有的
+ * HdrHistogram，结束后合并。这是闭环测试（线程完成一个操作才发起下一个），延迟不含排队等待
+ */
+@Slf4j
+public class CacheBenchmark {
+
+    /**
+     * 有效数字位数，3 位即误差不超过 0.1%
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * 每执行这么多操作检查一次是否到达阶段结束时间
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final BenchmarkWorkload workload;
+
+    private final BenchmarkOptions options;
+
+    public CacheBenchmark(BenchmarkWorkload workload, BenchmarkOptions options) {
+        this.workload = workload;
+        this.options = options;
+    }
+
+    public BenchmarkResult run(BenchmarkTarget target) {
+        log.info("基准测试开始 - 目标: {}, 线程: {}, 读占比: {}%, 分布: {}, 键空间: {}",
+                target.getName(), options.getThreads(), options.getReadPercent(),
+                options.getDistribution(), workload.keySpace());
+        target.clear();
+        for (int i = 0; i < workload.keySpace(); i++) {
+            target.put(workload.key(i), workload.value(i));
+        }
+
+        runPhase(target, options.getWarmupSeconds());
+        PhaseResult measured = runPhase(target, options.getMeasurementSeconds());
+
+        BenchmarkResult result = new BenchmarkResult();
+        result.setTarget(target.getName());
+        result.setThreads(options.getThreads());
+        result.setReadPercent(options.getReadPercent());
+        result.setDistribution(options.getDistribution());
+        result.setKeySpace(workload.keySpace());
+        long operations = measured.readLatency.getTotalCount() + measured.writeLatency.getTotalCount();
+        result.setOperations(operations);
+        result.setOpsPerSecond(operations * TimeUnit.SECONDS.toNanos(1) / Math.max(measured.elapsedNanos, 1));
+        long reads = measured.readLatency.getTotalCount();
+        result.setReadHitRate(reads == 0 ? 0.0 : (double) measured.hits / reads);
+        result.setReadLatency(BenchmarkResult.summarize(measured.readLatency));
+        result.setWriteLatency(BenchmarkResult.summarize(measured.writeLatency));
+        log.info("基准测试完成 - 目标: {}, 吞吐: {} ops/s, 读 p99: {}ns", target.getName(),
+                result.getOpsPerSecond(), result.getReadLatency().get("p99"));
+        return result;
+    }
+
+    private PhaseResult runPhase(BenchmarkTarget target, int seconds) {
+        int threads = options.getThreads();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "cache-benchmark-" + threadNumber.incrementAndGet()));
+        try {
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            long durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+            List<Future<PhaseResult>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int threadIndex = t;
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return runWorker(target, threadIndex, durationNanos);
+                }));
+            }
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+
+            PhaseResult total = new PhaseResult();
+            for (Future<PhaseResult> future : futures) {
+                PhaseResult worker = future.get();
+                total.readLatency.add(worker.readLatency);
+                total.writeLatency.add(worker.writeLatency);
+                total.hits += worker.hits;
+            }
+            total.elapsedNanos = System.nanoTime() - begin;
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("基准测试被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("基准测试线程执行失败", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private PhaseResult runWorker(BenchmarkTarget target, int threadIndex, long durationNanos) {
+        PhaseResult result = new PhaseResult();
+        Histogram readLatency = result.readLatency;
+        Histogram writeLatency = result.writeLatency;
+        long hits = 0;
+        int position = workload.startPosition(threadIndex);
+        long deadline = System.nanoTime() + durationNanos;
+        long now;
+        do {
+            for (int i = 0; i < CHECK_INTERVAL; i++, position++) {
+                int keyIndex = workload.keyIndexAt(position);
+                String key = workload.key(keyIndex);
+                if (workload.isWriteAt(position)) {
+                    Object value = workload.value(keyIndex);
+                    long begin = System.nanoTime();
+                    target.put(key, value);
+                    writeLatency.recordValue(System.nanoTime() - begin);
+                } else {
+                    long begin = System.nanoTime();
+                    Object value = target.get(key);
+                    readLatency.recordValue(System.nanoTime() - begin);
+                    if (value != null) {
+                        hits++;
+                    }
+                }
+            }
+            now = System.nanoTime();
+        } while (now < deadline);
+        result.hits = hits;
+        return result;
+    }
+
+    private static final class PhaseResult {
+
+        private final Histogram readLatency = new Histogram(SIGNIFICANT_DIGITS);
+
+        private final Histogram writeLatency = new Histogram(SIGNIFICANT_DIGITS);
+
+        private long hits;
+
+        private long elapsedNanos;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.springintegratecaffeine.benchmark;
+
+/**
+ * 基准测试的键分布
+ */
+public enum KeyDistribution {
+
+    UNIFORM("均匀分布"),
+    ZIPFIAN("Zipf 分布（θ=0.99，少量热点键占大部分访问）");
+
+    private final String description;
+
+    KeyDistribution(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 合并加载的异步缓存加载器
+ * 单键加载（未命中和 refreshAfterWrite 的后台刷新）先进入待加载批次，批次窗口到期或达到批次上限时
+ * 以一次批量调用交给后端；getAll 的缺失键直接一次批量加载。后端调用在专用执行器上运行，
+ * 执行器饱和时本批次以 RejectedExecutionException 失败：未命中的读取报错，后台刷新放弃并继续返回旧值
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+@Slf4j
+public class BatchingCacheLoader<K, V> implements AsyncCacheLoader<K, V>, AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> bulkLoader;
+
+    private final Executor executor;
+
+    private final long batchWindowNanos;
+
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    private boolean flushScheduled;
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder loadedKeyCount = new LongAdder();
+
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    /**
+     * @param bulkLoader   后端批量加载，返回结果中缺失的键视为不存在
+     * @param executor     执行后端调用的专用执行器
+     * @param batchWindow  单键加载等待合并的时间窗口
+     * @param maxBatchSize 单批最多键数，达到后立即提交
+     */
+    public BatchingCacheLoader(Function<Set<K>, Map<K, V>> bulkLoader, Executor executor,
+                               long batchWindow, TimeUnit unit, int maxBatchSize) {
+        this.bulkLoader = bulkLoader;
+        this.executor = executor;
+        this.batchWindowNanos = unit.toNanos(batchWindow);
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-loader-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<? extends V> asyncLoad(K key, Executor cacheExecutor) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> ready = null;
+        synchronized (this) {
+            future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flushWindow, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<? extends Map<? extends K, ? extends V>> asyncLoadAll(
+            Set<? extends K> keys, Executor cacheExecutor) {
+        Set<K> batch = new HashSet<>(keys);
+        try {
+            return CompletableFuture.supplyAsync(() -> loadBatch(batch), executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<Map<K, V>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    public long getLoadedKeyCount() {
+        return loadedKeyCount.sum();
+    }
+
+    public int getLargestBatch() {
+        return largestBatch.get();
+    }
+
+    public Map<String, Object> statistics() {
+        long batches = getBatchCount();
+        long keys = getLoadedKeyCount();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("backendCalls", batches);
+        stats.put("loadedKeys", keys);
+        stats.put("averageBatchSize", String.format("%.2f", batches == 0 ? 0.0 : (double) keys / batches));
+        stats.put("largestBatch", getLargestBatch());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void flushWindow() {
+        Map<K, CompletableFuture<V>> ready;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            ready = drain();
+        }
+        dispatch(ready);
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        Map<K, CompletableFuture<V>> ready = pending;
+        pending = new HashMap<>();
+        return ready;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> {
+                try {
+                    Map<K, V> values = loadBatch(batch.keySet());
+                    batch.forEach((key, future) -> future.complete(values.get(key)));
+                } catch (Throwable t) {
+                    batch.values().forEach(future -> future.completeExceptionally(t));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("缓存加载执行器已满，{} 个键的加载被拒绝", batch.size());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private Map<K, V> loadBatch(Set<K> keys) {
+        batchCount.increment();
+        loadedKeyCount.add(keys.size());
+        largestBatch.accumulateAndGet(keys.size(), Math::max);
+        return bulkLoader.apply(keys);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.springintegratecaffeine.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+
+/**
+ * 按原生缓存绑定 CaffeineCacheMetrics
+ * Actuator 自带的提供者只识别 CaffeineCache，经 {@link CoalescingCache}、{@link DependencyTrackingCache} 包装的缓存
+ * 以及 {@link TieredCache}（一级）的原生缓存同样是 Caffeine，统一按 getNativeCache() 绑定
+ */
+public class CaffeineNativeCacheMeterBinderProvider implements CacheMeterBinderProvider<Cache> {
+
+    @Override
+    public MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+            return metrics((com.github.benmanes.caffeine.cache.Cache<?, ?>) nativeCache, cache.getName(), tags);
+        }
+        return null;
+    }
+
+    private static <K, V> MeterBinder metrics(com.github.benmanes.caffeine.cache.Cache<K, V> nativeCache,
+                                              String name, Iterable<Tag> tags) {
+        return new CaffeineCacheMetrics<>(nativeCache, name, tags);
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.springintegratecaffeine.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 合并并发加载的缓存装饰器（single-flight）
+ * {@code @Cacheable(sync = true)} 未命中时调用 {@link #get(Object, Callable)}：同一个键的第一个请求执行加载，
+ * 加载期间到达的请求等待同一个 CompletableFuture，加载完成后共享结果（或异常），不再各自调用被缓存的方法。
+ * 加载在被装饰缓存的锁之外执行，不会阻塞其他键，也不占用 Caffeine 的计算槽位。
+ * 加载期间同一个键上的 put / evict / clear 会作废这次加载，加载结果只返回给等待的请求，不写回缓存，
+ * 避免 @CachePut / @CacheEvict 被加载前读到的旧值覆盖；空结果同样不写入缓存（等同 unless = "#result == null"）
+ */
+public class CoalescingCache implements Cache {
+
+    private final Cache delegate;
+
+    private final ConcurrentHashMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 实际执行的加载次数
+     */
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * 等待已有加载而省下的加载次数
+     */
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    private final LongAdder failedLoads = new LongAdder();
+
+    public CoalescingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 缓存管理器中已创建的合并缓存
+     */
+    public static List<CoalescingCache> collect(CacheManager cacheManager) {
+        List<CoalescingCache> caches = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof DependencyTrackingCache) {
+                cache = ((DependencyTrackingCache) cache).getDelegate();
+            }
+            if (cache instanceof CoalescingCache) {
+                caches.add((CoalescingCache) cache);
+            }
+        }
+        return caches;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return (T) await(key, valueLoader, existing);
+        }
+        try {
+            // 上一个加载可能刚写入缓存并退出，注册后再查一次
+            cached = delegate.get(key);
+            if (cached != null) {
+                flight.future.complete(cached.get());
+                return (T) cached.get();
+            }
+            loads.increment();
+            T value = valueLoader.call();
+            if (value != null) {
+                synchronized (flight) {
+                    if (!flight.invalidated) {
+                        delegate.put(key, value);
+                    }
+                }
+            }
+            flight.future.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            failedLoads.increment();
+            flight.future.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, Flight flight) {
+        if (flight.leader == Thread.currentThread()) {
+            throw new IllegalStateException("缓存 " + getName() + " 在加载键 " + key + " 时递归加载了同一个键");
+        }
+        coalescedLoads.increment();
+        try {
+            return flight.future.join();
+        } catch (CompletionException ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            delegate.put(key, value);
+            return;
+        }
+        synchronized (flight) {
+            flight.invalidated = true;
+            delegate.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            return delegate.putIfAbsent(key, value);
+        }
+        synchronized (flight) {
+            flight.invalidated = true;
+            return delegate.putIfAbsent(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            delegate.evict(key);
+            return;
+        }
+        synchronized (flight) {
+            flight.invalidated = true;
+            delegate.evict(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            return delegate.evictIfPresent(key);
+        }
+        synchronized (flight) {
+            flight.invalidated = true;
+            return delegate.evictIfPresent(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        invalidateFlights();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidateFlights();
+        return delegate.invalidate();
+    }
+
+    /**
+     * 作废所有进行中的加载：之后完成的加载不再写回缓存
+     */
+    private void invalidateFlights() {
+        for (Flight flight : inFlight.values()) {
+            synchronized (flight) {
+                flight.invalidated = true;
+            }
+        }
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long coalescedLoadCount() {
+        return coalescedLoads.sum();
+    }
+
+    public long failedLoadCount() {
+        return failedLoads.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loads", loadCount());
+        stats.put("coalescedLoads", coalescedLoadCount());
+        stats.put("failedLoads", failedLoadCount());
+        stats.put("inFlight", inFlightCount());
+        return stats;
+    }
+
+    /**
+     * 一次进行中的加载
+     * invalidated 在 Flight 的监视器下读写：写回缓存与 put / evict 对同一个 Flight 互斥，
+     * 写操作要么先于写回（写回被跳过），要么在写回之后（覆盖或清除写回的值）
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private final Thread leader = Thread.currentThread();
+
+        private boolean invalidated;
+    }
+}
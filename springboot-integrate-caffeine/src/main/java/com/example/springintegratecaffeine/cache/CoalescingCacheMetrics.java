@@ -0,0 +1,52 @@
+package com.example.springintegratecaffeine.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 合并加载指标，按缓存管理器汇总，按需创建的缓存在创建后自动计入
+ */
+public class CoalescingCacheMetrics implements MeterBinder {
+
+    private final String managerName;
+
+    private final CacheManager cacheManager;
+
+    public CoalescingCacheMetrics(String managerName, CacheManager cacheManager) {
+        this.managerName = managerName;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.coalescing.loads", cacheManager, sum(CoalescingCache::loadCount))
+                .tags("cacheManager", managerName, "result", "executed")
+                .description("实际执行的加载次数")
+                .register(registry);
+        FunctionCounter.builder("cache.coalescing.loads", cacheManager, sum(CoalescingCache::coalescedLoadCount))
+                .tags("cacheManager", managerName, "result", "coalesced")
+                .description("等待进行中的加载而省下的加载次数")
+                .register(registry);
+        FunctionCounter.builder("cache.coalescing.loads", cacheManager, sum(CoalescingCache::failedLoadCount))
+                .tags("cacheManager", managerName, "result", "failed")
+                .register(registry);
+        Gauge.builder("cache.coalescing.in.flight", cacheManager, sum(CoalescingCache::inFlightCount))
+                .tags("cacheManager", managerName)
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<CacheManager> sum(ToDoubleFunction<CoalescingCache> metric) {
+        return manager -> {
+            double total = 0;
+            for (CoalescingCache cache : CoalescingCache.collect(manager)) {
+                total += metric.applyAsDouble(cache);
+            }
+            return total;
+        };
+    }
+}
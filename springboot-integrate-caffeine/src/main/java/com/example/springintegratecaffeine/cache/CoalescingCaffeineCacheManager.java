@@ -0,0 +1,72 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * 缓存都包装为 {@link CoalescingCache} 的 CaffeineCacheManager
+ * 设置了 dependencyExtractor 时再包装一层 {@link DependencyTrackingCache}，按依赖的 ID 精确失效；
+ * 此时需要在 Caffeine 配置中把 {@link #onRemoval} 注册为移除监听器，过期和淘汰的条目才会释放登记
+ */
+public class CoalescingCaffeineCacheManager extends CaffeineCacheManager {
+
+    private Function<Object, int[]> dependencyExtractor;
+
+    private final List<DependencyTrackingCache> trackingCaches = new CopyOnWriteArrayList<>();
+
+    /**
+     * 从缓存值中取出依赖的 ID，需要在缓存创建前设置
+     */
+    public void setDependencyExtractor(Function<Object, int[]> dependencyExtractor) {
+        this.dependencyExtractor = dependencyExtractor;
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        Cache coalescing = new CoalescingCache(super.adaptCaffeineCache(name, cache));
+        if (dependencyExtractor == null) {
+            return coalescing;
+        }
+        DependencyTrackingCache tracking = new DependencyTrackingCache(coalescing, dependencyExtractor);
+        trackingCaches.add(tracking);
+        return tracking;
+    }
+
+    /**
+     * 清除所有缓存中依赖该 ID 的条目
+     *
+     * @return 清除的条目数
+     */
+    public int invalidateDependents(int dependency) {
+        int invalidated = 0;
+        for (DependencyTrackingCache cache : trackingCaches) {
+            invalidated += cache.invalidateDependents(dependency);
+        }
+        return invalidated;
+    }
+
+    /**
+     * Caffeine 移除监听器，登记按值的引用比对，不会误删其他缓存或同一个键上更新的登记
+     */
+    public void onRemoval(Object key, Object value, RemovalCause cause) {
+        for (DependencyTrackingCache cache : trackingCaches) {
+            cache.onRemoval(key, value);
+        }
+    }
+
+    public Map<String, Object> getDependencyStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (DependencyTrackingCache cache : new ArrayList<>(trackingCaches)) {
+            stats.put(cache.getName(), cache.statistics());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.example.springintegratecaffeine.util.IntObjectMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存条目到 int 依赖（如用户 ID）的双向索引
+ * 正向：依赖 → 依赖它的缓存键数组，使用 int 键的开放寻址表，不装箱；反向：缓存键 → 依赖数组（int[]）与登记时的值。
+ * 每个用户通常只出现在少数几个列表中，正向的键数组很短，增删时整体复制。
+ * <p>
+ * 每次失效（按依赖或按键）递增 epoch。条目登记时传入加载开始时的 epoch，期间发生过失效则拒绝登记，
+ * 由调用方清除该条目，避免把加载期间已失效的结果留在缓存中；这一判断是保守的，无关的失效也会导致拒绝
+ */
+public class DependencyIndex {
+
+    private static final Object[] NO_KEYS = new Object[0];
+
+    private static final int INITIAL_DEPENDENCIES = 1024;
+
+    private IntObjectMap<Object[]> dependents = new IntObjectMap<>(INITIAL_DEPENDENCIES);
+
+    private final Map<Object, Registration> registrations = new HashMap<>();
+
+    private long epoch;
+
+    private long invalidations;
+
+    private long invalidatedEntries;
+
+    private long rejectedRegistrations;
+
+    public synchronized long epoch() {
+        return epoch;
+    }
+
+    /**
+     * 登记条目的依赖，替换该键之前的登记
+     *
+     * @param value      缓存中的值，移除通知按引用比对，只清除仍是这个值的登记
+     * @param startEpoch 加载开始时的 {@link #epoch()}
+     * @return 期间发生过失效时返回 false，不登记
+     */
+    public synchronized boolean register(Object key, Object value, int[] dependencies, long startEpoch) {
+        unlink(key, registrations.remove(key));
+        if (epoch != startEpoch) {
+            rejectedRegistrations++;
+            return false;
+        }
+        if (dependencies.length == 0) {
+            return true;
+        }
+        int[] unique = distinct(dependencies);
+        registrations.put(key, new Registration(unique, value));
+        for (int dependency : unique) {
+            Object[] keys = dependents.get(dependency);
+            if (keys == null) {
+                dependents.put(dependency, new Object[]{key});
+            } else {
+                Object[] grown = Arrays.copyOf(keys, keys.length + 1);
+                grown[keys.length] = key;
+                dependents.put(dependency, grown);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 移除依赖某个值的所有条目的登记
+     *
+     * @return 需要从缓存中清除的键
+     */
+    public synchronized List<Object> invalidate(int dependency) {
+        epoch++;
+        invalidations++;
+        Object[] keys = dependents.remove(dependency);
+        if (keys == null) {
+            return Collections.emptyList();
+        }
+        for (Object key : keys) {
+            unlink(key, registrations.remove(key));
+        }
+        invalidatedEntries += keys.length;
+        return Arrays.asList(keys);
+    }
+
+    /**
+     * 条目被显式清除
+     */
+    public synchronized void remove(Object key) {
+        epoch++;
+        unlink(key, registrations.remove(key));
+    }
+
+    /**
+     * 条目过期、被淘汰或被替换，只有登记的仍是这个值时才移除，不递增 epoch
+     */
+    public synchronized void removed(Object key, Object value) {
+        Registration registration = registrations.get(key);
+        if (registration != null && registration.value == value) {
+            registrations.remove(key);
+            unlink(key, registration);
+        }
+    }
+
+    public synchronized void clear() {
+        epoch++;
+        registrations.clear();
+        dependents = new IntObjectMap<>(INITIAL_DEPENDENCIES);
+    }
+
+    public synchronized Map<String, Object> statistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("trackedEntries", registrations.size());
+        stats.put("dependencies", dependents.size());
+        stats.put("invalidations", invalidations);
+        stats.put("invalidatedEntries", invalidatedEntries);
+        stats.put("rejectedRegistrations", rejectedRegistrations);
+        return stats;
+    }
+
+    /**
+     * 从各依赖的键数组中去掉该键
+     */
+    private void unlink(Object key, Registration registration) {
+        if (registration == null) {
+            return;
+        }
+        for (int dependency : registration.dependencies) {
+            Object[] keys = dependents.get(dependency);
+            if (keys == null) {
+                continue;
+            }
+            Object[] remaining = without(keys, key);
+            if (remaining.length == 0) {
+                dependents.remove(dependency);
+            } else if (remaining != keys) {
+                dependents.put(dependency, remaining);
+            }
+        }
+    }
+
+    private static Object[] without(Object[] keys, Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                if (keys.length == 1) {
+                    return NO_KEYS;
+                }
+                Object[] remaining = new Object[keys.length - 1];
+                System.arraycopy(keys, 0, remaining, 0, i);
+                System.arraycopy(keys, i + 1, remaining, i, keys.length - i - 1);
+                return remaining;
+            }
+        }
+        return keys;
+    }
+
+    private static int[] distinct(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    private static final class Registration {
+
+        private final int[] dependencies;
+
+        private final Object value;
+
+        private Registration(int[] dependencies, Object value) {
+            this.dependencies = dependencies;
+            this.value = value;
+        }
+    }
+}
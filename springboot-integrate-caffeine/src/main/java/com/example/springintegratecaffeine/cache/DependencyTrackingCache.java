@@ -0,0 +1,145 @@
+package com.example.springintegratecaffeine.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * 记录条目依赖的缓存装饰器
+ * 写入缓存的值交给 dependencyExtractor 取出依赖的 ID（如列表中的用户 ID）登记到 {@link DependencyIndex}，
+ * {@link #invalidateDependents(int)} 只清除依赖该 ID 的条目，不必整体清空缓存
+ */
+public class DependencyTrackingCache implements Cache {
+
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final Cache delegate;
+
+    private final Function<Object, int[]> dependencyExtractor;
+
+    private final DependencyIndex index = new DependencyIndex();
+
+    public DependencyTrackingCache(Cache delegate, Function<Object, int[]> dependencyExtractor) {
+        this.delegate = delegate;
+        this.dependencyExtractor = dependencyExtractor;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 清除依赖该 ID 的条目
+     *
+     * @return 清除的条目数
+     */
+    public int invalidateDependents(int dependency) {
+        List<Object> keys = index.invalidate(dependency);
+        for (Object key : keys) {
+            delegate.evict(key);
+        }
+        return keys.size();
+    }
+
+    /**
+     * 底层缓存移除条目（过期、淘汰、替换）时调用，释放对应的登记
+     */
+    public void onRemoval(Object key, Object value) {
+        if (key != null && value != null) {
+            index.removed(key, value);
+        }
+    }
+
+    public Map<String, Object> statistics() {
+        return index.statistics();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long[] startEpoch = {-1};
+        T value = delegate.get(key, () -> {
+            startEpoch[0] = index.epoch();
+            return valueLoader.call();
+        });
+        // 只有本次调用执行了加载才登记，命中或等待其他线程的加载时条目已由加载方登记
+        if (startEpoch[0] >= 0) {
+            track(key, value, startEpoch[0]);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        long startEpoch = index.epoch();
+        delegate.put(key, value);
+        track(key, value, startEpoch);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long startEpoch = index.epoch();
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            track(key, value, startEpoch);
+        }
+        return existing;
+    }
+
+    /**
+     * 加载或写入期间发生过失效时，值可能已经过时，直接清除
+     */
+    private void track(Object key, Object value, long startEpoch) {
+        int[] dependencies = value != null ? dependencyExtractor.apply(value) : NO_DEPENDENCIES;
+        if (!index.register(key, value, dependencies, startEpoch)) {
+            delegate.evict(key);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public void evict(Object key) {
+        index.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        index.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        index.clear();
+        return delegate.invalidate();
+    }
+}
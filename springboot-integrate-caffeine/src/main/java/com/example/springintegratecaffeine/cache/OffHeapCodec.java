@@ -0,0 +1,23 @@
+package com.example.springintegratecaffeine.cache;
+
+/**
+ * 堆外缓存值编解码器
+ * 二级缓存只保存字节，能否放入堆外由 {@link #supports(Object)} 决定，不支持的值只留在一级缓存
+ */
+public interface OffHeapCodec {
+
+    /**
+     * 是否可以序列化到堆外
+     */
+    boolean supports(Object value);
+
+    /**
+     * 序列化为字节
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 从字节还原对象
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,165 @@
+package com.example.springintegratecaffeine.cache;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 堆外存储段
+ * 一块直接内存按环形日志追加写入，索引（键 → 偏移、长度）留在堆内；
+ * 写指针绕回时覆盖最早写入的区域，被覆盖的条目即被淘汰（FIFO），覆盖写和删除留下的空洞随环形推进自然回收
+ */
+final class OffHeapSegment {
+
+    private final int capacity;
+
+    /**
+     * 首次写入时才分配，未使用的缓存不占直接内存
+     */
+    private ByteBuffer buffer;
+
+    private final Map<Object, Slot> index = new HashMap<>();
+
+    /**
+     * 按写入顺序排列的槽位，队首是下一个被覆盖的区域
+     */
+    private final ArrayDeque<Slot> log = new ArrayDeque<>();
+
+    private int writePosition;
+
+    private long liveBytes;
+
+    private long evictionCount;
+
+    private long expirationCount;
+
+    OffHeapSegment(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 读取条目字节，写入超过 ttlNanos（大于 0 时生效）的条目视为过期并移除
+     */
+    synchronized byte[] get(Object key, long now, long ttlNanos) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        if (ttlNanos > 0 && now - slot.writeTime >= ttlNanos) {
+            index.remove(key);
+            liveBytes -= slot.length;
+            expirationCount++;
+            return null;
+        }
+        byte[] bytes = new byte[slot.length];
+        ((Buffer) buffer).position(slot.offset);
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 写入条目，超过段容量的值不保存并返回 false
+     */
+    synchronized boolean put(Object key, byte[] bytes, long now) {
+        int length = bytes.length;
+        if (length > capacity) {
+            remove(key);
+            return false;
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(capacity);
+        }
+        if (writePosition + length > capacity) {
+            // 尾部剩余空间放不下，上一轮留在尾部的条目全部淘汰后从头开始
+            while (!log.isEmpty() && log.peekFirst().offset >= writePosition) {
+                evict(log.pollFirst());
+            }
+            writePosition = 0;
+        }
+        // 上一轮写入的条目偏移都不小于写指针，本轮写入的都小于写指针
+        int end = writePosition + length;
+        while (!log.isEmpty() && log.peekFirst().offset >= writePosition && log.peekFirst().offset < end) {
+            evict(log.pollFirst());
+        }
+        ((Buffer) buffer).position(writePosition);
+        buffer.put(bytes);
+
+        Slot slot = new Slot(key, writePosition, length, now);
+        log.addLast(slot);
+        Slot previous = index.put(key, slot);
+        if (previous != null) {
+            liveBytes -= previous.length;
+        }
+        liveBytes += length;
+        writePosition = end;
+        return true;
+    }
+
+    synchronized boolean remove(Object key) {
+        Slot slot = index.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        liveBytes -= slot.length;
+        return true;
+    }
+
+    synchronized void clear() {
+        index.clear();
+        log.clear();
+        writePosition = 0;
+        liveBytes = 0;
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    synchronized long liveBytes() {
+        return liveBytes;
+    }
+
+    synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    synchronized long expirationCount() {
+        return expirationCount;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    synchronized boolean allocated() {
+        return buffer != null;
+    }
+
+    /**
+     * 槽位被覆盖；只有索引仍指向该槽位时才算淘汰，覆盖写或删除后残留的旧槽位直接丢弃
+     */
+    private void evict(Slot slot) {
+        if (index.get(slot.key) == slot) {
+            index.remove(slot.key);
+            liveBytes -= slot.length;
+            evictionCount++;
+        }
+    }
+
+    private static final class Slot {
+
+        private final Object key;
+        private final int offset;
+        private final int length;
+        private final long writeTime;
+
+        private Slot(Object key, int offset, int length, long writeTime) {
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+            this.writeTime = writeTime;
+        }
+    }
+}
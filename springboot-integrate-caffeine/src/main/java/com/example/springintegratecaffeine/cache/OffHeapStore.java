@@ -0,0 +1,154 @@
+package com.example.springintegratecaffeine.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分段堆外字节存储
+ * 按键哈希分到 2 的幂个段，每段独立加锁、独立淘汰；单个值不能超过段容量
+ * 直接内存总量受 -XX:MaxDirectMemorySize 限制（默认与最大堆相同），容量较大时需同时调整该参数
+ */
+public class OffHeapStore {
+
+    private final OffHeapSegment[] segments;
+
+    private final int segmentMask;
+
+    private final long capacityBytes;
+
+    private final long ttlNanos;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * @param capacityBytes 堆外总容量（字节），平均分给各段
+     * @param segments      段数，向上取整到 2 的幂
+     * @param ttl           写入后的存活时间，小于等于 0 表示不过期
+     */
+    public OffHeapStore(long capacityBytes, int segments, long ttl, TimeUnit unit) {
+        if (segments <= 0 || capacityBytes < segments) {
+            throw new IllegalArgumentException("堆外容量必须不小于段数，capacity=" + capacityBytes + ", segments=" + segments);
+        }
+        int segmentCount = segments == 1 ? 1 : Integer.highestOneBit(segments - 1) << 1;
+        long segmentCapacity = capacityBytes / segmentCount;
+        if (segmentCapacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("单段容量不能超过 2GB，请增加段数，capacity=" + capacityBytes + ", segments=" + segmentCount);
+        }
+        this.segments = new OffHeapSegment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new OffHeapSegment((int) segmentCapacity);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.capacityBytes = segmentCapacity * segmentCount;
+        this.ttlNanos = ttl > 0 ? unit.toNanos(ttl) : 0;
+    }
+
+    public byte[] get(Object key) {
+        return segmentFor(key).get(key, System.nanoTime(), ttlNanos);
+    }
+
+    /**
+     * 写入字节，值超过段容量时不保存（同时移除旧值）并返回 false
+     */
+    public boolean put(Object key, byte[] bytes) {
+        boolean stored = segmentFor(key).put(key, bytes, System.nanoTime());
+        if (!stored) {
+            rejectedCount.increment();
+        }
+        return stored;
+    }
+
+    public boolean remove(Object key) {
+        return segmentFor(key).remove(key);
+    }
+
+    public void clear() {
+        for (OffHeapSegment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (OffHeapSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 仍可读取的条目字节数，不含覆盖写和删除留下的空洞
+     */
+    public long liveBytes() {
+        long bytes = 0;
+        for (OffHeapSegment segment : segments) {
+            bytes += segment.liveBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 已分配的直接内存字节数
+     */
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (OffHeapSegment segment : segments) {
+            if (segment.allocated()) {
+                bytes += segment.capacity();
+            }
+        }
+        return bytes;
+    }
+
+    public long evictionCount() {
+        long count = 0;
+        for (OffHeapSegment segment : segments) {
+            count += segment.evictionCount();
+        }
+        return count;
+    }
+
+    public long expirationCount() {
+        long count = 0;
+        for (OffHeapSegment segment : segments) {
+            count += segment.expirationCount();
+        }
+        return count;
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", size());
+        stats.put("liveBytes", liveBytes());
+        stats.put("allocatedBytes", allocatedBytes());
+        stats.put("capacityBytes", capacityBytes);
+        stats.put("segments", segments.length);
+        stats.put("evictionCount", evictionCount());
+        stats.put("expirationCount", expirationCount());
+        stats.put("rejectedCount", rejectedCount());
+        return stats;
+    }
+
+    private OffHeapSegment segmentFor(Object key) {
+        int hash = key.hashCode();
+        // 混合高位，避免连续整数键集中在少数段
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return segments[hash & segmentMask];
+    }
+}
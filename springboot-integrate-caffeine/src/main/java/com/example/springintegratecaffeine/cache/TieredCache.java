@@ -0,0 +1,208 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 两级缓存：一级为堆内 Caffeine，二级为堆外 {@link OffHeapStore}
+ * 写入同时落到两级（二级保存序列化字节，是一级的超集）；一级未命中时查二级，命中后反序列化并提升回一级
+ * 编解码器不支持的值（如空值占位）只保存在一级，同时移除二级中的旧值
+ */
+public class TieredCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+
+    private final Cache<Object, Object> heapCache;
+
+    private final OffHeapStore offHeapStore;
+
+    private final OffHeapCodec codec;
+
+    private final LongAdder heapHits = new LongAdder();
+
+    private final LongAdder offHeapHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public TieredCache(String name, Cache<Object, Object> heapCache, OffHeapStore offHeapStore,
+                       OffHeapCodec codec, boolean allowNullValues) {
+        super(allowNullValues);
+        this.name = name;
+        this.heapCache = heapCache;
+        this.offHeapStore = offHeapStore;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return heapCache;
+    }
+
+    public OffHeapStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = heapCache.getIfPresent(key);
+        if (value != null) {
+            heapHits.increment();
+            return value;
+        }
+        // 在一级缓存的计算中读取并提升二级的值，与同一个键上的 put/evict 互斥，不会把已删除的旧值提升回来
+        value = heapCache.asMap().computeIfAbsent(key, this::readOffHeap);
+        if (value != null) {
+            offHeapHits.increment();
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = heapCache.getIfPresent(key);
+        if (value != null) {
+            heapHits.increment();
+            return (T) fromStoreValue(value);
+        }
+        // 在一级缓存的计算中查二级并加载，同一个键的并发未命中只加载一次
+        value = heapCache.get(key, k -> {
+            Object promoted = readOffHeap(k);
+            if (promoted != null) {
+                offHeapHits.increment();
+                return promoted;
+            }
+            misses.increment();
+            Object loaded;
+            try {
+                loaded = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+            writeOffHeap(k, loaded);
+            return loaded;
+        });
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        // 两级写入在同一个键的计算内完成，并发的 evict 要么在写入前、要么在写入后，不会只清掉一级
+        heapCache.asMap().compute(key, (k, old) -> {
+            writeOffHeap(k, storeValue);
+            return storeValue;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        boolean[] absent = new boolean[1];
+        Object existing = heapCache.get(key, k -> {
+            Object promoted = readOffHeap(k);
+            if (promoted != null) {
+                return promoted;
+            }
+            absent[0] = true;
+            writeOffHeap(k, storeValue);
+            return storeValue;
+        });
+        if (absent[0]) {
+            return null;
+        }
+        return toValueWrapper(existing);
+    }
+
+    @Override
+    public void evict(Object key) {
+        heapCache.asMap().compute(key, (k, old) -> {
+            offHeapStore.remove(k);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        heapCache.invalidateAll();
+        offHeapStore.clear();
+    }
+
+    public long heapHitCount() {
+        return heapHits.sum();
+    }
+
+    public long offHeapHitCount() {
+        return offHeapHits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 一级命中率：一级命中 / 全部请求
+     */
+    public double heapHitRate() {
+        long requests = heapHitCount() + offHeapHitCount() + missCount();
+        return requests == 0 ? 0.0 : (double) heapHitCount() / requests;
+    }
+
+    /**
+     * 二级命中率：二级命中 / 一级未命中后落到二级的请求
+     */
+    public double offHeapHitRate() {
+        long lookups = offHeapHitCount() + missCount();
+        return lookups == 0 ? 0.0 : (double) offHeapHitCount() / lookups;
+    }
+
+    public Map<String, Object> statistics() {
+        long heap = heapHitCount();
+        long offHeap = offHeapHitCount();
+        long miss = missCount();
+        long requests = heap + offHeap + miss;
+
+        Map<String, Object> heapTier = new HashMap<>();
+        heapTier.put("size", heapCache.estimatedSize());
+        heapTier.put("hitCount", heap);
+        heapTier.put("hitRate", String.format("%.2f%%", heapHitRate() * 100));
+        heapTier.put("evictionCount", heapCache.stats().evictionCount());
+
+        Map<String, Object> offHeapTier = offHeapStore.statistics();
+        offHeapTier.put("hitCount", offHeap);
+        offHeapTier.put("hitRate", String.format("%.2f%%", offHeapHitRate() * 100));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requestCount", requests);
+        stats.put("missCount", miss);
+        stats.put("hitRate", String.format("%.2f%%", requests == 0 ? 0.0 : (heap + offHeap) * 100.0 / requests));
+        stats.put("l1", heapTier);
+        stats.put("l2", offHeapTier);
+        return stats;
+    }
+
+    private Object readOffHeap(Object key) {
+        byte[] bytes = offHeapStore.get(key);
+        return bytes == null ? null : codec.decode(bytes);
+    }
+
+    private void writeOffHeap(Object key, Object storeValue) {
+        if (codec.supports(storeValue)) {
+            offHeapStore.put(key, codec.encode(storeValue));
+        } else {
+            offHeapStore.remove(key);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存管理器
+ * 每个缓存拥有独立的一级 Caffeine 实例和独立容量的堆外存储；
+ * 构造时给出缓存名则只提供这些缓存，否则按名称动态创建
+ */
+public class TieredCacheManager extends AbstractCacheManager {
+
+    private final Caffeine<Object, Object> heapSpec;
+
+    private final long offHeapCapacityBytes;
+
+    private final int offHeapSegments;
+
+    private final long offHeapTtlNanos;
+
+    private final OffHeapCodec codec;
+
+    private final List<String> cacheNames;
+
+    private boolean allowNullValues = true;
+
+    private boolean coalescing = false;
+
+    /**
+     * @param heapSpec             一级缓存配置
+     * @param offHeapCapacityBytes 每个缓存的堆外容量（字节）
+     * @param offHeapSegments      每个缓存的堆外段数
+     * @param offHeapTtl           堆外条目写入后的存活时间，应与一级的过期时间一致
+     */
+    public TieredCacheManager(Caffeine<Object, Object> heapSpec, long offHeapCapacityBytes, int offHeapSegments,
+                              long offHeapTtl, TimeUnit unit, OffHeapCodec codec, String... cacheNames) {
+        this.heapSpec = heapSpec;
+        this.offHeapCapacityBytes = offHeapCapacityBytes;
+        this.offHeapSegments = offHeapSegments;
+        this.offHeapTtlNanos = unit.toNanos(offHeapTtl);
+        this.codec = codec;
+        this.cacheNames = Arrays.asList(cacheNames);
+    }
+
+    public void setAllowNullValues(boolean allowNullValues) {
+        this.allowNullValues = allowNullValues;
+    }
+
+    /**
+     * 是否用 {@link CoalescingCache} 包装，合并同一个键的并发加载
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>(cacheNames.size());
+        for (String name : cacheNames) {
+            caches.add(createTieredCache(name));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return cacheNames.isEmpty() ? createTieredCache(name) : null;
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        return coalescing ? new CoalescingCache(cache) : cache;
+    }
+
+    /**
+     * 按名称取两级缓存本身（去掉合并加载的包装），不存在返回 null
+     */
+    public TieredCache getTieredCache(String name) {
+        Cache cache = getCache(name);
+        if (cache instanceof CoalescingCache) {
+            cache = ((CoalescingCache) cache).getDelegate();
+        }
+        return cache instanceof TieredCache ? (TieredCache) cache : null;
+    }
+
+    /**
+     * 当前所有两级缓存，供统计和指标使用
+     */
+    public List<TieredCache> getTieredCaches() {
+        List<TieredCache> caches = new ArrayList<>();
+        for (String name : getCacheNames()) {
+            TieredCache cache = getTieredCache(name);
+            if (cache != null) {
+                caches.add(cache);
+            }
+        }
+        return caches;
+    }
+
+    private TieredCache createTieredCache(String name) {
+        OffHeapStore offHeapStore = new OffHeapStore(offHeapCapacityBytes, offHeapSegments,
+                offHeapTtlNanos, TimeUnit.NANOSECONDS);
+        return new TieredCache(name, heapSpec.build(), offHeapStore, codec, allowNullValues);
+    }
+}
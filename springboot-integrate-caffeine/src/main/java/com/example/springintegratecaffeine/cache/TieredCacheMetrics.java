@@ -0,0 +1,60 @@
+package com.example.springintegratecaffeine.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 两级缓存指标，按缓存名和层级（l1 堆内 / l2 堆外）打标签
+ * 只绑定注册时已存在的缓存，动态创建的缓存需在创建后重新绑定
+ */
+public class TieredCacheMetrics implements MeterBinder {
+
+    private final TieredCacheManager cacheManager;
+
+    public TieredCacheMetrics(TieredCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TieredCache cache : cacheManager.getTieredCaches()) {
+            String name = cache.getName();
+            FunctionCounter.builder("cache.tier.hits", cache, TieredCache::heapHitCount)
+                    .tags("cache", name, "tier", "l1")
+                    .description("一级（堆内）命中次数")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.hits", cache, TieredCache::offHeapHitCount)
+                    .tags("cache", name, "tier", "l2")
+                    .description("二级（堆外）命中次数，即提升到一级的次数")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.misses", cache, TieredCache::missCount)
+                    .tags("cache", name)
+                    .description("两级均未命中的次数")
+                    .register(registry);
+            Gauge.builder("cache.tier.hit.rate", cache, TieredCache::heapHitRate)
+                    .tags("cache", name, "tier", "l1")
+                    .register(registry);
+            Gauge.builder("cache.tier.hit.rate", cache, TieredCache::offHeapHitRate)
+                    .tags("cache", name, "tier", "l2")
+                    .register(registry);
+
+            OffHeapStore store = cache.getOffHeapStore();
+            Gauge.builder("cache.offheap.entries", store, OffHeapStore::size)
+                    .tags("cache", name)
+                    .register(registry);
+            Gauge.builder("cache.offheap.live.bytes", store, OffHeapStore::liveBytes)
+                    .tags("cache", name)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("cache.offheap.allocated.bytes", store, OffHeapStore::allocatedBytes)
+                    .tags("cache", name)
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("cache.offheap.evictions", store, OffHeapStore::evictionCount)
+                    .tags("cache", name)
+                    .register(registry);
+        }
+    }
+}
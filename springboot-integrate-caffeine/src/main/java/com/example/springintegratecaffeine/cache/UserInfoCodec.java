@@ -0,0 +1,161 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.example.springintegratecaffeine.entity.UserInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UserInfo 紧凑二进制编解码
+ * 按字段顺序写出，可空字段用长度 -1 或标记位表示；格式变化时提升 FORMAT_VERSION，旧格式的数据按未命中处理
+ */
+public class UserInfoCodec implements OffHeapCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final UserInfo.UserStatus[] STATUSES = UserInfo.UserStatus.values();
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof UserInfo;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        UserInfo user = (UserInfo) value;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeInteger(out, user.getId());
+            writeString(out, user.getName());
+            writeString(out, user.getSex());
+            writeInteger(out, user.getAge());
+            writeString(out, user.getEmail());
+            writeString(out, user.getPhone());
+            writeString(out, user.getDepartment());
+            writeString(out, user.getPosition());
+            out.writeBoolean(user.getSalary() != null);
+            if (user.getSalary() != null) {
+                out.writeDouble(user.getSalary());
+            }
+            writeDateTime(out, user.getHireDate());
+            writeDateTime(out, user.getLastLoginTime());
+            out.writeByte(user.getStatus() == null ? NULL_LENGTH : user.getStatus().ordinal());
+            writeStrings(out, user.getTags());
+            writeStrings(out, user.getPermissions());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                return null;
+            }
+            UserInfo user = new UserInfo();
+            user.setId(readInteger(in));
+            user.setName(readString(in));
+            user.setSex(readString(in));
+            user.setAge(readInteger(in));
+            user.setEmail(readString(in));
+            user.setPhone(readString(in));
+            user.setDepartment(readString(in));
+            user.setPosition(readString(in));
+            user.setSalary(in.readBoolean() ? in.readDouble() : null);
+            user.setHireDate(readDateTime(in));
+            user.setLastLoginTime(readDateTime(in));
+            byte status = in.readByte();
+            user.setStatus(status == NULL_LENGTH ? null : STATUSES[status]);
+            user.setTags(readStrings(in));
+            user.setPermissions(readStrings(in));
+            return user;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.springintegratecaffeine.cache.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 快照文件格式
+ * <pre>
+ * 文件头：magic(4) + 版本(1) + 生成时间毫秒(8) + 缓存数(4)
+ * 每个缓存：名称长度(4) + 名称(UTF-8) + 若干数据块 + 结束块（条目数为 0）
+ * 数据块：条目数(4) + 字节数(4) + CRC32(4) + 条目
+ * 条目：剩余存活毫秒数(8，不过期为 Long.MAX_VALUE) + 键 + 值（{@link SnapshotCodec}）
+ * </pre>
+ * 数据块相互独立，恢复时可以并行解码；校验失败的块单独丢弃，截断的文件保留已完整读到的块
+ */
+@Slf4j
+final class CacheSnapshotFile {
+
+    private static final int MAGIC = 0x43534E50;
+
+    private static final byte VERSION = 2;
+
+    private static final int HEADER_SIZE = 17;
+
+    private static final int SECTION_COUNT_OFFSET = 13;
+
+    private static final int CHUNK_HEADER_SIZE = 12;
+
+    /**
+     * 数据块的条目数与字节数上限，超过任一上限即写出当前块
+     */
+    private static final int CHUNK_ENTRIES = 512;
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private CacheSnapshotFile() {
+    }
+
+    /**
+     * 读取快照文件中的全部数据块
+     */
+    static Contents read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("快照文件过大: " + size + " 字节");
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer) < 0) {
+                    break;
+                }
+            }
+            ((Buffer) buffer).flip();
+        }
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("不是缓存快照文件: " + path);
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("不支持的快照版本: " + version);
+        }
+        long createdAtMillis = buffer.getLong();
+        int sections = buffer.getInt();
+        List<Chunk> chunks = new ArrayList<>();
+        try {
+            for (int i = 0; i < sections; i++) {
+                byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                String cacheName = new String(name, StandardCharsets.UTF_8);
+                while (true) {
+                    int entries = buffer.getInt();
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (entries == 0) {
+                        break;
+                    }
+                    if (length < 0 || length > buffer.remaining()) {
+                        throw new IOException("数据块长度越界: " + length);
+                    }
+                    ByteBuffer data = buffer.duplicate();
+                    ((Buffer) data).limit(buffer.position() + length);
+                    chunks.add(new Chunk(cacheName, entries, checksum, data.slice()));
+                    ((Buffer) buffer).position(buffer.position() + length);
+                }
+            }
+        } catch (RuntimeException | IOException e) {
+            // 写入中途停机留下的不完整文件，已完整读到的块仍可使用
+            log.warn("缓存快照不完整，只恢复已读到的 {} 个数据块: {}", chunks.size(), e.toString());
+        }
+        return new Contents(createdAtMillis, chunks);
+    }
+
+    static final class Contents {
+
+        final long createdAtMillis;
+
+        final List<Chunk> chunks;
+
+        private Contents(long createdAtMillis, List<Chunk> chunks) {
+            this.createdAtMillis = createdAtMillis;
+            this.chunks = chunks;
+        }
+    }
+
+    static final class Chunk {
+
+        final String cacheName;
+
+        final int entries;
+
+        private final int checksum;
+
+        private final ByteBuffer data;
+
+        private Chunk(String cacheName, int entries, int checksum, ByteBuffer data) {
+            this.cacheName = cacheName;
+            this.entries = entries;
+            this.checksum = checksum;
+            this.data = data;
+        }
+
+        /**
+         * 校验通过后返回数据的只读视图，否则返回 null
+         */
+        ByteBuffer verifiedData() {
+            ByteBuffer view = data.asReadOnlyBuffer();
+            CRC32 crc = new CRC32();
+            crc.update(view.duplicate());
+            return (int) crc.getValue() == checksum ? view : null;
+        }
+    }
+
+    /**
+     * 先写临时文件，{@link #commit()} 时刷盘并原子替换旧快照；未提交就关闭时删除临时文件，旧快照不受影响
+     */
+    static final class Writer implements Closeable {
+
+        private final Path path;
+
+        private final Path temporary;
+
+        private final FileChannel out;
+
+        private final ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(CHUNK_BYTES + 4096);
+
+        private final DataOutputStream chunk = new DataOutputStream(chunkBytes);
+
+        private int chunkEntries;
+
+        private int sections;
+
+        private long bytes;
+
+        private boolean committed;
+
+        Writer(Path path, long createdAtMillis) throws IOException {
+            this.path = path;
+            this.temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            this.out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(VERSION).putLong(createdAtMillis).putInt(0);
+            ((Buffer) header).flip();
+            write(header);
+        }
+
+        void beginSection(String cacheName) throws IOException {
+            byte[] name = cacheName.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate(4 + name.length);
+            header.putInt(name.length).put(name);
+            ((Buffer) header).flip();
+            write(header);
+            sections++;
+        }
+
+        /**
+         * 当前条目的输出，写完一个条目后调用 {@link #endEntry()}
+         */
+        DataOutputStream entry() {
+            return chunk;
+        }
+
+        void endEntry() throws IOException {
+            chunkEntries++;
+            if (chunkEntries >= CHUNK_ENTRIES || chunkBytes.size() >= CHUNK_BYTES) {
+                flushChunk();
+            }
+        }
+
+        void endSection() throws IOException {
+            flushChunk();
+            ByteBuffer end = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+            end.putInt(0).putInt(0).putInt(0);
+            ((Buffer) end).flip();
+            write(end);
+        }
+
+        /**
+         * 回填缓存数，刷盘后替换旧快照
+         *
+         * @return 快照字节数
+         */
+        long commit() throws IOException {
+            ByteBuffer count = ByteBuffer.allocate(4);
+            count.putInt(sections);
+            ((Buffer) count).flip();
+            out.write(count, SECTION_COUNT_OFFSET);
+            out.force(true);
+            out.close();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (chunkEntries == 0) {
+                return;
+            }
+            chunk.flush();
+            byte[] data = chunkBytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            ByteBuffer block = ByteBuffer.allocate(CHUNK_HEADER_SIZE + data.length);
+            block.putInt(chunkEntries).putInt(data.length).putInt((int) crc.getValue()).put(data);
+            ((Buffer) block).flip();
+            write(block);
+            chunkBytes.reset();
+            chunkEntries = 0;
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            bytes += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+}
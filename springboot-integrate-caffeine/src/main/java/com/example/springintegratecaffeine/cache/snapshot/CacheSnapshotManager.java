@@ -0,0 +1,232 @@
+package com.example.springintegratecaffeine.cache.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存快照：把选定缓存中最热的条目写入快照文件，启动时并行读回
+ * 快照只是预热数据，读写失败都不影响缓存本身的使用；快照期间缓存照常读写，得到的是近似一致的视图
+ */
+@Slf4j
+public class CacheSnapshotManager {
+
+    private final Path path;
+
+    private final Map<String, SnapshotTarget> targets = new LinkedHashMap<>();
+
+    private final int restoreThreads;
+
+    private final long minRemainingMillis;
+
+    private final SnapshotCodec codec = new SnapshotCodec();
+
+    private volatile Map<String, Object> lastSnapshot;
+
+    private volatile Map<String, Object> lastRestore;
+
+    /**
+     * @param path           快照文件，为 null 时不读写快照
+     * @param restoreThreads     恢复时解码并写回缓存的线程数
+     * @param minRemainingMillis 剩余存活时间不足该值的条目不恢复
+     */
+    public CacheSnapshotManager(Path path, List<SnapshotTarget> targets, int restoreThreads, long minRemainingMillis) {
+        if (restoreThreads <= 0) {
+            throw new IllegalArgumentException("恢复线程数必须大于 0");
+        }
+        if (minRemainingMillis < 0) {
+            throw new IllegalArgumentException("最短剩余存活时间不能为负数");
+        }
+        this.minRemainingMillis = minRemainingMillis;
+        this.path = path;
+        for (SnapshotTarget target : targets) {
+            this.targets.put(target.getName(), target);
+        }
+        this.restoreThreads = restoreThreads;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * 写出快照，替换上一次的快照文件
+     */
+    public synchronized Map<String, Object> snapshot() throws IOException {
+        if (path == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        long createdAtMillis = System.currentTimeMillis();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Map<String, Object> entries = new LinkedHashMap<>();
+        long bytes;
+        try (CacheSnapshotFile.Writer writer = new CacheSnapshotFile.Writer(path, createdAtMillis)) {
+            for (SnapshotTarget target : targets.values()) {
+                writer.beginSection(target.getName());
+                int written = 0;
+                for (Map.Entry<Object, Object> entry : target.hottest().entrySet()) {
+                    if (!codec.supports(entry.getKey()) || !codec.supports(entry.getValue())) {
+                        continue;
+                    }
+                    DataOutputStream out = writer.entry();
+                    out.writeLong(target.remainingMillis(entry.getKey()));
+                    codec.write(out, entry.getKey());
+                    codec.write(out, entry.getValue());
+                    writer.endEntry();
+                    written++;
+                }
+                writer.endSection();
+                entries.put(target.getName(), written);
+            }
+            bytes = writer.commit();
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("file", path.toString());
+        report.put("entries", entries);
+        report.put("bytes", bytes);
+        report.put("durationMs", (System.nanoTime() - start) / 1_000_000);
+        report.put("createdAt", createdAtMillis);
+        lastSnapshot = report;
+        log.info("缓存快照已写出 - 文件: {}, 条目: {}, {} 字节, 耗时 {}ms", path, entries, bytes, report.get("durationMs"));
+        return report;
+    }
+
+    /**
+     * 读取快照并写回缓存，数据块分给多个线程并行解码
+     * 快照时的剩余存活时间减去停机时长即恢复后的剩余时间，已过期或不足 minRemainingMillis 的条目跳过；
+     * 有 revalidator 的缓存用数据源中的当前值恢复，数据源中已删除的条目跳过；快照中有但当前未配置的缓存忽略。
+     * 支持按条目过期的缓存只让恢复的条目存活剩余的时间，其他缓存重新计时，剩余时间门槛限制了条目因此延长的存活时间
+     */
+    public synchronized Map<String, Object> restore() throws IOException, InterruptedException {
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        CacheSnapshotFile.Contents contents = CacheSnapshotFile.read(path);
+        long downtimeMillis = Math.max(0, System.currentTimeMillis() - contents.createdAtMillis);
+
+        Map<String, LongAdder> restored = new LinkedHashMap<>();
+        for (String name : targets.keySet()) {
+            restored.put(name, new LongAdder());
+        }
+        LongAdder expired = new LongAdder();
+        LongAdder stale = new LongAdder();
+        LongAdder unreadable = new LongAdder();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(restoreThreads, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(contents.chunks.size());
+            for (CacheSnapshotFile.Chunk chunk : contents.chunks) {
+                SnapshotTarget target = targets.get(chunk.cacheName);
+                if (target == null) {
+                    continue;
+                }
+                futures.add(executor.submit(() -> restoreChunk(chunk, target, downtimeMillis,
+                        restored.get(chunk.cacheName), expired, stale, unreadable)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.warn("恢复缓存快照数据块失败", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> entries = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : restored.entrySet()) {
+            entries.put(entry.getKey(), entry.getValue().sum());
+            total += entry.getValue().sum();
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("file", path.toString());
+        report.put("restoredEntries", total);
+        report.put("entries", entries);
+        report.put("expiredEntries", expired.sum());
+        report.put("staleEntries", stale.sum());
+        report.put("unreadableEntries", unreadable.sum());
+        report.put("snapshotAgeMs", downtimeMillis);
+        report.put("durationMs", (System.nanoTime() - start) / 1_000_000);
+        lastRestore = report;
+        log.info("缓存预热完成 - 恢复 {} 个条目 {}, 过期跳过 {}, 数据源已删除 {}, 无法读取 {}, 耗时 {}ms",
+                total, entries, expired.sum(), stale.sum(), unreadable.sum(), report.get("durationMs"));
+        return report;
+    }
+
+    private void restoreChunk(CacheSnapshotFile.Chunk chunk, SnapshotTarget target, long downtimeMillis,
+                              LongAdder restored, LongAdder expired, LongAdder stale, LongAdder unreadable) {
+        ByteBuffer in = chunk.verifiedData();
+        if (in == null) {
+            log.warn("缓存快照数据块校验失败，跳过 {} 个条目（缓存 {}）", chunk.entries, chunk.cacheName);
+            unreadable.add(chunk.entries);
+            return;
+        }
+        for (int i = 0; i < chunk.entries; i++) {
+            long remainingMillis = in.getLong();
+            Object key = codec.read(in);
+            Object value = codec.read(in);
+            if (key == null || value == null) {
+                unreadable.increment();
+                continue;
+            }
+            if (remainingMillis != Long.MAX_VALUE) {
+                remainingMillis -= downtimeMillis;
+            }
+            if (remainingMillis <= minRemainingMillis) {
+                expired.increment();
+                continue;
+            }
+            Object current = target.revalidate(key, value);
+            if (current == null) {
+                stale.increment();
+            } else {
+                target.restore(key, current, remainingMillis);
+                restored.increment();
+            }
+        }
+    }
+
+    /**
+     * 最近一次写出快照的结果，尚未写过时为 null
+     */
+    public Map<String, Object> getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /**
+     * 启动预热的结果，没有快照可恢复时为 null
+     */
+    public Map<String, Object> getLastRestore() {
+        return lastRestore;
+    }
+
+    public List<String> getCacheNames() {
+        return new ArrayList<>(targets.keySet());
+    }
+}
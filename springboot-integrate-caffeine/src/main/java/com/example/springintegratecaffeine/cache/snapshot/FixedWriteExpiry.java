@@ -0,0 +1,37 @@
+package com.example.springintegratecaffeine.cache.snapshot;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * 与 expireAfterWrite 等价的过期策略：创建和更新后存活固定时间，读取不影响剩余时间
+ * 用 {@link Expiry} 构建的缓存有 {@code policy().expireVariably()}，快照恢复时可以按条目剩余的存活时间写回，
+ * 而不是重新开始计时
+ */
+public final class FixedWriteExpiry<K, V> implements Expiry<K, V> {
+
+    private final long nanos;
+
+    public FixedWriteExpiry(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("duration 不能为负数");
+        }
+        this.nanos = duration.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return nanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return nanos;
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.springintegratecaffeine.cache.snapshot;
+
+import com.example.springintegratecaffeine.cache.UserInfoCodec;
+import com.example.springintegratecaffeine.entity.UserInfo;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 快照中键和值的编解码
+ * 每个对象以一个类型字节开头；支持 String、Integer、Long、UserInfo（复用 {@link UserInfoCodec}）及其 List，
+ * 其他类型的条目不写入快照
+ */
+public class SnapshotCodec {
+
+    private static final byte STRING = 1;
+
+    private static final byte INTEGER = 2;
+
+    private static final byte LONG = 3;
+
+    private static final byte USER_INFO = 4;
+
+    private static final byte LIST = 5;
+
+    private final UserInfoCodec userInfoCodec = new UserInfoCodec();
+
+    public boolean supports(Object value) {
+        if (value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof UserInfo) {
+            return true;
+        }
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                if (!supports(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 写出对象，调用前须先用 {@link #supports(Object)} 判断
+     */
+    public void write(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof UserInfo) {
+            out.writeByte(USER_INFO);
+            writeBytes(out, userInfoCodec.encode(value));
+        } else if (value instanceof List) {
+            List<?> values = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(values.size());
+            for (Object element : values) {
+                write(out, element);
+            }
+        } else {
+            throw new IllegalArgumentException("快照不支持的类型: " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * 读取一个对象
+     *
+     * @return 无法还原（如 UserInfo 编码格式已变化）时返回 null
+     */
+    public Object read(ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case INTEGER:
+                return in.getInt();
+            case LONG:
+                return in.getLong();
+            case USER_INFO:
+                return userInfoCodec.decode(readBytes(in));
+            case LIST:
+                int size = in.getInt();
+                List<Object> values = new ArrayList<>(size);
+                boolean complete = true;
+                for (int i = 0; i < size; i++) {
+                    Object element = read(in);
+                    complete &= element != null;
+                    values.add(element);
+                }
+                return complete ? values : null;
+            default:
+                throw new IllegalStateException("快照中未知的类型: " + type);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.springintegratecaffeine.cache.snapshot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * 参与快照的缓存
+ * 从 Caffeine 原生缓存读取最热的条目及其剩余存活时间，恢复时经 writer 写回（Spring 缓存会同时写入两级），
+ * 只写入缓存中还没有的键，不覆盖启动后已经写入的新值；
+ * 直接使用的 Caffeine 缓存按 {@link com.github.benmanes.caffeine.cache.Expiry} 过期时（如 {@link FixedWriteExpiry}），
+ * 恢复的条目只存活剩余的时间，其他缓存按自身的过期策略重新计时；
+ * 设置了 revalidator 时恢复前先用数据源中的当前值替换快照中的值
+ */
+public final class SnapshotTarget {
+
+    private final String name;
+
+    private final Cache<Object, Object> nativeCache;
+
+    private final BiConsumer<Object, Object> writer;
+
+    private final int limit;
+
+    private final BiFunction<Object, Object, Object> revalidator;
+
+    /**
+     * 是否直接写入 Caffeine 缓存；经 Spring 缓存写入时不能为单个条目指定存活时间
+     */
+    private final boolean direct;
+
+    private SnapshotTarget(String name, Cache<Object, Object> nativeCache, BiConsumer<Object, Object> writer, int limit,
+                           BiFunction<Object, Object, Object> revalidator, boolean direct) {
+        this.name = name;
+        this.nativeCache = nativeCache;
+        this.writer = writer;
+        this.limit = limit;
+        this.revalidator = revalidator;
+        this.direct = direct;
+    }
+
+    /**
+     * 直接使用的 Caffeine 缓存
+     */
+    @SuppressWarnings("unchecked")
+    public static SnapshotTarget of(String name, Cache<?, ?> cache, int limit) {
+        Cache<Object, Object> nativeCache = (Cache<Object, Object>) cache;
+        return new SnapshotTarget(name, nativeCache, nativeCache.asMap()::putIfAbsent, limit, null, true);
+    }
+
+    /**
+     * 以 Caffeine 为（一级）存储的 Spring 缓存，恢复时经 Spring 缓存写入
+     */
+    @SuppressWarnings("unchecked")
+    public static SnapshotTarget of(org.springframework.cache.Cache cache, int limit) {
+        if (!(cache.getNativeCache() instanceof Cache)) {
+            throw new IllegalArgumentException("缓存 " + cache.getName() + " 不是 Caffeine 缓存");
+        }
+        return new SnapshotTarget(cache.getName(), (Cache<Object, Object>) cache.getNativeCache(), cache::putIfAbsent, limit, null, false);
+    }
+
+    /**
+     * 恢复前按键和快照中的值从数据源取当前值，返回 null 表示数据已删除、不恢复该条目
+     * 旁路缓存的数据源比快照新，不重新校验会把快照之后更新或删除的数据重新放回缓存
+     */
+    public SnapshotTarget revalidatedBy(BiFunction<Object, Object, Object> revalidator) {
+        return new SnapshotTarget(name, nativeCache, writer, limit, revalidator, direct);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 按访问热度从高到低取最多 limit 个条目；不限容量的缓存没有热度顺序，按迭代顺序截取
+     */
+    Map<Object, Object> hottest() {
+        Optional<Policy.Eviction<Object, Object>> eviction = nativeCache.policy().eviction();
+        if (eviction.isPresent()) {
+            return eviction.get().hottest(limit);
+        }
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> entry : nativeCache.asMap().entrySet()) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        return entries;
+    }
+
+    /**
+     * 条目当前剩余的存活毫秒数，缓存没有过期策略时为 Long.MAX_VALUE，条目已不在缓存中时为 0
+     */
+    long remainingMillis(Object key) {
+        Policy<Object, Object> policy = nativeCache.policy();
+        Optional<Policy.VarExpiration<Object, Object>> variable = policy.expireVariably();
+        if (variable.isPresent()) {
+            OptionalLong remaining = variable.get().getExpiresAfter(key, TimeUnit.MILLISECONDS);
+            return remaining.isPresent() ? remaining.getAsLong() : 0;
+        }
+        Optional<Policy.FixedExpiration<Object, Object>> fixed = policy.expireAfterWrite();
+        if (!fixed.isPresent()) {
+            fixed = policy.expireAfterAccess();
+        }
+        if (!fixed.isPresent()) {
+            return Long.MAX_VALUE;
+        }
+        OptionalLong age = fixed.get().ageOf(key, TimeUnit.MILLISECONDS);
+        return age.isPresent() ? fixed.get().getExpiresAfter(TimeUnit.MILLISECONDS) - age.getAsLong() : 0;
+    }
+
+    /**
+     * 快照中的值在数据源中的当前值，没有 revalidator 时原样返回
+     */
+    Object revalidate(Object key, Object value) {
+        return revalidator == null ? value : revalidator.apply(key, value);
+    }
+
+    /**
+     * 写回条目，缓存支持按条目过期时只存活 remainingMillis
+     */
+    void restore(Object key, Object value, long remainingMillis) {
+        Optional<Policy.VarExpiration<Object, Object>> variable = nativeCache.policy().expireVariably();
+        if (direct && variable.isPresent() && remainingMillis != Long.MAX_VALUE) {
+            variable.get().putIfAbsent(key, value, remainingMillis, TimeUnit.MILLISECONDS);
+        } else {
+            writer.accept(key, value);
+        }
+    }
+}
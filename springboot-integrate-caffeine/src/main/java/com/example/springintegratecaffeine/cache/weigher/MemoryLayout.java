@@ -0,0 +1,121 @@
+package com.example.springintegratecaffeine.cache.weigher;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 当前 JVM 的对象内存布局参数
+ * 从 HotSpot 诊断 MXBean 读取压缩指针与对齐设置，读取失败时按 64 位、开启压缩指针的默认布局估算
+ */
+@Slf4j
+public final class MemoryLayout {
+
+    private final int objectHeaderSize;
+
+    private final int arrayHeaderSize;
+
+    private final int referenceSize;
+
+    private final int alignment;
+
+    private final boolean compactStrings;
+
+    public MemoryLayout(int objectHeaderSize, int arrayHeaderSize, int referenceSize, int alignment,
+                        boolean compactStrings) {
+        this.objectHeaderSize = objectHeaderSize;
+        this.arrayHeaderSize = arrayHeaderSize;
+        this.referenceSize = referenceSize;
+        this.alignment = alignment;
+        this.compactStrings = compactStrings;
+    }
+
+    public static MemoryLayout current() {
+        if ("32".equals(System.getProperty("sun.arch.data.model"))) {
+            return new MemoryLayout(8, 12, 4, 8, compactStringsEnabled(null));
+        }
+        HotSpotDiagnosticMXBean hotSpot = null;
+        try {
+            hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        } catch (RuntimeException | LinkageError e) {
+            log.warn("无法读取 HotSpot 内存布局参数，按默认布局估算对象大小: {}", e.getMessage());
+        }
+        boolean compressedOops = booleanOption(hotSpot, "UseCompressedOops", true);
+        boolean compressedClassPointers = booleanOption(hotSpot, "UseCompressedClassPointers", compressedOops);
+        int alignment = intOption(hotSpot, "ObjectAlignmentInBytes", 8);
+        // 对象头 = mark word（8 字节）+ 类指针；数组头再加 4 字节长度
+        int objectHeader = compressedClassPointers ? 12 : 16;
+        MemoryLayout layout = new MemoryLayout(objectHeader, objectHeader + 4, compressedOops ? 4 : 8, alignment,
+                compactStringsEnabled(hotSpot));
+        log.info("对象内存布局: {}", layout);
+        return layout;
+    }
+
+    public int getObjectHeaderSize() {
+        return objectHeaderSize;
+    }
+
+    public int getArrayHeaderSize() {
+        return arrayHeaderSize;
+    }
+
+    public int getReferenceSize() {
+        return referenceSize;
+    }
+
+    public int getAlignment() {
+        return alignment;
+    }
+
+    /**
+     * JDK 9+ 的紧凑字符串：仅含 Latin-1 字符的字符串每个字符占 1 字节
+     */
+    public boolean isCompactStrings() {
+        return compactStrings;
+    }
+
+    public long align(long size) {
+        long mask = alignment - 1;
+        return (size + mask) & ~mask;
+    }
+
+    /**
+     * 数组实际占用：数组头 + 元素，整体对齐
+     */
+    public long arraySize(int length, int elementSize) {
+        return align(arrayHeaderSize + (long) length * elementSize);
+    }
+
+    @Override
+    public String toString() {
+        return "objectHeader=" + objectHeaderSize + ", arrayHeader=" + arrayHeaderSize
+                + ", reference=" + referenceSize + ", alignment=" + alignment + ", compactStrings=" + compactStrings;
+    }
+
+    private static boolean compactStringsEnabled(HotSpotDiagnosticMXBean hotSpot) {
+        // JDK 8 的 String 以 char[] 存储，此标志不存在
+        return booleanOption(hotSpot, "CompactStrings", true);
+    }
+
+    private static boolean booleanOption(HotSpotDiagnosticMXBean hotSpot, String name, boolean defaultValue) {
+        String value = option(hotSpot, name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    private static int intOption(HotSpotDiagnosticMXBean hotSpot, String name, int defaultValue) {
+        String value = option(hotSpot, name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static String option(HotSpotDiagnosticMXBean hotSpot, String name) {
+        if (hotSpot == null) {
+            return null;
+        }
+        try {
+            return hotSpot.getVMOption(name).getValue();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
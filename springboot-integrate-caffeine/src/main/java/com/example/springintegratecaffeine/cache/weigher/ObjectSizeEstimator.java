@@ -0,0 +1,281 @@
+package com.example.springintegratecaffeine.cache.weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象深度大小估算器
+ * 类的浅大小按字段布局（对象头 + 各字段宽度，整体对齐）计算一次后缓存，之后每次估算只做加法，不分配对象；
+ * 按运行时类型选择估算方式：注册的 {@link TypeSizeEstimator} 优先，其次是 String、装箱类型、java.time、集合、数组的内置估算，
+ * 其余类型只计浅大小。JVM 共享的实例（枚举常量、装箱缓存中的小整数）不归属于缓存条目，按 0 计
+ */
+public class ObjectSizeEstimator {
+
+    private static final TypeSizeEstimator<Object> SHARED = (value, sizes) -> 0;
+
+    private final MemoryLayout layout;
+
+    private final Map<Class<?>, Long> shallowSizes = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, TypeSizeEstimator<Object>> estimators = new ConcurrentHashMap<>();
+
+    private final long stringShallowSize;
+
+    /**
+     * JDK 9+ 的 String 用 byte[] 存储，JDK 8 用 char[]
+     */
+    private final boolean byteArrayStrings;
+
+    private final long hashMapNodeSize;
+
+    public ObjectSizeEstimator(MemoryLayout layout) {
+        this.layout = layout;
+        this.stringShallowSize = shallowSizeOf(String.class);
+        this.byteArrayStrings = stringValueType() == byte[].class;
+        this.hashMapNodeSize = hashMapNodeSize();
+    }
+
+    /**
+     * 注册类型估算器，精确匹配运行时类型；应在缓存开始称重前注册
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ObjectSizeEstimator register(Class<T> type, TypeSizeEstimator<? super T> estimator) {
+        estimators.put(type, (TypeSizeEstimator<Object>) estimator);
+        return this;
+    }
+
+    public MemoryLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * 按运行时类型估算深度大小
+     */
+    public long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        Class<?> type = value.getClass();
+        TypeSizeEstimator<Object> estimator = estimators.get(type);
+        if (estimator == null) {
+            estimator = estimators.computeIfAbsent(type, this::builtinEstimator);
+        }
+        return estimator.estimate(value, this);
+    }
+
+    public long sizeOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = value.length();
+        if (!byteArrayStrings) {
+            return stringShallowSize + layout.arraySize(length, 2);
+        }
+        boolean latin1 = layout.isCompactStrings() && isLatin1(value);
+        return stringShallowSize + layout.arraySize(length, latin1 ? 1 : 2);
+    }
+
+    public long sizeOf(Integer value) {
+        if (value == null || (value >= -128 && value <= 127)) {
+            return 0;
+        }
+        return shallowSizeOf(Integer.class);
+    }
+
+    public long sizeOf(Long value) {
+        if (value == null || (value >= -128 && value <= 127)) {
+            return 0;
+        }
+        return shallowSizeOf(Long.class);
+    }
+
+    public long sizeOf(Double value) {
+        return value == null ? 0 : shallowSizeOf(Double.class);
+    }
+
+    public long sizeOf(LocalDateTime value) {
+        return value == null ? 0
+                : shallowSizeOf(LocalDateTime.class) + shallowSizeOf(LocalDate.class) + shallowSizeOf(LocalTime.class);
+    }
+
+    /**
+     * 列表：列表对象 + 与元素个数等长的引用数组 + 各元素；ArrayList 扩容留下的空余容量不计
+     */
+    public long sizeOf(List<?> list) {
+        if (list == null) {
+            return 0;
+        }
+        int size = list.size();
+        long total = shallowSizeOf(list.getClass()) + layout.arraySize(size, layout.getReferenceSize());
+        if (list instanceof RandomAccess) {
+            for (int i = 0; i < size; i++) {
+                total += sizeOf(list.get(i));
+            }
+        } else {
+            for (Object element : list) {
+                total += sizeOf(element);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 其他集合按数组型集合估算
+     */
+    public long sizeOf(Collection<?> collection) {
+        if (collection == null) {
+            return 0;
+        }
+        long total = shallowSizeOf(collection.getClass())
+                + layout.arraySize(collection.size(), layout.getReferenceSize());
+        for (Object element : collection) {
+            total += sizeOf(element);
+        }
+        return total;
+    }
+
+    /**
+     * 映射按 HashMap 估算：桶数组（负载因子 0.75）+ 每个条目一个节点
+     */
+    public long sizeOf(Map<?, ?> map) {
+        if (map == null) {
+            return 0;
+        }
+        int size = map.size();
+        long total = shallowSizeOf(map.getClass()) + size * hashMapNodeSize;
+        if (size > 0) {
+            total += layout.arraySize(tableSizeFor((int) (size / 0.75f) + 1), layout.getReferenceSize());
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            total += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+        }
+        return total;
+    }
+
+    /**
+     * 类的浅大小：对象头 + 本类及父类全部实例字段，整体对齐
+     */
+    public long shallowSizeOf(Class<?> type) {
+        Long size = shallowSizes.get(type);
+        if (size == null) {
+            size = shallowSizes.computeIfAbsent(type, this::computeShallowSize);
+        }
+        return size;
+    }
+
+    private long computeShallowSize(Class<?> type) {
+        long size = layout.getObjectHeaderSize();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += fieldSize(field.getType());
+                }
+            }
+        }
+        return layout.align(size);
+    }
+
+    private TypeSizeEstimator<Object> builtinEstimator(Class<?> type) {
+        if (type == String.class) {
+            return (value, sizes) -> sizes.sizeOf((String) value);
+        }
+        if (type == Integer.class) {
+            return (value, sizes) -> sizes.sizeOf((Integer) value);
+        }
+        if (type == Long.class) {
+            return (value, sizes) -> sizes.sizeOf((Long) value);
+        }
+        if (type == Boolean.class || type == Byte.class || type.isEnum()
+                || (type.getSuperclass() != null && type.getSuperclass().isEnum())) {
+            return SHARED;
+        }
+        if (type == LocalDateTime.class) {
+            return (value, sizes) -> sizes.sizeOf((LocalDateTime) value);
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return (value, sizes) -> sizes.sizeOf((List<?>) value);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return (value, sizes) -> sizes.sizeOf((Collection<?>) value);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return (value, sizes) -> sizes.sizeOf((Map<?, ?>) value);
+        }
+        if (type.isArray()) {
+            return arrayEstimator(type.getComponentType());
+        }
+        long shallow = shallowSizeOf(type);
+        return (value, sizes) -> shallow;
+    }
+
+    private TypeSizeEstimator<Object> arrayEstimator(Class<?> componentType) {
+        if (componentType.isPrimitive()) {
+            int elementSize = fieldSize(componentType);
+            return (value, sizes) -> layout.arraySize(Array.getLength(value), elementSize);
+        }
+        return (value, sizes) -> {
+            Object[] array = (Object[]) value;
+            long total = layout.arraySize(array.length, layout.getReferenceSize());
+            for (Object element : array) {
+                total += sizes.sizeOf(element);
+            }
+            return total;
+        };
+    }
+
+    private int fieldSize(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return layout.getReferenceSize();
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private long hashMapNodeSize() {
+        try {
+            return shallowSizeOf(Class.forName("java.util.HashMap$Node"));
+        } catch (ClassNotFoundException e) {
+            // hash、key、value、next
+            return layout.align(layout.getObjectHeaderSize() + 4 + 3L * layout.getReferenceSize());
+        }
+    }
+
+    private static Class<?> stringValueType() {
+        try {
+            return String.class.getDeclaredField("value").getType();
+        } catch (NoSuchFieldException e) {
+            return byte[].class;
+        }
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return Math.max(n, 16);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.springintegratecaffeine.cache.weigher;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 以字节为权重的 Caffeine 称重器
+ * 权重 = 键与值的估算深度大小，Caffeine 自身的节点开销不计入；
+ * 抽样率大于 0 时，约每 sampleRate 次称重用 JOL 遍历对象图测量一次实际大小，累计估算误差供校验
+ */
+@Slf4j
+public class ObjectSizeWeigher implements Weigher<Object, Object> {
+
+    private final ObjectSizeEstimator estimator;
+
+    private final int sampleRate;
+
+    private long sampleCount;
+
+    private long estimatedBytes;
+
+    private long measuredBytes;
+
+    private double totalErrorRatio;
+
+    private double maxErrorRatio;
+
+    /**
+     * @param sampleRate 抽样间隔，0 表示不抽样
+     */
+    public ObjectSizeWeigher(ObjectSizeEstimator estimator, int sampleRate) {
+        this.estimator = estimator;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long size = estimator.sizeOf(key) + estimator.sizeOf(value);
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            validate(key, value, size);
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 抽样校验结果：估算与实测的总字节数、平均和最大相对误差
+     */
+    public synchronized Map<String, Object> validationStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sampleRate", sampleRate);
+        stats.put("sampleCount", sampleCount);
+        stats.put("estimatedBytes", estimatedBytes);
+        stats.put("measuredBytes", measuredBytes);
+        stats.put("meanError", String.format("%.2f%%", sampleCount == 0 ? 0.0 : totalErrorRatio / sampleCount * 100));
+        stats.put("maxError", String.format("%.2f%%", maxErrorRatio * 100));
+        stats.put("layout", estimator.getLayout().toString());
+        return stats;
+    }
+
+    private void validate(Object key, Object value, long estimated) {
+        long measured;
+        try {
+            measured = measure(key, value);
+        } catch (RuntimeException | LinkageError e) {
+            log.warn("权重抽样测量失败: {}", e.toString());
+            return;
+        }
+        double error = measured == 0 ? 0.0 : Math.abs(estimated - measured) / (double) measured;
+        synchronized (this) {
+            sampleCount++;
+            estimatedBytes += estimated;
+            measuredBytes += measured;
+            totalErrorRatio += error;
+            maxErrorRatio = Math.max(maxErrorRatio, error);
+        }
+        log.debug("权重抽样 - 类型: {}, 估算: {} 字节, 实测: {} 字节",
+                value.getClass().getSimpleName(), estimated, measured);
+    }
+
+    /**
+     * 实测键值独占的字节数：与共享对象（枚举常量、装箱缓存）一起遍历的总量减去共享对象自身的总量，
+     * 两次遍历不依赖对象地址，期间发生 GC 也不影响结果
+     */
+    private static long measure(Object key, Object value) {
+        GraphLayout graph = GraphLayout.parseInstance(key, value);
+        List<Object> shared = sharedRoots(graph.getClasses());
+        if (shared.isEmpty()) {
+            return graph.totalSize();
+        }
+        Object[] sharedRoots = shared.toArray();
+        shared.add(key);
+        shared.add(value);
+        return GraphLayout.parseInstance(shared.toArray()).totalSize()
+                - GraphLayout.parseInstance(sharedRoots).totalSize();
+    }
+
+    private static List<Object> sharedRoots(Set<Class<?>> classes) {
+        List<Object> roots = new ArrayList<>();
+        for (Class<?> type : classes) {
+            Class<?> enumType = type.isEnum() ? type
+                    : (type.getSuperclass() != null && type.getSuperclass().isEnum() ? type.getSuperclass() : null);
+            if (enumType != null) {
+                roots.addAll(Arrays.asList(enumType.getEnumConstants()));
+            } else if (type == Integer.class) {
+                for (int i = -128; i <= 127; i++) {
+                    roots.add(Integer.valueOf(i));
+                }
+            } else if (type == Long.class) {
+                for (long i = -128; i <= 127; i++) {
+                    roots.add(Long.valueOf(i));
+                }
+            } else if (type == Boolean.class) {
+                roots.add(Boolean.TRUE);
+                roots.add(Boolean.FALSE);
+            }
+        }
+        return roots;
+    }
+}
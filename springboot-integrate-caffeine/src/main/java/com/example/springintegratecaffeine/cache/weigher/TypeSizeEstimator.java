@@ -0,0 +1,16 @@
+package com.example.springintegratecaffeine.cache.weigher;
+
+/**
+ * 单个类型的深度大小估算
+ * 实现按字段逐个累加，字段值的大小交给 {@link ObjectSizeEstimator} 的类型化方法计算，不应分配对象
+ *
+ * @param <T> 被估算的类型
+ */
+@FunctionalInterface
+public interface TypeSizeEstimator<T> {
+
+    /**
+     * 估算 value 及其独占引用对象的总字节数
+     */
+    long estimate(T value, ObjectSizeEstimator sizes);
+}
@@ -0,0 +1,28 @@
+package com.example.springintegratecaffeine.cache.weigher;
+
+import com.example.springintegratecaffeine.entity.UserInfo;
+
+/**
+ * UserInfo 深度大小估算
+ * 浅大小来自字段布局，逐字段加上字符串、装箱数值、时间和列表的大小；status 为共享的枚举常量，不计入
+ */
+public class UserInfoSizeEstimator implements TypeSizeEstimator<UserInfo> {
+
+    @Override
+    public long estimate(UserInfo user, ObjectSizeEstimator sizes) {
+        return sizes.shallowSizeOf(UserInfo.class)
+                + sizes.sizeOf(user.getId())
+                + sizes.sizeOf(user.getName())
+                + sizes.sizeOf(user.getSex())
+                + sizes.sizeOf(user.getAge())
+                + sizes.sizeOf(user.getEmail())
+                + sizes.sizeOf(user.getPhone())
+                + sizes.sizeOf(user.getDepartment())
+                + sizes.sizeOf(user.getPosition())
+                + sizes.sizeOf(user.getSalary())
+                + sizes.sizeOf(user.getHireDate())
+                + sizes.sizeOf(user.getLastLoginTime())
+                + sizes.sizeOf(user.getTags())
+                + sizes.sizeOf(user.getPermissions());
+    }
+}
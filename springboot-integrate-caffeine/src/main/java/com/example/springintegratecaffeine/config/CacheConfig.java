@@ -1,19 +1,45 @@
 package com.example.springintegratecaffeine.config;
 
+import com.example.springintegratecaffeine.cache.BatchingCacheLoader;
+import com.example.springintegratecaffeine.cache.CaffeineNativeCacheMeterBinderProvider;
+import com.example.springintegratecaffeine.cache.CoalescingCacheMetrics;
+import com.example.springintegratecaffeine.cache.CoalescingCaffeineCacheManager;
+import com.example.springintegratecaffeine.cache.TieredCacheManager;
+import com.example.springintegratecaffeine.cache.TieredCacheMetrics;
+import com.example.springintegratecaffeine.cache.UserInfoCodec;
+import com.example.springintegratecaffeine.cache.snapshot.FixedWriteExpiry;
+import com.example.springintegratecaffeine.cache.weigher.MemoryLayout;
+import com.example.springintegratecaffeine.cache.weigher.ObjectSizeEstimator;
+import com.example.springintegratecaffeine.cache.weigher.ObjectSizeWeigher;
+import com.example.springintegratecaffeine.cache.weigher.UserInfoSizeEstimator;
+import com.example.springintegratecaffeine.entity.UserInfo;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalListener;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Caffeine 缓存配置类
@@ -31,8 +57,8 @@ public class CacheConfig {
     @Bean("basicCache")
     public Cache<String, Object> basicCache() {
         return Caffeine.newBuilder()
-                // 设置最后一次写入后经过固定时间过期
-                .expireAfterWrite(5, TimeUnit.MINUTES)
+                // 最后一次写入后经过固定时间过期；用 Expiry 表达，快照恢复时可以按条目剩余的存活时间写回
+                .expireAfter(new FixedWriteExpiry<String, Object>(Duration.ofMinutes(5)))
                 // 初始的缓存空间大小
                 .initialCapacity(100)
                 // 缓存的最大条数
@@ -63,6 +89,69 @@ public class CacheConfig {
                 });
     }
     
+    /**
+     * 缓存加载专用执行器
+     * 线程数和队列都有上限，饱和时拒绝新的加载而不是无限排队
+     */
+    @Bean(name = "cacheLoaderExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor cacheLoaderExecutor(
+            @Value("${cache.async-loading.executor-threads:4}") int threads,
+            @Value("${cache.async-loading.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-loader-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 合并加载器：并发的单键未命中与后台刷新在批次窗口内合并为一次批量加载
+     */
+    @Bean(destroyMethod = "close")
+    public BatchingCacheLoader<String, String> batchingCacheLoader(
+            @Qualifier("cacheLoaderExecutor") ThreadPoolExecutor cacheLoaderExecutor,
+            @Value("${cache.async-loading.batch-window:5ms}") Duration batchWindow,
+            @Value("${cache.async-loading.max-batch-size:100}") int maxBatchSize) {
+        return new BatchingCacheLoader<>(CacheConfig::loadValues, cacheLoaderExecutor,
+                batchWindow.toNanos(), TimeUnit.NANOSECONDS, maxBatchSize);
+    }
+
+    /**
+     * 异步自动加载缓存
+     * 写入 1 分钟后的读取触发后台刷新，读取方直接拿到当前值；10 分钟未刷新才过期
+     */
+    @Bean("asyncLoadingCache")
+    public AsyncLoadingCache<String, String> asyncLoadingCache(BatchingCacheLoader<String, String> batchingCacheLoader) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .maximumSize(500)
+                .recordStats()
+                .buildAsync(batchingCacheLoader);
+    }
+
+    /**
+     * 模拟后端批量查询：一次调用耗时 100ms，与键的个数无关
+     */
+    private static Map<String, String> loadValues(Set<String> keys) {
+        log.info("Bulk loading {} keys", keys.size());
+        try {
+            Thread.sleep(100); // 模拟IO操作
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("加载被中断", e);
+        }
+        Map<String, String> values = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            values.put(key, "Loaded value for " + key);
+        }
+        return values;
+    }
+    
     /**
      * 访问后过期缓存
      * 演示不同的过期策略
@@ -78,21 +167,38 @@ public class CacheConfig {
                 .build();
     }
     
+    /**
+     * 对象大小估算器
+     * 按当前 JVM 的内存布局计算，UserInfo 使用专用估算器
+     */
+    @Bean
+    public ObjectSizeEstimator objectSizeEstimator() {
+        return new ObjectSizeEstimator(MemoryLayout.current())
+                .register(UserInfo.class, new UserInfoSizeEstimator());
+    }
+
+    /**
+     * 以字节为单位的称重器，sample-rate 大于 0 时抽样用 JOL 校验估算误差
+     */
+    @Bean
+    public ObjectSizeWeigher objectSizeWeigher(ObjectSizeEstimator objectSizeEstimator,
+                                               @Value("${cache.weight.sample-rate:0}") int sampleRate) {
+        return new ObjectSizeWeigher(objectSizeEstimator, sampleRate);
+    }
+
     /**
      * 基于权重的缓存
-     * 演示基于内存大小的缓存管理
+     * 演示基于内存大小的缓存管理，权重为键值的估算字节数
      */
     @Bean("weightCache")
-    public Cache<String, Object> weightCache() {
+    public Cache<String, Object> weightCache(ObjectSizeWeigher objectSizeWeigher,
+                                             @Value("${cache.weight.maximum-weight:64KB}") DataSize maximumWeight) {
         return Caffeine.newBuilder()
                 .expireAfterWrite(1, TimeUnit.HOURS)
-                // 设置最大权重而不是最大数量
-                .maximumWeight(10_000)
-                // 权重计算器
-                .weigher((String key, Object value) -> {
-                    // 简单的权重计算：字符串长度
-                    return key.length() + value.toString().length();
-                })
+                // 设置最大权重（字节）而不是最大数量
+                .maximumWeight(maximumWeight.toBytes())
+                // 权重计算器：按字段布局估算的深度大小
+                .weigher(objectSizeWeigher)
                 .recordStats()
                 .build();
     }
@@ -122,34 +228,90 @@ public class CacheConfig {
     
     /**
      * 用户信息专用缓存管理器
-     * 针对用户数据的特殊配置
+     * 一级为堆内 Caffeine（最多 2000 条），二级为堆外存储，一级淘汰的用户仍可从堆外取回，避免大工作集常驻堆内
+     * tieredDemo 只供两级缓存演示写入样例用户
      */
     @Bean("userCacheManager")
-    public CacheManager userCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("userInfo", "userList");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
+    public TieredCacheManager userCacheManager(
+            @Value("${cache.tiered.offheap.capacity:256MB}") DataSize offHeapCapacity,
+            @Value("${cache.tiered.offheap.segments:16}") int offHeapSegments) {
+        Caffeine<Object, Object> heapSpec = Caffeine.newBuilder()
                 .expireAfterWrite(15, TimeUnit.MINUTES)
                 .maximumSize(2000)
                 .recordStats()
                 .removalListener((RemovalListener<Object, Object>) (key, value, cause) -> 
-                    log.info("用户缓存移除 - Key: {}, Cause: {}", key, cause)));
+                    log.info("用户缓存移除 - Key: {}, Cause: {}", key, cause));
+        TieredCacheManager cacheManager = new TieredCacheManager(heapSpec, offHeapCapacity.toBytes(),
+                offHeapSegments, 15, TimeUnit.MINUTES, new UserInfoCodec(), "userInfo", "userList", "tieredDemo");
+        // 合并 @Cacheable(sync = true) 同一个键的并发未命中
+        cacheManager.setCoalescing(true);
         return cacheManager;
     }
+
+    /**
+     * 包装过的缓存（合并加载、依赖跟踪、两级缓存）按原生 Caffeine 缓存绑定 cache.* 指标
+     */
+    @Bean
+    public CaffeineNativeCacheMeterBinderProvider caffeineNativeCacheMeterBinderProvider() {
+        return new CaffeineNativeCacheMeterBinderProvider();
+    }
+
+    /**
+     * 两级缓存的分层命中率、堆外占用等指标（cache.tier.*、cache.offheap.*）
+     */
+    @Bean
+    public TieredCacheMetrics userCacheTierMetrics(@Qualifier("userCacheManager") TieredCacheManager userCacheManager) {
+        return new TieredCacheMetrics(userCacheManager);
+    }
+
+    /**
+     * 合并加载指标（cache.coalescing.*）
+     */
+    @Bean
+    public CoalescingCacheMetrics userCacheCoalescingMetrics(@Qualifier("userCacheManager") TieredCacheManager userCacheManager) {
+        return new CoalescingCacheMetrics("userCacheManager", userCacheManager);
+    }
+
+    @Bean
+    public CoalescingCacheMetrics shortTermCacheCoalescingMetrics(@Qualifier("shortTermCacheManager") CacheManager shortTermCacheManager) {
+        return new CoalescingCacheMetrics("shortTermCacheManager", shortTermCacheManager);
+    }
     
     /**
      * 短期缓存管理器
      * 用于临时数据缓存
      */
     @Bean("shortTermCacheManager")
-    public CacheManager shortTermCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    public CoalescingCaffeineCacheManager shortTermCacheManager() {
+        CoalescingCaffeineCacheManager cacheManager = new CoalescingCaffeineCacheManager();
+        // 用户列表登记所含的用户 ID，单个用户变更时只清除包含它的列表
+        cacheManager.setDependencyExtractor(CacheConfig::userIds);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(5, TimeUnit.MINUTES)
                 .maximumSize(500)
-                .recordStats());
+                .recordStats()
+                .removalListener(cacheManager::onRemoval));
         return cacheManager;
     }
 
+    /**
+     * 集合中的 UserInfo ID，其他值没有依赖
+     */
+    private static int[] userIds(Object value) {
+        if (!(value instanceof Collection)) {
+            return new int[0];
+        }
+        Collection<?> values = (Collection<?>) value;
+        int[] ids = new int[values.size()];
+        int n = 0;
+        for (Object element : values) {
+            if (element instanceof UserInfo && ((UserInfo) element).getId() != null) {
+                ids[n++] = ((UserInfo) element).getId();
+            }
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
     /**
      * 缓存统计信息获取方法
      */
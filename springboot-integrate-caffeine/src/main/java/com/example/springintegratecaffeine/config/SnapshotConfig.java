@@ -0,0 +1,61 @@
+package com.example.springintegratecaffeine.config;
+
+import com.example.springintegratecaffeine.cache.snapshot.CacheSnapshotManager;
+import com.example.springintegratecaffeine.cache.snapshot.SnapshotTarget;
+import com.example.springintegratecaffeine.entity.UserInfo;
+import com.example.springintegratecaffeine.store.UserInfoStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * 缓存快照配置
+ * 重启后 basicCache 从快照预热，不必全部回源；其中的用户按 UserInfoStore 的当前数据恢复。
+ * userCacheManager 的缓存不参与快照：它们背后是 AutoUserInfoServiceImpl 的内存数据，重启后重新初始化，
+ * 快照中的用户与之无法对应
+ */
+@Configuration
+public class SnapshotConfig {
+
+    /**
+     * 快照管理器，file 为空时不读写快照
+     */
+    @Bean
+    public CacheSnapshotManager cacheSnapshotManager(
+            @Qualifier("basicCache") Cache<String, Object> basicCache,
+            UserInfoStore userInfoStore,
+            @Value("${cache.snapshot.file:}") String file,
+            @Value("${cache.snapshot.max-entries:10000}") int maxEntries,
+            @Value("${cache.snapshot.restore-threads:4}") int restoreThreads,
+            @Value("${cache.snapshot.min-remaining-ttl:PT1M}") Duration minRemainingTtl) {
+        return new CacheSnapshotManager(StringUtils.hasText(file) ? Paths.get(file) : null,
+                Collections.singletonList(
+                        SnapshotTarget.of("basicCache", basicCache, maxEntries)
+                                .revalidatedBy((key, value) -> currentUser(userInfoStore, key, value))),
+                restoreThreads, minRemainingTtl.toMillis());
+    }
+
+    /**
+     * UserInfoServiceImpl 以用户 ID 为键缓存 UserInfo，按 ID 从存储读取当前值（已删除时为 null）；
+     * 其他条目是演示写入的数据，没有数据源，原样恢复
+     */
+    private static Object currentUser(UserInfoStore userInfoStore, Object key, Object value) {
+        if (!(value instanceof UserInfo) || !(key instanceof String)) {
+            return value;
+        }
+        int id;
+        try {
+            id = Integer.parseInt((String) key);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+        return userInfoStore.findById(id);
+    }
+}
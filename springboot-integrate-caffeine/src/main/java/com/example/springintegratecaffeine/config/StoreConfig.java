@@ -0,0 +1,26 @@
+package com.example.springintegratecaffeine.config;
+
+import com.example.springintegratecaffeine.store.UserInfoStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+
+/**
+ * 存储配置
+ * UserInfoServiceImpl 旁路缓存背后的“数据库”
+ */
+@Configuration
+public class StoreConfig {
+
+    /**
+     * 用户信息存储，journal 为空时只存内存，重启后数据丢失
+     */
+    @Bean(destroyMethod = "close")
+    public UserInfoStore userInfoStore(@Value("${store.user-info.journal:}") String journal,
+                                       @Value("${store.user-info.segments:16}") int segments) {
+        return new UserInfoStore(segments, StringUtils.hasText(journal) ? Paths.get(journal) : null);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.springintegratecaffeine.controller;
 
+import com.example.springintegratecaffeine.benchmark.BenchmarkOptions;
+import com.example.springintegratecaffeine.benchmark.KeyDistribution;
+import com.example.springintegratecaffeine.service.CacheBenchmarkService;
 import com.example.springintegratecaffeine.service.CacheService;
 import com.example.springintegratecaffeine.service.PerformanceTestService;
 import com.example.springintegratecaffeine.service.CacheMonitoringService;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +35,9 @@ public class CacheController {
     @Resource
     private PerformanceTestService performanceTestService;
 
+    @Resource
+    private CacheBenchmarkService cacheBenchmarkService;
+
     @Resource
     private CacheMonitoringService cacheMonitoringService;
 
@@ -58,6 +65,24 @@ public class CacheController {
         }
     }
 
+    @Operation(summary = "异步自动加载缓存演示", description = "演示并发未命中合并批量加载、getAll 批量加载与后台刷新")
+    @PostMapping("/demo/async-loading")
+    public ResponseEntity<Map<String, Object>> asyncLoadingCacheDemo(
+            @Parameter(description = "每个阶段使用的键数", example = "50")
+            @RequestParam(defaultValue = "50") int keyCount) {
+        try {
+            if (keyCount <= 0 || keyCount > 10000) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(cacheService.asyncLoadingCacheDemo(keyCount));
+        } catch (Exception e) {
+            log.error("异步自动加载缓存演示失败", e);
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorMap);
+        }
+    }
+
     @Operation(summary = "访问时间缓存演示", description = "演示基于访问时间的缓存过期策略")
     @PostMapping("/demo/access")
     public ResponseEntity<String> accessCacheDemo() {
@@ -82,6 +107,75 @@ public class CacheController {
         }
     }
 
+    @Operation(summary = "两级缓存演示", description = "写入超过一级容量的用户后全部读回，观察堆外二级命中与提升")
+    @PostMapping("/demo/tiered")
+    public ResponseEntity<Map<String, Object>> tieredCacheDemo(
+            @Parameter(description = "写入的用户数，大于一级容量 2000 时才会落到二级", example = "5000")
+            @RequestParam(defaultValue = "5000") int userCount) {
+        try {
+            if (userCount <= 0 || userCount > 1000000) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(cacheService.tieredCacheDemo(userCount));
+        } catch (Exception e) {
+            log.error("两级缓存演示失败", e);
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorMap);
+        }
+    }
+
+    @Operation(summary = "两级缓存统计", description = "获取用户缓存一级（堆内）与二级（堆外）各自的命中率和占用")
+    @GetMapping("/tiered/statistics")
+    public ResponseEntity<Map<String, Object>> getTieredCacheStatistics() {
+        try {
+            return ResponseEntity.ok(cacheService.getTieredCacheStatistics());
+        } catch (Exception e) {
+            log.error("获取两级缓存统计失败", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(summary = "合并加载演示", description = "失效用户 1 后并发查询，观察同一个键的并发未命中只执行一次加载")
+    @PostMapping("/demo/coalescing")
+    public ResponseEntity<Map<String, Object>> coalescingDemo(
+            @Parameter(description = "并发请求数", example = "50")
+            @RequestParam(defaultValue = "50") int concurrency) {
+        try {
+            if (concurrency <= 0 || concurrency > 500) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(cacheService.coalescingDemo(concurrency));
+        } catch (Exception e) {
+            log.error("合并加载演示失败", e);
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorMap);
+        }
+    }
+
+    @Operation(summary = "合并加载统计", description = "获取各缓存实际执行的加载次数与合并省下的加载次数")
+    @GetMapping("/coalescing/statistics")
+    public ResponseEntity<Map<String, Object>> getCoalescingStatistics() {
+        try {
+            return ResponseEntity.ok(cacheService.getCoalescingStatistics());
+        } catch (Exception e) {
+            log.error("获取合并加载统计失败", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(summary = "依赖索引统计", description = "获取部门列表缓存登记的用户依赖与按用户失效的次数")
+    @GetMapping("/dependencies/statistics")
+    public ResponseEntity<Map<String, Object>> getDependencyStatistics() {
+        try {
+            return ResponseEntity.ok(cacheService.getDependencyStatistics());
+        } catch (Exception e) {
+            log.error("获取依赖索引统计失败", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @Operation(summary = "获取缓存统计信息", description = "获取所有缓存的详细统计信息")
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getCacheStatistics() {
@@ -192,6 +286,50 @@ public class CacheController {
         }
     }
 
+    @Operation(summary = "多线程基准测试", description = "预热后按指定线程数、读写比例和键分布测量各缓存的吞吐与延迟分位数（纳秒）")
+    @PostMapping("/performance/benchmark")
+    public ResponseEntity<Map<String, Object>> benchmark(
+            @Parameter(description = "并发线程数", example = "4")
+            @RequestParam(defaultValue = "4") int threads,
+            @Parameter(description = "读操作占比（0-100）", example = "80")
+            @RequestParam(defaultValue = "80") int readPercent,
+            @Parameter(description = "键空间大小", example = "10000")
+            @RequestParam(defaultValue = "10000") int keySpace,
+            @Parameter(description = "键分布：UNIFORM 或 ZIPFIAN", example = "ZIPFIAN")
+            @RequestParam(defaultValue = "ZIPFIAN") KeyDistribution distribution,
+            @Parameter(description = "预热时长（秒）", example = "2")
+            @RequestParam(defaultValue = "2") int warmupSeconds,
+            @Parameter(description = "测量时长（秒）", example = "5")
+            @RequestParam(defaultValue = "5") int measurementSeconds,
+            @Parameter(description = "被测缓存：basicCache、accessCache、weightCache、cacheManager，不传则全部测量")
+            @RequestParam(required = false) List<String> targets) {
+        try {
+            if (threads <= 0 || threads > 256 || keySpace <= 0 || keySpace > 10_000_000
+                    || warmupSeconds < 0 || warmupSeconds > 60
+                    || measurementSeconds <= 0 || measurementSeconds > 300) {
+                return ResponseEntity.badRequest().build();
+            }
+            BenchmarkOptions options = BenchmarkOptions.builder()
+                    .threads(threads)
+                    .readPercent(readPercent)
+                    .keySpace(keySpace)
+                    .distribution(distribution)
+                    .warmupSeconds(warmupSeconds)
+                    .measurementSeconds(measurementSeconds)
+                    .build();
+            return ResponseEntity.ok(cacheBenchmarkService.runBenchmark(options, targets));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorMap);
+        } catch (Exception e) {
+            log.error("多线程基准测试失败", e);
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorMap);
+        }
+    }
+
     @Operation(summary = "实时监控数据", description = "获取所有缓存的实时监控指标")
     @GetMapping("/monitoring/realtime")
     public ResponseEntity<Map<String, Object>> getRealTimeMetrics() {
@@ -206,12 +344,21 @@ public class CacheController {
         }
     }
 
-    @Operation(summary = "历史监控数据", description = "获取缓存的历史监控数据")
+    @Operation(summary = "历史监控数据", description = "获取缓存最近若干个采样（每 30 秒一个，最多保留 1 小时）")
     @GetMapping("/monitoring/history")
-    public ResponseEntity<Map<String, Object>> getHistoricalMetrics() {
+    public ResponseEntity<Map<String, Object>> getHistoricalMetrics(
+            @Parameter(description = "缓存名称，为空时返回全部缓存", example = "basic")
+            @RequestParam(required = false) String cacheName,
+            @Parameter(description = "最近的采样个数", example = "120")
+            @RequestParam(defaultValue = "120") int window) {
         try {
+            if (window <= 0) {
+                return ResponseEntity.badRequest().build();
+            }
             Map<String, Object> metrics = new HashMap<>();
-            metrics.put("history", cacheMonitoringService.getHistoricalMetrics());
+            metrics.put("history", cacheName == null
+                    ? cacheMonitoringService.getHistoricalMetrics(window)
+                    : cacheMonitoringService.getCacheHistory(cacheName, window));
             return ResponseEntity.ok(metrics);
         } catch (Exception e) {
             log.error("获取历史监控数据失败", e);
@@ -235,6 +382,19 @@ public class CacheController {
         }
     }
 
+    @Operation(summary = "预热状态", description = "获取启动时从快照恢复的条目数、预热耗时与最近一次快照")
+    @GetMapping("/monitoring/warmup")
+    public ResponseEntity<Map<String, Object>> getWarmUpStatus() {
+        try {
+            return ResponseEntity.ok(cacheMonitoringService.getWarmUpStatus());
+        } catch (Exception e) {
+            log.error("获取预热状态失败", e);
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(errorMap);
+        }
+    }
+
     @Operation(summary = "性能指标", description = "获取所有缓存的性能指标")
     @GetMapping("/monitoring/metrics")
     public ResponseEntity<Map<String, Object>> getAllCacheMetrics() {
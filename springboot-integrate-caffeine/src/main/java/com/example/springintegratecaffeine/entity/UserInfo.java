@@ -81,20 +81,4 @@ public class UserInfo {
             return description;
         }
     }
-    
-    /**
-     * 计算对象大小（用于权重缓存演示）
-     */
-    public int calculateSize() {
-        int size = 0;
-        if (name != null) size += name.length() * 2; // Unicode字符
-        if (email != null) size += email.length();
-        if (phone != null) size += phone.length();
-        if (department != null) size += department.length() * 2;
-        if (position != null) size += position.length() * 2;
-        if (tags != null) size += tags.stream().mapToInt(String::length).sum() * 2;
-        if (permissions != null) size += permissions.stream().mapToInt(String::length).sum();
-        size += 100; // 基础对象大小
-        return size;
-    }
 }
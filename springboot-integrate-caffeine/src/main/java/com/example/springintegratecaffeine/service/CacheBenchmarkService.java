@@ -0,0 +1,117 @@
+package com.example.springintegratecaffeine.service;
+
+import com.example.springintegratecaffeine.benchmark.BenchmarkOptions;
+import com.example.springintegratecaffeine.benchmark.BenchmarkResult;
+import com.example.springintegratecaffeine.benchmark.BenchmarkTarget;
+import com.example.springintegratecaffeine.benchmark.BenchmarkWorkload;
+import com.example.springintegratecaffeine.benchmark.CacheBenchmark;
+import com.example.springintegratecaffeine.config.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 缓存基准测试服务
+ * 在同一份预生成负载下依次测量 basicCache、accessCache、weightCache 和 Spring CacheManager 路径。
+ * 每次测量按 {@link CacheConfig} 中相同的配置新建缓存实例（与 springboot-benchmarks 的 CacheWorkloadBenchmark 一致），
+ * 不读写容器中的缓存 Bean：basicCache 承载 UserInfoServiceImpl 的数据与快照，测试流量也不计入监控告警使用的命中率和淘汰数
+ */
+@Slf4j
+@Service
+public class CacheBenchmarkService {
+
+    /**
+     * Spring CacheManager 路径使用的缓存名称
+     */
+    private static final String CACHE_MANAGER_CACHE_NAME = "benchmark";
+
+    /**
+     * 只用于按相同配置构建缓存，直接实例化，不是容器中的配置类
+     */
+    private final CacheConfig cacheSpecs = new CacheConfig();
+
+    @Value("${cache.weight.maximum-weight:64KB}")
+    private DataSize weightCacheMaximumWeight;
+
+    /**
+     * 被测缓存名称 → 每次测量新建的缓存
+     */
+    private final Map<String, Supplier<BenchmarkTarget>> targets = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void initTargets() {
+        targets.put("basicCache", () -> BenchmarkTarget.of("basicCache", cacheSpecs.basicCache()));
+        targets.put("accessCache", () -> BenchmarkTarget.of("accessCache", cacheSpecs.accessCache()));
+        // 称重器不抽样校验，JOL 测量的开销不计入测试结果
+        targets.put("weightCache", () -> BenchmarkTarget.of("weightCache", cacheSpecs.weightCache(
+                cacheSpecs.objectSizeWeigher(cacheSpecs.objectSizeEstimator(), 0), weightCacheMaximumWeight)));
+        targets.put("cacheManager", () -> BenchmarkTarget.of("cacheManager", cacheSpecs.cacheManager(),
+                CACHE_MANAGER_CACHE_NAME));
+    }
+
+    /**
+     * 可用的被测缓存名称
+     */
+    public List<String> getTargetNames() {
+        return new ArrayList<>(targets.keySet());
+    }
+
+    /**
+     * 执行基准测试
+     * 同一时刻只允许一组测试运行，避免多组测试争抢 CPU 互相干扰
+     *
+     * @param options     测试参数
+     * @param targetNames 被测缓存，为空时测量全部
+     */
+    public synchronized Map<String, Object> runBenchmark(BenchmarkOptions options, List<String> targetNames) {
+        validate(options);
+        List<String> names = targetNames == null || targetNames.isEmpty() ? getTargetNames() : targetNames;
+        for (String name : names) {
+            if (!targets.containsKey(name)) {
+                throw new IllegalArgumentException("未知的被测缓存: " + name + "，可选: " + targets.keySet());
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        BenchmarkWorkload workload = BenchmarkWorkload.generate(options.getKeySpace(),
+                options.getDistribution(), options.getReadPercent(), options.getSeed());
+        CacheBenchmark benchmark = new CacheBenchmark(workload, options);
+        List<BenchmarkResult> results = new ArrayList<>(names.size());
+        for (String name : names) {
+            results.add(benchmark.run(targets.get(name).get()));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("latencyUnit", "ns");
+        report.put("results", results);
+        report.put("durationMs", System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private void validate(BenchmarkOptions options) {
+        if (options.getThreads() <= 0) {
+            throw new IllegalArgumentException("线程数必须大于 0");
+        }
+        if (options.getReadPercent() < 0 || options.getReadPercent() > 100) {
+            throw new IllegalArgumentException("读操作占比必须在 0-100 之间");
+        }
+        if (options.getKeySpace() <= 0) {
+            throw new IllegalArgumentException("键空间必须大于 0");
+        }
+        if (options.getDistribution() == null) {
+            throw new IllegalArgumentException("键分布不能为空");
+        }
+        if (options.getWarmupSeconds() < 0 || options.getMeasurementSeconds() <= 0) {
+            throw new IllegalArgumentException("预热时长不能为负，测量时长必须大于 0");
+        }
+    }
+}
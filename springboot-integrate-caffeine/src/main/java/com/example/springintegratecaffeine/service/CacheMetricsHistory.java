@@ -0,0 +1,162 @@
+package com.example.springintegratecaffeine.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个缓存的监控历史，定长环形缓冲
+ * 每个指标一个基本类型数组，写满后覆盖最早的采样，占用与运行时长无关；
+ * 每秒命中、加载、淘汰次数在采样时按与上一个采样的差值算好，查询最近 n 个采样只访问这 n 个槽位
+ */
+final class CacheMetricsHistory {
+
+    private final long[] timestamps;
+
+    private final long[] sizes;
+
+    private final long[] hitCounts;
+
+    private final long[] missCounts;
+
+    private final long[] loadCounts;
+
+    private final long[] loadFailureCounts;
+
+    private final long[] totalLoadTimes;
+
+    private final long[] evictionCounts;
+
+    private final double[] hitsPerSecond;
+
+    private final double[] loadsPerSecond;
+
+    private final double[] evictionsPerSecond;
+
+    /**
+     * 下一个写入的槽位
+     */
+    private int next;
+
+    private int count;
+
+    CacheMetricsHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("历史容量必须大于 0");
+        }
+        timestamps = new long[capacity];
+        sizes = new long[capacity];
+        hitCounts = new long[capacity];
+        missCounts = new long[capacity];
+        loadCounts = new long[capacity];
+        loadFailureCounts = new long[capacity];
+        totalLoadTimes = new long[capacity];
+        evictionCounts = new long[capacity];
+        hitsPerSecond = new double[capacity];
+        loadsPerSecond = new double[capacity];
+        evictionsPerSecond = new double[capacity];
+    }
+
+    /**
+     * 记录一次采样
+     */
+    synchronized void record(long timestampMillis, long size, CacheStats stats) {
+        int slot = next;
+        timestamps[slot] = timestampMillis;
+        sizes[slot] = size;
+        hitCounts[slot] = stats.hitCount();
+        missCounts[slot] = stats.missCount();
+        loadCounts[slot] = stats.loadCount();
+        loadFailureCounts[slot] = stats.loadFailureCount();
+        totalLoadTimes[slot] = stats.totalLoadTime();
+        evictionCounts[slot] = stats.evictionCount();
+        if (count > 0) {
+            int previous = previous(slot);
+            long elapsedMillis = timestampMillis - timestamps[previous];
+            hitsPerSecond[slot] = rate(hitCounts[slot] - hitCounts[previous], elapsedMillis);
+            loadsPerSecond[slot] = rate(loadCounts[slot] - loadCounts[previous], elapsedMillis);
+            evictionsPerSecond[slot] = rate(evictionCounts[slot] - evictionCounts[previous], elapsedMillis);
+        } else {
+            hitsPerSecond[slot] = 0;
+            loadsPerSecond[slot] = 0;
+            evictionsPerSecond[slot] = 0;
+        }
+        next = slot + 1 == timestamps.length ? 0 : slot + 1;
+        if (count < timestamps.length) {
+            count++;
+        }
+    }
+
+    /**
+     * 最近 window 个采样，按时间从早到晚
+     */
+    synchronized List<CacheMonitoringService.CacheMetricsSnapshot> latest(String cacheName, int window) {
+        int n = Math.min(Math.max(window, 0), count);
+        List<CacheMonitoringService.CacheMetricsSnapshot> snapshots = new ArrayList<>(n);
+        int slot = next - n;
+        if (slot < 0) {
+            slot += timestamps.length;
+        }
+        for (int i = 0; i < n; i++) {
+            snapshots.add(snapshot(cacheName, slot));
+            slot = slot + 1 == timestamps.length ? 0 : slot + 1;
+        }
+        return snapshots;
+    }
+
+    /**
+     * 最近一个采样，没有采样时为 null
+     */
+    synchronized CacheMonitoringService.CacheMetricsSnapshot last(String cacheName) {
+        return count == 0 ? null : snapshot(cacheName, previous(next));
+    }
+
+    synchronized void clear() {
+        next = 0;
+        count = 0;
+    }
+
+    int capacity() {
+        return timestamps.length;
+    }
+
+    private CacheMonitoringService.CacheMetricsSnapshot snapshot(String cacheName, int slot) {
+        long hits = hitCounts[slot];
+        long misses = missCounts[slot];
+        long requests = hits + misses;
+        long loads = loadCounts[slot];
+        return CacheMonitoringService.CacheMetricsSnapshot.builder()
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamps[slot]), ZoneId.systemDefault()))
+                .cacheName(cacheName)
+                .size(sizes[slot])
+                .hitCount(hits)
+                .missCount(misses)
+                .hitRate(requests == 0 ? 1.0 : (double) hits / requests)
+                .missRate(requests == 0 ? 0.0 : (double) misses / requests)
+                .loadCount(loads)
+                .loadExceptionCount(loadFailureCounts[slot])
+                .totalLoadTime(totalLoadTimes[slot])
+                .averageLoadPenalty(loads == 0 ? 0.0 : totalLoadTimes[slot] / (double) loads / 1_000_000.0)
+                .evictionCount(evictionCounts[slot])
+                .requestCount(requests)
+                .hitsPerSecond(hitsPerSecond[slot])
+                .loadsPerSecond(loadsPerSecond[slot])
+                .evictionsPerSecond(evictionsPerSecond[slot])
+                .build();
+    }
+
+    private int previous(int slot) {
+        return slot == 0 ? timestamps.length - 1 : slot - 1;
+    }
+
+    /**
+     * 缓存被重建时计数会归零，差值为负按 0 处理
+     */
+    private static double rate(long delta, long elapsedMillis) {
+        return delta <= 0 || elapsedMillis <= 0 ? 0.0 : delta * 1000.0 / elapsedMillis;
+    }
+}
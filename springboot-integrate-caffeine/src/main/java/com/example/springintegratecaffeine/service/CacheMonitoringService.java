@@ -1,11 +1,19 @@
 package com.example.springintegratecaffeine.service;
 
+import com.example.springintegratecaffeine.cache.snapshot.CacheSnapshotManager;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +23,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存监控服务
@@ -40,18 +49,42 @@ public class CacheMonitoringService {
     @Qualifier("weightCache")
     private Cache<String, Object> weightCache;
 
+    @Resource
+    @Qualifier("asyncLoadingCache")
+    private AsyncLoadingCache<String, String> asyncLoadingCache;
+
+    @Resource
+    private CacheSnapshotManager cacheSnapshotManager;
+
+    @Resource
+    private CacheSnapshotService cacheSnapshotService;
+
     private final MeterRegistry meterRegistry;
+
+    private final Map<String, CacheManager> cacheManagers;
+
+    private final CacheMetricsRegistrar cacheMetricsRegistrar;
+
+    // 采集间隔与历史保留时长：每个缓存固定保留最近 1 小时（120 个采样）
+    private static final long COLLECT_INTERVAL_MS = 30000;
+    private static final int HISTORY_CAPACITY = (int) (TimeUnit.HOURS.toMillis(1) / COLLECT_INTERVAL_MS);
     
-    // 历史监控数据存储
-    private final Map<String, List<CacheMetricsSnapshot>> metricsHistory = new ConcurrentHashMap<>();
+    // 历史监控数据存储，每个缓存一个定长环形缓冲
+    private final Map<String, CacheMetricsHistory> metricsHistory = new ConcurrentHashMap<>();
+
+    // 已绑定 Micrometer 指标的缓存管理器中的缓存（管理器 bean 名:缓存名）
+    private final Set<String> boundCaches = ConcurrentHashMap.newKeySet();
     
     // 告警阈值配置
     private static final double LOW_HIT_RATE_THRESHOLD = 0.7; // 70%
-    private static final long HIGH_EVICTION_THRESHOLD = 100;
+    private static final long HIGH_EVICTION_THRESHOLD = 100; // 每个采集周期
     private static final double HIGH_LOAD_TIME_THRESHOLD = 100.0; // 100ms
 
-    public CacheMonitoringService(MeterRegistry meterRegistry) {
+    public CacheMonitoringService(MeterRegistry meterRegistry, Map<String, CacheManager> cacheManagers,
+                                  CacheMetricsRegistrar cacheMetricsRegistrar) {
         this.meterRegistry = meterRegistry;
+        this.cacheManagers = cacheManagers;
+        this.cacheMetricsRegistrar = cacheMetricsRegistrar;
     }
 
     @PostConstruct
@@ -63,23 +96,98 @@ public class CacheMonitoringService {
         registerCacheMetrics("loading", loadingCache);
         registerCacheMetrics("access", accessCache);
         registerCacheMetrics("weight", weightCache);
+        CaffeineCacheMetrics.monitor(meterRegistry, asyncLoadingCache, "asyncLoading");
+        bindManagedCaches();
+        registerWarmUpMetrics();
         
         log.info("缓存监控指标初始化完成");
     }
 
     /**
-     * 注册缓存指标到 Micrometer
+     * 注册缓存指标到 Micrometer（cache.gets、cache.puts、cache.evictions、cache.size 等，按 cache 标签区分）
      */
     private void registerCacheMetrics(String cacheName, Cache<?, ?> cache) {
-        // 简化的指标注册，避免复杂的 Micrometer API 问题
         log.info("注册缓存指标: {}", cacheName);
-        // 实际的指标注册可以通过 Spring Boot Actuator 自动完成
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+        metricsHistory.computeIfAbsent(cacheName, k -> new CacheMetricsHistory(HISTORY_CAPACITY));
+    }
+
+    /**
+     * 为缓存管理器中尚未绑定的缓存注册指标
+     * Actuator 只在启动时绑定已存在的缓存，CaffeineCacheManager 按需创建的缓存在这里补上，最迟延后一个采集周期
+     */
+    private void bindManagedCaches() {
+        cacheManagers.forEach((beanName, cacheManager) -> {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                if (!boundCaches.add(beanName + ":" + cacheName)) {
+                    continue;
+                }
+                org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null && cacheMetricsRegistrar.bindCacheToRegistry(cache,
+                        Tag.of("cache.manager", cacheManagerTag(beanName)))) {
+                    log.info("注册缓存指标: {}.{}", beanName, cacheName);
+                }
+            }
+        });
+    }
+
+    /**
+     * 与 Actuator 一致，管理器标签为去掉 CacheManager 后缀的 bean 名
+     */
+    private static String cacheManagerTag(String beanName) {
+        String suffix = "cachemanager";
+        if (beanName.length() > suffix.length() && beanName.toLowerCase().endsWith(suffix)) {
+            return beanName.substring(0, beanName.length() - suffix.length());
+        }
+        return beanName;
+    }
+
+    /**
+     * 启动预热指标：各缓存从快照恢复的条目数（cache.warmup.restored）与预热耗时（cache.warmup.duration）
+     */
+    private void registerWarmUpMetrics() {
+        for (String cacheName : cacheSnapshotManager.getCacheNames()) {
+            Gauge.builder("cache.warmup.restored", this, service -> service.restoredEntries(cacheName))
+                    .tag("cache", cacheName)
+                    .description("启动时从快照恢复的条目数")
+                    .register(meterRegistry);
+        }
+        TimeGauge.builder("cache.warmup.duration", this, TimeUnit.MILLISECONDS,
+                        service -> service.warmUpReportValue("durationMs"))
+                .description("启动时恢复快照的耗时")
+                .register(meterRegistry);
+    }
+
+    private double restoredEntries(String cacheName) {
+        Map<String, Object> restore = cacheSnapshotManager.getLastRestore();
+        if (restore == null) {
+            return 0;
+        }
+        Object entries = ((Map<?, ?>) restore.get("entries")).get(cacheName);
+        return entries == null ? 0 : ((Number) entries).doubleValue();
+    }
+
+    private double warmUpReportValue(String name) {
+        Map<String, Object> restore = cacheSnapshotManager.getLastRestore();
+        return restore == null ? 0 : ((Number) restore.get(name)).doubleValue();
+    }
+
+    /**
+     * 预热与快照状态
+     */
+    public Map<String, Object> getWarmUpStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", cacheSnapshotManager.isEnabled());
+        status.put("warmedUp", cacheSnapshotService.isWarmedUp());
+        status.put("lastRestore", cacheSnapshotManager.getLastRestore());
+        status.put("lastSnapshot", cacheSnapshotManager.getLastSnapshot());
+        return status;
     }
 
     /**
      * 定时收集监控数据
      */
-    @Scheduled(fixedRate = 30000) // 每30秒收集一次
+    @Scheduled(fixedRate = COLLECT_INTERVAL_MS) // 每30秒收集一次
     public void collectMetrics() {
         log.debug("收集缓存监控数据...");
         
@@ -87,36 +195,21 @@ public class CacheMonitoringService {
         collectCacheMetrics("loading", loadingCache);
         collectCacheMetrics("access", accessCache);
         collectCacheMetrics("weight", weightCache);
-        
-        // 清理过期的历史数据（保留最近1小时）
-        cleanupOldMetrics();
+
+        bindManagedCaches();
     }
 
     /**
      * 收集单个缓存的指标
      */
     private void collectCacheMetrics(String cacheName, Cache<?, ?> cache) {
-        CacheStats stats = cache.stats();
-        CacheMetricsSnapshot snapshot = CacheMetricsSnapshot.builder()
-                .timestamp(LocalDateTime.now())
-                .cacheName(cacheName)
-                .size(cache.estimatedSize())
-                .hitCount(stats.hitCount())
-                .missCount(stats.missCount())
-                .hitRate(stats.hitRate())
-                .missRate(stats.missRate())
-                .loadCount(stats.loadCount())
-                .totalLoadTime(stats.totalLoadTime())
-                .averageLoadPenalty(stats.averageLoadPenalty() / 1_000_000.0) // 转换为毫秒
-                .evictionCount(stats.evictionCount())
-                .requestCount(stats.requestCount())
-                .build();
-
-        // 存储到历史数据
-        metricsHistory.computeIfAbsent(cacheName, k -> new ArrayList<>()).add(snapshot);
+        CacheMetricsHistory history = metricsHistory.computeIfAbsent(cacheName,
+                k -> new CacheMetricsHistory(HISTORY_CAPACITY));
+        // 每秒命中、加载、淘汰次数在写入时按与上一个采样的差值算出
+        history.record(System.currentTimeMillis(), cache.estimatedSize(), cache.stats());
         
         // 检查告警条件
-        checkAlerts(snapshot);
+        checkAlerts(history.last(cacheName));
     }
 
     /**
@@ -132,14 +225,10 @@ public class CacheMonitoringService {
         }
         
         // 检查淘汰次数过高
-        List<CacheMetricsSnapshot> history = metricsHistory.get(cacheName);
-        if (history != null && history.size() >= 2) {
-            CacheMetricsSnapshot previous = history.get(history.size() - 2);
-            long evictionDelta = snapshot.getEvictionCount() - previous.getEvictionCount();
-            if (evictionDelta > HIGH_EVICTION_THRESHOLD) {
-                log.warn("缓存 {} 淘汰次数过高: {} 次/30秒 (阈值: {} 次/30秒)", 
-                        cacheName, evictionDelta, HIGH_EVICTION_THRESHOLD);
-            }
+        long evictionDelta = Math.round(snapshot.getEvictionsPerSecond() * COLLECT_INTERVAL_MS / 1000.0);
+        if (evictionDelta > HIGH_EVICTION_THRESHOLD) {
+            log.warn("缓存 {} 淘汰次数过高: {} 次/30秒 (阈值: {} 次/30秒)", 
+                    cacheName, evictionDelta, HIGH_EVICTION_THRESHOLD);
         }
         
         // 检查平均加载时间过长
@@ -149,17 +238,6 @@ public class CacheMonitoringService {
         }
     }
 
-    /**
-     * 清理过期的历史数据
-     */
-    private void cleanupOldMetrics() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
-        
-        metricsHistory.forEach((cacheName, snapshots) -> {
-            snapshots.removeIf(snapshot -> snapshot.getTimestamp().isBefore(cutoff));
-        });
-    }
-
     /**
      * 定时输出缓存统计报告
      */
@@ -199,6 +277,7 @@ public class CacheMonitoringService {
         metrics.put("loading", getCurrentMetrics("loading", loadingCache));
         metrics.put("access", getCurrentMetrics("access", accessCache));
         metrics.put("weight", getCurrentMetrics("weight", weightCache));
+        metrics.put("warmUp", getWarmUpStatus());
         
         metrics.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         metrics.put("systemInfo", getSystemInfo());
@@ -227,17 +306,34 @@ public class CacheMonitoringService {
     }
 
     /**
-     * 获取历史监控数据
+     * 获取历史监控数据（全部保留的采样）
      */
     public Map<String, List<CacheMetricsSnapshot>> getHistoricalMetrics() {
-        return new HashMap<>(metricsHistory);
+        return getHistoricalMetrics(HISTORY_CAPACITY);
+    }
+
+    /**
+     * 获取各缓存最近 window 个采样
+     */
+    public Map<String, List<CacheMetricsSnapshot>> getHistoricalMetrics(int window) {
+        Map<String, List<CacheMetricsSnapshot>> history = new HashMap<>();
+        metricsHistory.forEach((cacheName, samples) -> history.put(cacheName, samples.latest(cacheName, window)));
+        return history;
     }
 
     /**
      * 获取指定缓存的历史数据
      */
     public List<CacheMetricsSnapshot> getCacheHistory(String cacheName) {
-        return metricsHistory.getOrDefault(cacheName, new ArrayList<>());
+        return getCacheHistory(cacheName, HISTORY_CAPACITY);
+    }
+
+    /**
+     * 获取指定缓存最近 window 个采样，按时间从早到晚
+     */
+    public List<CacheMetricsSnapshot> getCacheHistory(String cacheName, int window) {
+        CacheMetricsHistory history = metricsHistory.get(cacheName);
+        return history == null ? new ArrayList<>() : history.latest(cacheName, window);
     }
 
     /**
@@ -317,7 +413,7 @@ public class CacheMonitoringService {
         
         // 注意：Caffeine 不支持重置统计，只能通过重新创建缓存来实现
         // 这里我们清空历史数据
-        metricsHistory.clear();
+        metricsHistory.values().forEach(CacheMetricsHistory::clear);
         
         log.info("缓存统计重置完成");
     }
@@ -339,6 +435,9 @@ public class CacheMonitoringService {
         private double averageLoadPenalty;
         private long evictionCount;
         private long requestCount;
+        private double hitsPerSecond;
+        private double loadsPerSecond;
+        private double evictionsPerSecond;
 
         // Builder pattern
         public static CacheMetricsSnapshotBuilder builder() {
@@ -359,6 +458,9 @@ public class CacheMonitoringService {
         public double getAverageLoadPenalty() { return averageLoadPenalty; }
         public long getEvictionCount() { return evictionCount; }
         public long getRequestCount() { return requestCount; }
+        public double getHitsPerSecond() { return hitsPerSecond; }
+        public double getLoadsPerSecond() { return loadsPerSecond; }
+        public double getEvictionsPerSecond() { return evictionsPerSecond; }
 
         public static class CacheMetricsSnapshotBuilder {
             private CacheMetricsSnapshot snapshot = new CacheMetricsSnapshot();
@@ -428,6 +530,21 @@ public class CacheMonitoringService {
                 return this;
             }
 
+            public CacheMetricsSnapshotBuilder hitsPerSecond(double hitsPerSecond) {
+                snapshot.hitsPerSecond = hitsPerSecond;
+                return this;
+            }
+
+            public CacheMetricsSnapshotBuilder loadsPerSecond(double loadsPerSecond) {
+                snapshot.loadsPerSecond = loadsPerSecond;
+                return this;
+            }
+
+            public CacheMetricsSnapshotBuilder evictionsPerSecond(double evictionsPerSecond) {
+                snapshot.evictionsPerSecond = evictionsPerSecond;
+                return this;
+            }
+
             public CacheMetricsSnapshot build() {
                 return snapshot;
             }
@@ -1,17 +1,31 @@
 package com.example.springintegratecaffeine.service;
 
+import com.example.springintegratecaffeine.cache.BatchingCacheLoader;
+import com.example.springintegratecaffeine.cache.CoalescingCache;
+import com.example.springintegratecaffeine.cache.CoalescingCaffeineCacheManager;
+import com.example.springintegratecaffeine.cache.TieredCache;
+import com.example.springintegratecaffeine.cache.TieredCacheManager;
+import com.example.springintegratecaffeine.cache.weigher.ObjectSizeEstimator;
+import com.example.springintegratecaffeine.cache.weigher.ObjectSizeWeigher;
 import com.example.springintegratecaffeine.entity.UserInfo;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,6 +44,13 @@ public class CacheService {
     @Qualifier("loadingCache")
     private LoadingCache<String, String> loadingCache;
 
+    @Resource
+    @Qualifier("asyncLoadingCache")
+    private AsyncLoadingCache<String, String> asyncLoadingCache;
+
+    @Resource
+    private BatchingCacheLoader<String, String> batchingCacheLoader;
+
     @Resource
     @Qualifier("accessCache")
     private Cache<String, Object> accessCache;
@@ -38,6 +59,23 @@ public class CacheService {
     @Qualifier("weightCache")
     private Cache<String, Object> weightCache;
 
+    @Resource
+    @Qualifier("userCacheManager")
+    private TieredCacheManager userCacheManager;
+
+    @Resource
+    @Qualifier("shortTermCacheManager")
+    private CoalescingCaffeineCacheManager shortTermCacheManager;
+
+    @Resource
+    private AutoUserInfoService autoUserInfoService;
+
+    @Resource
+    private ObjectSizeEstimator objectSizeEstimator;
+
+    @Resource
+    private ObjectSizeWeigher objectSizeWeigher;
+
     /**
      * 基础缓存操作演示
      */
@@ -116,6 +154,54 @@ public class CacheService {
         log.info("自动加载缓存演示完成");
     }
 
+    /**
+     * 异步自动加载缓存演示
+     * 并发的单键未命中合并为少量批量加载，getAll 的缺失键一次加载，之后的读取走命中路径
+     */
+    public Map<String, Object> asyncLoadingCacheDemo(int keyCount) {
+        log.info("=== 异步自动加载缓存演示，键数: {} ===", keyCount);
+        long batchesBefore = batchingCacheLoader.getBatchCount();
+
+        // 1. 并发单键未命中：各自 get，批次窗口内的键合并为一次后端调用
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            futures.add(asyncLoadingCache.get("async:" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long concurrentMissMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long concurrentMissBatches = batchingCacheLoader.getBatchCount() - batchesBefore;
+
+        // 2. 批量获取：缺失的键一次加载
+        List<String> bulkKeys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            bulkKeys.add("bulk:" + i);
+        }
+        long batchesBeforeBulk = batchingCacheLoader.getBatchCount();
+        start = System.nanoTime();
+        asyncLoadingCache.getAll(bulkKeys).join();
+        long bulkLoadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long bulkLoadBatches = batchingCacheLoader.getBatchCount() - batchesBeforeBulk;
+
+        // 3. 命中路径
+        start = System.nanoTime();
+        for (int i = 0; i < keyCount; i++) {
+            asyncLoadingCache.get("async:" + i).join();
+        }
+        long hitMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("keyCount", keyCount);
+        result.put("concurrentMissTime", concurrentMissMs + "ms");
+        result.put("concurrentMissBackendCalls", concurrentMissBatches);
+        result.put("bulkLoadTime", bulkLoadMs + "ms");
+        result.put("bulkLoadBackendCalls", bulkLoadBatches);
+        result.put("hitTime", hitMicros + "μs");
+        result.put("loader", batchingCacheLoader.statistics());
+        log.info("异步自动加载缓存演示完成: {}", result);
+        return result;
+    }
+
     /**
      * 访问时间缓存演示
      */
@@ -174,8 +260,8 @@ public class CacheService {
         weightCache.put("small_user", smallUser);
         weightCache.put("large_user", largeUser);
         
-        log.info("小用户对象大小: {}", smallUser.calculateSize());
-        log.info("大用户对象大小: {}", largeUser.calculateSize());
+        log.info("小用户对象大小: {} 字节", objectSizeEstimator.sizeOf(smallUser));
+        log.info("大用户对象大小: {} 字节", objectSizeEstimator.sizeOf(largeUser));
         
         // 2. 添加更多数据直到触发驱逐
         for (int i = 3; i <= 100; i++) {
@@ -190,6 +276,123 @@ public class CacheService {
         log.info("权重缓存演示完成");
     }
 
+    /**
+     * 两级缓存演示
+     * 写入超过一级容量的用户，再全部读回：一级放不下的用户从堆外取回并提升到一级
+     * 演示数据写入独立的 tieredDemo 缓存，不会覆盖 userInfo 中真实的用户
+     */
+    public Map<String, Object> tieredCacheDemo(int userCount) {
+        log.info("=== 两级缓存演示，用户数: {} ===", userCount);
+
+        TieredCache userCache = userCacheManager.getTieredCache("tieredDemo");
+        userCache.clear();
+        for (int i = 1; i <= userCount; i++) {
+            userCache.put(i, createSampleUser(i));
+        }
+        int found = 0;
+        for (int i = 1; i <= userCount; i++) {
+            if (userCache.get(i, UserInfo.class) != null) {
+                found++;
+            }
+        }
+        log.info("读回用户 {} / {}", found, userCount);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("userCount", userCount);
+        result.put("found", found);
+        result.put("statistics", getTieredCacheStatistics());
+        return result;
+    }
+
+    /**
+     * 两级缓存分层统计：一级（堆内）、二级（堆外）各自的命中率与占用
+     */
+    public Map<String, Object> getTieredCacheStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        for (TieredCache cache : userCacheManager.getTieredCaches()) {
+            stats.put(cache.getName(), cache.statistics());
+        }
+        return stats;
+    }
+
+    /**
+     * 合并加载演示
+     * 失效用户 1 的缓存后同时发起 concurrency 个 getByName(1)，只有一个请求执行 100ms 的查询，其余等待同一个结果
+     */
+    public Map<String, Object> coalescingDemo(int concurrency) throws Exception {
+        log.info("=== 合并加载演示，并发请求数: {} ===", concurrency);
+
+        int userId = 1;
+        List<CoalescingCache> coalescingCaches = CoalescingCache.collect(userCacheManager);
+        CoalescingCache userCache = coalescingCaches.stream()
+                .filter(cache -> "userInfo".equals(cache.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("userCacheManager 未开启合并加载"));
+        userCache.evict(userId);
+        long loadsBefore = userCache.loadCount();
+        long coalescedBefore = userCache.coalescedLoadCount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UserInfo>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return autoUserInfoService.getByName(userId);
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            int found = 0;
+            for (Future<UserInfo> future : futures) {
+                if (future.get() != null) {
+                    found++;
+                }
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+            long loads = userCache.loadCount() - loadsBefore;
+            long coalesced = userCache.coalescedLoadCount() - coalescedBefore;
+            log.info("并发请求 {} 个，实际加载 {} 次，合并 {} 次，耗时 {}ms", concurrency, loads, coalesced, elapsedMs);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("concurrency", concurrency);
+            result.put("found", found);
+            result.put("loads", loads);
+            result.put("coalescedLoads", coalesced);
+            result.put("elapsedMs", elapsedMs);
+            result.put("statistics", getCoalescingStatistics());
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 合并加载统计：各缓存管理器中每个缓存实际执行和省下的加载次数
+     */
+    public Map<String, Object> getCoalescingStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("userCacheManager", coalescingStatistics(userCacheManager));
+        stats.put("shortTermCacheManager", coalescingStatistics(shortTermCacheManager));
+        return stats;
+    }
+
+    private static Map<String, Object> coalescingStatistics(CacheManager cacheManager) {
+        Map<String, Object> stats = new HashMap<>();
+        for (CoalescingCache cache : CoalescingCache.collect(cacheManager)) {
+            stats.put(cache.getName(), cache.statistics());
+        }
+        return stats;
+    }
+
+    /**
+     * 依赖索引统计：登记的列表条目数、被引用的用户数与按用户失效的次数
+     */
+    public Map<String, Object> getDependencyStatistics() {
+        return shortTermCacheManager.getDependencyStatistics();
+    }
+
     /**
      * 缓存统计信息演示
      */
@@ -218,6 +421,18 @@ public class CacheService {
         loadingCacheStats.put("loadCount", loadingStats.loadCount());
         loadingCacheStats.put("evictionCount", loadingStats.evictionCount());
         stats.put("loadingCache", loadingCacheStats);
+
+        // 异步自动加载缓存统计
+        CacheStats asyncLoadingStats = asyncLoadingCache.synchronous().stats();
+        Map<String, Object> asyncLoadingCacheStats = new HashMap<>();
+        asyncLoadingCacheStats.put("requestCount", asyncLoadingStats.requestCount());
+        asyncLoadingCacheStats.put("hitCount", asyncLoadingStats.hitCount());
+        asyncLoadingCacheStats.put("hitRate", String.format("%.2f%%", asyncLoadingStats.hitRate() * 100));
+        asyncLoadingCacheStats.put("missCount", asyncLoadingStats.missCount());
+        asyncLoadingCacheStats.put("loadCount", asyncLoadingStats.loadCount());
+        asyncLoadingCacheStats.put("evictionCount", asyncLoadingStats.evictionCount());
+        asyncLoadingCacheStats.put("loader", batchingCacheLoader.statistics());
+        stats.put("asyncLoadingCache", asyncLoadingCacheStats);
         
         // 访问缓存统计
         CacheStats accessStats = accessCache.stats();
@@ -237,6 +452,11 @@ public class CacheService {
         weightCacheStats.put("hitRate", String.format("%.2f%%", weightStats.hitRate() * 100));
         weightCacheStats.put("missCount", weightStats.missCount());
         weightCacheStats.put("evictionCount", weightStats.evictionCount());
+        weightCache.policy().eviction().ifPresent(eviction -> {
+            weightCacheStats.put("weightedSizeBytes", eviction.weightedSize().orElse(0L));
+            weightCacheStats.put("maximumWeightBytes", eviction.getMaximum());
+        });
+        weightCacheStats.put("weigherValidation", objectSizeWeigher.validationStatistics());
         stats.put("weightCache", weightCacheStats);
         
         return stats;
@@ -293,8 +513,10 @@ public class CacheService {
         
         basicCache.invalidateAll();
         loadingCache.invalidateAll();
+        asyncLoadingCache.synchronous().invalidateAll();
         accessCache.invalidateAll();
         weightCache.invalidateAll();
+        userCacheManager.getTieredCaches().forEach(TieredCache::clear);
         
         log.info("所有缓存已清理完成");
     }
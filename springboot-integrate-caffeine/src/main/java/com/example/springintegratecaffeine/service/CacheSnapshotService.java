@@ -0,0 +1,87 @@
+package com.example.springintegratecaffeine.service;
+
+import com.example.springintegratecaffeine.cache.snapshot.CacheSnapshotManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Map;
+
+/**
+ * 缓存预热与快照服务
+ * 启动时在 ApplicationRunner 中恢复快照，Spring Boot 在所有 runner 执行完后才把就绪状态置为 ACCEPTING_TRAFFIC，
+ * 因此 /actuator/health/readiness 通过时缓存已经预热；运行期定时写快照，停机时再写一次
+ */
+@Slf4j
+@Service
+public class CacheSnapshotService implements ApplicationRunner {
+
+    @Resource
+    private CacheSnapshotManager cacheSnapshotManager;
+
+    /**
+     * 预热完成前不写快照，避免用尚未预热的空缓存覆盖上一次的快照
+     */
+    private volatile boolean warmedUp;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!cacheSnapshotManager.isEnabled()) {
+            log.info("未配置缓存快照文件，跳过预热");
+            warmedUp = true;
+            return;
+        }
+        try {
+            if (cacheSnapshotManager.restore() == null) {
+                log.info("缓存快照不存在，以空缓存启动");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("缓存预热被中断");
+        } catch (Exception e) {
+            // 快照损坏或格式不兼容时以空缓存启动，下一次快照会覆盖它
+            log.warn("恢复缓存快照失败，以空缓存启动", e);
+        }
+        warmedUp = true;
+    }
+
+    /**
+     * 定时写快照
+     */
+    @Scheduled(initialDelayString = "${cache.snapshot.interval:PT5M}", fixedDelayString = "${cache.snapshot.interval:PT5M}")
+    public void scheduledSnapshot() {
+        if (warmedUp) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownSnapshot() {
+        if (warmedUp) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * 立即写出快照
+     */
+    public Map<String, Object> writeSnapshot() {
+        if (!cacheSnapshotManager.isEnabled()) {
+            return null;
+        }
+        try {
+            return cacheSnapshotManager.snapshot();
+        } catch (Exception e) {
+            log.warn("写出缓存快照失败", e);
+            return null;
+        }
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+}
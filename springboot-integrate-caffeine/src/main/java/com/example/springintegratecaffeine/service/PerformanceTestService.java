@@ -1,5 +1,6 @@
 package com.example.springintegratecaffeine.service;
 
+import com.example.springintegratecaffeine.benchmark.BenchmarkOptions;
 import com.example.springintegratecaffeine.entity.UserInfo;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Service;
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.*;
 import java.util.stream.IntStream;
 
 /**
@@ -36,9 +36,10 @@ public class PerformanceTestService {
 
     @Resource
     @Qualifier("weightCache")
-    private Cache<String, UserInfo> weightCache;
+    private Cache<String, Object> weightCache;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    @Resource
+    private CacheBenchmarkService cacheBenchmarkService;
 
     /**
      * 综合性能测试
@@ -180,99 +181,25 @@ public class PerformanceTestService {
 
     /**
      * 并发性能测试
+     * 委托给多线程基准测试：2 秒预热后测量 5 秒，读写比 80/20，Zipf 分布
      */
     public Map<String, Object> concurrencyPerformanceTest() {
         log.info("执行并发性能测试...");
-        
-        Map<String, Object> result = new HashMap<>();
-        int threadCount = 10;
-        int operationsPerThread = 1000;
-        
-        // 清空缓存
-        basicCache.invalidateAll();
-        
-        // 并发写入测试
-        CountDownLatch writeLatch = new CountDownLatch(threadCount);
-        long writeStartTime = System.nanoTime();
-        
-        for (int t = 0; t < threadCount; t++) {
-            final int threadId = t;
-            executorService.submit(() -> {
-                try {
-                    for (int i = 0; i < operationsPerThread; i++) {
-                        String key = "concurrent_write:" + threadId + ":" + i;
-                        UserInfo user = createTestUser(threadId * operationsPerThread + i);
-                        basicCache.put(key, user);
-                    }
-                } finally {
-                    writeLatch.countDown();
-                }
-            });
-        }
-        
-        try {
-            writeLatch.await();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        long writeEndTime = System.nanoTime();
-        long concurrentWriteTime = (writeEndTime - writeStartTime) / 1_000_000;
-        
-        // 并发读取测试
-        CountDownLatch readLatch = new CountDownLatch(threadCount);
-        long readStartTime = System.nanoTime();
-        
-        for (int t = 0; t < threadCount; t++) {
-            final int threadId = t;
-            executorService.submit(() -> {
-                try {
-                    for (int i = 0; i < operationsPerThread; i++) {
-                        String key = "concurrent_write:" + threadId + ":" + i;
-                        basicCache.getIfPresent(key);
-                    }
-                } finally {
-                    readLatch.countDown();
-                }
-            });
-        }
-        
-        try {
-            readLatch.await();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        long readEndTime = System.nanoTime();
-        long concurrentReadTime = (readEndTime - readStartTime) / 1_000_000;
-        
-        int totalOperations = threadCount * operationsPerThread;
-        CacheStats stats = basicCache.stats();
-        
-        result.put("threadCount", threadCount);
-        result.put("operationsPerThread", operationsPerThread);
-        result.put("totalOperations", totalOperations);
-        result.put("concurrentWriteTimeMs", concurrentWriteTime);
-        result.put("concurrentReadTimeMs", concurrentReadTime);
-        result.put("writeOpsPerSecond", totalOperations * 1000L / concurrentWriteTime);
-        result.put("readOpsPerSecond", totalOperations * 1000L / concurrentReadTime);
-        result.put("hitRate", stats.hitRate());
-        result.put("finalCacheSize", basicCache.estimatedSize());
-        
-        log.info("并发性能测试完成 - 写入: {}ms, 读取: {}ms", concurrentWriteTime, concurrentReadTime);
+        BenchmarkOptions options = BenchmarkOptions.builder().build();
+        Map<String, Object> result = cacheBenchmarkService.runBenchmark(options, Collections.singletonList("basicCache"));
+        log.info("并发性能测试完成");
         return result;
     }
 
     /**
      * 内存使用测试
+     * 以权重缓存的加权大小（称重器估算的字节数）衡量占用，不依赖 System.gc() 前后的堆使用差值
      */
     public Map<String, Object> memoryUsageTest() {
         log.info("执行内存使用测试...");
         
         Map<String, Object> result = new HashMap<>();
         
-        // 获取初始内存使用情况
-        Runtime runtime = Runtime.getRuntime();
-        long initialMemory = runtime.totalMemory() - runtime.freeMemory();
-        
         // 向权重缓存添加大量数据
         int testSize = 1000;
         weightCache.invalidateAll();
@@ -281,29 +208,27 @@ public class PerformanceTestService {
             UserInfo user = createLargeTestUser(i);
             weightCache.put("weight_test:" + i, user);
         }
+        // 执行挂起的维护任务（淘汰），使加权大小准确
+        weightCache.cleanUp();
         
-        // 强制垃圾回收
-        System.gc();
-        Thread.yield();
-        
-        // 获取使用后内存情况
-        long afterMemory = runtime.totalMemory() - runtime.freeMemory();
-        long memoryUsed = afterMemory - initialMemory;
-        
-        // 缓存统计
         CacheStats stats = weightCache.stats();
         long cacheSize = weightCache.estimatedSize();
+        long weightedSize = weightCache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        long maximumWeight = weightCache.policy().eviction()
+                .map(eviction -> eviction.getMaximum())
+                .orElse(0L);
         
         result.put("testSize", testSize);
-        result.put("initialMemoryMB", initialMemory / (1024 * 1024));
-        result.put("afterMemoryMB", afterMemory / (1024 * 1024));
-        result.put("memoryUsedMB", memoryUsed / (1024 * 1024));
-        result.put("memoryPerItemKB", memoryUsed / testSize / 1024);
         result.put("cacheSize", cacheSize);
+        result.put("weightedSizeBytes", weightedSize);
+        result.put("maximumWeightBytes", maximumWeight);
+        result.put("bytesPerItem", cacheSize == 0 ? 0 : weightedSize / cacheSize);
         result.put("evictionCount", stats.evictionCount());
         result.put("hitRate", stats.hitRate());
         
-        log.info("内存使用测试完成 - 使用内存: {}MB, 缓存大小: {}", memoryUsed / (1024 * 1024), cacheSize);
+        log.info("内存使用测试完成 - 加权大小: {} 字节, 缓存大小: {}", weightedSize, cacheSize);
         return result;
     }
 
@@ -437,19 +362,4 @@ public class PerformanceTestService {
         
         return metrics;
     }
-
-    /**
-     * 清理资源
-     */
-    public void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-    }
-}
+}
\ No newline at end of file
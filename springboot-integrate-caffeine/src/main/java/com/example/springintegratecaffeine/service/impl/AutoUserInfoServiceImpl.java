@@ -1,11 +1,15 @@
 package com.example.springintegratecaffeine.service.impl;
 
+import com.example.springintegratecaffeine.cache.CoalescingCaffeineCacheManager;
 import com.example.springintegratecaffeine.entity.UserInfo;
 import com.example.springintegratecaffeine.service.AutoUserInfoService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.*;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,6 +24,13 @@ import java.util.stream.Collectors;
 @CacheConfig(cacheNames = "userInfo", cacheManager = "userCacheManager")
 public class AutoUserInfoServiceImpl implements AutoUserInfoService {
 
+    /**
+     * 部门用户列表所在的缓存管理器，列表按所含的用户 ID 登记依赖
+     */
+    @Resource
+    @Qualifier("shortTermCacheManager")
+    private CoalescingCaffeineCacheManager shortTermCacheManager;
+
     // 模拟数据库
     private final Map<Integer, UserInfo> database = new ConcurrentHashMap<>();
     
@@ -39,14 +50,17 @@ public class AutoUserInfoServiceImpl implements AutoUserInfoService {
     public void addUserInfo(UserInfo userInfo) {
         log.info("添加用户信息：{}", userInfo.getName());
         database.put(userInfo.getId(), userInfo);
+        invalidateUserLists(userInfo.getId(), userInfo);
     }
 
     /**
      * 获取用户信息（接口方法名为 getByName 但参数是 ID）
-     * 使用 @Cacheable 注解，如果缓存中有数据则直接返回，否则执行方法并缓存结果
+     * 使用 @Cacheable 注解，如果缓存中有数据则直接返回，否则执行方法并缓存结果；
+     * sync = true 时同一个键的并发未命中只执行一次查询（见 CoalescingCache）。sync 不支持 unless，
+     * 由 CoalescingCache 跳过空结果，不存在的用户不缓存
      */
     @Override
-    @Cacheable(key = "#id", condition = "#id > 0", unless = "#result == null")
+    @Cacheable(key = "#id", condition = "#id > 0", sync = true)
     public UserInfo getByName(Integer id) {
         log.info("从数据库查询用户信息，用户ID：{}", id);
         
@@ -71,7 +85,7 @@ public class AutoUserInfoServiceImpl implements AutoUserInfoService {
      * 根据用户名获取用户信息
      * 演示复杂的缓存键生成
      */
-    @Cacheable(key = "'name:' + #name", condition = "#name != null and #name.length() > 0")
+    @Cacheable(key = "'name:' + #name", condition = "#name != null and #name.length() > 0", sync = true)
     public UserInfo getByUserName(String name) {
         log.info("根据用户名查询用户信息：{}", name);
         
@@ -93,7 +107,8 @@ public class AutoUserInfoServiceImpl implements AutoUserInfoService {
      */
     @Cacheable(key = "'list:' + #department + ':' + #status", 
                condition = "#department != null",
-               cacheManager = "shortTermCacheManager")
+               cacheManager = "shortTermCacheManager",
+               sync = true)
     public List<UserInfo> getUsersByDepartment(String department, UserInfo.UserStatus status) {
         log.info("查询部门用户列表，部门：{}，状态：{}", department, status);
         
@@ -121,6 +136,7 @@ public class AutoUserInfoServiceImpl implements AutoUserInfoService {
         
         // 模拟数据库更新
         database.put(userInfo.getId(), userInfo);
+        invalidateUserLists(userInfo.getId(), userInfo);
         
         return userInfo;
     }
@@ -134,6 +150,27 @@ public class AutoUserInfoServiceImpl implements AutoUserInfoService {
     public void deleteById(Integer id) {
         log.info("删除用户信息，用户ID：{}", id);
         database.remove(id);
+        invalidateUserLists(id, null);
+    }
+
+    /**
+     * 用户变更后清除受影响的部门列表
+     * 已包含该用户的列表按依赖索引精确清除；用户可能因新增或更换部门、状态加入新的列表，
+     * 这些列表还没有登记该用户，按变更后的部门和状态清除
+     */
+    private void invalidateUserLists(Integer id, UserInfo current) {
+        if (id == null) {
+            return;
+        }
+        int invalidated = shortTermCacheManager.invalidateDependents(id);
+        if (current != null && current.getDepartment() != null) {
+            Cache listCache = shortTermCacheManager.getCache("userInfo");
+            if (listCache != null) {
+                listCache.evict("list:" + current.getDepartment() + ":" + current.getStatus());
+                listCache.evict("list:" + current.getDepartment() + ":null");
+            }
+        }
+        log.debug("用户 {} 变更，清除 {} 个包含该用户的列表", id, invalidated);
     }
 
     /**
@@ -2,87 +2,122 @@ package com.example.springintegratecaffeine.service.impl;
 
 import com.example.springintegratecaffeine.entity.UserInfo;
 import com.example.springintegratecaffeine.service.UserInfoService;
+import com.example.springintegratecaffeine.store.StripedLock;
+import com.example.springintegratecaffeine.store.UserInfoStore;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.Resource;
-import java.util.HashMap;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 
+/**
+ * 用户信息服务（旁路缓存）
+ * 读：一次 Cache.get(key, loader)，未命中时在缓存的计算中从存储加载，同一个键的并发未命中只加载一次；
+ * 写：按用户 ID 加分条锁，在锁内先写存储再更新或失效缓存。同一用户的“读-改-写”与删除串行执行，
+ * 不会出现更新读到旧值后把已删除的用户写回存储和缓存的情况
+ */
 @Slf4j
 @Service
 public class UserInfoServiceImpl implements UserInfoService {
 
     /**
-     * 模拟数据库存储数据
+     * 写锁的分条数
      */
-    private HashMap<Integer, UserInfo> userInfoMap = new HashMap<>();
+    private static final int LOCK_STRIPES = 64;
+
+    @Resource
+    private UserInfoStore userInfoStore;
 
     @Resource
     @Qualifier("basicCache")
     Cache<String, Object> caffeineCache;
 
+    private final StripedLock writeLocks = new StripedLock(LOCK_STRIPES);
+
     @Override
     public void addUserInfo(UserInfo userInfo) {
         log.info("create");
-        userInfoMap.put(userInfo.getId(), userInfo);
-        // 加入缓存
-        caffeineCache.put(String.valueOf(userInfo.getId()),userInfo);
+        if (userInfo.getId() == null) {
+            throw new IllegalArgumentException("用户ID不能为空");
+        }
+        Lock lock = writeLocks.get(userInfo.getId());
+        lock.lock();
+        try {
+            userInfoStore.save(userInfo);
+            // 加入缓存
+            caffeineCache.put(cacheKey(userInfo.getId()), userInfo);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public UserInfo getByName(Integer id) {
-        // 先从缓存读取
-        caffeineCache.getIfPresent(String.valueOf(id));
-        UserInfo userInfo = (UserInfo) caffeineCache.asMap().get(String.valueOf(id));
-        if (userInfo != null){
-            return userInfo;
-        }
-        // 如果缓存中不存在，则从库中查找
-        log.info("get");
-        userInfo = userInfoMap.get(id);
-        // 如果用户信息不为空，则加入缓存
-        if (userInfo != null){
-            caffeineCache.put(String.valueOf(userInfo.getId()),userInfo);
+        if (id == null) {
+            return null;
         }
-        return userInfo;
+        // 缓存未命中时从库中查找，加载结果为 null 时不缓存
+        return (UserInfo) caffeineCache.get(cacheKey(id), key -> {
+            log.info("get");
+            return userInfoStore.findById(id);
+        });
     }
 
     @Override
     public UserInfo updateUserInfo(UserInfo userInfo) {
         log.info("update");
-        if (!userInfoMap.containsKey(userInfo.getId())) {
+        if (userInfo.getId() == null) {
             return null;
         }
-        // 取旧的值
-        UserInfo oldUserInfo = userInfoMap.get(userInfo.getId());
-        // 替换内容
-        if (userInfo.getAge() != null && !userInfo.getAge().equals(oldUserInfo.getAge())) {
-            oldUserInfo.setAge(userInfo.getAge());
+        Lock lock = writeLocks.get(userInfo.getId());
+        lock.lock();
+        try {
+            // 存储每次返回新对象，修改它不会影响缓存中正在被读取的旧值
+            UserInfo oldUserInfo = userInfoStore.findById(userInfo.getId());
+            if (oldUserInfo == null) {
+                return null;
+            }
+            // 替换内容
+            if (userInfo.getAge() != null && !userInfo.getAge().equals(oldUserInfo.getAge())) {
+                oldUserInfo.setAge(userInfo.getAge());
+            }
+            if (!StringUtils.isEmpty(userInfo.getName()) && !userInfo.getName().equals(oldUserInfo.getName())) {
+                oldUserInfo.setName(userInfo.getName());
+            }
+            if (!StringUtils.isEmpty(userInfo.getSex()) && !userInfo.getSex().equals(oldUserInfo.getSex())) {
+                oldUserInfo.setSex(userInfo.getSex());
+            }
+            userInfoStore.save(oldUserInfo);
+            // 替换缓存中的值
+            caffeineCache.put(cacheKey(oldUserInfo.getId()), oldUserInfo);
+            return oldUserInfo;
+        } finally {
+            lock.unlock();
         }
-        if (!StringUtils.isEmpty(userInfo.getName()) && !userInfo.getName().equals(oldUserInfo.getName())) {
-            oldUserInfo.setName(userInfo.getName());
-        }
-        if (!StringUtils.isEmpty(userInfo.getSex()) && !userInfo.getSex().equals(oldUserInfo.getSex())) {
-            oldUserInfo.setSex(userInfo.getSex());
-        }
-        // 将新的对象存储，更新旧对象信息
-        userInfoMap.put(oldUserInfo.getId(), oldUserInfo);
-        // 替换缓存中的值
-        caffeineCache.put(String.valueOf(oldUserInfo.getId()),oldUserInfo);
-        return oldUserInfo;
     }
 
     @Override
     public void deleteById(Integer id) {
         log.info("delete");
-        userInfoMap.remove(id);
-        // 从缓存中删除
-        caffeineCache.asMap().remove(String.valueOf(id));
+        if (id == null) {
+            return;
+        }
+        Lock lock = writeLocks.get(id);
+        lock.lock();
+        try {
+            userInfoStore.delete(id);
+            // 从缓存中删除
+            caffeineCache.invalidate(cacheKey(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String cacheKey(Integer id) {
+        return String.valueOf(id);
     }
 
 }
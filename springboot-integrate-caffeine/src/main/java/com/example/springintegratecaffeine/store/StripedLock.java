@@ -0,0 +1,46 @@
+package com.example.springintegratecaffeine.store;
+
+import com.example.springintegratecaffeine.util.IntObjectMap;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按 int 键分条的互斥锁
+ * 同一个键总是映射到同一把锁，不同键大概率落在不同的锁上；锁的数量固定，不随键的数量增长
+ */
+public final class StripedLock {
+
+    private final ReentrantLock[] locks;
+
+    private final int mask;
+
+    /**
+     * @param stripes 锁的数量，向上取整为 2 的幂
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("锁的数量必须大于 0");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * 键对应的锁
+     */
+    public Lock get(int key) {
+        return locks[IntObjectMap.mix(key) & mask];
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.springintegratecaffeine.store;
+
+import com.example.springintegratecaffeine.cache.UserInfoCodec;
+import com.example.springintegratecaffeine.entity.UserInfo;
+import com.example.springintegratecaffeine.util.IntObjectMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * 用户信息存储（模拟数据库）
+ * 按用户 ID 分段，每段是一张 int 键的开放寻址表并由读写锁保护；值保存为 {@link UserInfoCodec} 编码后的字节，
+ * 每次读取都还原出新对象，调用方修改返回值不会影响已存储的数据。
+ * <p>
+ * 指定日志文件时，每次写入先追加一条记录（操作、ID、长度、CRC32、内容）再修改内存，启动时重放日志恢复数据；
+ * 日志中的过期记录超过存活数据一倍时整体重写压缩。追加只写入操作系统页缓存，进程崩溃不丢数据，
+ * 掉电可能丢失最近的写入；末尾不完整或校验失败的记录在恢复时丢弃
+ */
+@Slf4j
+public class UserInfoStore implements Closeable {
+
+    private static final byte OP_PUT = 1;
+
+    private static final byte OP_DELETE = 2;
+
+    /**
+     * 记录头：操作(1) + ID(4) + 内容长度(4) + CRC32(4)
+     */
+    private static final int RECORD_HEADER_SIZE = 13;
+
+    /**
+     * 日志小于该大小时不压缩
+     */
+    private static final long COMPACT_MIN_BYTES = 1024 * 1024;
+
+    private final UserInfoCodec codec = new UserInfoCodec();
+
+    private final Segment[] segments;
+
+    private final int segmentShift;
+
+    /**
+     * 日志文件，为 null 时只存内存
+     */
+    private final Path journalPath;
+
+    private final Object journalLock = new Object();
+
+    private FileChannel journal;
+
+    private long journalBytes;
+
+    /**
+     * 存活记录在日志中占用的字节数
+     */
+    private final AtomicLong liveBytes = new AtomicLong();
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    /**
+     * @param segmentCount 段数，向上取整为 2 的幂
+     * @param journalPath  日志文件，为 null 时只存内存
+     */
+    public UserInfoStore(int segmentCount, Path journalPath) {
+        if (segmentCount <= 0 || segmentCount > (1 << 16)) {
+            throw new IllegalArgumentException("段数必须在 1-65536 之间");
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(segmentCount - 1);
+        this.segments = new Segment[1 << bits];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+        // 段选择用高位，段内哈希表用低位，避免同一段的键在段内聚集
+        this.segmentShift = 32 - bits;
+        this.journalPath = journalPath;
+        if (journalPath != null) {
+            try {
+                recover();
+            } catch (IOException e) {
+                throw new UncheckedIOException("打开用户存储日志失败: " + journalPath, e);
+            }
+        }
+    }
+
+    /**
+     * 按 ID 查询，不存在返回 null
+     */
+    public UserInfo findById(int id) {
+        Segment segment = segmentFor(id);
+        byte[] bytes;
+        segment.lock.readLock().lock();
+        try {
+            bytes = segment.map.get(id);
+        } finally {
+            segment.lock.readLock().unlock();
+        }
+        return bytes == null ? null : (UserInfo) codec.decode(bytes);
+    }
+
+    /**
+     * 新增或覆盖
+     */
+    public void save(UserInfo userInfo) {
+        if (userInfo.getId() == null) {
+            throw new IllegalArgumentException("用户ID不能为空");
+        }
+        int id = userInfo.getId();
+        byte[] bytes = codec.encode(userInfo);
+        Segment segment = segmentFor(id);
+        segment.lock.writeLock().lock();
+        try {
+            append(OP_PUT, id, bytes);
+            byte[] previous = segment.map.put(id, bytes);
+            liveBytes.addAndGet(recordSize(bytes) - (previous == null ? 0 : recordSize(previous)));
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * 删除
+     *
+     * @return 删除前是否存在
+     */
+    public boolean delete(int id) {
+        Segment segment = segmentFor(id);
+        segment.lock.writeLock().lock();
+        try {
+            if (segment.map.get(id) == null) {
+                return false;
+            }
+            append(OP_DELETE, id, null);
+            liveBytes.addAndGet(-recordSize(segment.map.remove(id)));
+        } finally {
+            segment.lock.writeLock().unlock();
+        }
+        compactIfNeeded();
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.readLock().lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 用存活数据重写日志
+     * 期间持有全部段的读锁：写入（追加日志须持有段写锁）暂停，读取不受影响
+     */
+    public void compact() {
+        if (journalPath == null) {
+            return;
+        }
+        for (Segment segment : segments) {
+            segment.lock.readLock().lock();
+        }
+        try {
+            synchronized (journalLock) {
+                long before = journalBytes;
+                rewriteJournal();
+                log.info("用户存储日志压缩完成 - {} -> {} 字节", before, journalBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("压缩用户存储日志失败: " + journalPath, e);
+        } finally {
+            for (int i = segments.length - 1; i >= 0; i--) {
+                segments[i].lock.readLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.force(false);
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+
+    private Segment segmentFor(int id) {
+        return segments[segmentShift == 32 ? 0 : IntObjectMap.mix(id) >>> segmentShift];
+    }
+
+    private void append(byte op, int id, byte[] payload) {
+        if (journalPath == null) {
+            return;
+        }
+        ByteBuffer record = encodeRecord(op, id, payload);
+        synchronized (journalLock) {
+            if (journal == null) {
+                throw new IllegalStateException("用户存储已关闭");
+            }
+            try {
+                while (record.hasRemaining()) {
+                    journal.write(record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入用户存储日志失败: " + journalPath, e);
+            }
+            journalBytes += record.limit();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (journalPath == null) {
+            return;
+        }
+        long journalSize;
+        synchronized (journalLock) {
+            journalSize = journalBytes;
+        }
+        if (journalSize > COMPACT_MIN_BYTES && journalSize > 2 * liveBytes.get()
+                && compacting.compareAndSet(false, true)) {
+            try {
+                compact();
+            } finally {
+                compacting.set(false);
+            }
+        }
+    }
+
+    /**
+     * 重放日志后立即重写，顺带去掉损坏的尾部记录
+     */
+    private void recover() throws IOException {
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        long records = 0;
+        if (Files.exists(journalPath)) {
+            long fileSize = Files.size(journalPath);
+            long position = 0;
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(journalPath), 64 * 1024))) {
+                while (position < fileSize) {
+                    byte op = in.readByte();
+                    int id = in.readInt();
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if ((op != OP_PUT && op != OP_DELETE) || length < 0
+                            || length > fileSize - position - RECORD_HEADER_SIZE) {
+                        log.warn("用户存储日志在 {} 字节处损坏，丢弃之后的 {} 字节", position, fileSize - position);
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    if (checksum(op, id, payload) != checksum) {
+                        log.warn("用户存储日志在 {} 字节处校验失败，丢弃之后的 {} 字节", position, fileSize - position);
+                        break;
+                    }
+                    Segment segment = segmentFor(id);
+                    if (op == OP_PUT) {
+                        segment.map.put(id, payload);
+                    } else {
+                        segment.map.remove(id);
+                    }
+                    position += RECORD_HEADER_SIZE + length;
+                    records++;
+                }
+            } catch (EOFException e) {
+                log.warn("用户存储日志末尾记录不完整，已丢弃");
+            }
+        }
+        long live = 0;
+        for (Segment segment : segments) {
+            long[] bytes = new long[1];
+            segment.map.forEach((id, payload) -> bytes[0] += recordSize(payload));
+            live += bytes[0];
+        }
+        liveBytes.set(live);
+        synchronized (journalLock) {
+            rewriteJournal();
+        }
+        log.info("用户存储已加载 - 日志: {}, 重放记录: {}, 用户数: {}", journalPath, records, size());
+    }
+
+    /**
+     * 把所有段的存活数据写入临时文件，刷盘后原子替换日志，再以追加方式重新打开
+     * 调用方持有 journalLock，运行期调用时还须持有全部段的读锁
+     */
+    private void rewriteJournal() throws IOException {
+        Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+        long written = 0;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Segment segment : segments) {
+                long[] segmentBytes = new long[1];
+                try {
+                    segment.map.forEach((id, payload) -> {
+                        ByteBuffer record = encodeRecord(OP_PUT, id, payload);
+                        try {
+                            while (record.hasRemaining()) {
+                                out.write(record);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        segmentBytes[0] += record.limit();
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                written += segmentBytes[0];
+            }
+            out.force(true);
+        }
+        // 写临时文件失败时旧日志保持打开，仍可继续追加
+        FileChannel previous = journal;
+        Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journalBytes = written;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private static ByteBuffer encodeRecord(byte op, int id, byte[] payload) {
+        int length = payload == null ? 0 : payload.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.put(op).putInt(id).putInt(length).putInt(checksum(op, id, payload));
+        if (payload != null) {
+            record.put(payload);
+        }
+        ((Buffer) record).flip();
+        return record;
+    }
+
+    private static int checksum(byte op, int id, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(id >>> 24);
+        crc.update(id >>> 16);
+        crc.update(id >>> 8);
+        crc.update(id);
+        if (payload != null) {
+            crc.update(payload, 0, payload.length);
+        }
+        return (int) crc.getValue();
+    }
+
+    private static long recordSize(byte[] payload) {
+        return RECORD_HEADER_SIZE + payload.length;
+    }
+
+    private static final class Segment {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final IntObjectMap<byte[]> map = new IntObjectMap<>(16);
+    }
+}
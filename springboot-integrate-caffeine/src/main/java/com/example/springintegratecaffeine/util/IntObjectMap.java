@@ -0,0 +1,160 @@
+package com.example.springintegratecaffeine.util;
+
+/**
+ * int 键的开放寻址哈希表（线性探测），键不装箱、不为每个条目分配节点
+ * 非线程安全，由调用方加锁；空槽以 value 为 null 表示，删除时回移后续条目而不留墓碑
+ */
+public final class IntObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * 负载因子 0.5，线性探测在此之下探测长度很短
+     */
+    private static final int LOAD_FACTOR_SHIFT = 1;
+
+    private int[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int size;
+
+    public IntObjectMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity >> LOAD_FACTOR_SHIFT < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int index = slot(key); ; index = (index + 1) & mask) {
+            Object value = values[index];
+            if (value == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    /**
+     * @return 原值，不存在时为 null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("值不能为 null");
+        }
+        for (int index = slot(key); ; index = (index + 1) & mask) {
+            Object existing = values[index];
+            if (existing == null) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > (values.length >> LOAD_FACTOR_SHIFT)) {
+                    resize();
+                }
+                return null;
+            }
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+        }
+    }
+
+    /**
+     * @return 被删除的值，不存在时为 null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        for (int index = slot(key); ; index = (index + 1) & mask) {
+            Object existing = values[index];
+            if (existing == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                size--;
+                shiftBack(index);
+                return (V) existing;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 按槽位顺序遍历所有条目
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntEntryConsumer<V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * 删除 index 处的条目后，把后面探测链上“回到原位更近”的条目前移，保持探测链不断
+     */
+    private void shiftBack(int index) {
+        int gap = index;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            // home 不在 (gap, next] 区间内时，条目可以移到 gap
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length << 1);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(int key) {
+        return mix(key) & mask;
+    }
+
+    /**
+     * 连续的用户 ID 直接取模会聚集在相邻槽位，先打散
+     */
+    public static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @FunctionalInterface
+    public interface IntEntryConsumer<V> {
+
+        void accept(int key, V value);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.springintegratecaffeine.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 合并加载缓存测试
+ * 覆盖并发未命中只加载一次、加载期间的 put / evict / clear 不被加载结果覆盖，以及空结果不写入缓存
+ */
+class CoalescingCacheTest {
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        CoalescingCache cache = new CoalescingCache(new ConcurrentMapCache("test"));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            calls.incrementAndGet();
+            release.await();
+            return "value";
+        };
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.get("k", loader)));
+            }
+            // 等其余请求都挂到同一个加载上再放行
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.coalescedLoadCount() < threads - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.loadCount());
+        assertEquals(threads - 1, cache.coalescedLoadCount());
+        assertEquals("value", cache.get("k").get());
+        assertEquals(0, cache.inFlightCount());
+    }
+
+    @Test
+    void evictDuringLoadIsNotOverwritten() throws Exception {
+        CoalescingCache cache = new CoalescingCache(new ConcurrentMapCache("test"));
+        assertEquals("旧值", loadWhile(cache, c -> c.evict("k")));
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void putDuringLoadIsNotOverwritten() throws Exception {
+        CoalescingCache cache = new CoalescingCache(new ConcurrentMapCache("test"));
+        assertEquals("旧值", loadWhile(cache, c -> c.put("k", "新值")));
+        assertEquals("新值", cache.get("k").get());
+    }
+
+    @Test
+    void clearDuringLoadIsNotOverwritten() throws Exception {
+        CoalescingCache cache = new CoalescingCache(new ConcurrentMapCache("test"));
+        assertEquals("旧值", loadWhile(cache, Cache::clear));
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void nullResultIsNotCached() {
+        ConcurrentMapCache delegate = new ConcurrentMapCache("test");
+        CoalescingCache cache = new CoalescingCache(delegate);
+        AtomicInteger calls = new AtomicInteger();
+        Callable<String> loader = () -> {
+            calls.incrementAndGet();
+            return null;
+        };
+
+        assertNull(cache.get("k", loader));
+        assertNull(delegate.get("k"));
+        assertNull(cache.get("k", loader));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failedLoadIsSharedAndNotCached() throws Exception {
+        CoalescingCache cache = new CoalescingCache(new ConcurrentMapCache("test"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            started.countDown();
+            release.await();
+            throw new IllegalStateException("数据源不可用");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> cache.get("k", loader));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> cache.get("k", loader));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.coalescedLoadCount() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<String> result : Arrays.asList(leader, follower)) {
+                Exception ex = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(Cache.ValueRetrievalException.class, ex.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, cache.failedLoadCount());
+        assertNull(cache.get("k"));
+    }
+
+    /**
+     * 在加载进行中（已调用加载方法、尚未写回）对缓存执行 action，返回加载结果
+     */
+    private static String loadWhile(CoalescingCache cache, Consumer<CoalescingCache> action) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> load = executor.submit(() -> cache.get("k", () -> {
+                started.countDown();
+                release.await();
+                return "旧值";
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            action.accept(cache);
+            release.countDown();
+            return load.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.springintegratecaffeine.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 依赖索引测试
+ * 覆盖按依赖失效只返回相关键、加载期间发生失效时拒绝登记，以及移除通知按值比对
+ */
+class DependencyIndexTest {
+
+    @Test
+    void invalidateReturnsOnlyDependentKeys() {
+        DependencyIndex index = new DependencyIndex();
+        assertTrue(index.register("a", "va", new int[]{1, 2}, index.epoch()));
+        assertTrue(index.register("b", "vb", new int[]{2, 3}, index.epoch()));
+
+        assertEquals(Collections.singletonList("a"), index.invalidate(1));
+        // a 已随依赖 1 一起注销，依赖 2 只剩 b
+        assertEquals(Collections.singletonList("b"), index.invalidate(2));
+        assertTrue(index.invalidate(3).isEmpty());
+        assertEquals(0, index.statistics().get("trackedEntries"));
+        assertEquals(0, index.statistics().get("dependencies"));
+    }
+
+    @Test
+    void registrationAfterInvalidationIsRejected() {
+        DependencyIndex index = new DependencyIndex();
+        long startEpoch = index.epoch();
+        // 加载期间发生任意失效，保守地拒绝登记
+        index.invalidate(99);
+
+        assertFalse(index.register("a", "va", new int[]{1}, startEpoch));
+        assertTrue(index.invalidate(1).isEmpty());
+        assertEquals(1L, index.statistics().get("rejectedRegistrations"));
+    }
+
+    @Test
+    void explicitRemoveAndClearAdvanceEpoch() {
+        DependencyIndex index = new DependencyIndex();
+        long startEpoch = index.epoch();
+        index.remove("a");
+        assertNotEquals(startEpoch, index.epoch());
+
+        startEpoch = index.epoch();
+        index.clear();
+        assertFalse(index.register("a", "va", new int[]{1}, startEpoch));
+    }
+
+    @Test
+    void reRegistrationReplacesDependencies() {
+        DependencyIndex index = new DependencyIndex();
+        index.register("a", "v1", new int[]{1}, index.epoch());
+        index.register("a", "v2", new int[]{2}, index.epoch());
+
+        assertTrue(index.invalidate(1).isEmpty());
+        assertEquals(Collections.singletonList("a"), index.invalidate(2));
+    }
+
+    @Test
+    void removalNotificationOnlyDropsMatchingValue() {
+        DependencyIndex index = new DependencyIndex();
+        Object current = new Object();
+        index.register("a", current, new int[]{1}, index.epoch());
+        long epoch = index.epoch();
+
+        // 旧值被替换时的通知不影响新值的登记
+        index.removed("a", new Object());
+        assertEquals(1, index.statistics().get("trackedEntries"));
+
+        index.removed("a", current);
+        assertEquals(0, index.statistics().get("trackedEntries"));
+        assertEquals(epoch, index.epoch());
+        assertTrue(index.invalidate(1).isEmpty());
+    }
+
+    @Test
+    void duplicateDependenciesAreRegisteredOnce() {
+        DependencyIndex index = new DependencyIndex();
+        index.register("a", "va", new int[]{5, 1, 5, 5, 1}, index.epoch());
+
+        List<Object> keys = index.invalidate(5);
+        assertEquals(Collections.singletonList("a"), keys);
+        assertTrue(index.invalidate(1).isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.springintegratecaffeine.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 依赖跟踪缓存测试
+ * 覆盖按用户 ID 只清除包含该用户的列表，以及加载期间发生失效时不保留加载结果
+ */
+class DependencyTrackingCacheTest {
+
+    @Test
+    void invalidateDependentsEvictsOnlyMatchingEntries() {
+        DependencyTrackingCache cache = newCache();
+        cache.put("dept1", Arrays.asList(1, 2));
+        cache.put("dept2", Arrays.asList(3));
+
+        assertEquals(1, cache.invalidateDependents(2));
+        assertNull(cache.get("dept1"));
+        assertNotNull(cache.get("dept2"));
+        assertEquals(0, cache.invalidateDependents(2));
+    }
+
+    @Test
+    void loadedValueIsTrackedOnce() {
+        DependencyTrackingCache cache = newCache();
+        assertEquals(Arrays.asList(1, 2), cache.get("dept1", () -> Arrays.asList(1, 2)));
+        // 命中时不再登记
+        assertEquals(Arrays.asList(1, 2), cache.get("dept1", () -> Arrays.asList(9)));
+
+        assertEquals(0, cache.invalidateDependents(9));
+        assertEquals(1, cache.invalidateDependents(1));
+        assertNull(cache.get("dept1"));
+    }
+
+    @Test
+    void invalidationDuringLoadEvictsLoadedValue() {
+        DependencyTrackingCache cache = newCache();
+        List<Integer> loaded = cache.get("dept1", () -> {
+            // 加载期间另一个用户被修改
+            cache.invalidateDependents(99);
+            return Arrays.asList(1, 2);
+        });
+
+        assertEquals(Arrays.asList(1, 2), loaded);
+        assertNull(cache.get("dept1"));
+        assertEquals(1L, cache.statistics().get("rejectedRegistrations"));
+    }
+
+    @Test
+    void evictDropsRegistration() {
+        DependencyTrackingCache cache = newCache();
+        cache.put("dept1", Arrays.asList(1));
+        cache.evict("dept1");
+
+        assertEquals(0, cache.statistics().get("trackedEntries"));
+        assertEquals(0, cache.invalidateDependents(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DependencyTrackingCache newCache() {
+        return new DependencyTrackingCache(new ConcurrentMapCache("departments"),
+                value -> ((List<Integer>) value).stream().mapToInt(Integer::intValue).toArray());
+    }
+}
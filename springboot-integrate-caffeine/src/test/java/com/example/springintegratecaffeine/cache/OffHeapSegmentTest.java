@@ -0,0 +1,109 @@
+package com.example.springintegratecaffeine.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 堆外存储段测试
+ * 覆盖环形写入绕回时按 FIFO 淘汰、覆盖写留下的空洞不计为淘汰、超大值拒绝与过期
+ */
+class OffHeapSegmentTest {
+
+    @Test
+    void wrapEvictsOldestEntries() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        assertTrue(segment.put("a", filled(30, 1), 0));
+        assertTrue(segment.put("b", filled(30, 2), 0));
+        assertTrue(segment.put("c", filled(30, 3), 0));
+        // 尾部只剩 10 字节，绕回从头写入并覆盖 a
+        assertTrue(segment.put("d", filled(30, 4), 0));
+
+        assertNull(segment.get("a", 0, 0));
+        assertArrayEquals(filled(30, 2), segment.get("b", 0, 0));
+        assertArrayEquals(filled(30, 3), segment.get("c", 0, 0));
+        assertArrayEquals(filled(30, 4), segment.get("d", 0, 0));
+        assertEquals(1, segment.evictionCount());
+        assertEquals(3, segment.size());
+        assertEquals(90, segment.liveBytes());
+    }
+
+    @Test
+    void wrapDropsTailEntriesLeftFromPreviousLap() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        segment.put("a", filled(40, 1), 0);
+        segment.put("b", filled(40, 2), 0);
+        // 放不进尾部的 20 字节，绕回覆盖 a；b 仍在
+        segment.put("c", filled(30, 3), 0);
+        assertNull(segment.get("a", 0, 0));
+        assertArrayEquals(filled(40, 2), segment.get("b", 0, 0));
+
+        // c 之后写到 30..70，覆盖 b 所在的 40..80
+        segment.put("d", filled(40, 4), 0);
+        assertNull(segment.get("b", 0, 0));
+        assertArrayEquals(filled(30, 3), segment.get("c", 0, 0));
+        assertArrayEquals(filled(40, 4), segment.get("d", 0, 0));
+        assertEquals(2, segment.evictionCount());
+    }
+
+    @Test
+    void overwrittenSlotIsReclaimedWithoutCountingEviction() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        segment.put("a", filled(30, 1), 0);
+        segment.put("a", filled(30, 2), 0);
+        assertEquals(1, segment.size());
+        assertEquals(30, segment.liveBytes());
+
+        segment.put("b", filled(30, 3), 0);
+        // 绕回覆盖的是 a 的旧槽位，a 的当前值不受影响
+        segment.put("c", filled(30, 4), 0);
+        assertArrayEquals(filled(30, 2), segment.get("a", 0, 0));
+        assertEquals(0, segment.evictionCount());
+        assertEquals(3, segment.size());
+    }
+
+    @Test
+    void removedKeyIsNotReadable() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        segment.put("a", filled(10, 1), 0);
+        assertTrue(segment.remove("a"));
+        assertFalse(segment.remove("a"));
+        assertNull(segment.get("a", 0, 0));
+        assertEquals(0, segment.liveBytes());
+    }
+
+    @Test
+    void oversizedValueIsRejectedAndRemovesOldValue() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        segment.put("a", filled(10, 1), 0);
+        assertFalse(segment.put("a", filled(101, 2), 0));
+        assertNull(segment.get("a", 0, 0));
+        assertEquals(0, segment.size());
+    }
+
+    @Test
+    void expiredEntryIsRemovedOnRead() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        segment.put("a", filled(10, 1), 1_000);
+        assertArrayEquals(filled(10, 1), segment.get("a", 1_500, 1_000));
+        assertNull(segment.get("a", 2_000, 1_000));
+        assertEquals(1, segment.expirationCount());
+        assertEquals(0, segment.size());
+    }
+
+    @Test
+    void bufferIsAllocatedOnFirstWrite() {
+        OffHeapSegment segment = new OffHeapSegment(100);
+        assertFalse(segment.allocated());
+        segment.put("a", filled(10, 1), 0);
+        assertTrue(segment.allocated());
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
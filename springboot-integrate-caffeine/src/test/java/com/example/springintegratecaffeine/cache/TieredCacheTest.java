@@ -0,0 +1,184 @@
+package com.example.springintegratecaffeine.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 两级缓存测试
+ * 覆盖两级同时写入与删除、二级命中提升回一级，以及并发 put / evict 后两级保持一致
+ */
+class TieredCacheTest {
+
+    @Test
+    void putWritesBothTiersAndEvictRemovesBoth() {
+        TieredCache cache = newCache();
+        cache.put("k", "v");
+        assertEquals("v", cache.getNativeCache().getIfPresent("k"));
+        assertArrayEquals(bytes("v"), cache.getOffHeapStore().get("k"));
+
+        cache.evict("k");
+        assertNull(cache.getNativeCache().getIfPresent("k"));
+        assertNull(cache.getOffHeapStore().get("k"));
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void heapMissIsPromotedFromOffHeap() {
+        TieredCache cache = newCache();
+        cache.put("k", "v");
+        cache.getNativeCache().invalidate("k");
+
+        assertEquals("v", cache.get("k").get());
+        assertEquals(1, cache.offHeapHitCount());
+        assertEquals("v", cache.getNativeCache().getIfPresent("k"));
+        assertEquals("v", cache.get("k").get());
+        assertEquals(1, cache.heapHitCount());
+    }
+
+    @Test
+    void unsupportedValueStaysOnHeapAndReplacesOffHeapCopy() {
+        TieredCache cache = newCache();
+        cache.put("k", "v");
+        cache.put("k", null);
+
+        assertNull(cache.getOffHeapStore().get("k"));
+        Cache.ValueWrapper wrapper = cache.get("k");
+        assertNotNull(wrapper);
+        assertNull(wrapper.get());
+    }
+
+    @Test
+    void putIfAbsentSeesOffHeapValue() {
+        TieredCache cache = newCache();
+        cache.put("k", "v");
+        cache.getNativeCache().invalidate("k");
+
+        Cache.ValueWrapper existing = cache.putIfAbsent("k", "新值");
+        assertNotNull(existing);
+        assertEquals("v", existing.get());
+        assertNull(cache.putIfAbsent("other", "新值"));
+        assertArrayEquals(bytes("新值"), cache.getOffHeapStore().get("other"));
+    }
+
+    @Test
+    void concurrentPutEvictAndGetKeepTiersConsistent() throws Exception {
+        TieredCache cache = newCache();
+        int threads = 8;
+        int keys = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        String key = "k" + random.nextInt(keys);
+                        switch (random.nextInt(4)) {
+                            case 0:
+                                cache.evict(key);
+                                break;
+                            case 1:
+                                // 只清一级，让后续读取从二级提升
+                                cache.getNativeCache().invalidate(key);
+                                break;
+                            case 2:
+                                cache.get(key);
+                                break;
+                            default:
+                                cache.put(key, thread + "-" + i);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 一级有值时二级必须是同一个值；一级没有时二级要么没有，要么是最后一次写入（只清了一级）
+        for (int k = 0; k < keys; k++) {
+            String key = "k" + k;
+            Object heap = cache.getNativeCache().getIfPresent(key);
+            byte[] offHeap = cache.getOffHeapStore().get(key);
+            if (heap != null) {
+                assertArrayEquals(bytes((String) heap), offHeap, key);
+            }
+            cache.evict(key);
+            assertNull(cache.getNativeCache().getIfPresent(key));
+            assertNull(cache.getOffHeapStore().get(key));
+        }
+    }
+
+    @Test
+    void evictDuringPromotionIsNotUndone() throws Exception {
+        TieredCache cache = newCache();
+        for (int round = 0; round < 2_000; round++) {
+            cache.put("k", "v" + round);
+            cache.getNativeCache().invalidate("k");
+            CountDownLatch start = new CountDownLatch(1);
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                cache.get("k");
+            });
+            reader.start();
+            start.countDown();
+            cache.evict("k");
+            reader.join();
+            // 读取要么在删除前提升（随后被删除），要么在删除后未命中，都不会把旧值放回一级
+            assertNull(cache.getNativeCache().getIfPresent("k"), "round " + round);
+            assertNull(cache.getOffHeapStore().get("k"), "round " + round);
+        }
+    }
+
+    private static TieredCache newCache() {
+        OffHeapStore store = new OffHeapStore(16 << 20, 4, 0, TimeUnit.SECONDS);
+        return new TieredCache("test", Caffeine.newBuilder().maximumSize(10_000).build(), store,
+                new StringCodec(), true);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class StringCodec implements OffHeapCodec {
+
+        @Override
+        public boolean supports(Object value) {
+            return value instanceof String;
+        }
+
+        @Override
+        public byte[] encode(Object value) {
+            return bytes((String) value);
+        }
+
+        @Override
+        public Object decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.springintegratecaffeine.cache.snapshot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 缓存快照测试
+ * 覆盖恢复后保留剩余存活时间、剩余时间不足的条目跳过，以及按数据源重新校验
+ */
+class CacheSnapshotManagerTest {
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void restoredEntryKeepsRemainingTtl() throws Exception {
+        AtomicLong time = new AtomicLong();
+        Cache<Object, Object> before = newCache(time);
+        before.put("k", "v");
+        time.addAndGet(4 * MINUTE_NANOS);
+        snapshot(before, 0);
+
+        Cache<Object, Object> after = newCache(new AtomicLong());
+        restore(after, 0);
+
+        assertEquals("v", after.getIfPresent("k"));
+        OptionalLong remaining = after.policy().expireVariably().get().getExpiresAfter("k", TimeUnit.MILLISECONDS);
+        assertTrue(remaining.isPresent());
+        // 写入 4 分钟后做快照，10 分钟的存活时间只剩不到 6 分钟
+        assertTrue(remaining.getAsLong() <= TimeUnit.MINUTES.toMillis(6));
+        assertTrue(remaining.getAsLong() > TimeUnit.MINUTES.toMillis(5));
+    }
+
+    @Test
+    void skipsEntriesBelowMinimumRemainingTtl() throws Exception {
+        AtomicLong time = new AtomicLong();
+        Cache<Object, Object> before = newCache(time);
+        before.put("old", "v");
+        time.addAndGet(9 * MINUTE_NANOS + MINUTE_NANOS / 2);
+        before.put("fresh", "v");
+        snapshot(before, 0);
+
+        Cache<Object, Object> after = newCache(new AtomicLong());
+        restore(after, TimeUnit.MINUTES.toMillis(1));
+
+        assertNull(after.getIfPresent("old"));
+        assertEquals("v", after.getIfPresent("fresh"));
+    }
+
+    @Test
+    void revalidatorReplacesChangedAndDropsDeletedEntries() throws Exception {
+        Cache<Object, Object> before = newCache(new AtomicLong());
+        before.put("changed", "旧值");
+        before.put("deleted", "旧值");
+        before.put("kept", "旧值");
+        snapshot(before, 0);
+
+        Cache<Object, Object> after = newCache(new AtomicLong());
+        after.put("kept", "启动后写入");
+        CacheSnapshotManager manager = new CacheSnapshotManager(tempDir.resolve("cache.snapshot"),
+                Collections.singletonList(SnapshotTarget.of("cache", after, 100)
+                        .revalidatedBy((key, value) -> "deleted".equals(key) ? null : "新值")),
+                2, 0);
+        manager.restore();
+
+        assertEquals("新值", after.getIfPresent("changed"));
+        assertNull(after.getIfPresent("deleted"));
+        assertEquals("启动后写入", after.getIfPresent("kept"));
+        assertEquals(1L, manager.getLastRestore().get("staleEntries"));
+    }
+
+    private void snapshot(Cache<Object, Object> cache, long minRemainingMillis) throws Exception {
+        new CacheSnapshotManager(tempDir.resolve("cache.snapshot"),
+                Collections.singletonList(SnapshotTarget.of("cache", cache, 100)), 1, minRemainingMillis)
+                .snapshot();
+    }
+
+    private void restore(Cache<Object, Object> cache, long minRemainingMillis) throws Exception {
+        new CacheSnapshotManager(tempDir.resolve("cache.snapshot"),
+                Collections.singletonList(SnapshotTarget.of("cache", cache, 100)), 2, minRemainingMillis)
+                .restore();
+    }
+
+    private static Cache<Object, Object> newCache(AtomicLong time) {
+        return Caffeine.newBuilder()
+                .expireAfter(new FixedWriteExpiry<>(Duration.ofMinutes(10)))
+                .maximumSize(100)
+                .ticker(time::get)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.springintegratecaffeine.store;
+
+import com.example.springintegratecaffeine.entity.UserInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户信息存储测试
+ * 覆盖日志重放、末尾不完整或校验失败记录的丢弃，以及恢复后继续追加
+ */
+class UserInfoStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replaysPutsAndDeletesAfterRestart() throws IOException {
+        Path journal = tempDir.resolve("user-info.journal");
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            store.save(user(1, "张三"));
+            store.save(user(2, "李四"));
+            store.save(user(3, "王五"));
+            assertTrue(store.delete(2));
+            store.save(user(1, "张三丰"));
+        }
+
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            assertEquals(2, store.size());
+            assertEquals("张三丰", store.findById(1).getName());
+            assertNull(store.findById(2));
+            assertEquals("王五", store.findById(3).getName());
+        }
+    }
+
+    @Test
+    void dropsTruncatedTailRecord() throws IOException {
+        Path journal = tempDir.resolve("user-info.journal");
+        writeBaseline(journal);
+        long size = Files.size(journal);
+        // 截掉最后一条记录（用户 1 改名）的一部分，模拟写到一半崩溃
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            assertEquals(2, store.size());
+            assertEquals("张三", store.findById(1).getName());
+            assertNull(store.findById(2));
+            assertEquals("王五", store.findById(3).getName());
+        }
+    }
+
+    @Test
+    void dropsTailRecordWithBadChecksum() throws IOException {
+        Path journal = tempDir.resolve("user-info.journal");
+        writeBaseline(journal);
+        long size = Files.size(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            last.flip();
+            byte flipped = (byte) (last.get() ^ 0xFF);
+            channel.write(ByteBuffer.wrap(new byte[]{flipped}), size - 1);
+        }
+
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            assertEquals("张三", store.findById(1).getName());
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void appendsAfterRecoveringFromCorruptTail() throws IOException {
+        Path journal = tempDir.resolve("user-info.journal");
+        writeBaseline(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(journal) - 5);
+        }
+
+        // 恢复时重写日志去掉损坏的尾部，之后追加的记录在下次启动时仍能读到
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            store.save(user(4, "赵六"));
+        }
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            assertEquals(3, store.size());
+            assertEquals("赵六", store.findById(4).getName());
+            assertEquals("张三", store.findById(1).getName());
+        }
+    }
+
+    @Test
+    void compactKeepsOnlyLiveRecords() throws IOException {
+        Path journal = tempDir.resolve("user-info.journal");
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            for (int i = 0; i < 100; i++) {
+                store.save(user(1, "版本" + i));
+            }
+            long before = Files.size(journal);
+            store.compact();
+            assertTrue(Files.size(journal) < before);
+            assertEquals("版本99", store.findById(1).getName());
+        }
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            assertEquals(1, store.size());
+            assertEquals("版本99", store.findById(1).getName());
+        }
+    }
+
+    @Test
+    void returnedUserIsACopy() {
+        UserInfoStore store = new UserInfoStore(4, null);
+        store.save(user(1, "张三"));
+        store.findById(1).setName("被修改");
+        assertEquals("张三", store.findById(1).getName());
+    }
+
+    /**
+     * 保存用户 1、2、3，删除 2，最后一条记录把用户 1 改名为张三丰
+     */
+    private static void writeBaseline(Path journal) throws IOException {
+        try (UserInfoStore store = new UserInfoStore(4, journal)) {
+            store.save(user(1, "张三"));
+            store.save(user(2, "李四"));
+            store.save(user(3, "王五"));
+            store.delete(2);
+            store.save(user(1, "张三丰"));
+        }
+    }
+
+    private static UserInfo user(int id, String name) {
+        return UserInfo.builder()
+                .id(id)
+                .name(name)
+                .sex("男")
+                .age(30)
+                .email("user" + id + "@example.com")
+                .status(UserInfo.UserStatus.ACTIVE)
+                .build();
+    }
+}